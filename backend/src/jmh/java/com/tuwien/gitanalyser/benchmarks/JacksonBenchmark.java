@@ -0,0 +1,90 @@
+package com.tuwien.gitanalyser.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tuwien.gitanalyser.configuration.JacksonConfiguration;
+import com.tuwien.gitanalyser.endpoints.dtos.CommitDTO;
+import com.tuwien.gitanalyser.entity.mapper.CommitMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * serialization of commit lists with the object mapper the application configures, once as the json array of the
+ * commit endpoint and once line by line as the commit stream endpoint writes it. The json is counted instead of
+ * kept, so a million commits do not measure the garbage collector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private static final byte LINE_SEPARATOR = '\n';
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int commitCount;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter lineWriter;
+    private List<CommitDTO> commits;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfiguration().jackson2ObjectMapperBuilder().build();
+        lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        commits = new CommitMapperImpl().dtosToDTOs(SyntheticHistory.create(commitCount).getAggregatedCommits());
+    }
+
+    @Benchmark
+    public long serializeCommitList() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        objectMapper.writeValue(outputStream, commits);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long streamCommitLines() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        for (CommitDTO commit : commits) {
+            outputStream.write(lineWriter.writeValueAsBytes(commit));
+            outputStream.write(LINE_SEPARATOR);
+        }
+        return outputStream.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // writeValue closes the stream, there is nothing to release
+        }
+    }
+}
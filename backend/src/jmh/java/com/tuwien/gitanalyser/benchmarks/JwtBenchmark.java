@@ -0,0 +1,56 @@
+package com.tuwien.gitanalyser.benchmarks;
+
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.security.jwt.JWTTokenProviderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * verification of access tokens, which every authenticated request pays for. authenticate is answered by the cache
+ * of verified tokens after its first call, getUserId always checks the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    private JWTTokenProviderImpl jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JWTTokenProviderImpl(new DateService());
+        token = jwtTokenProvider.createAccessToken(USER_ID);
+    }
+
+    @Benchmark
+    public Long getUserId() {
+        return jwtTokenProvider.getUserId(token);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return jwtTokenProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtTokenProvider.createAccessToken(USER_ID);
+    }
+}
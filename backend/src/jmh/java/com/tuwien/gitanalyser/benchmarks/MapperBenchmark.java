@@ -0,0 +1,67 @@
+package com.tuwien.gitanalyser.benchmarks;
+
+import com.tuwien.gitanalyser.endpoints.dtos.CommitDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.StatsDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
+import com.tuwien.gitanalyser.entity.mapper.CommitMapper;
+import com.tuwien.gitanalyser.entity.mapper.CommitMapperImpl;
+import com.tuwien.gitanalyser.entity.mapper.StatsMapper;
+import com.tuwien.gitanalyser.entity.mapper.StatsMapperImpl;
+import com.tuwien.gitanalyser.service.implementation.StatsAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * mapping of the internal dtos to the dtos returned by the endpoints. The number of committers grows with the
+ * history, so the statistics are mapped for one committer per hundred commits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int commitCount;
+
+    private final CommitMapper commitMapper = new CommitMapperImpl();
+    private final StatsMapper statsMapper = new StatsMapperImpl();
+    private List<CommitAggregatedInternalDTO> commits;
+    private List<StatsInternalDTO> stats;
+
+    @Setup
+    public void setUp() {
+        SyntheticHistory history = SyntheticHistory.create(commitCount);
+        commits = history.getAggregatedCommits();
+
+        StatsAggregator aggregator = new StatsAggregator(Map.of());
+        history.getCommits().forEach(aggregator::add);
+        stats = aggregator.getStats();
+    }
+
+    @Benchmark
+    public List<CommitDTO> mapCommits() {
+        return commitMapper.dtosToDTOs(commits);
+    }
+
+    @Benchmark
+    public List<StatsDTO> mapStats() {
+        return statsMapper.dtosToDTOs(stats);
+    }
+}
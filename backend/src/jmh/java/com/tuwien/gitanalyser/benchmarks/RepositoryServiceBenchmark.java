@@ -0,0 +1,87 @@
+package com.tuwien.gitanalyser.benchmarks;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.AliasIndexInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.RepositorySnapshotInternalDTO;
+import com.tuwien.gitanalyser.entity.RepositoryFactory;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.exception.NoProviderFoundException;
+import com.tuwien.gitanalyser.repository.RepositoryRepository;
+import com.tuwien.gitanalyser.service.AliasIndexService;
+import com.tuwien.gitanalyser.service.AssignmentService;
+import com.tuwien.gitanalyser.service.GitService;
+import com.tuwien.gitanalyser.service.SubAssignmentService;
+import com.tuwien.gitanalyser.service.UserService;
+import com.tuwien.gitanalyser.service.implementation.RepositoryServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * resolution of the assignment aliases and accumulation of the lines of code overall in RepositoryServiceImpl. The
+ * git service hands out the synthetic history, so only the work done on the commits is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryServiceBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final Long PLATFORM_ID = 1L;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int commitCount;
+
+    @Param({"false", "true"})
+    private boolean mappedByAssignments;
+
+    private RepositoryServiceImpl repositoryService;
+
+    @Setup
+    public void setUp() throws GitException, NoProviderFoundException {
+        SyntheticHistory history = SyntheticHistory.create(commitCount);
+
+        GitService gitService = mock(GitService.class);
+        when(gitService.getAllCommits(anyLong(), any(), any())).thenReturn(history.getCommits());
+        AliasIndexService aliasIndexService = mock(AliasIndexService.class);
+        when(aliasIndexService.getAliasIndex(anyLong(), any()))
+            .thenReturn(new AliasIndexInternalDTO(1L, history.getAliases()));
+
+        repositoryService = new RepositoryServiceImpl(mock(UserService.class),
+                                                      mock(RepositoryRepository.class),
+                                                      mock(AssignmentService.class),
+                                                      mock(SubAssignmentService.class),
+                                                      gitService,
+                                                      mock(RepositoryFactory.class),
+                                                      aliasIndexService);
+    }
+
+    @Benchmark
+    public List<CommitAggregatedInternalDTO> getCommits() throws GitException, NoProviderFoundException {
+        return repositoryService.getCommits(USER_ID, PLATFORM_ID, null, mappedByAssignments, null);
+    }
+
+    @Benchmark
+    public RepositorySnapshotInternalDTO getSnapshot() throws GitException, NoProviderFoundException {
+        return repositoryService.getSnapshot(USER_ID, PLATFORM_ID, null, mappedByAssignments);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tuwien.gitanalyser.benchmarks;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import com.tuwien.gitanalyser.service.implementation.StatsAggregator;
+import com.tuwien.gitanalyser.service.implementation.StatsBucketAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * aggregation of the statistics per committer, as GitServiceImpl.getStats does it with and without the aliases of
+ * the assignments, and the roll up into time buckets done whenever a history is stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int commitCount;
+
+    private SyntheticHistory history;
+
+    @Setup
+    public void setUp() {
+        history = SyntheticHistory.create(commitCount);
+    }
+
+    @Benchmark
+    public List<StatsInternalDTO> aggregateStats() {
+        return aggregateStats(Map.of());
+    }
+
+    @Benchmark
+    public List<StatsInternalDTO> aggregateStatsMappedByAssignments() {
+        return aggregateStats(history.getAliases());
+    }
+
+    @Benchmark
+    public List<StatsBucketInternalDTO> rollUpStatsPerWeek() {
+        StatsBucketAggregator aggregator = new StatsBucketAggregator(Map.of());
+        for (CommitInternalDTO commit : history.getCommits()) {
+            aggregator.add(Granularity.WEEK.truncate(commit.getTimestamp()), commit.getAuthor(), 1,
+                           commit.getAdditions(), commit.getDeletions());
+        }
+        return aggregator.getBuckets();
+    }
+
+    private List<StatsInternalDTO> aggregateStats(final Map<String, String> aliases) {
+        StatsAggregator aggregator = new StatsAggregator(aliases);
+        for (CommitInternalDTO commit : history.getCommits()) {
+            aggregator.add(commit);
+        }
+        return aggregator.getStats();
+    }
+}
@@ -0,0 +1,104 @@
+package com.tuwien.gitanalyser.benchmarks;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * reproducible commit history of a linear branch. Every hundredth commit introduces a new author, every fourth
+ * author is assigned to the alias of the author before, like a second email address of the same person.
+ */
+public final class SyntheticHistory {
+
+    private static final long SEED = 42L;
+    private static final int COMMITS_PER_AUTHOR = 100;
+    private static final int MINIMUM_AUTHORS = 10;
+    private static final int ALIAS_EVERY_NTH_AUTHOR = 4;
+    private static final int MERGE_EVERY_NTH_COMMIT = 20;
+    private static final int MAXIMUM_CHANGED_LINES = 200;
+    private static final long START_TIME = 1_500_000_000_000L;
+    private static final long MAXIMUM_COMMIT_INTERVAL = 3_600_000L;
+
+    private final List<CommitInternalDTO> commits;
+    private final Map<String, String> aliases;
+
+    private SyntheticHistory(final List<CommitInternalDTO> commits, final Map<String, String> aliases) {
+        this.commits = commits;
+        this.aliases = aliases;
+    }
+
+    public static SyntheticHistory create(final int commitCount) {
+        Random random = new Random(SEED);
+        int authorCount = Math.max(MINIMUM_AUTHORS, commitCount / COMMITS_PER_AUTHOR);
+
+        List<String> authors = new ArrayList<>(authorCount);
+        Map<String, String> aliases = new HashMap<>();
+        for (int i = 0; i < authorCount; i++) {
+            String author = "author-" + i;
+            authors.add(author);
+            if (i % ALIAS_EVERY_NTH_AUTHOR == ALIAS_EVERY_NTH_AUTHOR - 1) {
+                aliases.put(author, authors.get(i - 1));
+            }
+        }
+
+        List<CommitInternalDTO> commits = new ArrayList<>(commitCount);
+        long timestamp = START_TIME;
+        String parentId = null;
+        for (int i = 0; i < commitCount; i++) {
+            String id = String.format("%040x", i);
+            boolean mergeCommit = i % MERGE_EVERY_NTH_COMMIT == MERGE_EVERY_NTH_COMMIT - 1;
+            List<String> parentIds = new ArrayList<>();
+            if (parentId != null) {
+                parentIds.add(parentId);
+            }
+            if (mergeCommit) {
+                parentIds.add(String.format("%040x", commitCount + i));
+            }
+            timestamp += 1 + (long) (random.nextDouble() * MAXIMUM_COMMIT_INTERVAL);
+
+            commits.add(CommitInternalDTO.builder()
+                                         .id(id)
+                                         .message("commit " + i)
+                                         .author(authors.get(random.nextInt(authorCount)))
+                                         .timestamp(new Date(timestamp))
+                                         .parentIds(parentIds)
+                                         .isMergeCommit(mergeCommit)
+                                         .additions(random.nextInt(MAXIMUM_CHANGED_LINES))
+                                         .deletions(random.nextInt(MAXIMUM_CHANGED_LINES))
+                                         .build());
+            parentId = id;
+        }
+
+        return new SyntheticHistory(commits, aliases);
+    }
+
+    public List<CommitInternalDTO> getCommits() {
+        return commits;
+    }
+
+    public Map<String, String> getAliases() {
+        return aliases;
+    }
+
+    /**
+     * returns the commits as the repository service passes them to the endpoints, with the running lines of code.
+     */
+    public List<CommitAggregatedInternalDTO> getAggregatedCommits() {
+        List<CommitAggregatedInternalDTO> result = new ArrayList<>(commits.size());
+        int overallLineOfCode = 0;
+        for (CommitInternalDTO commit : commits) {
+            overallLineOfCode = overallLineOfCode + commit.getAdditions() - commit.getDeletions();
+            result.add(new CommitAggregatedInternalDTO(commit.getId(), commit.getMessage(), commit.getAuthor(),
+                                                       commit.getTimestamp(), commit.getParentIds(),
+                                                       commit.isMergeCommit(), commit.getAdditions(),
+                                                       commit.getDeletions(), overallLineOfCode));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package com.tuwien.gitanalyser.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * collects the latencies and failures of the requests per endpoint and summarizes them as throughput and
+ * percentiles once the load test finished.
+ */
+public class LatencyRecorder {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double MEDIAN = 0.5;
+    private static final double P99 = 0.99;
+    private static final String TOTAL = "total";
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    public synchronized void record(final String endpoint, final long latencyNanos, final boolean failed) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, failed);
+    }
+
+    /**
+     * summarizes the recorded requests, the last row sums up all endpoints.
+     */
+    public synchronized List<Summary> summarize(final double durationSeconds) {
+        List<Summary> summaries = new ArrayList<>();
+        Samples total = new Samples();
+        samples.forEach((endpoint, endpointSamples) -> {
+            summaries.add(endpointSamples.summarize(endpoint, durationSeconds));
+            total.addAll(endpointSamples);
+        });
+        summaries.add(total.summarize(TOTAL, durationSeconds));
+        return summaries;
+    }
+
+    public static void print(final List<Summary> summaries, final PrintStream out) {
+        out.printf("%-16s %10s %8s %12s %10s %10s%n", "endpoint", "requests", "errors", "requests/s", "p50 ms",
+                   "p99 ms");
+        for (Summary summary : summaries) {
+            out.printf("%-16s %10d %8d %12.1f %10.1f %10.1f%n", summary.getEndpoint(), summary.getRequests(),
+                       summary.getErrors(), summary.getThroughput(), summary.getP50Millis(), summary.getP99Millis());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Summary {
+        private final String endpoint;
+        private final int requests;
+        private final int errors;
+        private final double throughput;
+        private final double p50Millis;
+        private final double p99Millis;
+
+        public double getErrorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private int errors;
+
+        private void add(final long latencyNanos, final boolean failed) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        private void addAll(final Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        private Summary summarize(final String endpoint, final double durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new Summary(endpoint, size, errors, size / durationSeconds,
+                               percentile(sorted, MEDIAN), percentile(sorted, P99));
+        }
+
+        private static double percentile(final long[] sorted, final double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / NANOS_PER_MILLI;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.tuwien.gitanalyser.loadtest;
+
+import com.tuwien.gitanalyser.GitAnalyserApplication;
+import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.repository.UserRepository;
+import com.tuwien.gitanalyser.security.AuthenticationConstants;
+import com.tuwien.gitanalyser.security.jwt.JWTTokenProvider;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * starts the backend against a {@link ProviderStubServer} and lets concurrent virtual users call the endpoints of
+ * RepositoryEndpoint for a while, afterwards throughput and latency percentiles are printed per endpoint. Half of
+ * the virtual users log in with GitHub, the other half with GitLab, every one analyses its own repository.
+ *
+ * <p>The load test is configured with system properties, all other system properties are passed to the backend,
+ * e.g. -Dgitanalyser.commit-cache.time-to-live-seconds=0 to load every history from the stubs.
+ * <ul>
+ *     <li>loadtest.users: number of virtual users, 20 by default</li>
+ *     <li>loadtest.warmup-seconds: requests of the warmup are not recorded, 10 by default</li>
+ *     <li>loadtest.duration-seconds: duration of the recorded requests, 30 by default</li>
+ *     <li>loadtest.stub.pages: pages of every commit history, 10 by default</li>
+ *     <li>loadtest.stub.page-size: commits per page, 100 by default</li>
+ *     <li>loadtest.stub.latency-millis: delay of every stub response, 50 by default</li>
+ *     <li>loadtest.stub.rate-limit: calls per access token and window, 5000 by default</li>
+ *     <li>loadtest.stub.rate-limit-window-seconds: window of the rate limit, 3600 by default</li>
+ *     <li>loadtest.maximum-error-rate: fails the load test above this share of failed requests, 0.01 by default</li>
+ *     <li>loadtest.maximum-p99-millis: fails the load test above this p99 latency, unlimited by default</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final String REPOSITORY_ENDPOINT = "/apiV1/repository/";
+    private static final Map<String, String> ENDPOINTS = Map.of("repository", "",
+                                                                "branch", "/branch",
+                                                                "commit", "/commit",
+                                                                "committer", "/committer",
+                                                                "stats", "/stats",
+                                                                "stats/timeline", "/stats/timeline",
+                                                                "snapshot", "/snapshot");
+    private static final int CLIENT_ERROR = 400;
+    private static final long REQUEST_TIMEOUT_SECONDS = 120;
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        int users = Integer.getInteger("loadtest.users", 20);
+        long warmupSeconds = Long.getLong("loadtest.warmup-seconds", 10);
+        long durationSeconds = Long.getLong("loadtest.duration-seconds", 30);
+        double maximumErrorRate = Double.parseDouble(System.getProperty("loadtest.maximum-error-rate", "0.01"));
+        double maximumP99Millis = Double.parseDouble(System.getProperty("loadtest.maximum-p99-millis", "Infinity"));
+
+        ProviderStubServer stubServer =
+            new ProviderStubServer(Integer.getInteger("loadtest.stub.pages", 10),
+                                   Integer.getInteger("loadtest.stub.page-size", 100),
+                                   Long.getLong("loadtest.stub.latency-millis", 50),
+                                   Integer.getInteger("loadtest.stub.rate-limit", 5000),
+                                   Long.getLong("loadtest.stub.rate-limit-window-seconds", 3600));
+        stubServer.start();
+
+        List<LatencyRecorder.Summary> summaries;
+        try {
+            ConfigurableApplicationContext context = startBackend(stubServer.getUrl());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<String> tokens = createUsers(context, users);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            HttpClient httpClient = HttpClient.newBuilder().build();
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+            System.out.printf("%d virtual users, %d s warmup, %d s measurement against %s%n", users, warmupSeconds,
+                              durationSeconds, stubServer.getUrl());
+
+            ExecutorService virtualUsers = Executors.newFixedThreadPool(users);
+            CountDownLatch finished = new CountDownLatch(users);
+            for (int user = 0; user < users; user++) {
+                String token = tokens.get(user);
+                long platformId = user + 1L;
+                virtualUsers.submit(() -> {
+                    try {
+                        runVirtualUser(httpClient, port, token, platformId, warmupEnd, end, recorder);
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+            finished.await();
+            virtualUsers.shutdown();
+
+            summaries = recorder.summarize(durationSeconds);
+            LatencyRecorder.print(summaries, System.out);
+            System.out.printf("%d requests were sent to the provider stubs%n", stubServer.getRequests());
+
+            context.close();
+        } finally {
+            stubServer.stop();
+        }
+
+        LatencyRecorder.Summary total = summaries.get(summaries.size() - 1);
+        boolean failed = total.getErrorRate() > maximumErrorRate || total.getP99Millis() > maximumP99Millis;
+        if (failed) {
+            System.out.printf("load test failed: error rate %.4f (maximum %.4f), p99 %.1f ms (maximum %.1f ms)%n",
+                              total.getErrorRate(), maximumErrorRate, total.getP99Millis(), maximumP99Millis);
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static ConfigurableApplicationContext startBackend(final String stubUrl) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url",
+                       "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER,KEY");
+        // the scripts are empty, which an embedded database does not accept
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.mvc.log-request-details", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("gitanalyser.github.api-url", stubUrl + ProviderStubServer.GITHUB_PATH);
+        properties.put("gitanalyser.github.graphql-url", stubUrl + ProviderStubServer.GITHUB_GRAPHQL_PATH);
+        properties.put("gitanalyser.gitlab.url", stubUrl);
+        properties.put("gitanalyser.mirror.enabled", "false");
+
+        // these override application.yml, system properties given on the command line take precedence
+        properties.forEach(System.getProperties()::putIfAbsent);
+        SpringApplication application = new SpringApplication(GitAnalyserApplication.class);
+        application.addInitializers(context -> context.getBeanFactory().registerSingleton(
+            TestComponentExcludeFilter.class.getName(), new TestComponentExcludeFilter()));
+        return application.run();
+    }
+
+    private static List<String> createUsers(final ConfigurableApplicationContext context, final int users) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JWTTokenProvider jwtTokenProvider = context.getBean(JWTTokenProvider.class);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            AuthenticationProvider provider = i % 2 == 0 ? AuthenticationProvider.GITHUB
+                                                         : AuthenticationProvider.GITLAB;
+            User user = userRepository.save(User.builder()
+                                                .username("virtual-user-" + i)
+                                                .email("virtual-user-" + i + "@example.com")
+                                                .authenticationProvider(provider)
+                                                .platformId(i)
+                                                .accessToken("loadtest-access-token-" + i)
+                                                .build());
+            tokens.add(AuthenticationConstants.TOKEN_PREFIX + jwtTokenProvider.createAccessToken(user.getId()));
+        }
+        return tokens;
+    }
+
+    /**
+     * calls the endpoints one after another until the end of the load test, requests sent after the warmup are
+     * recorded. Responses with a status of 400 or above count as errors.
+     */
+    private static void runVirtualUser(final HttpClient httpClient, final int port, final String token,
+                                       final long platformId, final long warmupEnd, final long end,
+                                       final LatencyRecorder recorder) {
+        String baseUrl = "http://localhost:" + port + REPOSITORY_ENDPOINT + platformId;
+
+        while (System.nanoTime() < end) {
+            for (Map.Entry<String, String> endpoint : ENDPOINTS.entrySet()) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.getValue()))
+                                                 .header("Authorization", token)
+                                                 .timeout(Duration.ofSeconds(REQUEST_TIMEOUT_SECONDS))
+                                                 .GET()
+                                                 .build();
+                long start = System.nanoTime();
+                boolean failed;
+                try {
+                    int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    failed = status >= CLIENT_ERROR;
+                } catch (IOException e) {
+                    failed = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long stop = System.nanoTime();
+
+                if (start >= warmupEnd && stop <= end) {
+                    recorder.record(endpoint.getKey(), stop - start, failed);
+                }
+                if (stop >= end) {
+                    return;
+                }
+            }
+        }
+    }
+}
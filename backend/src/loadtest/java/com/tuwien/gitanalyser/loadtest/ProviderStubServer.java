@@ -0,0 +1,376 @@
+package com.tuwien.gitanalyser.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * emulates the parts of the GitHub REST and GraphQL api and of the GitLab v4 api which GitHubAPI and GitLabAPI call.
+ * Every repository id exists, its default branch main holds pages times pageSize commits, one commit per minute.
+ * Every response is delayed by the configured latency and carries the rate limit headers of its provider, access
+ * tokens which used up their limit are answered with 429 until the window resets.
+ */
+public class ProviderStubServer {
+
+    public static final String GITHUB_PATH = "/github";
+    public static final String GITHUB_GRAPHQL_PATH = GITHUB_PATH + "/graphql";
+    public static final String GITLAB_PATH = "/api/v4";
+
+    private static final String OWNER = "loadtest";
+    private static final String BRANCH = "main";
+    private static final int AUTHORS = 10;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long FIRST_COMMIT_TIME = OffsetDateTime.parse("2022-01-01T00:00:00Z").toInstant()
+                                                                .toEpochMilli();
+
+    private static final Pattern GITHUB_REPOSITORY = Pattern.compile(GITHUB_PATH + "/repositories/(\\d+)");
+    private static final Pattern GITHUB_BRANCHES =
+        Pattern.compile(GITHUB_PATH + "/repos/" + OWNER + "/repository-(\\d+)/branches(?:/([^/]+))?");
+    private static final Pattern GITLAB_PROJECT = Pattern.compile(GITLAB_PATH + "/projects/(\\d+)");
+    private static final Pattern GITLAB_BRANCHES =
+        Pattern.compile(GITLAB_PATH + "/projects/(\\d+)/repository/branches(?:/([^/]+))?");
+    private static final Pattern GITLAB_COMMITS = Pattern.compile(GITLAB_PATH + "/projects/(\\d+)/repository/commits");
+
+    private final int pages;
+    private final int pageSize;
+    private final long latencyMillis;
+    private final int rateLimit;
+    private final long rateLimitWindowMillis;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, RateLimitWindow> rateLimitWindows;
+    private final AtomicLong requests;
+    private final ExecutorService executor;
+    private HttpServer server;
+
+    public ProviderStubServer(final int pages, final int pageSize, final long latencyMillis, final int rateLimit,
+                              final long rateLimitWindowSeconds) {
+        this.pages = pages;
+        this.pageSize = pageSize;
+        this.latencyMillis = latencyMillis;
+        this.rateLimit = rateLimit;
+        this.rateLimitWindowMillis = rateLimitWindowSeconds * MILLIS_PER_SECOND;
+        this.objectMapper = new ObjectMapper();
+        this.rateLimitWindows = new ConcurrentHashMap<>();
+        this.requests = new AtomicLong();
+        this.executor = Executors.newCachedThreadPool();
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            sleep(latencyMillis);
+
+            String path = exchange.getRequestURI().getPath();
+            boolean gitHub = path.startsWith(GITHUB_PATH);
+            if (!withinRateLimit(exchange, gitHub)) {
+                send(exchange, 429, Map.of("message", "rate limit exceeded"));
+                return;
+            }
+
+            Object body = gitHub ? handleGitHub(exchange, path) : handleGitLab(exchange, path);
+            if (body == null) {
+                send(exchange, 404, Map.of("message", "Not Found"));
+            } else {
+                send(exchange, 200, body);
+            }
+        } catch (RuntimeException e) {
+            send(exchange, 500, Map.of("message", String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Object handleGitHub(final HttpExchange exchange, final String path) throws IOException {
+        if (path.equals(GITHUB_GRAPHQL_PATH)) {
+            return gitHubHistoryPage(objectMapper.readTree(exchange.getRequestBody()).get("variables"));
+        }
+        if (path.equals(GITHUB_PATH + "/user")) {
+            return Map.of("login", OWNER, "id", 1, "name", OWNER, "type", "User");
+        }
+        if (path.equals(GITHUB_PATH + "/user/repos")) {
+            return List.of(gitHubRepository(1), gitHubRepository(2));
+        }
+
+        Matcher matcher = GITHUB_REPOSITORY.matcher(path);
+        if (matcher.matches()) {
+            return gitHubRepository(Long.parseLong(matcher.group(1)));
+        }
+        matcher = GITHUB_BRANCHES.matcher(path);
+        if (matcher.matches()) {
+            long repositoryId = Long.parseLong(matcher.group(1));
+            Map<String, Object> branch = Map.of("name", BRANCH, "protected", false,
+                                                "commit", Map.of("sha", commitId(repositoryId, totalCommits() - 1)));
+            if (matcher.group(2) == null) {
+                return List.of(branch);
+            }
+            return BRANCH.equals(matcher.group(2)) ? branch : null;
+        }
+        return null;
+    }
+
+    private Object handleGitLab(final HttpExchange exchange, final String path) {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if (path.equals(GITLAB_PATH + "/projects")) {
+            paginate(exchange, 1, 2, 1);
+            return List.of(gitLabProject(1), gitLabProject(2));
+        }
+
+        Matcher matcher = GITLAB_PROJECT.matcher(path);
+        if (matcher.matches()) {
+            return gitLabProject(Long.parseLong(matcher.group(1)));
+        }
+        matcher = GITLAB_BRANCHES.matcher(path);
+        if (matcher.matches()) {
+            long repositoryId = Long.parseLong(matcher.group(1));
+            Map<String, Object> branch = Map.of("name", BRANCH, "default", true,
+                                                "commit", Map.of("id", commitId(repositoryId, totalCommits() - 1)));
+            if (matcher.group(2) == null) {
+                paginate(exchange, 1, 1, 1);
+                return List.of(branch);
+            }
+            return BRANCH.equals(matcher.group(2)) ? branch : null;
+        }
+        matcher = GITLAB_COMMITS.matcher(path);
+        if (matcher.matches()) {
+            long repositoryId = Long.parseLong(matcher.group(1));
+            int first = firstCommitSince(query.get("since"));
+            int perPage = query.containsKey("per_page") ? Integer.parseInt(query.get("per_page")) : pageSize;
+            int page = query.containsKey("page") ? Integer.parseInt(query.get("page")) : 1;
+            int totalPages = Math.max(1, (totalCommits() - first + perPage - 1) / perPage);
+            paginate(exchange, page, perPage, totalPages);
+
+            List<Map<String, Object>> commits = new ArrayList<>();
+            int start = first + (page - 1) * perPage;
+            for (int number = start; number < Math.min(totalCommits(), start + perPage); number++) {
+                commits.add(gitLabCommit(repositoryId, number));
+            }
+            return commits;
+        }
+        return null;
+    }
+
+    private Map<String, Object> gitHubHistoryPage(final JsonNode variables) {
+        long repositoryId = Long.parseLong(variables.get("name").asText().substring("repository-".length()));
+        JsonNode since = variables.get("since");
+        JsonNode cursor = variables.get("cursor");
+
+        int first = firstCommitSince(since == null || since.isNull() ? null : since.asText());
+        int start = cursor == null || cursor.isNull() ? first : Integer.parseInt(cursor.asText());
+        int end = Math.min(totalCommits(), start + pageSize);
+
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        for (int number = start; number < end; number++) {
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("oid", commitId(repositoryId, number));
+            node.put("message", "commit " + number);
+            node.put("committedDate", Instant.ofEpochMilli(commitTime(number)).toString());
+            node.put("additions", additions(number));
+            node.put("deletions", deletions(number));
+            node.put("author", Map.of("name", author(number)));
+            node.put("committer", Map.of());
+            node.put("parents", Map.of("nodes", number == 0 ? List.of()
+                                                             : List.of(Map.of("oid", commitId(repositoryId,
+                                                                                              number - 1)))));
+            nodes.add(node);
+        }
+
+        Map<String, Object> pageInfo = new HashMap<>();
+        pageInfo.put("hasNextPage", end < totalCommits());
+        pageInfo.put("endCursor", String.valueOf(end));
+
+        Map<String, Object> history = Map.of("pageInfo", pageInfo, "nodes", nodes);
+        return Map.of("data", Map.of("repository", Map.of("ref", Map.of("target", Map.of("history", history)))));
+    }
+
+    private Map<String, Object> gitHubRepository(final long repositoryId) {
+        String name = "repository-" + repositoryId;
+        Map<String, Object> repository = new HashMap<>();
+        repository.put("id", repositoryId);
+        repository.put("name", name);
+        repository.put("full_name", OWNER + "/" + name);
+        repository.put("owner", Map.of("login", OWNER, "id", 1));
+        repository.put("default_branch", BRANCH);
+        repository.put("clone_url", "https://github.invalid/" + OWNER + "/" + name + ".git");
+        repository.put("private", true);
+        return repository;
+    }
+
+    private Map<String, Object> gitLabProject(final long repositoryId) {
+        String name = "repository-" + repositoryId;
+        return Map.of("id", repositoryId,
+                      "name", name,
+                      "path_with_namespace", OWNER + "/" + name,
+                      "default_branch", BRANCH,
+                      "http_url_to_repo", "https://gitlab.invalid/" + OWNER + "/" + name + ".git");
+    }
+
+    private Map<String, Object> gitLabCommit(final long repositoryId, final int number) {
+        Map<String, Object> commit = new HashMap<>();
+        commit.put("id", commitId(repositoryId, number));
+        commit.put("message", "commit " + number);
+        commit.put("author_name", author(number));
+        commit.put("committed_date", Instant.ofEpochMilli(commitTime(number)).toString());
+        commit.put("parent_ids", number == 0 ? List.of() : List.of(commitId(repositoryId, number - 1)));
+        commit.put("stats", Map.of("additions", additions(number), "deletions", deletions(number),
+                                   "total", additions(number) + deletions(number)));
+        return commit;
+    }
+
+    /**
+     * answers whether the access token of the request has calls left in the current window and sets the rate limit
+     * headers of the provider.
+     */
+    private boolean withinRateLimit(final HttpExchange exchange, final boolean gitHub) {
+        String token = exchange.getRequestHeaders().getFirst("Authorization");
+        String key = (gitHub ? GITHUB_PATH : GITLAB_PATH) + token;
+        long now = System.currentTimeMillis();
+
+        RateLimitWindow window = rateLimitWindows.compute(key, (k, current) ->
+            current == null || current.resetAt <= now ? new RateLimitWindow(now + rateLimitWindowMillis)
+                                                      : current);
+        int used;
+        synchronized (window) {
+            used = ++window.used;
+        }
+        int remaining = Math.max(0, rateLimit - used);
+        long resetSeconds = window.resetAt / MILLIS_PER_SECOND;
+
+        String prefix = gitHub ? "X-RateLimit-" : "RateLimit-";
+        exchange.getResponseHeaders().set(prefix + "Limit", String.valueOf(rateLimit));
+        exchange.getResponseHeaders().set(prefix + "Remaining", String.valueOf(remaining));
+        exchange.getResponseHeaders().set(prefix + "Reset", String.valueOf(resetSeconds));
+
+        if (used > rateLimit) {
+            long retryAfter = Math.max(1, (window.resetAt - now) / MILLIS_PER_SECOND);
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfter));
+            return false;
+        }
+        return true;
+    }
+
+    private void paginate(final HttpExchange exchange, final int page, final int perPage, final int totalPages) {
+        exchange.getResponseHeaders().set("X-Page", String.valueOf(page));
+        exchange.getResponseHeaders().set("X-Per-Page", String.valueOf(perPage));
+        exchange.getResponseHeaders().set("X-Total-Pages", String.valueOf(totalPages));
+        exchange.getResponseHeaders().set("X-Total", String.valueOf(totalPages * perPage));
+        exchange.getResponseHeaders().set("X-Next-Page", page < totalPages ? String.valueOf(page + 1) : "");
+        exchange.getResponseHeaders().set("X-Prev-Page", page > 1 ? String.valueOf(page - 1) : "");
+    }
+
+    private void send(final HttpExchange exchange, final int status, final Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(json);
+        }
+    }
+
+    private int firstCommitSince(final String since) {
+        if (since == null || since.isEmpty()) {
+            return 0;
+        }
+        long sinceMillis = OffsetDateTime.parse(since).toInstant().toEpochMilli();
+        long first = (sinceMillis - FIRST_COMMIT_TIME + MILLIS_PER_MINUTE - 1) / MILLIS_PER_MINUTE;
+        return (int) Math.max(0, Math.min(totalCommits(), first));
+    }
+
+    private int totalCommits() {
+        return pages * pageSize;
+    }
+
+    private static String commitId(final long repositoryId, final int number) {
+        return String.format("%020x%020x", repositoryId, number);
+    }
+
+    private static long commitTime(final int number) {
+        return FIRST_COMMIT_TIME + number * MILLIS_PER_MINUTE;
+    }
+
+    private static String author(final int number) {
+        return "author-" + number % AUTHORS;
+    }
+
+    private static int additions(final int number) {
+        return number % 50 + 1;
+    }
+
+    private static int deletions(final int number) {
+        return number % 20;
+    }
+
+    private static Map<String, String> parseQuery(final String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                String[] pair = parameter.split("=", 2);
+                query.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                          pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+            }
+        }
+        return query;
+    }
+
+    private static void sleep(final long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RateLimitWindow {
+        private final long resetAt;
+        private int used;
+
+        private RateLimitWindow(final long resetAt) {
+            this.resetAt = resetAt;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tuwien.gitanalyser.loadtest;
+
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+/**
+ * keeps the component scan of the backend away from the test configurations on the classpath of the load test,
+ * like a SpringBootTest does. Otherwise the mocked git clients of the integration tests replace the real ones.
+ */
+public class TestComponentExcludeFilter extends TypeExcludeFilter {
+
+    @Override
+    public boolean match(final MetadataReader metadataReader, final MetadataReaderFactory metadataReaderFactory) {
+        return metadataReader.getAnnotationMetadata().hasAnnotation(TestComponent.class.getName())
+                   || metadataReader.getAnnotationMetadata().hasMetaAnnotation(TestComponent.class.getName());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj != null && getClass() == obj.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,39 @@
+package com.tuwien.gitanalyser.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfiguration {
+
+    /**
+     * shared by all requests, so the number of concurrent page requests to GitLab stays bounded.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService gitLabCommitPageExecutor(
+        @Value("${gitanalyser.gitlab.commit-fetch.threads}") final int threads) {
+        return Executors.newFixedThreadPool(Math.max(1, threads),
+                                            new CustomizableThreadFactory("gitlab-commit-page-"));
+    }
+
+    /**
+     * runs the warm-up after logins with low priority threads, warm-ups beyond the queue capacity are rejected.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService prefetchExecutor(@Value("${gitanalyser.prefetch.threads}") final int threads,
+                                            @Value("${gitanalyser.prefetch.queue-capacity}") final int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("prefetch-");
+        threadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+                                      new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+    }
+}
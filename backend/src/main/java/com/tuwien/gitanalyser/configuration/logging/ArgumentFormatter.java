@@ -0,0 +1,114 @@
+package com.tuwien.gitanalyser.configuration.logging;
+
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * renders the arguments of logged method calls within a bounded length. Collections, maps and arrays show their
+ * size and first elements only, so a list of a million commits is not turned into a string as a whole. Objects of
+ * the application, like dtos and entities, show their class only, their toString may walk whole object graphs. All
+ * other arguments are rendered with their toString before they are cut, so it has to be cheap.
+ */
+public class ArgumentFormatter {
+
+    private static final String ELLIPSIS = "...";
+    private static final String APPLICATION_PACKAGE = "com.tuwien.gitanalyser.";
+
+    private final int maximumLength;
+    private final int maximumElements;
+
+    public ArgumentFormatter(final int maximumLength, final int maximumElements) {
+        this.maximumLength = maximumLength;
+        this.maximumElements = maximumElements;
+    }
+
+    public String format(final Object argument) {
+        StringBuilder builder = new StringBuilder();
+        if (argument instanceof Collection<?> collection) {
+            appendElements(builder, collection.size(), collection.iterator());
+        } else if (argument instanceof Map<?, ?> map) {
+            appendElements(builder, map.size(), map.entrySet().iterator());
+        } else if (argument != null && argument.getClass().isArray()) {
+            appendArray(builder, argument);
+        } else {
+            appendValue(builder, argument);
+        }
+        return builder.toString();
+    }
+
+    private void appendElements(final StringBuilder builder, final int size, final Iterator<?> elements) {
+        builder.append(size).append(" elements [");
+        for (int i = 0; i < maximumElements && elements.hasNext() && builder.length() < maximumLength; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            appendValue(builder, elements.next());
+        }
+        if (size > maximumElements) {
+            builder.append(", ").append(ELLIPSIS);
+        }
+        builder.append(']');
+    }
+
+    private void appendArray(final StringBuilder builder, final Object array) {
+        int length = Array.getLength(array);
+        builder.append(length).append(" elements [");
+        for (int i = 0; i < maximumElements && i < length && builder.length() < maximumLength; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            appendValue(builder, Array.get(array, i));
+        }
+        if (length > maximumElements) {
+            builder.append(", ").append(ELLIPSIS);
+        }
+        builder.append(']');
+    }
+
+    /**
+     * nested collections are not expanded, only their size is shown.
+     */
+    private void appendValue(final StringBuilder builder, final Object value) {
+        if (value instanceof Collection<?> collection) {
+            builder.append(collection.size()).append(" elements");
+            return;
+        }
+        if (value instanceof Map<?, ?> map) {
+            builder.append(map.size()).append(" elements");
+            return;
+        }
+        if (value instanceof Map.Entry<?, ?> entry) {
+            appendValue(builder, entry.getKey());
+            builder.append('=');
+            appendValue(builder, entry.getValue());
+            return;
+        }
+
+        if (value instanceof HibernateProxy proxy) {
+            // the persistent class is known without loading the entity
+            builder.append(proxy.getHibernateLazyInitializer().getPersistentClass().getSimpleName());
+            return;
+        }
+        if (isApplicationObject(value)) {
+            builder.append(value.getClass().getSimpleName());
+            return;
+        }
+
+        String text = String.valueOf(value);
+        int remaining = Math.max(0, maximumLength - builder.length());
+        if (text.length() > remaining) {
+            builder.append(text, 0, remaining).append(ELLIPSIS);
+        } else {
+            builder.append(text);
+        }
+    }
+
+    private boolean isApplicationObject(final Object value) {
+        return value != null && !(value instanceof Enum<?>)
+            && value.getClass().getName().startsWith(APPLICATION_PACKAGE);
+    }
+}
@@ -8,16 +8,29 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.CodeSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Aspect
 @Configuration
 public class LoggingAspect {
 
+    private final double methodCallSampleRate;
+    private final ArgumentFormatter argumentFormatter;
+
+    public LoggingAspect(
+        @Value("${gitanalyser.logging.method-call-sample-rate}") final double methodCallSampleRate,
+        @Value("${gitanalyser.logging.maximum-argument-length}") final int maximumArgumentLength,
+        @Value("${gitanalyser.logging.maximum-argument-elements}") final int maximumArgumentElements) {
+        this.methodCallSampleRate = methodCallSampleRate;
+        this.argumentFormatter = new ArgumentFormatter(maximumArgumentLength, maximumArgumentElements);
+    }
+
     /**
      * Pointcut that matches all Spring beans in the application's main packages.
      */
@@ -34,11 +47,19 @@ public class LoggingAspect {
                   + "&& ! execution(* com.tuwien.gitanalyser.security.SecurityConfiguration..*.*()) ")
     public void applicationPackagePointcut() { }
 
+    /**
+     * logs the start of a sample of the calls, nothing is rendered if the logger would drop the message anyway.
+     */
     @Before(value = "applicationPackagePointcut() && springBeanPointcut()")
     public void logBeforeAllMethods(final JoinPoint joinPoint) {
+        Logger loggerInstance = getLogger(joinPoint);
+        if (!loggerInstance.isInfoEnabled() || !isSampled()) {
+            return;
+        }
+
         CodeSignature methodSignature = (CodeSignature) joinPoint.getSignature();
         List<String> parameters = getParameters(joinPoint, methodSignature);
-        log(joinPoint, joinPoint.getSignature().getName() + " started (" + String.join("; ", parameters) + ")");
+        loggerInstance.info("{} started ({})", methodSignature.getName(), String.join("; ", parameters));
     }
 
     @AfterThrowing(value = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
@@ -55,13 +76,17 @@ public class LoggingAspect {
                 if (sigParamNames[i] != null && signatureArgs[i] != null
                         && !Objects.equals(sigParamNames[i], "accessToken")
                         && !Objects.equals(sigParamNames[i], "refreshToken")) {
-                    parameters.add(sigParamNames[i] + ": " + signatureArgs[i].toString());
+                    parameters.add(sigParamNames[i] + ": " + argumentFormatter.format(signatureArgs[i]));
                 }
             }
         }
         return parameters;
     }
 
+    private boolean isSampled() {
+        return methodCallSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < methodCallSampleRate;
+    }
+
     private void logException(final JoinPoint joinPoint, final Throwable e) {
 
         Logger loggerInstance = getLogger(joinPoint);
@@ -74,13 +99,4 @@ public class LoggingAspect {
     private Logger getLogger(final JoinPoint joinPoint) {
         return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringType().getCanonicalName());
     }
-
-    private void log(final JoinPoint joinPoint, final String message) {
-
-        Logger loggerInstance = getLogger(joinPoint);
-
-        if (loggerInstance != null) {
-            loggerInstance.info(message);
-        }
-    }
 }
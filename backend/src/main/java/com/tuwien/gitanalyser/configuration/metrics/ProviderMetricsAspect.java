@@ -0,0 +1,71 @@
+package com.tuwien.gitanalyser.configuration.metrics;
+
+import com.tuwien.gitanalyser.service.apiCalls.github.GitHubAPI;
+import com.tuwien.gitanalyser.service.apiCalls.gitlab.GitLabAPI;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.synthetic.SyntheticGitAPI;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * times every call of a git api and counts the commits the calls return.
+ */
+@Aspect
+@Configuration
+public class ProviderMetricsAspect {
+
+    private static final Set<String> COMMIT_OPERATIONS = Set.of("getAllCommits", "getCommitsSince");
+
+    private final ProviderMetrics providerMetrics;
+
+    public ProviderMetricsAspect(final ProviderMetrics providerMetrics) {
+        this.providerMetrics = providerMetrics;
+    }
+
+    /**
+     * Pointcut that matches all public methods of the implementations of GitAPI.
+     */
+    @Pointcut("execution(public * com.tuwien.gitanalyser.service.GitAPI+.*(..))")
+    public void gitAPIPointcut() { }
+
+    @Around("gitAPIPointcut()")
+    public Object recordProviderCall(final ProceedingJoinPoint joinPoint) throws Throwable {
+        String provider = getProvider(joinPoint.getTarget());
+        String operation = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            providerMetrics.recordCall(provider, operation, System.nanoTime() - start, e);
+            throw e;
+        }
+
+        providerMetrics.recordCall(provider, operation, System.nanoTime() - start, null);
+        if (COMMIT_OPERATIONS.contains(operation) && result instanceof List<?> commits) {
+            providerMetrics.recordCommits(provider, commits.size());
+        }
+        return result;
+    }
+
+    private String getProvider(final Object gitAPI) {
+        if (gitAPI instanceof GitHubAPI) {
+            return ProviderMetrics.GITHUB;
+        }
+        if (gitAPI instanceof GitLabAPI) {
+            return ProviderMetrics.GITLAB;
+        }
+        if (gitAPI instanceof SyntheticGitAPI) {
+            return SyntheticGitAPI.PROFILE;
+        }
+        return gitAPI.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,16 +1,25 @@
 package com.tuwien.gitanalyser.endpoints;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.tuwien.gitanalyser.endpoints.dtos.BranchDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.CommitDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.CommitterDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.NotSavedRepositoryDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.RepositorySnapshotDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.StatsBucketDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.StatsDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.StreamErrorDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.assignment.AssignmentDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.assignment.CreateAssignmentDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitPageInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitterInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.RepositorySnapshotInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import com.tuwien.gitanalyser.entity.Assignment;
 import com.tuwien.gitanalyser.entity.mapper.AssignmentMapper;
@@ -19,6 +28,7 @@ import com.tuwien.gitanalyser.entity.mapper.CommitMapper;
 import com.tuwien.gitanalyser.entity.mapper.CommitterMapper;
 import com.tuwien.gitanalyser.entity.mapper.NotSavedRepositoryMapper;
 import com.tuwien.gitanalyser.entity.mapper.StatsMapper;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
 import com.tuwien.gitanalyser.exception.BadRequestException;
 import com.tuwien.gitanalyser.exception.ConflictException;
 import com.tuwien.gitanalyser.exception.GitException;
@@ -26,6 +36,7 @@ import com.tuwien.gitanalyser.exception.IllegalArgumentException;
 import com.tuwien.gitanalyser.exception.InternalServerErrorException;
 import com.tuwien.gitanalyser.exception.NoProviderFoundException;
 import com.tuwien.gitanalyser.security.SecurityAnnotations;
+import com.tuwien.gitanalyser.service.CommitSource;
 import com.tuwien.gitanalyser.service.GitService;
 import com.tuwien.gitanalyser.service.RepositoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,7 +46,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -48,7 +63,12 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 @RestController()
@@ -57,6 +77,16 @@ import java.util.Set;
 @Tag(name = "Repository Endpoint")
 public class RepositoryEndpoint extends BaseEndpoint {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryEndpoint.class);
+    private static final int DEFAULT_COMMIT_PAGE_SIZE = 100;
+    private static final int MAXIMUM_COMMIT_PAGE_SIZE = 1000;
+    /**
+     * number of streamed commits after which the written lines are sent to the client.
+     */
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+    private static final String STREAM_ERROR_MESSAGE = "The commits could not be streamed completely";
+
     private final RepositoryService repositoryService;
     private final GitService gitService;
     private final NotSavedRepositoryMapper notSavedRepositoryMapper;
@@ -65,6 +95,7 @@ public class RepositoryEndpoint extends BaseEndpoint {
     private final CommitterMapper committerMapper;
     private final AssignmentMapper assignmentMapper;
     private final StatsMapper statsMapper;
+    private final ObjectWriter lineWriter;
 
     public RepositoryEndpoint(final RepositoryService repositoryService,
                               final GitService gitService,
@@ -73,7 +104,8 @@ public class RepositoryEndpoint extends BaseEndpoint {
                               final CommitMapper commitMapper,
                               final CommitterMapper committerMapper,
                               final AssignmentMapper assignmentMapper,
-                              final StatsMapper statsMapper) {
+                              final StatsMapper statsMapper,
+                              final ObjectMapper objectMapper) {
         this.repositoryService = repositoryService;
         this.gitService = gitService;
         this.notSavedRepositoryMapper = notSavedRepositoryMapper;
@@ -82,6 +114,8 @@ public class RepositoryEndpoint extends BaseEndpoint {
         this.committerMapper = committerMapper;
         this.assignmentMapper = assignmentMapper;
         this.statsMapper = statsMapper;
+        // every commit has to stay on a single line of the stream
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
     }
 
     @GetMapping
@@ -154,7 +188,8 @@ public class RepositoryEndpoint extends BaseEndpoint {
     }
 
     @GetMapping("/{platformId}/commit")
-    @Operation(description = "Get all branches for a repository", responses = {
+    @Operation(description = "Get all commits of a branch or a page of them if a limit or cursor is given, the "
+        + "cursor of the next page is returned in the " + NEXT_CURSOR_HEADER + " header", responses = {
         @ApiResponse(responseCode = "200", content = @Content(
             array = @ArraySchema(schema = @Schema(implementation = CommitDTO.class)),
             mediaType = "application/json")),
@@ -162,24 +197,105 @@ public class RepositoryEndpoint extends BaseEndpoint {
             mediaType = "application/json",
             schema = @Schema(hidden = true)))
     })
-    public List<CommitDTO> getCommitsByRepositoryId(
+    public ResponseEntity<List<CommitDTO>> getCommitsByRepositoryId(
         final Authentication authentication,
         final @PathVariable Long platformId,
         final @RequestParam(name = "branch", required = false) String branch,
         final @RequestParam(name = "mappedByAssignments", required = false,
             defaultValue = "false") Boolean mappedByAssignments,
-        final @RequestParam(name = "committerName", required = false) String name)
+        final @RequestParam(name = "committerName", required = false) String name,
+        final @RequestParam(name = "limit", required = false) Integer limit,
+        final @RequestParam(name = "cursor", required = false) String cursor)
         throws ResponseStatusException {
-        List<CommitAggregatedInternalDTO> commits;
+
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(getAllCommits(authentication, platformId, branch, mappedByAssignments, name));
+        }
+
+        int pageSize = limit == null ? DEFAULT_COMMIT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAXIMUM_COMMIT_PAGE_SIZE) {
+            throw new BadRequestException("limit has to be between 1 and " + MAXIMUM_COMMIT_PAGE_SIZE);
+        }
+
+        CommitPageInternalDTO page;
         try {
-            commits = repositoryService.getCommits(getUserId(authentication),
-                                                   platformId, branch, mappedByAssignments, name);
+            page = repositoryService.getCommitPage(getUserId(authentication), platformId, branch,
+                                                   mappedByAssignments, name, cursor, pageSize);
         } catch (NoProviderFoundException e) {
             throw new InternalServerErrorException();
         } catch (GitException e) {
             throw new BadRequestException(e.getMessage());
         }
-        return commitsMapper.dtosToDTOs(commits);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(commitsMapper.dtosToDTOs(page.getCommits()));
+    }
+
+    /**
+     * writes the commits one line after the other, so the response is never held in memory as a whole. A fresh
+     * cached history is written while it is read from the cache, the first lines reach the client before the last
+     * commits are read. A history that is not cached or expired is still loaded as a whole before the first line is
+     * written, so its size decides the memory and the time to the first line of that request. Access, aliases and
+     * the origin of the commits are resolved before the response is opened, so they fail with a regular error
+     * status. A failure after the first lines were sent ends the stream with a StreamErrorDTO line instead.
+     */
+    @GetMapping(value = "/{platformId}/commit", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "Stream all commits of a branch as newline delimited json if "
+        + MediaType.APPLICATION_NDJSON_VALUE + " is accepted. A stream that broke off after its first lines ends "
+        + "with a line holding only an error field", responses = {
+        @ApiResponse(responseCode = "200", content = @Content(
+            schema = @Schema(implementation = CommitDTO.class),
+            mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+        @ApiResponse(responseCode = "400", content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(hidden = true)))
+    })
+    public void streamCommitsByRepositoryId(
+        final Authentication authentication,
+        final @PathVariable Long platformId,
+        final @RequestParam(name = "branch", required = false) String branch,
+        final @RequestParam(name = "mappedByAssignments", required = false,
+            defaultValue = "false") Boolean mappedByAssignments,
+        final @RequestParam(name = "committerName", required = false) String name,
+        final HttpServletResponse response)
+        throws ResponseStatusException, IOException {
+
+        CommitSource<CommitAggregatedInternalDTO> commits;
+        try {
+            commits = repositoryService.getCommitSource(getUserId(authentication), platformId, branch,
+                                                        mappedByAssignments, name);
+        } catch (NoProviderFoundException e) {
+            throw new InternalServerErrorException();
+        } catch (GitException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        int[] writtenLines = {0};
+        try {
+            commits.forEach(commit -> {
+                writeLine(outputStream, commitsMapper.dtoToDTO(commit));
+                if (++writtenLines[0] % STREAM_FLUSH_INTERVAL == 0) {
+                    flush(outputStream);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // the client is gone, nothing reaches it anymore
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+                throw new InternalServerErrorException();
+            }
+            LOGGER.warn("Streaming the commits of repository {} broke off after {} lines", platformId,
+                        writtenLines[0], e);
+            writeLine(outputStream, new StreamErrorDTO(STREAM_ERROR_MESSAGE));
+        }
+        outputStream.flush();
     }
 
     @GetMapping("/{platformId}/committer")
@@ -272,6 +388,69 @@ public class RepositoryEndpoint extends BaseEndpoint {
         return statsMapper.dtosToDTOs(stats);
     }
 
+    @GetMapping("/{platformId}/stats/timeline")
+    @Operation(description = "Get statistics per committer and time bucket for repository and branch", responses = {
+        @ApiResponse(responseCode = "200", content = @Content(
+            array = @ArraySchema(schema = @Schema(implementation = StatsBucketDTO.class)),
+            mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(hidden = true)))
+    })
+    public List<StatsBucketDTO> getStatsTimeline(final Authentication authentication,
+                                                 final @PathVariable Long platformId,
+                                                 final @RequestParam(name = "branch", required = false) String branch,
+                                                 final @RequestParam(name = "mappedByAssignments", required = false,
+                                                     defaultValue = "false") Boolean mappedByAssignments,
+                                                 final @RequestParam(name = "granularity", required = false,
+                                                     defaultValue = "day") String granularity)
+        throws ResponseStatusException {
+
+        List<StatsBucketInternalDTO> buckets;
+        try {
+            buckets = repositoryService.getStatsTimeline(getUserId(authentication), platformId, branch,
+                                                         mappedByAssignments, parseGranularity(granularity));
+        } catch (NoProviderFoundException e) {
+            throw new InternalServerErrorException();
+        } catch (GitException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return statsMapper.bucketDtosToDTOs(buckets);
+    }
+
+    @GetMapping("/{platformId}/snapshot")
+    @Operation(description = "Get commits, statistics, committers and assignments of a branch at once", responses = {
+        @ApiResponse(responseCode = "200", content = @Content(
+            schema = @Schema(implementation = RepositorySnapshotDTO.class),
+            mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(hidden = true)))
+    })
+    public RepositorySnapshotDTO getSnapshot(final Authentication authentication,
+                                             final @PathVariable Long platformId,
+                                             final @RequestParam(name = "branch", required = false) String branch,
+                                             final @RequestParam(name = "mappedByAssignments", required = false,
+                                                 defaultValue = "false") Boolean mappedByAssignments)
+        throws ResponseStatusException {
+
+        RepositorySnapshotInternalDTO snapshot;
+        try {
+            snapshot = repositoryService.getSnapshot(getUserId(authentication), platformId, branch,
+                                                     mappedByAssignments);
+        } catch (NoProviderFoundException e) {
+            throw new InternalServerErrorException();
+        } catch (GitException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return RepositorySnapshotDTO.builder()
+                                    .commits(commitsMapper.dtosToDTOs(snapshot.getCommits()))
+                                    .stats(statsMapper.dtosToDTOs(snapshot.getStats()))
+                                    .committers(committerMapper.dtosToDTOs(snapshot.getCommitters()))
+                                    .assignments(assignmentMapper.entitiesToDTO(snapshot.getAssignments()))
+                                    .build();
+    }
+
     @DeleteMapping("/{platformId}/assignment/{subAssignmentId}")
     @SecurityAnnotations.UserOwnsRepo
     @Operation(description = "Get assignment for committers for a repository", responses = {
@@ -286,5 +465,43 @@ public class RepositoryEndpoint extends BaseEndpoint {
 
         repositoryService.deleteAssignment(getUserId(authentication), platformId, subAssignmentId);
     }
-}
 
+    private Granularity parseGranularity(final String granularity) {
+        try {
+            return Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (java.lang.IllegalArgumentException e) {
+            throw new BadRequestException("granularity has to be day, week or month");
+        }
+    }
+
+    private List<CommitDTO> getAllCommits(final Authentication authentication, final Long platformId,
+                                          final String branch, final Boolean mappedByAssignments, final String name) {
+        List<CommitAggregatedInternalDTO> commits;
+        try {
+            commits = repositoryService.getCommits(getUserId(authentication),
+                                                   platformId, branch, mappedByAssignments, name);
+        } catch (NoProviderFoundException e) {
+            throw new InternalServerErrorException();
+        } catch (GitException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return commitsMapper.dtosToDTOs(commits);
+    }
+
+    private void flush(final OutputStream outputStream) {
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(final OutputStream outputStream, final Object value) {
+        try {
+            outputStream.write(lineWriter.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
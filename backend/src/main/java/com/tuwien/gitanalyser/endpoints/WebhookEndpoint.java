@@ -0,0 +1,144 @@
+package com.tuwien.gitanalyser.endpoints;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.PushEventInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.webhook.GitHubPushEventDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.webhook.GitLabPushEventDTO;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.exception.AuthenticationException;
+import com.tuwien.gitanalyser.exception.BadRequestException;
+import com.tuwien.gitanalyser.security.WebhookVerifier;
+import com.tuwien.gitanalyser.service.WebhookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController()
+@RequestMapping("/apiV1/webhook")
+@Tag(name = "Webhook Endpoint")
+public class WebhookEndpoint extends BaseEndpoint {
+
+    private static final String GITHUB_PUSH_EVENT = "push";
+    private static final String GITLAB_PUSH_EVENT = "Push Hook";
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+    // both providers report this head for a push which deleted the branch
+    private static final String DELETED_HEAD_ID = "0000000000000000000000000000000000000000";
+
+    private final WebhookService webhookService;
+    private final WebhookVerifier webhookVerifier;
+    private final ObjectMapper objectMapper;
+
+    public WebhookEndpoint(final WebhookService webhookService,
+                           final WebhookVerifier webhookVerifier,
+                           final ObjectMapper objectMapper) {
+        this.webhookService = webhookService;
+        this.webhookVerifier = webhookVerifier;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/github")
+    @Operation(description = "Receive a webhook event from GitHub, pushes are appended to the stored commit "
+        + "histories of the branch", responses = {
+        @ApiResponse(responseCode = "202", description = "Push accepted"),
+        @ApiResponse(responseCode = "204", description = "Event ignored"),
+        @ApiResponse(responseCode = "400", content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "401", description = "Invalid signature", content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(hidden = true)))
+    })
+    public ResponseEntity<Void> receiveGitHubEvent(
+        final @RequestHeader(name = "X-GitHub-Event") String event,
+        final @RequestHeader(name = "X-Hub-Signature-256", required = false) String signature,
+        final @RequestBody byte[] payload) {
+
+        // the signature covers the raw payload, so it is checked before anything is parsed
+        if (!webhookVerifier.isGitHubSignatureValid(payload, signature)) {
+            throw new AuthenticationException("invalid webhook signature");
+        }
+        if (!GITHUB_PUSH_EVENT.equals(event)) {
+            return ResponseEntity.noContent().build();
+        }
+
+        GitHubPushEventDTO pushEvent = readPayload(payload, GitHubPushEventDTO.class);
+        if (pushEvent.getRepository() == null || pushEvent.getRepository().getId() == null) {
+            throw new BadRequestException("push event without repository");
+        }
+
+        return receivePush(AuthenticationProvider.GITHUB, pushEvent.getRepository().getId(), pushEvent.getRef(),
+                           pushEvent.getRepository().getDefaultBranch(), pushEvent.getAfter());
+    }
+
+    @PostMapping("/gitlab")
+    @Operation(description = "Receive a webhook event from GitLab, pushes are appended to the stored commit "
+        + "histories of the branch", responses = {
+        @ApiResponse(responseCode = "202", description = "Push accepted"),
+        @ApiResponse(responseCode = "204", description = "Event ignored"),
+        @ApiResponse(responseCode = "400", content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "401", description = "Invalid token", content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(hidden = true)))
+    })
+    public ResponseEntity<Void> receiveGitLabEvent(
+        final @RequestHeader(name = "X-Gitlab-Event") String event,
+        final @RequestHeader(name = "X-Gitlab-Token", required = false) String token,
+        final @RequestBody byte[] payload) {
+
+        if (!webhookVerifier.isGitLabTokenValid(token)) {
+            throw new AuthenticationException("invalid webhook token");
+        }
+        if (!GITLAB_PUSH_EVENT.equals(event)) {
+            return ResponseEntity.noContent().build();
+        }
+
+        GitLabPushEventDTO pushEvent = readPayload(payload, GitLabPushEventDTO.class);
+        if (pushEvent.getProjectId() == null) {
+            throw new BadRequestException("push event without project");
+        }
+
+        String defaultBranch = pushEvent.getProject() == null ? null : pushEvent.getProject().getDefaultBranch();
+        return receivePush(AuthenticationProvider.GITLAB, pushEvent.getProjectId(), pushEvent.getRef(),
+                           defaultBranch, pushEvent.getAfter());
+    }
+
+    /**
+     * passes pushes to branches on, pushes of tags and deleted branches are ignored.
+     */
+    private ResponseEntity<Void> receivePush(final AuthenticationProvider authenticationProvider,
+                                             final Long platformId, final String ref, final String defaultBranch,
+                                             final String headId) {
+        if (ref == null || !ref.startsWith(BRANCH_REF_PREFIX) || headId == null || DELETED_HEAD_ID.equals(headId)) {
+            return ResponseEntity.noContent().build();
+        }
+
+        webhookService.pushReceived(PushEventInternalDTO.builder()
+                                                        .authenticationProvider(authenticationProvider)
+                                                        .platformId(platformId)
+                                                        .branch(ref.substring(BRANCH_REF_PREFIX.length()))
+                                                        .defaultBranch(defaultBranch)
+                                                        .headId(headId)
+                                                        .build());
+        return ResponseEntity.accepted().build();
+    }
+
+    private <T> T readPayload(final byte[] payload, final Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (IOException e) {
+            throw new BadRequestException("invalid webhook payload");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.tuwien.gitanalyser.endpoints.dtos;
+
+import com.tuwien.gitanalyser.endpoints.dtos.assignment.AssignmentDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class RepositorySnapshotDTO {
+    private List<CommitDTO> commits;
+    private List<StatsDTO> stats;
+    private List<CommitterDTO> committers;
+    private List<AssignmentDTO> assignments;
+}
@@ -0,0 +1,26 @@
+package com.tuwien.gitanalyser.endpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class StatsBucketDTO {
+    private Date bucketStart;
+    private String committer;
+    private int numberOfCommits;
+    private int numberOfAdditions;
+    private int numberOfDeletions;
+}
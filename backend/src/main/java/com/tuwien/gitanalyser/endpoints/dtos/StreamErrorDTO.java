@@ -0,0 +1,23 @@
+package com.tuwien.gitanalyser.endpoints.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * last line of a stream that broke off after its first lines were sent, a complete stream never contains it.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class StreamErrorDTO {
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.tuwien.gitanalyser.endpoints.dtos.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class AliasIndexInternalDTO {
+    private long version;
+    private Map<String, String> aliases;
+
+    /**
+     * returns the alias of the name or the name itself, commits without author keep a null author.
+     */
+    public String resolve(final String name) {
+        return name == null ? null : aliases.getOrDefault(name, name);
+    }
+}
@@ -0,0 +1,28 @@
+package com.tuwien.gitanalyser.endpoints.dtos.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * read-only row of a cached commit history, it is read without creating a managed entity per commit.
+ */
+@Getter
+@Builder
+@Setter
+@AllArgsConstructor
+@ToString
+public class CachedCommitInternalDTO {
+    private String sha;
+    private String message;
+    private String author;
+    private Date committedAt;
+    private String parentIds;
+    private boolean mergeCommit;
+    private Integer additions;
+    private Integer deletions;
+}
@@ -0,0 +1,15 @@
+package com.tuwien.gitanalyser.endpoints.dtos.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class CommitPageInternalDTO {
+    private List<CommitAggregatedInternalDTO> commits;
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.tuwien.gitanalyser.endpoints.dtos.internal;
+
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class PushEventInternalDTO {
+    private AuthenticationProvider authenticationProvider;
+    private Long platformId;
+    private String branch;
+    private String defaultBranch;
+    private String headId;
+}
@@ -0,0 +1,19 @@
+package com.tuwien.gitanalyser.endpoints.dtos.internal;
+
+import com.tuwien.gitanalyser.entity.Assignment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class RepositorySnapshotInternalDTO {
+    private List<CommitAggregatedInternalDTO> commits;
+    private List<StatsInternalDTO> stats;
+    private Set<CommitterInternalDTO> committers;
+    private List<Assignment> assignments;
+}
@@ -0,0 +1,24 @@
+package com.tuwien.gitanalyser.endpoints.dtos.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Date;
+
+@Getter
+@Builder
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class StatsBucketInternalDTO {
+    private Date bucketStart;
+    private String committer;
+    private int numberOfCommits;
+    private int numberOfAdditions;
+    private int numberOfDeletions;
+}
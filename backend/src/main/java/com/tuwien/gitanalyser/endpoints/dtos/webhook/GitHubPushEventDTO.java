@@ -0,0 +1,33 @@
+package com.tuwien.gitanalyser.endpoints.dtos.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * the parts of a GitHub push event payload needed to synchronise the pushed branch.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitHubPushEventDTO {
+    private String ref;
+    private String after;
+    private Repository repository;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Repository {
+        private Long id;
+        @JsonProperty("default_branch")
+        private String defaultBranch;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tuwien.gitanalyser.endpoints.dtos.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * the parts of a GitLab push hook payload needed to synchronise the pushed branch.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitLabPushEventDTO {
+    private String ref;
+    private String after;
+    @JsonProperty("project_id")
+    private Long projectId;
+    private Project project;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Project {
+        @JsonProperty("default_branch")
+        private String defaultBranch;
+    }
+}
@@ -0,0 +1,72 @@
+package com.tuwien.gitanalyser.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.util.Date;
+
+/**
+ * single commit of a cached commit history.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "history")
+@Table(name = "cached_commit", indexes = {
+    @Index(name = "history_sortIndex", columnList = "history_id, sort_index")
+})
+public class CachedCommit {
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "history_id")
+    private CommitHistory history;
+
+    @Column(name = "sort_index")
+    private int sortIndex;
+
+    @Column(name = "sha")
+    private String sha;
+
+    @Lob
+    @Column(name = "message")
+    private String message;
+
+    @Column(name = "author")
+    private String author;
+
+    @Column(name = "committed_at")
+    private Date committedAt;
+
+    @Column(name = "parent_ids")
+    private String parentIds;
+
+    @Column(name = "merge_commit")
+    private boolean mergeCommit;
+
+    @Column(name = "additions")
+    private Integer additions;
+
+    @Column(name = "deletions")
+    private Integer deletions;
+}
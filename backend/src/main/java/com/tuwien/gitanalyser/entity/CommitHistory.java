@@ -0,0 +1,68 @@
+package com.tuwien.gitanalyser.entity;
+
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
+import java.util.Date;
+
+/**
+ * cached commit history of a single branch of a repository.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Table(name = "commit_history", uniqueConstraints = {
+    @UniqueConstraint(name = "Provider_platformId_branch",
+        columnNames = {"authentication_provider", "platform_id", "branch"})
+})
+public class CommitHistory {
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "authentication_provider")
+    private AuthenticationProvider authenticationProvider;
+
+    @Column(name = "platform_id")
+    private Long platformId;
+
+    @Column(name = "branch")
+    private String branch;
+
+    @Column(name = "last_synced")
+    private Date lastSynced;
+
+    @Column(name = "head_id")
+    private String headId;
+
+    /**
+     * user whose access token loaded the history last, pushes to the branch are synchronised with it.
+     */
+    @Column(name = "last_synced_by")
+    private Long lastSyncedBy;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
@@ -0,0 +1,65 @@
+package com.tuwien.gitanalyser.entity;
+
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.util.Date;
+
+/**
+ * statistics of a single author within one time bucket of a cached commit history.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "history")
+@Table(name = "commit_rollup", indexes = {
+    @Index(name = "history_granularity_bucketStart", columnList = "history_id, granularity, bucket_start")
+})
+public class CommitRollup {
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "history_id")
+    private CommitHistory history;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity")
+    private Granularity granularity;
+
+    @Column(name = "bucket_start")
+    private Date bucketStart;
+
+    @Column(name = "author")
+    private String author;
+
+    @Column(name = "number_of_commits")
+    private int numberOfCommits;
+
+    @Column(name = "number_of_additions")
+    private int numberOfAdditions;
+
+    @Column(name = "number_of_deletions")
+    private int numberOfDeletions;
+}
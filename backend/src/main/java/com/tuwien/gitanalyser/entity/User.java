@@ -21,6 +21,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Entity
@@ -53,6 +54,8 @@ public class User {
     private Integer platformId;
     @Column(name = "access_token")
     private String accessToken;
+    @Column(name = "access_token_expires_at")
+    private Date accessTokenExpiresAt;
     @Column(name = "refresh_token")
     private String refreshToken;
     @Column(name = "finger_print_hash")
@@ -1,6 +1,8 @@
 package com.tuwien.gitanalyser.entity.mapper;
 
+import com.tuwien.gitanalyser.endpoints.dtos.StatsBucketDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.StatsDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import org.mapstruct.Mapper;
 
@@ -12,4 +14,8 @@ public interface StatsMapper {
     StatsDTO dtoToDTO(StatsInternalDTO statsInternalDTO);
 
     List<StatsDTO> dtosToDTOs(List<StatsInternalDTO> statsInternalDTOS);
+
+    StatsBucketDTO bucketDtoToDTO(StatsBucketInternalDTO statsBucketInternalDTO);
+
+    List<StatsBucketDTO> bucketDtosToDTOs(List<StatsBucketInternalDTO> statsBucketInternalDTOS);
 }
@@ -1,5 +1,10 @@
 package com.tuwien.gitanalyser.entity.utils;
 
 public enum AuthenticationProvider {
-    GITHUB, GITLAB
+    GITHUB, GITLAB,
+    /**
+     * nobody logs in with it, the histories of the synthetic git provider are cached for it, so they are never
+     * served for a real repository with the same id.
+     */
+    SYNTHETIC
 }
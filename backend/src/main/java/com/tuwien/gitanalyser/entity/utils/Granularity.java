@@ -0,0 +1,29 @@
+package com.tuwien.gitanalyser.entity.utils;
+
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Date;
+
+/**
+ * size of the time buckets the statistics of committers are rolled up in. Buckets start at midnight UTC, weeks
+ * on Monday.
+ */
+public enum Granularity {
+    DAY, WEEK, MONTH;
+
+    /**
+     * returns the start of the bucket the date falls into.
+     */
+    public Date truncate(final Date date) {
+        ZonedDateTime day = date.toInstant().atZone(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+        ZonedDateTime bucketStart = switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+        return Date.from(bucketStart.toInstant());
+    }
+}
@@ -0,0 +1,7 @@
+package com.tuwien.gitanalyser.exception;
+
+public class SyntheticException extends GitException {
+    public SyntheticException(final Throwable cause) {
+        super(cause);
+    }
+}
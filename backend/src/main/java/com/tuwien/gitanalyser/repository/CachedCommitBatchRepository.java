@@ -0,0 +1,21 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CachedCommitInternalDTO;
+import com.tuwien.gitanalyser.entity.CachedCommit;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * writes cached commits in batches of statements instead of a statement per commit and reads them in chunks.
+ */
+public interface CachedCommitBatchRepository {
+    void batchInsert(List<CachedCommit> commits);
+
+    /**
+     * passes the commits of a history to the consumer in the order of the history while they are read, so the
+     * history is never held in memory as a whole. They are read in chunks of the batch size, the connection is
+     * released after every chunk and not held while the consumer takes the commits.
+     */
+    void streamCommitsByHistory(Long historyId, Consumer<CachedCommitInternalDTO> consumer);
+}
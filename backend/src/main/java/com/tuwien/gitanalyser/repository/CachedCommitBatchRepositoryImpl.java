@@ -0,0 +1,73 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CachedCommitInternalDTO;
+import com.tuwien.gitanalyser.entity.CachedCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CachedCommitBatchRepositoryImpl implements CachedCommitBatchRepository {
+
+    private static final String INSERT = "insert into cached_commit (history_id, sort_index, sha, message, author, "
+                                         + "committed_at, parent_ids, merge_commit, additions, deletions) "
+                                         + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_CHUNK_BY_HISTORY = "select sort_index, sha, message, author, committed_at, "
+                                                          + "parent_ids, merge_commit, additions, deletions "
+                                                          + "from cached_commit where history_id = ? "
+                                                          + "and sort_index > ? order by sort_index asc limit ?";
+    private static final int BEFORE_FIRST_SORT_INDEX = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public CachedCommitBatchRepositoryImpl(final JdbcTemplate jdbcTemplate,
+                                           @Value("${gitanalyser.commit-cache.batch-size}") final int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void batchInsert(final List<CachedCommit> commits) {
+        jdbcTemplate.batchUpdate(INSERT, commits, batchSize, (statement, commit) -> {
+            int column = 0;
+            statement.setLong(++column, commit.getHistory().getId());
+            statement.setInt(++column, commit.getSortIndex());
+            statement.setString(++column, commit.getSha());
+            statement.setString(++column, commit.getMessage());
+            statement.setString(++column, commit.getAuthor());
+            statement.setTimestamp(++column, commit.getCommittedAt() == null
+                ? null
+                : new Timestamp(commit.getCommittedAt().getTime()));
+            statement.setString(++column, commit.getParentIds());
+            statement.setBoolean(++column, commit.isMergeCommit());
+            statement.setObject(++column, commit.getAdditions(), Types.INTEGER);
+            statement.setObject(++column, commit.getDeletions(), Types.INTEGER);
+        });
+    }
+
+    @Override
+    public void streamCommitsByHistory(final Long historyId, final Consumer<CachedCommitInternalDTO> consumer) {
+        int[] lastSortIndex = {BEFORE_FIRST_SORT_INDEX};
+        List<CachedCommitInternalDTO> chunk;
+        do {
+            chunk = jdbcTemplate.query(SELECT_CHUNK_BY_HISTORY, (resultSet, rowNumber) -> {
+                int column = 0;
+                lastSortIndex[0] = resultSet.getInt(++column);
+                return new CachedCommitInternalDTO(resultSet.getString(++column),
+                                                   resultSet.getString(++column),
+                                                   resultSet.getString(++column),
+                                                   resultSet.getTimestamp(++column),
+                                                   resultSet.getString(++column),
+                                                   resultSet.getBoolean(++column),
+                                                   resultSet.getObject(++column, Integer.class),
+                                                   resultSet.getObject(++column, Integer.class));
+            }, historyId, lastSortIndex[0], batchSize);
+            // the connection is back in the pool before the chunk is passed on, a slow consumer never holds it
+            chunk.forEach(consumer);
+        } while (chunk.size() == batchSize);
+    }
+}
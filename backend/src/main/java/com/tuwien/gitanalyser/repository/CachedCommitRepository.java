@@ -0,0 +1,24 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CachedCommitInternalDTO;
+import com.tuwien.gitanalyser.entity.CachedCommit;
+import com.tuwien.gitanalyser.entity.CommitHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CachedCommitRepository extends JpaRepository<CachedCommit, Long>, CachedCommitBatchRepository {
+    @Query("select new com.tuwien.gitanalyser.endpoints.dtos.internal.CachedCommitInternalDTO(c.sha, c.message, "
+           + "c.author, c.committedAt, c.parentIds, c.mergeCommit, c.additions, c.deletions) "
+           + "from CachedCommit c where c.history = :history order by c.sortIndex asc")
+    List<CachedCommitInternalDTO> findCommitsByHistory(@Param("history") CommitHistory history);
+
+    @Modifying
+    @Query("delete from CachedCommit c where c.history = :history")
+    void deleteByHistory(@Param("history") CommitHistory history);
+}
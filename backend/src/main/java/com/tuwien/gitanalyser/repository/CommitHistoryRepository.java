@@ -0,0 +1,14 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.entity.CommitHistory;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CommitHistoryRepository extends JpaRepository<CommitHistory, Long> {
+    Optional<CommitHistory> findByAuthenticationProviderAndPlatformIdAndBranch(
+        AuthenticationProvider authenticationProvider, Long platformId, String branch);
+}
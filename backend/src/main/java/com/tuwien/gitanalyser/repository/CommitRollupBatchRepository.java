@@ -0,0 +1,16 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.entity.CommitRollup;
+
+import java.util.List;
+
+/**
+ * writes rollups in batches of statements instead of a statement per rollup.
+ */
+public interface CommitRollupBatchRepository {
+
+    /**
+     * inserts the rollups without id and updates the counts of the others.
+     */
+    void batchSave(List<CommitRollup> rollups);
+}
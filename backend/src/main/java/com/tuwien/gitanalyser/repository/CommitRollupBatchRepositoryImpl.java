@@ -0,0 +1,50 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.entity.CommitRollup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class CommitRollupBatchRepositoryImpl implements CommitRollupBatchRepository {
+
+    private static final String INSERT = "insert into commit_rollup (history_id, granularity, bucket_start, author, "
+                                         + "number_of_commits, number_of_additions, number_of_deletions) "
+                                         + "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "update commit_rollup set number_of_commits = ?, number_of_additions = ?, "
+                                         + "number_of_deletions = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public CommitRollupBatchRepositoryImpl(final JdbcTemplate jdbcTemplate,
+                                           @Value("${gitanalyser.commit-cache.batch-size}") final int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void batchSave(final List<CommitRollup> rollups) {
+        List<CommitRollup> newRollups = rollups.stream().filter(rollup -> rollup.getId() == null).toList();
+        List<CommitRollup> storedRollups = rollups.stream().filter(rollup -> rollup.getId() != null).toList();
+
+        jdbcTemplate.batchUpdate(INSERT, newRollups, batchSize, (statement, rollup) -> {
+            int column = 0;
+            statement.setLong(++column, rollup.getHistory().getId());
+            statement.setString(++column, rollup.getGranularity().name());
+            statement.setTimestamp(++column, new Timestamp(rollup.getBucketStart().getTime()));
+            statement.setString(++column, rollup.getAuthor());
+            statement.setInt(++column, rollup.getNumberOfCommits());
+            statement.setInt(++column, rollup.getNumberOfAdditions());
+            statement.setInt(++column, rollup.getNumberOfDeletions());
+        });
+        jdbcTemplate.batchUpdate(UPDATE, storedRollups, batchSize, (statement, rollup) -> {
+            int column = 0;
+            statement.setInt(++column, rollup.getNumberOfCommits());
+            statement.setInt(++column, rollup.getNumberOfAdditions());
+            statement.setInt(++column, rollup.getNumberOfDeletions());
+            statement.setLong(++column, rollup.getId());
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.entity.CommitHistory;
+import com.tuwien.gitanalyser.entity.CommitRollup;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface CommitRollupRepository extends JpaRepository<CommitRollup, Long>, CommitRollupBatchRepository {
+    List<CommitRollup> findByHistoryAndGranularityOrderByBucketStartAsc(CommitHistory history,
+                                                                       Granularity granularity);
+
+    boolean existsByHistory(CommitHistory history);
+
+    List<CommitRollup> findByHistoryAndBucketStartGreaterThanEqual(CommitHistory history, Date bucketStart);
+
+    @Modifying
+    @Query("delete from CommitRollup r where r.history = :history")
+    void deleteByHistory(@Param("history") CommitHistory history);
+}
@@ -34,6 +34,7 @@ public class AuthenticationConstants {
     public static final String GITLAB_USER_INFO_URI = "https://gitlab.com/api/v4/user";
     public static final long JWT_ACCESS_TOKEN_VALIDITY_IN_MILLISECONDS = 3600000; // 1h
     public static final long JWT_REFRESH_TOKEN_VALIDITY_IN_DAYS = 30; // 30 days
+    public static final int JWT_VERIFIED_TOKEN_CACHE_MAXIMUM_SIZE = 10000;
     public static final String FRONTEND_REDIRECT_AFTER_LOGIN_URL =
         System.getenv("FRONTEND_REDIRECT_AFTER_LOGIN_URL") != null
             ? System.getenv("FRONTEND_REDIRECT_AFTER_LOGIN_URL") : "randomFrontendUrl";
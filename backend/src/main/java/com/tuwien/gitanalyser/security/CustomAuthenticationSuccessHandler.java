@@ -4,6 +4,7 @@ import com.tuwien.gitanalyser.security.jwt.JWTTokenProvider;
 import com.tuwien.gitanalyser.security.oauth2.BasicAuth2User;
 import com.tuwien.gitanalyser.security.oauth2.GitHubOAuth2User;
 import com.tuwien.gitanalyser.security.oauth2.GitLabOAuth2User;
+import com.tuwien.gitanalyser.service.PrefetchService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -18,6 +19,8 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
 
 @Configuration
 public class CustomAuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
@@ -28,12 +31,16 @@ public class CustomAuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
     private final JWTTokenProvider jwtTokenProviderImpl;
 
+    private final PrefetchService prefetchService;
+
     public CustomAuthenticationSuccessHandler(final UserService userService,
                                               @Lazy final OAuth2AuthorizedClientRepository authorizedClientRepository,
-                                              final JWTTokenProvider jwtTokenProviderImpl) {
+                                              final JWTTokenProvider jwtTokenProviderImpl,
+                                              final PrefetchService prefetchService) {
         this.userService = userService;
         this.authorizedClientRepository = authorizedClientRepository;
         this.jwtTokenProviderImpl = jwtTokenProviderImpl;
+        this.prefetchService = prefetchService;
     }
 
     private static BasicAuth2User getAuth2User(final Authentication authentication) {
@@ -69,14 +76,22 @@ public class CustomAuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             refreshToken = authorizedClient.getRefreshToken().getTokenValue();
         }
 
+        Instant accessTokenExpiresAt = authorizedClient.getAccessToken().getExpiresAt();
+
         var userFingerprintPair = userService.processOAuthPostLogin(oauthUser,
                                                                     authorizedClient.getAccessToken().getTokenValue(),
-                                                                    refreshToken);
+                                                                    refreshToken,
+                                                                    accessTokenExpiresAt == null
+                                                                        ? null
+                                                                        : Date.from(accessTokenExpiresAt));
 
         Cookie fingerprintCookie = new Cookie("fingerprint", userFingerprintPair.getFingerprintPair().getFingerprint());
         fingerprintCookie.setHttpOnly(false);
         response.addCookie(fingerprintCookie);
 
+        // the frontend opens the dashboard right after the redirect, its data is loaded meanwhile
+        prefetchService.prefetchAfterLogin(userFingerprintPair.getUser().getId());
+
         response.sendRedirect(AuthenticationConstants.FRONTEND_REDIRECT_AFTER_LOGIN_URL + "#"
                                   //+ jwtTokenProviderImpl.createAccessToken(user.getId()));
                                   + "accessToken="
@@ -1,7 +1,9 @@
 package com.tuwien.gitanalyser.security;
 
+import com.tuwien.gitanalyser.endpoints.RepositoryEndpoint;
 import com.tuwien.gitanalyser.security.jwt.JWTTokenProviderImpl;
 import com.tuwien.gitanalyser.security.jwt.JwtTokenFilter;
+import com.tuwien.gitanalyser.service.PrefetchService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
@@ -35,8 +37,11 @@ public class SecurityConfiguration {
 
     private final UserService userService;
 
-    public SecurityConfiguration(final UserService userService) {
+    private final PrefetchService prefetchService;
+
+    public SecurityConfiguration(final UserService userService, final PrefetchService prefetchService) {
         this.userService = userService;
+        this.prefetchService = prefetchService;
     }
 
     @Configuration
@@ -67,6 +72,9 @@ public class SecurityConfiguration {
                         authorize
                             .antMatchers("/login/oauth2/code/**", "/oauth2/authorization/**", "/apiV1/refresh")
                             .permitAll()
+                            // webhook deliveries carry a signature or token of the git provider instead of a jwt
+                            .antMatchers("/apiV1/webhook/**")
+                            .permitAll()
                             .antMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html")
                             .permitAll()
                             .anyRequest()
@@ -93,6 +101,7 @@ public class SecurityConfiguration {
                                // Spring Security should completely ignore URLs starting with /h2-console
                                .antMatchers(H_2_CONSOLE_PATH + "/**")
                                .antMatchers("/login/oauth2/authorization/**", "/apiV1/refresh")
+                               .antMatchers("/apiV1/webhook/**")
                                .antMatchers("/v3/api-docs/**",
                                             "/swagger-ui/**",
                                             "/swagger-ui.html");
@@ -102,7 +111,8 @@ public class SecurityConfiguration {
         public SimpleUrlAuthenticationSuccessHandler successHandler() {
             return new CustomAuthenticationSuccessHandler(userService,
                                                           authorizedClientRepository,
-                                                          jwtTokenProviderImpl);
+                                                          jwtTokenProviderImpl,
+                                                          prefetchService);
         }
 
         @Bean
@@ -127,6 +137,7 @@ public class SecurityConfiguration {
             configuration.setAllowedHeaders(permitAll);
             configuration.setAllowedOrigins(permitAll);
             configuration.setAllowedMethods(permitMethods);
+            configuration.setExposedHeaders(List.of(RepositoryEndpoint.NEXT_CURSOR_HEADER));
             final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
             source.registerCorsConfiguration("/**", configuration);
             return source;
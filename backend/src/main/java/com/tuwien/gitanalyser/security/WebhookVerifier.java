@@ -0,0 +1,64 @@
+package com.tuwien.gitanalyser.security;
+
+import com.tuwien.gitanalyser.security.jwt.FingerprintService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * checks that webhook deliveries were sent by the git providers. Deliveries are rejected as long as no secret is
+ * configured for the provider.
+ */
+@Service
+public class WebhookVerifier {
+
+    private static final String GITHUB_SIGNATURE_PREFIX = "sha256=";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final String gitHubSecret;
+    private final String gitLabToken;
+
+    public WebhookVerifier(@Value("${gitanalyser.webhook.github-secret}") final String gitHubSecret,
+                           @Value("${gitanalyser.webhook.gitlab-token}") final String gitLabToken) {
+        this.gitHubSecret = gitHubSecret;
+        this.gitLabToken = gitLabToken;
+    }
+
+    /**
+     * checks the X-Hub-Signature-256 header GitHub computes over the payload with the secret of the webhook.
+     */
+    public boolean isGitHubSignatureValid(final byte[] payload, final String signature) {
+        if (gitHubSecret.isEmpty() || signature == null) {
+            return false;
+        }
+
+        byte[] hash;
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(gitHubSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            hash = mac.doFinal(payload);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException(e);
+        }
+
+        return constantTimeEquals(GITHUB_SIGNATURE_PREFIX + FingerprintService.toHexString(hash), signature);
+    }
+
+    /**
+     * checks the X-Gitlab-Token header GitLab sends the secret token of the webhook in.
+     */
+    public boolean isGitLabTokenValid(final String token) {
+        return !gitLabToken.isEmpty() && token != null && constantTimeEquals(gitLabToken, token);
+    }
+
+    private boolean constantTimeEquals(final String expected, final String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                                     actual.getBytes(StandardCharsets.UTF_8));
+    }
+}
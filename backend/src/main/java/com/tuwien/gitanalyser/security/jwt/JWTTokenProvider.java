@@ -23,12 +23,14 @@ public interface JWTTokenProvider {
     String createRefreshToken(Long id);
 
     /**
-     * creates an authentication if the jwt is valid and the user is in the database.
+     * creates an authentication from the claims of the jwt without loading the user. Tokens that were already
+     * verified are served from a cache until they expire.
      *
      * @param token JWT token string
-     * @return user id
+     * @return authentication of the user the token was issued for
+     * @throws com.tuwien.gitanalyser.exception.AuthenticationException if the token is not valid
      */
-    Authentication getAuthentication(String token);
+    Authentication authenticate(String token);
 
     /**
      * extracts the user id from the JWT token.
@@ -45,12 +47,4 @@ public interface JWTTokenProvider {
      * @return token string
      */
     String resolveToken(HttpServletRequest request);
-
-    /**
-     * validates the token.
-     *
-     * @param token JWT token
-     * @return true if token is valid
-     */
-    boolean validateToken(String token);
 }
@@ -1,10 +1,7 @@
 package com.tuwien.gitanalyser.security.jwt;
 
-import com.tuwien.gitanalyser.entity.User;
 import com.tuwien.gitanalyser.exception.AuthenticationException;
-import com.tuwien.gitanalyser.exception.NotFoundException;
 import com.tuwien.gitanalyser.security.AuthenticationConstants;
-import com.tuwien.gitanalyser.service.UserService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -19,6 +16,7 @@ import org.springframework.stereotype.Component;
 import javax.servlet.http.HttpServletRequest;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -28,7 +26,6 @@ public class JWTTokenProviderImpl implements JWTTokenProvider {
     private static final List<GrantedAuthority> GRANTED_AUTHORITIES = AuthorityUtils
                                                                           .commaSeparatedStringToAuthorityList(
                                                                               "ROLE_USER");
-    private final UserService userService;
     private final DateService dateService;
     private final long refreshTokenValidityInDays;
     /**
@@ -36,10 +33,12 @@ public class JWTTokenProviderImpl implements JWTTokenProvider {
      * microservices' environment, this key would be kept on a config-server.
      */
     private final long accessTokenValidityInMilliseconds;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JWTTokenProviderImpl(final UserService userService, final DateService dateService) {
-        this.userService = userService;
+    public JWTTokenProviderImpl(final DateService dateService) {
         this.dateService = dateService;
+        this.verifiedTokenCache =
+            new VerifiedTokenCache(AuthenticationConstants.JWT_VERIFIED_TOKEN_CACHE_MAXIMUM_SIZE);
 
         accessTokenValidityInMilliseconds = AuthenticationConstants.JWT_ACCESS_TOKEN_VALIDITY_IN_MILLISECONDS;
         refreshTokenValidityInDays = AuthenticationConstants.JWT_REFRESH_TOKEN_VALIDITY_IN_DAYS;
@@ -71,15 +70,29 @@ public class JWTTokenProviderImpl implements JWTTokenProvider {
     }
 
     @Override
-    public Authentication getAuthentication(final String token) {
-        User user;
+    public Authentication authenticate(final String token) {
+        Date now = dateService.create();
+
+        Optional<Long> cachedUserId = verifiedTokenCache.findUserId(token, now);
+        if (cachedUserId.isPresent()) {
+            return createAuthentication(cachedUserId.get());
+        }
+
+        Claims claims;
+        Long userId;
         try {
-            user = userService.getUser(getUserId(token));
-            return new UsernamePasswordAuthenticationToken(user.getId(), "", GRANTED_AUTHORITIES);
-        } catch (NotFoundException e) {
+            claims = Jwts.parser()
+                         .setSigningKey(AuthenticationConstants.JWT_SECRET_KEY)
+                         .setClock(() -> now)
+                         .parseClaimsJws(token)
+                         .getBody();
+            userId = Long.parseLong(claims.getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
             throw new AuthenticationException(e.getMessage());
         }
 
+        verifiedTokenCache.put(token, userId, claims.getExpiration(), now);
+        return createAuthentication(userId);
     }
 
     @Override
@@ -106,16 +119,6 @@ public class JWTTokenProviderImpl implements JWTTokenProvider {
         return null;
     }
 
-    @Override
-    public boolean validateToken(final String token) {
-        try {
-            Jwts.parser().setSigningKey(AuthenticationConstants.JWT_SECRET_KEY).parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
-    }
-
     private String createToken(final Date now, final Claims claims, final Date validity) {
         return Jwts.builder()
                    .setClaims(claims)
@@ -129,6 +132,10 @@ public class JWTTokenProviderImpl implements JWTTokenProvider {
                    .compact();
     }
 
+    private Authentication createAuthentication(final Long userId) {
+        return new UsernamePasswordAuthenticationToken(userId, "", GRANTED_AUTHORITIES);
+    }
+
     private Claims createClaims(final Long id) {
         return Jwts.claims().setSubject(id.toString());
     }
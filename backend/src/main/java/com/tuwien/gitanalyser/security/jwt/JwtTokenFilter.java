@@ -29,8 +29,8 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         String token = jwtTokenProviderImpl.resolveToken(request);
 
         try {
-            if (token != null && jwtTokenProviderImpl.validateToken(token)) {
-                Authentication auth = jwtTokenProviderImpl.getAuthentication(token);
+            if (token != null) {
+                Authentication auth = jwtTokenProviderImpl.authenticate(token);
                 SecurityContextHolder.getContext().setAuthentication(auth);
                 filterChain.doFilter(request, response);
             } else {
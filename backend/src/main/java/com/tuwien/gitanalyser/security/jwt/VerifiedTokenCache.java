@@ -0,0 +1,60 @@
+package com.tuwien.gitanalyser.security.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * remembers the user id of tokens whose signature was already verified until the tokens expire. Once the cache is
+ * full the expired tokens are dropped, and if that is not enough the whole cache is cleared.
+ */
+public class VerifiedTokenCache {
+
+    private final ConcurrentMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final int maximumSize;
+
+    public VerifiedTokenCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Optional<Long> findUserId(final String token, final Date now) {
+        VerifiedToken verifiedToken = verifiedTokens.get(token);
+        if (verifiedToken == null) {
+            return Optional.empty();
+        }
+        if (verifiedToken.isExpired(now)) {
+            verifiedTokens.remove(token, verifiedToken);
+            return Optional.empty();
+        }
+        return Optional.of(verifiedToken.getUserId());
+    }
+
+    public void put(final String token, final Long userId, final Date expiration, final Date now) {
+        if (expiration == null) {
+            // tokens without expiration are never cached, they would stay valid forever
+            return;
+        }
+        if (verifiedTokens.size() >= maximumSize) {
+            verifiedTokens.values().removeIf(verifiedToken -> verifiedToken.isExpired(now));
+            if (verifiedTokens.size() >= maximumSize) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(token, new VerifiedToken(userId, expiration.getTime()));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class VerifiedToken {
+        private final Long userId;
+        private final long expiresAt;
+
+        private boolean isExpired(final Date now) {
+            return now.getTime() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.tuwien.gitanalyser.service;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.AliasIndexInternalDTO;
+
+/**
+ * keeps an index from every assigned name to the key of its assignment per repository.
+ */
+public interface AliasIndexService {
+
+    /**
+     * returns the alias index of a repository and builds it from the assignments if it is not cached.
+     *
+     * @param userId     owner of the assignments
+     * @param platformId of the repository
+     * @return the alias index, empty if the repository has no assignments
+     */
+    AliasIndexInternalDTO getAliasIndex(long userId, Long platformId);
+
+    /**
+     * drops the alias index of a repository, has to be called whenever its assignments change.
+     *
+     * @param userId     owner of the assignments
+     * @param platformId of the repository
+     */
+    void invalidate(long userId, Long platformId);
+}
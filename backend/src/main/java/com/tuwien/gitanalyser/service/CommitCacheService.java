@@ -0,0 +1,81 @@
+package com.tuwien.gitanalyser.service;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import com.tuwien.gitanalyser.exception.GitException;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * persists the commit history of a branch so repeated reads do not hit the git api again.
+ */
+public interface CommitCacheService {
+
+    /**
+     * returns the cached commits of a branch or loads them with the given git api if the cache is stale.
+     *
+     * @param authenticationProvider provider of the repository
+     * @param gitApi                 used to load the commits on a cache miss
+     * @param userId                 of the current user
+     * @param platformId             of the repository
+     * @param branch                 branch name, null for the default branch
+     * @return List of commits sorted by their timestamp
+     * @throws GitException if something went wrong
+     */
+    List<CommitInternalDTO> getAllCommits(AuthenticationProvider authenticationProvider,
+                                          GitExceptionHandlerService gitApi,
+                                          long userId, Long platformId, String branch)
+        throws GitException;
+
+    /**
+     * returns the cached commits of a branch if the cache is fresh and the user may access the repository. They are
+     * read from the cache while they are passed on, not before.
+     *
+     * @param authenticationProvider provider of the repository
+     * @param gitApi                 used to check the access of the user
+     * @param userId                 of the current user
+     * @param platformId             of the repository
+     * @param branch                 branch name, null for the default branch
+     * @return the commits sorted by their timestamp, empty if they have to be loaded with getAllCommits
+     */
+    Optional<CommitSource<CommitInternalDTO>> getCachedCommits(AuthenticationProvider authenticationProvider,
+                                                               GitExceptionHandlerService gitApi, long userId,
+                                                               Long platformId, String branch);
+
+    /**
+     * returns the statistics per author and time bucket of a branch. They are rolled up whenever commits are
+     * stored, so a fresh history is answered without loading its commits.
+     *
+     * @param authenticationProvider provider of the repository
+     * @param gitApi                 used to load the commits on a cache miss
+     * @param userId                 of the current user
+     * @param platformId             of the repository
+     * @param branch                 branch name, null for the default branch
+     * @param granularity            size of the time buckets
+     * @return List of buckets sorted by their start
+     * @throws GitException if something went wrong
+     */
+    List<StatsBucketInternalDTO> getRollups(AuthenticationProvider authenticationProvider,
+                                            GitExceptionHandlerService gitApi,
+                                            long userId, Long platformId, String branch, Granularity granularity)
+        throws GitException;
+
+    /**
+     * appends the commits pushed to a branch to its stored history, so the next read does not need to load them.
+     * Branches without a stored history are skipped, the commits are loaded with the access token of the user who
+     * synchronised the history last.
+     *
+     * @param authenticationProvider provider of the repository
+     * @param gitApi                 used to load the pushed commits
+     * @param platformId             of the repository
+     * @param branch                 branch name, null for the default branch
+     * @param headId                 id of the newest commit of the branch after the push
+     * @throws GitException if something went wrong
+     */
+    void synchronizePushedCommits(AuthenticationProvider authenticationProvider, GitExceptionHandlerService gitApi,
+                                  Long platformId, String branch, String headId)
+        throws GitException;
+}
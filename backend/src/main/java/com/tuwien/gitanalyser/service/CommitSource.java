@@ -0,0 +1,18 @@
+package com.tuwien.gitanalyser.service;
+
+import java.util.function.Consumer;
+
+/**
+ * commits of a branch whose origin is resolved already, the access of the user is checked and the history is found
+ * in the cache or loaded. Nothing that can fail because of the request is left for forEach.
+ *
+ * @param <T> type of the commits
+ */
+@FunctionalInterface
+public interface CommitSource<T> {
+
+    /**
+     * passes the commits to the consumer in the order of the history.
+     */
+    void forEach(Consumer<T> consumer);
+}
@@ -6,6 +6,7 @@ import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternal
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.TryRefreshException;
 
+import java.util.Date;
 import java.util.List;
 
 public interface GitAPI {
@@ -31,4 +32,17 @@ public interface GitAPI {
      */
     List<CommitInternalDTO> getAllCommits(String accessToken, long platformId, String branchName)
         throws GitException, TryRefreshException;
+
+    /**
+     * returns the id of the newest commit of a branch. If branchName is null, the default branch is used.
+     */
+    String getBranchHeadId(String accessToken, long platformId, String branchName)
+        throws GitException, TryRefreshException;
+
+    /**
+     * returns all commits from the git api which were committed at or after since, sorted by their timestamp.
+     * If branchName is null, the commits from the default branch are returned.
+     */
+    List<CommitInternalDTO> getCommitsSince(String accessToken, long platformId, String branchName, Date since)
+        throws GitException, TryRefreshException;
 }
@@ -4,5 +4,13 @@ import java.io.IOException;
 
 public interface GitAPIFactory<T> {
 
+    /**
+     * returns a client for the access token, clients are reused for the same access token.
+     */
     T createObject(String accessToken) throws IOException;
+
+    /**
+     * discards the client of an access token which is no longer valid.
+     */
+    void evict(String accessToken);
 }
@@ -6,6 +6,7 @@ import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternal
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.TryRefreshException;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -56,5 +57,30 @@ public interface GitAccessTokenService {
     List<CommitInternalDTO> getAllCommits(long userId, Long platformId, String branch)
         throws GitException, TryRefreshException;
 
+    /**
+     * loads the id of the newest commit of a branch.
+     * @param userId of the current user
+     * @param platformId of the repository
+     * @param branch branch name
+     * @return commit id
+     * @throws GitException if something went wrong
+     * @throws TryRefreshException if the access token needs to be updated
+     */
+    String getBranchHeadId(long userId, Long platformId, String branch)
+        throws GitException, TryRefreshException;
+
+    /**
+     * loads all commits which were committed at or after a certain date.
+     * @param userId of the current user
+     * @param platformId of the repository
+     * @param branch branch name
+     * @param since oldest commit date to load
+     * @return List of commits
+     * @throws GitException if something went wrong
+     * @throws TryRefreshException if the access token needs to be updated
+     */
+    List<CommitInternalDTO> getCommitsSince(long userId, Long platformId, String branch, Date since)
+        throws GitException, TryRefreshException;
+
     String getEmail(long userId) throws GitException;
 }
@@ -5,6 +5,7 @@ import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
 import com.tuwien.gitanalyser.exception.GitException;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -55,6 +56,31 @@ public interface GitExceptionHandlerService {
     List<CommitInternalDTO> getAllCommits(long userId, Long platformId, String branch)
         throws GitException;
 
+    /**
+     * calls the repository accessTokenService and refreshes the access token if needed.
+     *
+     * @param userId     of the current user
+     * @param platformId of the repository
+     * @param branch of which the newest commit is requested
+     * @return commit id
+     * @throws GitException if something went wrong
+     */
+    String getBranchHeadId(long userId, Long platformId, String branch)
+        throws GitException;
+
+    /**
+     * calls the repository accessTokenService and refreshes the access token if needed.
+     *
+     * @param userId     of the current user
+     * @param platformId of the repository
+     * @param branch from which to get the commits
+     * @param since oldest commit date to load
+     * @return List of commits
+     * @throws GitException if something went wrong
+     */
+    List<CommitInternalDTO> getCommitsSince(long userId, Long platformId, String branch, Date since)
+        throws GitException;
+
     /**
      * calls the repository accessTokenService and refreshes the access token if needed.
      *
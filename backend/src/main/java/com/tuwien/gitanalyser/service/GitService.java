@@ -3,16 +3,27 @@ package com.tuwien.gitanalyser.service;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.NoProviderFoundException;
 
 import java.util.List;
+import java.util.Map;
 
 public interface GitService {
 
     List<NotSavedRepositoryInternalDTO> getAllRepositories(Long userId) throws NoProviderFoundException, GitException;
 
+    /**
+     * loads the repositories of the user ahead of time. The next call of getAllRepositories for the user within the
+     * time to live of prefetched repositories is answered with them instead of asking the git provider again.
+     */
+    List<NotSavedRepositoryInternalDTO> prefetchAllRepositories(Long userId)
+        throws NoProviderFoundException, GitException;
+
     List<BranchInternalDTO> getAllBranches(Long userId, Long platformId)
         throws GitException, NoProviderFoundException;
 
@@ -22,10 +33,39 @@ public interface GitService {
     List<CommitInternalDTO> getAllCommits(long userId, Long platformId, String branch)
         throws GitException, NoProviderFoundException;
 
+    /**
+     * resolves where the commits of a branch come from, so failing checks and loads surface here and not while the
+     * commits are passed on. A fresh cached history is read from the cache while it is passed on, any other history
+     * is loaded as a whole like getAllCommits does, so its size still decides the memory and the time to the first
+     * commit.
+     */
+    CommitSource<CommitInternalDTO> getAllCommitsSource(long userId, Long platformId, String branch)
+        throws GitException, NoProviderFoundException;
+
+    /**
+     * appends the commits pushed to a branch of a repository to its stored commit history, if there is one.
+     */
+    void synchronizePushedCommits(AuthenticationProvider authenticationProvider, Long platformId, String branch,
+                                  String headId) throws GitException, NoProviderFoundException;
+
     boolean repositoryAccessibleByUser(long userId, Long platformId) throws NoProviderFoundException;
 
     List<StatsInternalDTO> getStats(long userId, Long platformId, String branch)
         throws NoProviderFoundException, GitException;
 
+    /**
+     * calculates the statistics per author, commits of an author contained in aliases count for the alias.
+     */
+    List<StatsInternalDTO> getStats(long userId, Long platformId, String branch, Map<String, String> aliases)
+        throws NoProviderFoundException, GitException;
+
+    /**
+     * returns the statistics per author and time bucket from the stored rollups of the branch, commits of an author
+     * contained in aliases count for the alias.
+     */
+    List<StatsBucketInternalDTO> getStatsTimeline(long userId, Long platformId, String branch,
+                                                  Granularity granularity, Map<String, String> aliases)
+        throws NoProviderFoundException, GitException;
+
     String getEmail(long userId) throws NoProviderFoundException, GitException;
 }
@@ -0,0 +1,23 @@
+package com.tuwien.gitanalyser.service;
+
+/**
+ * warms up the data a user needs right after logging in, so the first requests do not wait for the git provider.
+ */
+public interface PrefetchService {
+
+    /**
+     * starts loading the repositories of the user and the default branch histories of the repositories the user
+     * used most recently in the background.
+     *
+     * @param userId of the user who just logged in
+     */
+    void prefetchAfterLogin(long userId);
+
+    /**
+     * remembers that the user just worked with the repository.
+     *
+     * @param userId     of the user
+     * @param platformId of the repository
+     */
+    void markRepositoryUsed(long userId, Long platformId);
+}
@@ -0,0 +1,36 @@
+package com.tuwien.gitanalyser.service;
+
+import java.util.Collection;
+
+/**
+ * remembers for a limited time which repositories a user is allowed to access, so access checks do not need a
+ * call to the git provider every time.
+ */
+public interface RepositoryAccessCacheService {
+
+    /**
+     * checks whether the user was recently seen to have access to the repository.
+     *
+     * @param userId     of the user
+     * @param platformId of the repository
+     * @return true if the access was confirmed within the time to live, false if it is unknown
+     */
+    boolean isAccessible(long userId, Long platformId);
+
+    /**
+     * remembers that the user has access to the repository.
+     *
+     * @param userId     of the user
+     * @param platformId of the repository
+     */
+    void putAccessible(long userId, Long platformId);
+
+    /**
+     * replaces all remembered repositories of the user, repositories that are not part of the list anymore are
+     * dropped.
+     *
+     * @param userId      of the user
+     * @param platformIds of all repositories the user has access to
+     */
+    void replaceAccessibleRepositories(long userId, Collection<Long> platformIds);
+}
@@ -2,9 +2,13 @@ package com.tuwien.gitanalyser.service;
 
 import com.tuwien.gitanalyser.endpoints.dtos.assignment.CreateAssignmentDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitPageInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitterInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.RepositorySnapshotInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import com.tuwien.gitanalyser.entity.Assignment;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.IllegalArgumentException;
 import com.tuwien.gitanalyser.exception.NoProviderFoundException;
@@ -25,10 +29,77 @@ public interface RepositoryService {
     List<StatsInternalDTO> getStats(long userId, Long platformId, String branch, boolean mappedByAssignments)
         throws GitException, NoProviderFoundException;
 
+    /**
+     * returns the statistics per committer and time bucket of a branch.
+     *
+     * @param userId              of the current user
+     * @param platformId          of the repository
+     * @param branch              branch name, null for the default branch
+     * @param mappedByAssignments whether the authors should be replaced by their assignment key
+     * @param granularity         size of the time buckets
+     * @return List of buckets sorted by their start and committer
+     * @throws GitException             if the commits could not be loaded
+     * @throws NoProviderFoundException if the user has no git provider
+     */
+    List<StatsBucketInternalDTO> getStatsTimeline(long userId, Long platformId, String branch,
+                                                  boolean mappedByAssignments, Granularity granularity)
+        throws GitException, NoProviderFoundException;
+
     List<CommitAggregatedInternalDTO> getCommits(long userId, Long platformId, String branch,
                                                  Boolean mappedByAssignments, String name)
         throws GitException, NoProviderFoundException;
 
+    /**
+     * resolves the aliases and the origin of the commits of a branch, which then pass the commits including the
+     * running lines of code on one after another, so the aggregated history never has to be held in memory.
+     *
+     * @param userId              of the current user
+     * @param platformId          of the repository
+     * @param branch              branch name, null for the default branch
+     * @param mappedByAssignments whether the authors should be replaced by their assignment key
+     * @param name                only commits of this author are passed on if not null
+     * @return the commits in the order of the history
+     * @throws GitException             if the commits could not be loaded
+     * @throws NoProviderFoundException if the user has no git provider
+     */
+    CommitSource<CommitAggregatedInternalDTO> getCommitSource(long userId, Long platformId, String branch,
+                                                              Boolean mappedByAssignments, String name)
+        throws GitException, NoProviderFoundException;
+
+    /**
+     * returns a page of the commits of a branch. The lines of code overall are the same as if the whole history was
+     * loaded at once.
+     *
+     * @param userId              of the current user
+     * @param platformId          of the repository
+     * @param branch              branch name, null for the default branch
+     * @param mappedByAssignments whether the authors should be replaced by their assignment key
+     * @param name                only commits of this author are returned if not null
+     * @param cursor              returned with the previous page, null for the first page
+     * @param limit               maximum number of commits of the page
+     * @return the commits of the page and the cursor of the next page, null if it is the last page
+     * @throws GitException             if the commits could not be loaded
+     * @throws NoProviderFoundException if the user has no git provider
+     */
+    CommitPageInternalDTO getCommitPage(long userId, Long platformId, String branch, Boolean mappedByAssignments,
+                                        String name, String cursor, int limit)
+        throws GitException, NoProviderFoundException;
+
     Set<CommitterInternalDTO> getCommitters(long userId, Long platformId, String branch, Boolean mappedByAssignments)
         throws GitException, NoProviderFoundException;
+
+    /**
+     * returns the commits, the statistics per committer, the committers and the assignments of a branch. The history
+     * is loaded once and the aliases are resolved in the same pass for all of them.
+     *
+     * @param userId              of the current user
+     * @param platformId          of the repository
+     * @param branch              branch name, null for the default branch
+     * @param mappedByAssignments whether the authors should be replaced by their assignment key
+     * @return the snapshot of the branch, the assignments are empty if the repository has none
+     * @throws GitException             if the commits could not be loaded
+     * @throws NoProviderFoundException if the user has no git provider
+     */
+    RepositorySnapshotInternalDTO getSnapshot(long userId, Long platformId, String branch, Boolean mappedByAssignments)
+        throws GitException, NoProviderFoundException;
 }
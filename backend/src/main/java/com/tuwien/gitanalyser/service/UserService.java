@@ -6,6 +6,8 @@ import com.tuwien.gitanalyser.entity.utils.UserFingerprintPair;
 import com.tuwien.gitanalyser.exception.NotFoundException;
 import com.tuwien.gitanalyser.security.oauth2.BasicAuth2User;
 
+import java.util.Date;
+
 public interface UserService {
 
     /**
@@ -22,11 +24,13 @@ public interface UserService {
      * @param auth2User   basic oauth2 user
      * @param accessToken access token
      * @param refreshToken refresh token
+     * @param accessTokenExpiresAt expiry of the access token, null if it does not expire
      * @return user with database id
      */
-    UserFingerprintPair processOAuthPostLogin(BasicAuth2User auth2User, String accessToken, String refreshToken);
+    UserFingerprintPair processOAuthPostLogin(BasicAuth2User auth2User, String accessToken, String refreshToken,
+                                              Date accessTokenExpiresAt);
 
     RefreshAuthenticationInternalDTO refreshAccessToken(String refreshToken, String fingerprint);
 
-    void refreshGitAccessToken(Long userId, String accessToken, String refreshToken);
+    void refreshGitAccessToken(Long userId, String accessToken, String refreshToken, Date accessTokenExpiresAt);
 }
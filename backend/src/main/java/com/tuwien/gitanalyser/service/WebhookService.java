@@ -0,0 +1,17 @@
+package com.tuwien.gitanalyser.service;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.PushEventInternalDTO;
+
+/**
+ * keeps the stored commit histories up to date with the pushes the git providers report through webhooks.
+ */
+public interface WebhookService {
+
+    /**
+     * starts appending the pushed commits to the stored histories of the pushed branch in the background. A push to
+     * the default branch also updates the history stored for the default branch without a name.
+     *
+     * @param pushEvent verified push reported by a git provider
+     */
+    void pushReceived(PushEventInternalDTO pushEvent);
+}
@@ -0,0 +1,23 @@
+package com.tuwien.gitanalyser.service.apiCalls.factory;
+
+/**
+ * reads the access token from the authorization header of requests to the git providers.
+ */
+final class AuthorizationHeaders {
+
+    static final String NAME = "Authorization";
+
+    private AuthorizationHeaders() {
+    }
+
+    /**
+     * returns the credentials of a header like "Bearer token" or "token token", null if there is no header.
+     */
+    static String getAccessToken(final String header) {
+        if (header == null) {
+            return null;
+        }
+        int separator = header.indexOf(' ');
+        return separator < 0 ? header : header.substring(separator + 1).trim();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tuwien.gitanalyser.service.apiCalls.factory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * keeps the most recently used clients per access token, so their connections can be reused. Evicted clients are
+ * not closed, other threads may still be using them. The clients of a factory share its connections, so an evicted
+ * client holds nothing which outlives it and is collected once the last thread is done with it.
+ *
+ * @param <T> type of the client
+ */
+public class GitClientRegistry<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Map<String, T> clients;
+
+    public GitClientRegistry(final int maximumSize) {
+        this.clients = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, T> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    public synchronized Optional<T> find(final String accessToken) {
+        return Optional.ofNullable(clients.get(accessToken));
+    }
+
+    /**
+     * registers a new client, if another thread registered one for the same access token first, that one is kept.
+     */
+    public synchronized T register(final String accessToken, final T client) {
+        T existingClient = clients.putIfAbsent(accessToken, client);
+        return existingClient == null ? client : existingClient;
+    }
+
+    public synchronized void evict(final String accessToken) {
+        clients.remove(accessToken);
+    }
+}
@@ -1,15 +1,52 @@
 package com.tuwien.gitanalyser.service.apiCalls.factory;
 
 import com.tuwien.gitanalyser.service.GitAPIFactory;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
 import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.extras.HttpClientGitHubConnector;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.net.http.HttpClient;
+import java.util.Optional;
 
 @Service
 public class GitHubAPIFactory implements GitAPIFactory<GitHub> {
+
+    private final GitClientRegistry<GitHub> clients;
+    private final GitHubConnector connector;
+    private final String apiUrl;
+
+    public GitHubAPIFactory(@Value("${gitanalyser.git-clients.maximum-cached-clients}") final int maximumClients,
+                            @Value("${gitanalyser.github.api-url}") final String apiUrl,
+                            final ProviderCallScheduler providerCallScheduler) {
+        this.apiUrl = apiUrl;
+        this.clients = new GitClientRegistry<>(maximumClients);
+        // all clients share one http client and therefore its keep-alive connections
+        HttpClientGitHubConnector httpConnector =
+            new HttpClientGitHubConnector(HttpClient.newBuilder()
+                                                    .followRedirects(HttpClient.Redirect.NORMAL)
+                                                    .build());
+        this.connector = new RateLimitedGitHubConnector(httpConnector, providerCallScheduler);
+    }
+
     @Override
     public GitHub createObject(final String accessToken) throws IOException {
-        return GitHub.connectUsingOAuth(accessToken);
+        Optional<GitHub> client = clients.find(accessToken);
+        if (client.isPresent()) {
+            return client.get();
+        }
+        return clients.register(accessToken, new GitHubBuilder().withEndpoint(apiUrl)
+                                                                .withOAuthToken(accessToken)
+                                                                .withConnector(connector)
+                                                                .build());
+    }
+
+    @Override
+    public void evict(final String accessToken) {
+        clients.evict(accessToken);
     }
 }
@@ -1,15 +1,61 @@
 package com.tuwien.gitanalyser.service.apiCalls.factory;
 
-import com.tuwien.gitanalyser.security.AuthenticationConstants;
 import com.tuwien.gitanalyser.service.GitAPIFactory;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.gitlab4j.api.Constants;
 import org.gitlab4j.api.GitLabApi;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Optional;
+
 @Service
 public class GitLabAPIFactory implements GitAPIFactory<GitLabApi> {
 
+    private final GitClientRegistry<GitLabApi> clients;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Map<String, Object> clientProperties;
+    private final String url;
+
+    public GitLabAPIFactory(@Value("${gitanalyser.git-clients.maximum-cached-clients}") final int maximumClients,
+                            @Value("${gitanalyser.git-clients.maximum-connections}") final int maximumConnections,
+                            @Value("${gitanalyser.gitlab.url}") final String url,
+                            final ProviderCallScheduler providerCallScheduler) {
+        this.url = url;
+        this.clients = new GitClientRegistry<>(maximumClients);
+
+        // all clients share one connection pool, closing a client must not close the pool
+        this.connectionManager = new PoolingHttpClientConnectionManager(
+            new RateLimitObservingConnectionFactory(providerCallScheduler, RateLimitedApi.GITLAB));
+        this.connectionManager.setMaxTotal(maximumConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maximumConnections);
+        this.clientProperties = Map.of(ApacheClientProperties.CONNECTION_MANAGER, connectionManager,
+                                       ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
+    }
+
+    @Override
     public GitLabApi createObject(final String accessToken) {
-        return new GitLabApi(AuthenticationConstants.GITLAB_CLIENT_URL, Constants.TokenType.OAUTH2_ACCESS, accessToken);
+        Optional<GitLabApi> client = clients.find(accessToken);
+        if (client.isPresent()) {
+            return client.get();
+        }
+        return clients.register(accessToken, new GitLabApi(url,
+                                                           Constants.TokenType.OAUTH2_ACCESS, accessToken, null,
+                                                           clientProperties));
+    }
+
+    @Override
+    public void evict(final String accessToken) {
+        clients.evict(accessToken);
+    }
+
+    @PreDestroy
+    public void closeConnections() {
+        connectionManager.close();
     }
 }
@@ -0,0 +1,84 @@
+package com.tuwien.gitanalyser.service.apiCalls.factory;
+
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * creates pooled connections which report the rate limit headers of every response to the provider call scheduler.
+ * gitlab4j does not expose the headers of its responses, the connections are the only place they can be read.
+ */
+public class RateLimitObservingConnectionFactory
+    implements HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> {
+
+    private static final String SEND_REQUEST_HEADER = "sendRequestHeader";
+    private static final String RECEIVE_RESPONSE_HEADER = "receiveResponseHeader";
+
+    private final ProviderCallScheduler providerCallScheduler;
+    private final RateLimitedApi api;
+
+    public RateLimitObservingConnectionFactory(final ProviderCallScheduler providerCallScheduler,
+                                               final RateLimitedApi api) {
+        this.providerCallScheduler = providerCallScheduler;
+        this.api = api;
+    }
+
+    @Override
+    public ManagedHttpClientConnection create(final HttpRoute route, final ConnectionConfig config) {
+        ManagedHttpClientConnection connection = ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+        return (ManagedHttpClientConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                                                                    new Class<?>[]{ManagedHttpClientConnection.class},
+                                                                    new ObservingInvocationHandler(connection));
+    }
+
+    /**
+     * remembers the access token of the request a connection sends, a connection carries one exchange at a time.
+     */
+    private final class ObservingInvocationHandler implements InvocationHandler {
+
+        private final ManagedHttpClientConnection connection;
+        private String accessToken;
+
+        private ObservingInvocationHandler(final ManagedHttpClientConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (SEND_REQUEST_HEADER.equals(method.getName())) {
+                Header authorization = ((HttpRequest) args[0]).getFirstHeader(AuthorizationHeaders.NAME);
+                accessToken = AuthorizationHeaders.getAccessToken(authorization == null
+                                                                      ? null
+                                                                      : authorization.getValue());
+            }
+
+            Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (RECEIVE_RESPONSE_HEADER.equals(method.getName()) && accessToken != null) {
+                HttpResponse response = (HttpResponse) result;
+                providerCallScheduler.observe(api, accessToken, response.getStatusLine().getStatusCode(), name -> {
+                    Header header = response.getFirstHeader(name);
+                    return header == null ? null : header.getValue();
+                });
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.tuwien.gitanalyser.service.apiCalls.factory;
+
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * sends the requests of the GitHub clients through the provider call scheduler and reports the rate limit headers
+ * of their responses to it.
+ */
+public class RateLimitedGitHubConnector implements GitHubConnector {
+
+    private final GitHubConnector connector;
+    private final ProviderCallScheduler providerCallScheduler;
+
+    public RateLimitedGitHubConnector(final GitHubConnector connector,
+                                      final ProviderCallScheduler providerCallScheduler) {
+        this.connector = connector;
+        this.providerCallScheduler = providerCallScheduler;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(final GitHubConnectorRequest request) throws IOException {
+        String accessToken = AuthorizationHeaders.getAccessToken(request.header(AuthorizationHeaders.NAME));
+        if (accessToken == null) {
+            return connector.send(request);
+        }
+
+        try {
+            providerCallScheduler.acquire(RateLimitedApi.GITHUB, accessToken);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+        try {
+            GitHubConnectorResponse response = connector.send(request);
+            providerCallScheduler.observe(RateLimitedApi.GITHUB, accessToken, response.statusCode(),
+                                          response::header);
+            return response;
+        } finally {
+            providerCallScheduler.release(RateLimitedApi.GITHUB, accessToken);
+        }
+    }
+}
@@ -7,26 +7,59 @@ import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.GitHubException;
 import com.tuwien.gitanalyser.service.GitAPI;
 import com.tuwien.gitanalyser.service.GitAPIFactory;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.mirror.LocalMirrorStore;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHCommitQueryBuilder;
 import org.kohsuke.github.GHEmail;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class GitHubAPI implements GitAPI {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubAPI.class);
+
+    /**
+     * GitHub accepts an OAuth access token as password of this user when cloning over https.
+     */
+    private static final String MIRROR_USERNAME = "x-access-token";
+    /**
+     * the largest number of commits GitHub returns per page of the rest api.
+     */
+    private static final int COMMIT_PAGE_SIZE = 100;
+
     private final GitAPIFactory<GitHub> gitHubAPIFactory;
+    private final GitHubGraphQLCommitFetcher graphQLCommitFetcher;
+    private final GitHubCommitFetchEngine commitFetchEngine;
+    private final LocalMirrorStore localMirrorStore;
+    private final ProviderMetrics providerMetrics;
 
-    public GitHubAPI(final GitAPIFactory<GitHub> gitHubAPIFactory) {
+    public GitHubAPI(final GitAPIFactory<GitHub> gitHubAPIFactory,
+                     final GitHubGraphQLCommitFetcher graphQLCommitFetcher,
+                     @Value("${gitanalyser.github.commit-fetch-engine}")
+                     final GitHubCommitFetchEngine commitFetchEngine,
+                     final LocalMirrorStore localMirrorStore,
+                     final ProviderMetrics providerMetrics) {
         this.gitHubAPIFactory = gitHubAPIFactory;
+        this.graphQLCommitFetcher = graphQLCommitFetcher;
+        this.commitFetchEngine = commitFetchEngine;
+        this.localMirrorStore = localMirrorStore;
+        this.providerMetrics = providerMetrics;
     }
 
     public List<NotSavedRepositoryInternalDTO> getAllRepositories(final String accessToken) throws GitHubException {
@@ -91,17 +124,66 @@ public class GitHubAPI implements GitAPI {
     @Override
     public List<CommitInternalDTO> getAllCommits(final String accessToken, final long platformId,
                                                  final @Nullable String branchName) throws GitHubException {
+        return getCommits(accessToken, platformId, branchName, null);
+    }
+
+    @Override
+    public String getBranchHeadId(final String accessToken, final long platformId,
+                                  final @Nullable String branchName) throws GitHubException {
+        try {
+            GitHub github = gitHubAPIFactory.createObject(accessToken);
+            GHRepository repository = github.getRepositoryById(platformId);
+            String branch = branchName == null ? repository.getDefaultBranch() : branchName;
+            return repository.getBranch(branch).getSHA1();
+        } catch (IOException e) {
+            throw new GitHubException(e);
+        }
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final String accessToken, final long platformId,
+                                                   final @Nullable String branchName, final Date since)
+        throws GitHubException {
+        return getCommits(accessToken, platformId, branchName, since);
+    }
+
+    private List<CommitInternalDTO> getCommits(final String accessToken, final long platformId,
+                                               final @Nullable String branchName, final @Nullable Date since)
+        throws GitHubException {
 
         List<CommitInternalDTO> result = new ArrayList<>();
 
         try {
             GitHub github = gitHubAPIFactory.createObject(accessToken);
-            String branch = branchName == null ? github.getRepositoryById(platformId).getDefaultBranch() : branchName;
-            github.getRepositoryById(platformId)
-                  .queryCommits()
-                  .from(branch)
-                  .list()
-                  .forEach(commit -> result.add(this.mapGHCommitToInternalDTO(commit)));
+            GHRepository repository = github.getRepositoryById(platformId);
+            String branch = branchName == null ? repository.getDefaultBranch() : branchName;
+
+            if (localMirrorStore.isEnabled()) {
+                List<CommitInternalDTO> mirroredCommits =
+                    localMirrorStore.loadCommits(repository.getHttpTransportUrl(), MIRROR_USERNAME, accessToken,
+                                                 branch, since,
+                                                 authors -> getMirroredAuthors(accessToken, repository, authors));
+                if (mirroredCommits != null) {
+                    return mirroredCommits;
+                }
+            }
+
+            if (commitFetchEngine == GitHubCommitFetchEngine.GRAPHQL) {
+                return graphQLCommitFetcher.getCommits(accessToken, repository.getOwnerName(), repository.getName(),
+                                                       branch, since);
+            }
+
+            GHCommitQueryBuilder query = repository.queryCommits()
+                                                   .from(branch)
+                                                   .pageSize(COMMIT_PAGE_SIZE);
+            if (since != null) {
+                query.since(since);
+            }
+            List<GHCommit> commits = query.list().toList();
+            // the library loads the pages itself, all but the last one are full
+            providerMetrics.recordCommitPages(ProviderMetrics.GITHUB,
+                                              Math.max(1, (commits.size() + COMMIT_PAGE_SIZE - 1) / COMMIT_PAGE_SIZE));
+            commits.forEach(commit -> result.add(this.mapGHCommitToInternalDTO(commit)));
         } catch (IOException e) {
             throw new GitHubException(e);
         }
@@ -121,6 +203,24 @@ public class GitHubAPI implements GitAPI {
         }
     }
 
+    /**
+     * GitHub attributes a commit to the account its author email is linked to, like the GraphQL engine the mirror
+     * uses the name of that account and the name of the git author if the email is not linked to any account. The
+     * accounts of all identities are looked up in batched GraphQL queries, if those fail the mirrored commits keep
+     * the names of their git authors instead of being loaded from the api again.
+     */
+    private Map<String, String> getMirroredAuthors(final String accessToken, final GHRepository repository,
+                                                   final Map<String, PersonIdent> authorsByCommitId) {
+        try {
+            return graphQLCommitFetcher.getCommitAuthors(accessToken, repository.getOwnerName(), repository.getName(),
+                                                         authorsByCommitId.keySet());
+        } catch (GitHubException e) {
+            LOGGER.warn("could not look up the accounts of the authors of {}, keeping their git names",
+                        repository.getFullName(), e);
+            return Map.of();
+        }
+    }
+
     private CommitInternalDTO mapGHCommitToInternalDTO(final GHCommit commit) {
 
         String author;
@@ -8,6 +8,7 @@ import com.tuwien.gitanalyser.service.GitAccessTokenService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Service
@@ -43,6 +44,18 @@ public class GitHubAccessTokenServiceImpl implements GitAccessTokenService {
         return gitHubAPI.getAllCommits(getAccessToken(userId), platformId, branch);
     }
 
+    @Override
+    public String getBranchHeadId(final long userId, final Long platformId, final String branch)
+        throws GitException {
+        return gitHubAPI.getBranchHeadId(getAccessToken(userId), platformId, branch);
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final long userId, final Long platformId, final String branch,
+                                                   final Date since) throws GitException {
+        return gitHubAPI.getCommitsSince(getAccessToken(userId), platformId, branch, since);
+    }
+
     @Override
     public String getEmail(final long userId) throws GitException {
         return gitHubAPI.getEmail(getAccessToken(userId));
@@ -0,0 +1,15 @@
+package com.tuwien.gitanalyser.service.apiCalls.github;
+
+/**
+ * the way commits are loaded from GitHub.
+ */
+public enum GitHubCommitFetchEngine {
+    /**
+     * loads commits through the REST api, the statistics of every commit need an additional request.
+     */
+    REST,
+    /**
+     * loads commits including their statistics in pages through the GraphQL api.
+     */
+    GRAPHQL
+}
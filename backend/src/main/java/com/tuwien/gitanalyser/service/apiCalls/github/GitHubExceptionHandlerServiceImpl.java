@@ -7,6 +7,7 @@ import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.service.GitExceptionHandlerService;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Service
@@ -39,6 +40,18 @@ public class GitHubExceptionHandlerServiceImpl implements GitExceptionHandlerSer
         return gitHubAccessTokenService.getAllCommits(userId, platformId, branch);
     }
 
+    @Override
+    public String getBranchHeadId(final long userId, final Long platformId, final String branch)
+        throws GitException {
+        return gitHubAccessTokenService.getBranchHeadId(userId, platformId, branch);
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final long userId, final Long platformId, final String branch,
+                                                   final Date since) throws GitException {
+        return gitHubAccessTokenService.getCommitsSince(userId, platformId, branch, since);
+    }
+
     @Override
     public boolean repositoryAccessibleByUser(final long userId, final Long platformId) {
         boolean result;
@@ -0,0 +1,296 @@
+package com.tuwien.gitanalyser.service.apiCalls.github;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.exception.GitHubException;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * loads the commit history of a branch through the GitHub GraphQL api. In contrast to the REST api, a single
+ * request returns the statistics and parents of a whole page of commits.
+ */
+@Service
+public class GitHubGraphQLCommitFetcher {
+
+    private static final int PAGE_SIZE = 100;
+    /**
+     * the number of commits whose authors a single query looks up.
+     */
+    private static final int AUTHOR_BATCH_SIZE = 100;
+    private static final String COMMIT_ALIAS_PREFIX = "commit";
+    private static final String AUTHOR_QUERY = """
+        query($owner: String!, $name: String!%s) {
+          repository(owner: $owner, name: $name) {%s
+          }
+        }
+        """;
+    private static final String AUTHOR_OBJECT_QUERY = """
+
+            %1$s: object(oid: $%1$s) {
+              ... on Commit {
+                author { name user { name } }
+                committer { user { name } }
+              }
+            }""";
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+    private static final String HISTORY_QUERY = """
+        query($owner: String!, $name: String!, $ref: String!, $cursor: String, $since: GitTimestamp) {
+          repository(owner: $owner, name: $name) {
+            ref(qualifiedName: $ref) {
+              target {
+                ... on Commit {
+                  history(first: %d, after: $cursor, since: $since) {
+                    pageInfo { hasNextPage endCursor }
+                    nodes {
+                      oid
+                      message
+                      committedDate
+                      additions
+                      deletions
+                      author { name user { name } }
+                      committer { user { name } }
+                      parents(first: %d) { nodes { oid } }
+                    }
+                  }
+                }
+              }
+            }
+          }
+        }
+        """.formatted(PAGE_SIZE, PAGE_SIZE);
+
+    private final RestTemplate restTemplate;
+    private final URI graphQLUri;
+    private final ProviderCallScheduler providerCallScheduler;
+    private final ProviderMetrics providerMetrics;
+
+    public GitHubGraphQLCommitFetcher(@Value("${gitanalyser.github.graphql-url}") final String graphQLUrl,
+                                      final ProviderCallScheduler providerCallScheduler,
+                                      final ProviderMetrics providerMetrics) {
+        this.restTemplate = new RestTemplate();
+        this.graphQLUri = URI.create(graphQLUrl);
+        this.providerCallScheduler = providerCallScheduler;
+        this.providerMetrics = providerMetrics;
+    }
+
+    /**
+     * loads all commits of a branch which were committed at or after since, sorted by their timestamp.
+     */
+    public List<CommitInternalDTO> getCommits(final String accessToken, final String owner, final String name,
+                                              final String branch, final @Nullable Date since)
+        throws GitHubException {
+
+        List<CommitInternalDTO> result = new ArrayList<>();
+
+        try {
+            String cursor = null;
+            boolean hasNextPage = true;
+            while (hasNextPage) {
+                JSONObject history = queryHistoryPage(accessToken, owner, name, branch, since, cursor);
+                providerMetrics.recordCommitPages(ProviderMetrics.GITHUB, 1);
+
+                JSONArray nodes = history.getJSONArray("nodes");
+                for (int i = 0; i < nodes.length(); i++) {
+                    result.add(mapCommitNodeToInternalDTO(nodes.getJSONObject(i)));
+                }
+
+                JSONObject pageInfo = history.getJSONObject("pageInfo");
+                hasNextPage = pageInfo.getBoolean("hasNextPage");
+                cursor = optionalString(pageInfo, "endCursor");
+            }
+        } catch (RestClientException | JSONException e) {
+            throw new GitHubException(e);
+        }
+
+        return result.stream().sorted(Comparator.comparing(CommitInternalDTO::getTimestamp)).toList();
+    }
+
+    /**
+     * returns the authors GitHub attributes the commits to, keyed by the ids of the commits. A single query looks up
+     * the authors of a whole batch of commits, commits GitHub does not know are missing in the result.
+     */
+    public Map<String, String> getCommitAuthors(final String accessToken, final String owner, final String name,
+                                                final Collection<String> commitIds) throws GitHubException {
+
+        Map<String, String> result = new HashMap<>();
+        List<String> commitIdList = new ArrayList<>(commitIds);
+
+        try {
+            for (int start = 0; start < commitIdList.size(); start += AUTHOR_BATCH_SIZE) {
+                List<String> batch = commitIdList.subList(start, Math.min(start + AUTHOR_BATCH_SIZE,
+                                                                          commitIdList.size()));
+                JSONObject repository = queryAuthors(accessToken, owner, name, batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    JSONObject commit = repository.optJSONObject(COMMIT_ALIAS_PREFIX + i);
+                    if (commit != null) {
+                        result.put(batch.get(i), getAuthorName(commit));
+                    }
+                }
+            }
+        } catch (RestClientException | JSONException e) {
+            throw new GitHubException(e);
+        }
+
+        return result;
+    }
+
+    private JSONObject queryAuthors(final String accessToken, final String owner, final String name,
+                                    final List<String> commitIds) throws GitHubException {
+        JSONObject variables = new JSONObject();
+        variables.put("owner", owner);
+        variables.put("name", name);
+
+        StringBuilder parameters = new StringBuilder();
+        StringBuilder objects = new StringBuilder();
+        for (int i = 0; i < commitIds.size(); i++) {
+            String alias = COMMIT_ALIAS_PREFIX + i;
+            variables.put(alias, commitIds.get(i));
+            parameters.append(", $").append(alias).append(": GitObjectID!");
+            objects.append(AUTHOR_OBJECT_QUERY.formatted(alias));
+        }
+
+        JSONObject jsonResponse = query(accessToken, AUTHOR_QUERY.formatted(parameters, objects), variables);
+
+        // unknown commits are reported as errors next to the data of the known ones
+        JSONObject data = jsonResponse.optJSONObject("data");
+        JSONObject repository = data == null ? null : data.optJSONObject("repository");
+        if (repository == null) {
+            throw new GitHubException(new IllegalStateException(String.valueOf(jsonResponse.opt("errors"))));
+        }
+        return repository;
+    }
+
+    private JSONObject queryHistoryPage(final String accessToken, final String owner, final String name,
+                                        final String branch, final @Nullable Date since,
+                                        final @Nullable String cursor) throws GitHubException {
+        JSONObject variables = new JSONObject();
+        variables.put("owner", owner);
+        variables.put("name", name);
+        variables.put("ref", BRANCH_REF_PREFIX + branch);
+        variables.put("cursor", cursor == null ? JSONObject.NULL : cursor);
+        variables.put("since", since == null ? JSONObject.NULL : since.toInstant().toString());
+
+        JSONObject jsonResponse = query(accessToken, HISTORY_QUERY, variables);
+
+        if (jsonResponse.has("errors")) {
+            throw new GitHubException(new IllegalStateException(jsonResponse.get("errors").toString()));
+        }
+
+        JSONObject ref = jsonResponse.getJSONObject("data").getJSONObject("repository").optJSONObject("ref");
+        if (ref == null) {
+            throw new GitHubException(new IllegalArgumentException("branch " + branch + " does not exist"));
+        }
+
+        return ref.getJSONObject("target").getJSONObject("history");
+    }
+
+    private JSONObject query(final String accessToken, final String query, final JSONObject variables)
+        throws GitHubException {
+        JSONObject body = new JSONObject();
+        body.put("query", query);
+        body.put("variables", variables);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        return new JSONObject(post(accessToken, new HttpEntity<>(body.toString(), headers)));
+    }
+
+    /**
+     * sends a query once the GraphQL rate limit budget of the access token allows it, queries GitHub answered as
+     * rate limited are sent again after the pause GitHub asked for.
+     */
+    private String post(final String accessToken, final HttpEntity<String> request) throws GitHubException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                providerCallScheduler.acquire(RateLimitedApi.GITHUB_GRAPHQL, accessToken);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GitHubException(e);
+            }
+            try {
+                ResponseEntity<String> response = restTemplate.exchange(graphQLUri, HttpMethod.POST, request,
+                                                                        String.class);
+                providerCallScheduler.observe(RateLimitedApi.GITHUB_GRAPHQL, accessToken,
+                                              response.getStatusCodeValue(), response.getHeaders()::getFirst);
+                return response.getBody();
+            } catch (HttpStatusCodeException e) {
+                HttpHeaders responseHeaders = e.getResponseHeaders() == null ? new HttpHeaders()
+                                                                             : e.getResponseHeaders();
+                boolean rateLimited = providerCallScheduler.observe(RateLimitedApi.GITHUB_GRAPHQL, accessToken,
+                                                                    e.getRawStatusCode(), responseHeaders::getFirst);
+                if (!rateLimited || attempt >= ProviderCallScheduler.MAXIMUM_ATTEMPTS) {
+                    throw e;
+                }
+            } finally {
+                providerCallScheduler.release(RateLimitedApi.GITHUB_GRAPHQL, accessToken);
+            }
+        }
+    }
+
+    private CommitInternalDTO mapCommitNodeToInternalDTO(final JSONObject node) {
+        List<String> parentIds = new ArrayList<>();
+        JSONArray parents = node.getJSONObject("parents").getJSONArray("nodes");
+        for (int i = 0; i < parents.length(); i++) {
+            parentIds.add(parents.getJSONObject(i).getString("oid"));
+        }
+
+        return CommitInternalDTO.builder()
+                                .id(node.getString("oid"))
+                                .author(getAuthorName(node))
+                                .timestamp(Date.from(OffsetDateTime.parse(node.getString("committedDate"))
+                                                                   .toInstant()))
+                                .message(node.getString("message"))
+                                .parentIds(parentIds)
+                                .isMergeCommit(parentIds.size() > 1)
+                                .additions(node.getInt("additions"))
+                                .deletions(node.getInt("deletions"))
+                                .build();
+    }
+
+    /**
+     * prefers the linked GitHub accounts like the REST mapping in {@link GitHubAPI} does.
+     */
+    private String getAuthorName(final JSONObject node) {
+        JSONObject author = node.optJSONObject("author");
+        JSONObject committer = node.optJSONObject("committer");
+
+        if (author != null && author.optJSONObject("user") != null) {
+            return optionalString(author.getJSONObject("user"), "name");
+        }
+        if (committer != null && committer.optJSONObject("user") != null) {
+            return optionalString(committer.getJSONObject("user"), "name");
+        }
+        return author == null ? "unknown" : optionalString(author, "name");
+    }
+
+    private String optionalString(final JSONObject object, final String key) {
+        return object.isNull(key) ? null : object.getString(key);
+    }
+}
@@ -7,27 +7,64 @@ import com.tuwien.gitanalyser.exception.GitLabException;
 import com.tuwien.gitanalyser.exception.TryRefreshException;
 import com.tuwien.gitanalyser.service.GitAPI;
 import com.tuwien.gitanalyser.service.GitAPIFactory;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.gitlab.GitLabCommitPageLoader.CommitPage;
+import com.tuwien.gitanalyser.service.apiCalls.mirror.LocalMirrorStore;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.models.Branch;
 import org.gitlab4j.api.models.Commit;
 import org.gitlab4j.api.models.Project;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 @Service
 public class GitLabAPI implements GitAPI {
 
+    private static final int COMMIT_PAGE_SIZE = 100;
+    /**
+     * GitLab accepts an OAuth access token as password of this user when cloning over https.
+     */
+    private static final String MIRROR_USERNAME = "oauth2";
+
     private final GitAPIFactory<GitLabApi> gitLabAPIFactory;
+    private final ExecutorService commitPageExecutor;
+    private final int commitFetchThreads;
+    private final ProviderCallScheduler providerCallScheduler;
+    private final LocalMirrorStore localMirrorStore;
+    private final ProviderMetrics providerMetrics;
+    private final GitLabCommitPageLoader commitPageLoader;
 
-    public GitLabAPI(final GitAPIFactory<GitLabApi> gitLabAPIFactory) {
+    public GitLabAPI(final GitAPIFactory<GitLabApi> gitLabAPIFactory,
+                     @Qualifier("gitLabCommitPageExecutor") final ExecutorService commitPageExecutor,
+                     @Value("${gitanalyser.gitlab.commit-fetch.threads}") final int commitFetchThreads,
+                     final ProviderCallScheduler providerCallScheduler,
+                     final LocalMirrorStore localMirrorStore,
+                     final ProviderMetrics providerMetrics,
+                     final GitLabCommitPageLoader commitPageLoader) {
         this.gitLabAPIFactory = gitLabAPIFactory;
+        this.commitPageExecutor = commitPageExecutor;
+        this.commitFetchThreads = commitFetchThreads;
+        this.providerCallScheduler = providerCallScheduler;
+        this.localMirrorStore = localMirrorStore;
+        this.providerMetrics = providerMetrics;
+        this.commitPageLoader = commitPageLoader;
     }
 
     @Override
@@ -39,8 +76,8 @@ public class GitLabAPI implements GitAPI {
         GitLabApi gitLabApi;
         try {
             gitLabApi = gitLabAPIFactory.createObject(accessToken);
-            getOwnedProjects(gitLabApi).forEach(x -> allRepos.put(x.getPlatformId(), x));
-            getMemberProjects(gitLabApi).forEach(x -> allRepos.putIfAbsent(x.getPlatformId(), x));
+            getOwnedProjects(accessToken, gitLabApi).forEach(x -> allRepos.put(x.getPlatformId(), x));
+            getMemberProjects(accessToken, gitLabApi).forEach(x -> allRepos.putIfAbsent(x.getPlatformId(), x));
         } catch (IOException e) {
             throw new GitLabException(e);
         } catch (GitLabApiException e) {
@@ -60,7 +97,7 @@ public class GitLabAPI implements GitAPI {
         Project project;
         try {
             GitLabApi gitLabAPI = gitLabAPIFactory.createObject(accessToken);
-            project = gitLabAPI.getProjectApi().getProject(platformId);
+            project = schedule(accessToken, () -> gitLabAPI.getProjectApi().getProject(platformId));
         } catch (IOException e) {
             throw new GitLabException(e);
         } catch (GitLabApiException e) {
@@ -84,7 +121,7 @@ public class GitLabAPI implements GitAPI {
         List<Branch> branches;
         try {
             GitLabApi gitLabAPI = gitLabAPIFactory.createObject(accessToken);
-            branches = gitLabAPI.getRepositoryApi().getBranches(platformId);
+            branches = schedule(accessToken, () -> gitLabAPI.getRepositoryApi().getBranches(platformId));
         } catch (IOException e) {
             throw new GitLabException(e);
         } catch (GitLabApiException e) {
@@ -104,15 +141,61 @@ public class GitLabAPI implements GitAPI {
     @Override
     public List<CommitInternalDTO> getAllCommits(final String accessToken, final long platformId,
                                                  final String branchName) throws GitLabException, TryRefreshException {
+        return getCommits(accessToken, platformId, branchName, null);
+    }
+
+    @Override
+    public String getBranchHeadId(final String accessToken, final long platformId, final String branchName)
+        throws GitLabException, TryRefreshException {
+
+        Branch branch;
+        try {
+            GitLabApi gitLabAPI = gitLabAPIFactory.createObject(accessToken);
+            String name = branchName == null
+                              ? schedule(accessToken, () -> gitLabAPI.getProjectApi().getProject(platformId))
+                                    .getDefaultBranch()
+                              : branchName;
+            branch = schedule(accessToken, () -> gitLabAPI.getRepositoryApi().getBranch(platformId, name));
+        } catch (IOException e) {
+            throw new GitLabException(e);
+        } catch (GitLabApiException e) {
+            if (e.getHttpStatus() == HttpStatus.UNAUTHORIZED.value()) {
+                throw new TryRefreshException(e);
+            }
+            throw new GitLabException(e);
+        }
+
+        return branch.getCommit().getId();
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final String accessToken, final long platformId,
+                                                   final String branchName, final Date since)
+        throws GitLabException, TryRefreshException {
+        return getCommits(accessToken, platformId, branchName, since);
+    }
+
+    private List<CommitInternalDTO> getCommits(final String accessToken, final long platformId,
+                                               final String branchName, final Date since)
+        throws GitLabException, TryRefreshException {
 
         List<CommitInternalDTO> result;
 
         List<Commit> commits;
         try {
             GitLabApi gitLabAPI = gitLabAPIFactory.createObject(accessToken);
-            commits = gitLabAPI.getCommitsApi()
-                               .getCommits(platformId, branchName, null, null, null, false, true,
-                                           null)
+
+            if (localMirrorStore.isEnabled()) {
+                Project project = schedule(accessToken, () -> gitLabAPI.getProjectApi().getProject(platformId));
+                List<CommitInternalDTO> mirroredCommits =
+                    localMirrorStore.loadCommits(project.getHttpUrlToRepo(), MIRROR_USERNAME, accessToken,
+                                                 branchName, since);
+                if (mirroredCommits != null) {
+                    return mirroredCommits;
+                }
+            }
+
+            commits = loadCommitPages(accessToken, gitLabAPI, platformId, branchName, since)
                                .stream()
                                .sorted(Comparator.comparing(Commit::getCommittedDate))
                                .toList();
@@ -132,6 +215,128 @@ public class GitLabAPI implements GitAPI {
         return result;
     }
 
+    /**
+     * loads the pages of a commit history concurrently if GitLab reports the number of pages. GitLab omits it for
+     * very large histories, those are loaded page by page, just like every history if a single thread loads the
+     * commits. Every page is requested once and scheduled on its own, the first one included.
+     */
+    private List<Commit> loadCommitPages(final String accessToken, final GitLabApi gitLabAPI,
+                                         final long platformId, final String branchName, final Date since)
+        throws GitLabApiException {
+        CommitPage firstPage = loadCommitPage(accessToken, gitLabAPI, platformId, branchName, since, 1);
+        int totalPages = firstPage.getTotalPages();
+        if (commitFetchThreads <= 1 || totalPages == GitLabCommitPageLoader.UNKNOWN_TOTAL_PAGES) {
+            return loadCommitPagesSequentially(accessToken, gitLabAPI, platformId, branchName, since, firstPage);
+        }
+        if (totalPages <= 1) {
+            return firstPage.getCommits();
+        }
+
+        int workers = Math.min(commitFetchThreads, totalPages - 1);
+        AtomicReferenceArray<List<Commit>> pages = new AtomicReferenceArray<>(totalPages);
+        pages.set(0, firstPage.getCommits());
+
+        List<Future<Void>> futures = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int firstPageOfWorker = 2 + worker;
+            futures.add(commitPageExecutor.submit(() -> {
+                for (int page = firstPageOfWorker; page <= totalPages; page += workers) {
+                    pages.set(page - 1, loadCommitPage(accessToken, gitLabAPI, platformId, branchName, since, page)
+                                            .getCommits());
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw unwrapPageException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitLabApiException(e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        List<Commit> commits = new ArrayList<>();
+        for (int page = 0; page < totalPages; page++) {
+            commits.addAll(pages.get(page));
+        }
+        return commits;
+    }
+
+    private List<Commit> loadCommitPagesSequentially(final String accessToken, final GitLabApi gitLabAPI,
+                                                     final long platformId, final String branchName,
+                                                     final Date since, final CommitPage firstPage)
+        throws GitLabApiException {
+        List<Commit> commits = new ArrayList<>(firstPage.getCommits());
+        CommitPage page = firstPage;
+        for (int pageNumber = 2; page.isHasNextPage(); pageNumber++) {
+            page = loadCommitPage(accessToken, gitLabAPI, platformId, branchName, since, pageNumber);
+            commits.addAll(page.getCommits());
+        }
+        return commits;
+    }
+
+    private CommitPage loadCommitPage(final String accessToken, final GitLabApi gitLabAPI, final long platformId,
+                                      final String branchName, final Date since, final int page)
+        throws GitLabApiException {
+        CommitPage commitPage = schedule(accessToken, () -> commitPageLoader.loadPage(gitLabAPI, platformId,
+                                                                                      branchName, since, page,
+                                                                                      COMMIT_PAGE_SIZE));
+        providerMetrics.recordCommitPages(ProviderMetrics.GITLAB, 1);
+        return commitPage;
+    }
+
+    /**
+     * sends a request once the rate limit budget of the access token allows it. Requests GitLab answered as rate
+     * limited are sent again, the scheduler holds them back until GitLab accepts requests again.
+     */
+    private <T> T schedule(final String accessToken, final GitLabCall<T> call) throws GitLabApiException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                providerCallScheduler.acquire(RateLimitedApi.GITLAB, accessToken);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GitLabApiException(e);
+            }
+            try {
+                return call.execute();
+            } catch (GitLabApiException | RuntimeException e) {
+                if (attempt >= ProviderCallScheduler.MAXIMUM_ATTEMPTS || !isRateLimited(e)) {
+                    throw e;
+                }
+            } finally {
+                providerCallScheduler.release(RateLimitedApi.GITLAB, accessToken);
+            }
+        }
+    }
+
+    private boolean isRateLimited(final Exception exception) {
+        Throwable cause = exception instanceof RuntimeException ? exception.getCause() : exception;
+        return cause instanceof GitLabApiException gitLabApiException
+                   && gitLabApiException.getHttpStatus() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /**
+     * unwraps the exception a page failed with in a worker.
+     */
+    private GitLabApiException unwrapPageException(final Throwable exception) {
+        Throwable cause = exception instanceof RuntimeException && exception.getCause() != null
+                              ? exception.getCause()
+                              : exception;
+        if (cause instanceof GitLabApiException gitLabApiException) {
+            return gitLabApiException;
+        }
+        if (cause instanceof Exception otherException) {
+            return new GitLabApiException(otherException);
+        }
+        throw (Error) cause;
+    }
+
     private CommitInternalDTO mapCommitsToInternalDTO(final Commit commit) {
         return CommitInternalDTO.builder()
                                 .id(commit.getId())
@@ -145,13 +350,14 @@ public class GitLabAPI implements GitAPI {
                                 .build();
     }
 
-    private List<NotSavedRepositoryInternalDTO> getOwnedProjects(final GitLabApi gitLabApi) throws GitLabApiException {
-        return convertToRepositories(gitLabApi.getProjectApi().getOwnedProjects());
+    private List<NotSavedRepositoryInternalDTO> getOwnedProjects(final String accessToken, final GitLabApi gitLabApi)
+        throws GitLabApiException {
+        return convertToRepositories(schedule(accessToken, () -> gitLabApi.getProjectApi().getOwnedProjects()));
     }
 
-    private List<NotSavedRepositoryInternalDTO> getMemberProjects(final GitLabApi gitLabApi)
+    private List<NotSavedRepositoryInternalDTO> getMemberProjects(final String accessToken, final GitLabApi gitLabApi)
         throws GitLabApiException {
-        return convertToRepositories(gitLabApi.getProjectApi().getMemberProjects());
+        return convertToRepositories(schedule(accessToken, () -> gitLabApi.getProjectApi().getMemberProjects()));
     }
 
     private List<NotSavedRepositoryInternalDTO> convertToRepositories(final List<Project> projects) {
@@ -164,5 +370,8 @@ public class GitLabAPI implements GitAPI {
                                                              .build())
                        .collect(Collectors.toList());
     }
-}
 
+    private interface GitLabCall<T> {
+        T execute() throws GitLabApiException;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tuwien.gitanalyser.service.apiCalls.gitlab;
+
+import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.exception.GitLabException;
+import com.tuwien.gitanalyser.exception.NotFoundException;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * renews the GitLab access tokens of recently active users shortly before they expire, so requests do not have to
+ * fail with the expired token first.
+ */
+@Service
+public class GitLabAccessTokenRefresher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitLabAccessTokenRefresher.class);
+
+    private final UserService userService;
+    private final GitLabRefreshTokenCoordinator gitLabRefreshTokenCoordinator;
+    private final DateService dateService;
+    private final long activeUserWindowInMilliseconds;
+    private final long refreshBeforeExpiryInMilliseconds;
+
+    private final ConcurrentMap<Long, Long> lastActivities = new ConcurrentHashMap<>();
+
+    public GitLabAccessTokenRefresher(
+        final UserService userService,
+        final GitLabRefreshTokenCoordinator gitLabRefreshTokenCoordinator,
+        final DateService dateService,
+        @Value("${gitanalyser.gitlab.token-refresh.active-user-window-seconds}") final long activeUserWindowInSeconds,
+        @Value("${gitanalyser.gitlab.token-refresh.refresh-before-expiry-seconds}")
+        final long refreshBeforeExpiryInSeconds) {
+        this.userService = userService;
+        this.gitLabRefreshTokenCoordinator = gitLabRefreshTokenCoordinator;
+        this.dateService = dateService;
+        this.activeUserWindowInMilliseconds = TimeUnit.SECONDS.toMillis(activeUserWindowInSeconds);
+        this.refreshBeforeExpiryInMilliseconds = TimeUnit.SECONDS.toMillis(refreshBeforeExpiryInSeconds);
+    }
+
+    public void markActive(final long userId) {
+        lastActivities.put(userId, dateService.create().getTime());
+    }
+
+    @Scheduled(fixedDelayString = "${gitanalyser.gitlab.token-refresh.interval-seconds}",
+        initialDelayString = "${gitanalyser.gitlab.token-refresh.interval-seconds}",
+        timeUnit = TimeUnit.SECONDS)
+    public void refreshExpiringTokens() {
+        long now = dateService.create().getTime();
+        lastActivities.entrySet().removeIf(activity -> now - activity.getValue() > activeUserWindowInMilliseconds);
+
+        for (Map.Entry<Long, Long> activity : lastActivities.entrySet()) {
+            long userId = activity.getKey();
+            try {
+                if (expiresSoon(userService.getUser(userId), now)) {
+                    gitLabRefreshTokenCoordinator.refresh(userId, gitLabRefreshTokenCoordinator.getGeneration(userId));
+                }
+            } catch (NotFoundException e) {
+                lastActivities.remove(userId);
+            } catch (GitLabException | RestClientException e) {
+                // the request path still refreshes the token when it is rejected
+                LOGGER.warn("Could not refresh GitLab access token of user {}", userId, e);
+            }
+        }
+    }
+
+    private boolean expiresSoon(final User user, final long now) {
+        Date expiresAt = user.getAccessTokenExpiresAt();
+        return user.getAuthenticationProvider() == AuthenticationProvider.GITLAB
+            && user.getRefreshToken() != null
+            && expiresAt != null
+            && expiresAt.getTime() - now <= refreshBeforeExpiryInMilliseconds;
+    }
+}
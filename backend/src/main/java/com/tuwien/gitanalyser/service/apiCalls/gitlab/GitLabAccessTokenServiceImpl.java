@@ -10,16 +10,20 @@ import com.tuwien.gitanalyser.service.GitAccessTokenService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Service
 public class GitLabAccessTokenServiceImpl implements GitAccessTokenService {
     private final GitLabAPI gitLabAPI;
     private final UserService userService;
+    private final GitLabAccessTokenRefresher gitLabAccessTokenRefresher;
 
-    public GitLabAccessTokenServiceImpl(final GitLabAPI gitLabAPI, final UserService userService) {
+    public GitLabAccessTokenServiceImpl(final GitLabAPI gitLabAPI, final UserService userService,
+                                        final GitLabAccessTokenRefresher gitLabAccessTokenRefresher) {
         this.gitLabAPI = gitLabAPI;
         this.userService = userService;
+        this.gitLabAccessTokenRefresher = gitLabAccessTokenRefresher;
     }
 
     @Override
@@ -46,12 +50,25 @@ public class GitLabAccessTokenServiceImpl implements GitAccessTokenService {
         return gitLabAPI.getAllCommits(getAccessToken(userId), platformId, branch);
     }
 
+    @Override
+    public String getBranchHeadId(final long userId, final Long platformId, final String branch)
+        throws GitLabException, TryRefreshException {
+        return gitLabAPI.getBranchHeadId(getAccessToken(userId), platformId, branch);
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final long userId, final Long platformId, final String branch,
+                                                   final Date since) throws GitLabException, TryRefreshException {
+        return gitLabAPI.getCommitsSince(getAccessToken(userId), platformId, branch, since);
+    }
+
     @Override
     public String getEmail(final long userId) throws GitException {
         throw new UnsupportedOperationException("GitLab does not need email retrieval");
     }
 
     private String getAccessToken(final Long userId) {
+        gitLabAccessTokenRefresher.markActive(userId);
         return userService.getUser(userId).getAccessToken();
     }
 }
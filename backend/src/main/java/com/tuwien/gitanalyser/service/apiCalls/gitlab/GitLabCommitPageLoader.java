@@ -0,0 +1,72 @@
+package com.tuwien.gitanalyser.service.apiCalls.gitlab;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.gitlab4j.api.AbstractApi;
+import org.gitlab4j.api.Constants;
+import org.gitlab4j.api.GitLabApi;
+import org.gitlab4j.api.GitLabApiException;
+import org.gitlab4j.api.GitLabApiForm;
+import org.gitlab4j.api.models.Commit;
+import org.springframework.stereotype.Service;
+
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * loads single pages of the commits of a branch including their statistics. A pager of gitlab4j loads the first
+ * page whenever it is created, every page loaded here is a single request, so the pages can be loaded concurrently
+ * without loading the first page again and again.
+ */
+@Service
+public class GitLabCommitPageLoader {
+
+    /**
+     * total pages of a page whose response did not tell them, GitLab omits them for very large histories.
+     */
+    public static final int UNKNOWN_TOTAL_PAGES = -1;
+
+    public CommitPage loadPage(final GitLabApi gitLabApi, final long platformId, final String branchName,
+                               final Date since, final int page, final int perPage) throws GitLabApiException {
+        return new CommitPageApi(gitLabApi).loadPage(platformId, branchName, since, page, perPage);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CommitPage {
+        private List<Commit> commits;
+        private int totalPages;
+        private boolean hasNextPage;
+    }
+
+    private static final class CommitPageApi extends AbstractApi {
+
+        private CommitPageApi(final GitLabApi gitLabApi) {
+            super(gitLabApi);
+        }
+
+        private CommitPage loadPage(final long platformId, final String branchName, final Date since,
+                                    final int page, final int perPage) throws GitLabApiException {
+            GitLabApiForm formData = new GitLabApiForm()
+                .withParam("ref_name", branchName)
+                .withParam("since", since)
+                .withParam("all", false)
+                .withParam("with_stats", true)
+                .withParam(Constants.PAGE_PARAM, page)
+                .withParam(Constants.PER_PAGE_PARAM, perPage);
+            Response response = get(Response.Status.OK, formData.asMap(),
+                                    "projects", getProjectIdOrPath(platformId), "repository", "commits");
+
+            List<Commit> commits = response.readEntity(new GenericType<List<Commit>>() { });
+            String totalPages = response.getHeaderString(Constants.TOTAL_PAGES_HEADER);
+            String nextPage = response.getHeaderString(Constants.NEXT_PAGE_HEADER);
+            return new CommitPage(commits,
+                                  totalPages == null || totalPages.isBlank()
+                                      ? UNKNOWN_TOTAL_PAGES
+                                      : Integer.parseInt(totalPages.trim()),
+                                  nextPage != null && !nextPage.isBlank());
+        }
+    }
+}
@@ -9,18 +9,19 @@ import com.tuwien.gitanalyser.exception.TryRefreshException;
 import com.tuwien.gitanalyser.service.GitExceptionHandlerService;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Service
 public class GitLabExceptionHandlerServiceImpl implements GitExceptionHandlerService {
 
     private final GitLabAccessTokenServiceImpl gitLabAccessTokenService;
-    private final GitLabRefreshTokenService gitLabRefreshTokenService;
+    private final GitLabRefreshTokenCoordinator gitLabRefreshTokenCoordinator;
 
     public GitLabExceptionHandlerServiceImpl(final GitLabAccessTokenServiceImpl gitLabAccessTokenService,
-                                             final GitLabRefreshTokenService gitLabRefreshTokenService) {
+                                             final GitLabRefreshTokenCoordinator gitLabRefreshTokenCoordinator) {
         this.gitLabAccessTokenService = gitLabAccessTokenService;
-        this.gitLabRefreshTokenService = gitLabRefreshTokenService;
+        this.gitLabRefreshTokenCoordinator = gitLabRefreshTokenCoordinator;
     }
 
     @Override
@@ -29,10 +30,11 @@ public class GitLabExceptionHandlerServiceImpl implements GitExceptionHandlerSer
 
         List<NotSavedRepositoryInternalDTO> allRepos;
 
+        long generation = gitLabRefreshTokenCoordinator.getGeneration(userId);
         try {
             allRepos = gitLabAccessTokenService.getAllRepositories(userId);
         } catch (TryRefreshException e) {
-            gitLabRefreshTokenService.refreshGitAccessToken(userId);
+            gitLabRefreshTokenCoordinator.refresh(userId, generation);
             try {
                 allRepos = gitLabAccessTokenService.getAllRepositories(userId);
             } catch (TryRefreshException ex) {
@@ -48,10 +50,11 @@ public class GitLabExceptionHandlerServiceImpl implements GitExceptionHandlerSer
         throws GitException {
 
         List<BranchInternalDTO> allBranches;
+        long generation = gitLabRefreshTokenCoordinator.getGeneration(userId);
         try {
             allBranches = gitLabAccessTokenService.getAllBranches(userId, platformId);
         } catch (TryRefreshException e) {
-            gitLabRefreshTokenService.refreshGitAccessToken(userId);
+            gitLabRefreshTokenCoordinator.refresh(userId, generation);
             try {
                 allBranches = gitLabAccessTokenService.getAllBranches(userId, platformId);
             } catch (TryRefreshException ex) {
@@ -67,10 +70,11 @@ public class GitLabExceptionHandlerServiceImpl implements GitExceptionHandlerSer
         throws GitException {
 
         NotSavedRepositoryInternalDTO repository;
+        long generation = gitLabRefreshTokenCoordinator.getGeneration(userId);
         try {
             repository = gitLabAccessTokenService.getRepositoryById(userId, platformId);
         } catch (TryRefreshException e) {
-            gitLabRefreshTokenService.refreshGitAccessToken(userId);
+            gitLabRefreshTokenCoordinator.refresh(userId, generation);
             try {
                 repository = gitLabAccessTokenService.getRepositoryById(userId, platformId);
             } catch (TryRefreshException ex) {
@@ -86,10 +90,11 @@ public class GitLabExceptionHandlerServiceImpl implements GitExceptionHandlerSer
         throws GitException {
 
         List<CommitInternalDTO> allCommits;
+        long generation = gitLabRefreshTokenCoordinator.getGeneration(userId);
         try {
             allCommits = gitLabAccessTokenService.getAllCommits(userId, platformId, branch);
         } catch (TryRefreshException e) {
-            gitLabRefreshTokenService.refreshGitAccessToken(userId);
+            gitLabRefreshTokenCoordinator.refresh(userId, generation);
             try {
                 allCommits = gitLabAccessTokenService.getAllCommits(userId, platformId, branch);
             } catch (TryRefreshException ex) {
@@ -100,6 +105,46 @@ public class GitLabExceptionHandlerServiceImpl implements GitExceptionHandlerSer
         return allCommits;
     }
 
+    @Override
+    public String getBranchHeadId(final long userId, final Long platformId, final String branch)
+        throws GitException {
+
+        String headId;
+        long generation = gitLabRefreshTokenCoordinator.getGeneration(userId);
+        try {
+            headId = gitLabAccessTokenService.getBranchHeadId(userId, platformId, branch);
+        } catch (TryRefreshException e) {
+            gitLabRefreshTokenCoordinator.refresh(userId, generation);
+            try {
+                headId = gitLabAccessTokenService.getBranchHeadId(userId, platformId, branch);
+            } catch (TryRefreshException ex) {
+                throw new AuthenticationException(ex.getMessage());
+            }
+        }
+
+        return headId;
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final long userId, final Long platformId, final String branch,
+                                                   final Date since) throws GitException {
+
+        List<CommitInternalDTO> newCommits;
+        long generation = gitLabRefreshTokenCoordinator.getGeneration(userId);
+        try {
+            newCommits = gitLabAccessTokenService.getCommitsSince(userId, platformId, branch, since);
+        } catch (TryRefreshException e) {
+            gitLabRefreshTokenCoordinator.refresh(userId, generation);
+            try {
+                newCommits = gitLabAccessTokenService.getCommitsSince(userId, platformId, branch, since);
+            } catch (TryRefreshException ex) {
+                throw new AuthenticationException(ex.getMessage());
+            }
+        }
+
+        return newCommits;
+    }
+
     @Override
     public boolean repositoryAccessibleByUser(final long userId, final Long platformId) {
 
@@ -0,0 +1,127 @@
+package com.tuwien.gitanalyser.service.apiCalls.gitlab;
+
+import com.tuwien.gitanalyser.exception.GitLabException;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * makes sure only one refresh of the GitLab access token of a user runs at a time. GitLab rotates the refresh token
+ * on every refresh, so parallel refreshes with the same refresh token would fail. Callers read the generation of
+ * the token before they use it and only refresh if nobody else refreshed it in the meantime.
+ */
+@Service
+public class GitLabRefreshTokenCoordinator {
+
+    private static final long INITIAL_GENERATION = 0L;
+
+    private final GitLabRefreshTokenService gitLabRefreshTokenService;
+    private final ProviderMetrics providerMetrics;
+    private final DateService dateService;
+    private final long generationTimeToLiveInMilliseconds;
+
+    private final ConcurrentMap<Long, TokenGeneration> generations = new ConcurrentHashMap<>();
+
+    public GitLabRefreshTokenCoordinator(
+        final GitLabRefreshTokenService gitLabRefreshTokenService,
+        final ProviderMetrics providerMetrics,
+        final DateService dateService,
+        @Value("${gitanalyser.gitlab.token-refresh.generation-time-to-live-seconds}")
+        final long generationTimeToLiveInSeconds) {
+        this.gitLabRefreshTokenService = gitLabRefreshTokenService;
+        this.providerMetrics = providerMetrics;
+        this.dateService = dateService;
+        this.generationTimeToLiveInMilliseconds = TimeUnit.SECONDS.toMillis(generationTimeToLiveInSeconds);
+    }
+
+    public long getGeneration(final long userId) {
+        TokenGeneration tokenGeneration = generations.get(userId);
+        return tokenGeneration == null ? INITIAL_GENERATION : tokenGeneration.value;
+    }
+
+    /**
+     * refreshes the access token of the user unless it was already refreshed since the given generation. Callers
+     * arriving while a refresh runs wait for it and then use the new token.
+     */
+    public void refresh(final long userId, final long generation) throws GitLabException {
+        TokenGeneration tokenGeneration = join(userId);
+        long start = System.nanoTime();
+        try {
+            synchronized (tokenGeneration) {
+                if (tokenGeneration.value != generation) {
+                    recordRefresh(ProviderMetrics.SKIPPED, start);
+                    return;
+                }
+                try {
+                    gitLabRefreshTokenService.refreshGitAccessToken(userId);
+                } catch (GitLabException | RuntimeException e) {
+                    recordRefresh(ProviderMetrics.FAILED, start);
+                    throw e;
+                }
+                tokenGeneration.value++;
+                tokenGeneration.refreshedAt = now();
+                recordRefresh(ProviderMetrics.REFRESHED, start);
+            }
+        } finally {
+            leave(userId);
+        }
+    }
+
+    /**
+     * forgets the generations of users nobody refreshes the token of at the moment and whose last refresh is older
+     * than the time to live. Their generation starts over, a caller still holding an older one skips its refresh and
+     * retries with the current token.
+     */
+    @Scheduled(fixedDelayString = "${gitanalyser.gitlab.token-refresh.interval-seconds}",
+        initialDelayString = "${gitanalyser.gitlab.token-refresh.interval-seconds}",
+        timeUnit = TimeUnit.SECONDS)
+    public void forgetIdleGenerations() {
+        long expiredBefore = now() - generationTimeToLiveInMilliseconds;
+        for (Long userId : generations.keySet()) {
+            generations.computeIfPresent(userId, (key, tokenGeneration) ->
+                tokenGeneration.callers == 0 && tokenGeneration.refreshedAt < expiredBefore ? null : tokenGeneration);
+        }
+    }
+
+    private TokenGeneration join(final long userId) {
+        return generations.compute(userId, (key, current) -> {
+            TokenGeneration tokenGeneration = current == null ? new TokenGeneration(now()) : current;
+            tokenGeneration.callers++;
+            return tokenGeneration;
+        });
+    }
+
+    private void leave(final long userId) {
+        generations.computeIfPresent(userId, (key, tokenGeneration) -> {
+            tokenGeneration.callers--;
+            return tokenGeneration;
+        });
+    }
+
+    private long now() {
+        return dateService.create().getTime();
+    }
+
+    private void recordRefresh(final String outcome, final long start) {
+        providerMetrics.recordTokenRefresh(ProviderMetrics.GITLAB, outcome, System.nanoTime() - start);
+    }
+
+    private static final class TokenGeneration {
+        private volatile long value = INITIAL_GENERATION;
+        private volatile long refreshedAt;
+        /**
+         * callers in {@link #refresh(long, long)}, only changed and read while the map locks the entry.
+         */
+        private int callers;
+
+        private TokenGeneration(final long createdAt) {
+            this.refreshedAt = createdAt;
+        }
+    }
+}
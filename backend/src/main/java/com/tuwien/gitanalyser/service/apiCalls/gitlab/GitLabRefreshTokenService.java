@@ -3,6 +3,7 @@ package com.tuwien.gitanalyser.service.apiCalls.gitlab;
 import com.tuwien.gitanalyser.entity.User;
 import com.tuwien.gitanalyser.exception.GitLabException;
 import com.tuwien.gitanalyser.security.AuthenticationConstants;
+import com.tuwien.gitanalyser.security.jwt.DateService;
 import com.tuwien.gitanalyser.service.GitRefreshTokenService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.json.JSONException;
@@ -13,14 +14,18 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class GitLabRefreshTokenService implements GitRefreshTokenService {
 
     private final UserService userService;
+    private final DateService dateService;
 
-    public GitLabRefreshTokenService(final UserService userService) {
+    public GitLabRefreshTokenService(final UserService userService, final DateService dateService) {
         this.userService = userService;
+        this.dateService = dateService;
     }
 
     @Override
@@ -39,12 +44,17 @@ public class GitLabRefreshTokenService implements GitRefreshTokenService {
                       .build()
                       .toUri();
 
+        Date requestedAt = dateService.create();
         String response = restTemplate.exchange(uri, HttpMethod.POST, null, String.class).getBody();
         try {
             JSONObject jsonResponse = new JSONObject(response);
-            String accessToken = jsonResponse.getString("refresh_token");
-            String refreshToken = jsonResponse.getString("access_token");
-            userService.refreshGitAccessToken(userId, accessToken, refreshToken);
+            String accessToken = jsonResponse.getString("access_token");
+            String refreshToken = jsonResponse.getString("refresh_token");
+            // the lifetime is counted from the request, so the token is renewed rather too early than too late
+            Date accessTokenExpiresAt = jsonResponse.has("expires_in")
+                ? new Date(requestedAt.getTime() + TimeUnit.SECONDS.toMillis(jsonResponse.getLong("expires_in")))
+                : null;
+            userService.refreshGitAccessToken(userId, accessToken, refreshToken, accessTokenExpiresAt);
         } catch (JSONException e) {
             throw new GitLabException(e);
         }
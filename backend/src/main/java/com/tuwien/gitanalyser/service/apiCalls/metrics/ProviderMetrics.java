@@ -0,0 +1,82 @@
+package com.tuwien.gitanalyser.service.apiCalls.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * records how long the calls to the git providers take and how much they load, the meters are tagged with the
+ * provider, so GitHub and GitLab can be told apart on the metrics endpoint.
+ */
+@Service
+public class ProviderMetrics {
+
+    public static final String GITHUB = "github";
+    public static final String GITLAB = "gitlab";
+
+    public static final String REFRESHED = "refreshed";
+    public static final String FAILED = "failed";
+    /**
+     * the token was already refreshed by another caller in the meantime.
+     */
+    public static final String SKIPPED = "skipped";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public ProviderMetrics(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * records a call of a git api, e.g. loading all commits of a branch, which may consist of many requests.
+     *
+     * @param exception the exception the call failed with, null if it succeeded
+     */
+    public void recordCall(final String provider, final String operation, final long durationInNanoseconds,
+                           final @Nullable Throwable exception) {
+        Timer.builder("gitanalyser.provider.calls")
+             .description("duration of the calls to the git apis")
+             .tag("provider", provider)
+             .tag("operation", operation)
+             .tag("exception", exception == null ? NO_EXCEPTION : exception.getClass().getSimpleName())
+             .register(meterRegistry)
+             .record(durationInNanoseconds, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCommits(final String provider, final int commits) {
+        Counter.builder("gitanalyser.provider.commits.fetched")
+               .description("commits loaded from the git providers")
+               .tag("provider", provider)
+               .register(meterRegistry)
+               .increment(commits);
+    }
+
+    public void recordCommitPages(final String provider, final int pages) {
+        Counter.builder("gitanalyser.provider.commit-pages.fetched")
+               .description("pages of commit histories loaded from the git providers")
+               .tag("provider", provider)
+               .register(meterRegistry)
+               .increment(pages);
+    }
+
+    /**
+     * records a refresh of an access token, skipped refreshes are recorded with the time the caller waited for the
+     * refresh of another caller.
+     *
+     * @param outcome one of {@link #REFRESHED}, {@link #FAILED} and {@link #SKIPPED}
+     */
+    public void recordTokenRefresh(final String provider, final String outcome, final long durationInNanoseconds) {
+        Timer.builder("gitanalyser.provider.token.refreshes")
+             .description("refreshes of the access tokens of the users")
+             .tag("provider", provider)
+             .tag("outcome", outcome)
+             .register(meterRegistry)
+             .record(durationInNanoseconds, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,25 @@
+package com.tuwien.gitanalyser.service.apiCalls.mirror;
+
+import org.eclipse.jgit.lib.PersonIdent;
+
+import java.util.Map;
+
+/**
+ * maps the git authors of mirrored commits to the authors the provider reports for the commits, so commits read from
+ * a mirror are attributed to the same identities as the ones loaded through the api of the provider.
+ */
+@FunctionalInterface
+public interface AuthorMapper {
+
+    /**
+     * uses the name of the git author, like GitLab does.
+     */
+    AuthorMapper GIT_AUTHOR = authorsByCommitId -> Map.of();
+
+    /**
+     * is called once per loaded history with one commit of every git identity of the history, keyed by the id of the
+     * commit. Returns the authors of the identities keyed by the same commit ids, identities missing in the result
+     * keep the name of their git author.
+     */
+    Map<String, String> getAuthors(Map<String, PersonIdent> authorsByCommitId);
+}
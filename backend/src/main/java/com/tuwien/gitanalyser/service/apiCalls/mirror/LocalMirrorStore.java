@@ -0,0 +1,250 @@
+package com.tuwien.gitanalyser.service.apiCalls.mirror;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * keeps a bare mirror of every analyzed repository on the local disk and reads commit histories from its object
+ * database instead of paging them through the api of the git provider. A repository is cloned on its first use,
+ * afterwards only new objects are fetched.
+ */
+@Service
+public class LocalMirrorStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalMirrorStore.class);
+    private static final String BRANCHES_REF_SPEC = "+" + Constants.R_HEADS + "*:" + Constants.R_HEADS + "*";
+    private static final String MIRROR_SUFFIX = ".git";
+
+    private final boolean enabled;
+    private final File directory;
+    private final ConcurrentMap<String, Object> locks;
+
+    public LocalMirrorStore(@Value("${gitanalyser.mirror.enabled}") final boolean enabled,
+                            @Value("${gitanalyser.mirror.directory}") final String directory) {
+        this.enabled = enabled;
+        this.directory = new File(directory);
+        this.locks = new ConcurrentHashMap<>();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * synchronizes the mirror of the repository behind url and returns the commits of a branch which were committed
+     * at or after since, sorted by their timestamp. Returns null if mirrors are disabled or the mirror cannot be
+     * synchronized, e.g. because the access token expired, the caller loads the commits from the provider then.
+     *
+     * @param username the name the provider expects next to an OAuth access token when cloning over https
+     */
+    @Nullable
+    public List<CommitInternalDTO> loadCommits(final String url, final String username, final String accessToken,
+                                               final @Nullable String branchName, final @Nullable Date since) {
+        return loadCommits(url, username, accessToken, branchName, since, AuthorMapper.GIT_AUTHOR);
+    }
+
+    /**
+     * like {@link #loadCommits(String, String, String, String, Date)}, but attributes the commits to the authors
+     * authorMapper maps their git authors to.
+     */
+    @Nullable
+    public List<CommitInternalDTO> loadCommits(final String url, final String username, final String accessToken,
+                                               final @Nullable String branchName, final @Nullable Date since,
+                                               final AuthorMapper authorMapper) {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            synchronize(url, username, accessToken);
+            return getCommits(url, branchName, since, authorMapper);
+        } catch (IOException | GitAPIException e) {
+            LOGGER.warn("mirror of {} is not usable, loading its commits from the provider", url, e);
+            return null;
+        }
+    }
+
+    /**
+     * clones the repository behind url into a new mirror or fetches the changes of all its branches into the
+     * existing one. Concurrent calls for the same url wait for each other.
+     */
+    public void synchronize(final String url, final String username, final String accessToken)
+        throws IOException, GitAPIException {
+
+        CredentialsProvider credentials = new UsernamePasswordCredentialsProvider(username, accessToken);
+        File mirror = getMirrorDirectory(url);
+
+        synchronized (locks.computeIfAbsent(url, key -> new Object())) {
+            if (new File(mirror, Constants.CONFIG).isFile()) {
+                try (Git git = Git.open(mirror)) {
+                    git.fetch()
+                       .setRefSpecs(new RefSpec(BRANCHES_REF_SPEC))
+                       .setRemoveDeletedRefs(true)
+                       .setCredentialsProvider(credentials)
+                       .call();
+                }
+                LOGGER.debug("fetched changes of {} into {}", url, mirror);
+            } else {
+                Git.cloneRepository()
+                   .setURI(url)
+                   .setDirectory(mirror)
+                   .setBare(true)
+                   .setCloneAllBranches(true)
+                   .setCredentialsProvider(credentials)
+                   .call()
+                   .close();
+                LOGGER.info("cloned {} into {}", url, mirror);
+            }
+        }
+    }
+
+    /**
+     * returns the commits of a mirrored branch which were committed at or after since, sorted by their timestamp.
+     * If branchName is null, the commits of the default branch are returned, if since is null, all of them.
+     */
+    public List<CommitInternalDTO> getCommits(final String url, final @Nullable String branchName,
+                                              final @Nullable Date since) throws IOException {
+        return getCommits(url, branchName, since, AuthorMapper.GIT_AUTHOR);
+    }
+
+    /**
+     * like {@link #getCommits(String, String, Date)}, but attributes the commits to the authors authorMapper maps
+     * their git authors to.
+     */
+    public List<CommitInternalDTO> getCommits(final String url, final @Nullable String branchName,
+                                              final @Nullable Date since, final AuthorMapper authorMapper)
+        throws IOException {
+
+        List<CommitInternalDTO> commits = new ArrayList<>();
+        // the commits of every git identity are attributed to the author mapped for the first commit of it
+        List<String> identityCommitIds = new ArrayList<>();
+        Map<String, String> commitIdsByIdentity = new HashMap<>();
+        Map<String, PersonIdent> authorsByCommitId = new HashMap<>();
+
+        try (Repository repository = new FileRepositoryBuilder().setGitDir(getMirrorDirectory(url))
+                                                                 .setMustExist(true)
+                                                                 .build();
+             RevWalk walk = new RevWalk(repository);
+             DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+
+            String branch = branchName == null ? Constants.HEAD : Constants.R_HEADS + branchName;
+            ObjectId head = repository.resolve(branch);
+            if (head == null) {
+                throw new IOException("branch " + branch + " does not exist in the mirror of " + url);
+            }
+
+            diffFormatter.setRepository(repository);
+            diffFormatter.setDiffComparator(RawTextComparator.DEFAULT);
+            diffFormatter.setDetectRenames(true);
+
+            walk.sort(RevSort.COMMIT_TIME_DESC);
+            if (since != null) {
+                // stops the walk at the first older commit instead of walking the rest of the history
+                walk.setRevFilter(CommitTimeRevFilter.after(since));
+            }
+            walk.markStart(walk.parseCommit(head));
+
+            for (RevCommit commit : walk) {
+                Date timestamp = commit.getCommitterIdent().getWhen();
+                if (since == null || !timestamp.before(since)) {
+                    PersonIdent author = commit.getAuthorIdent();
+                    String identity = author.getName() + " <" + author.getEmailAddress() + ">";
+                    identityCommitIds.add(commitIdsByIdentity.computeIfAbsent(identity, key -> {
+                        authorsByCommitId.put(commit.getName(), author);
+                        return commit.getName();
+                    }));
+                    commits.add(mapCommit(walk, diffFormatter, commit, author.getName(), timestamp));
+                }
+            }
+        }
+
+        mapAuthors(commits, identityCommitIds, authorsByCommitId, authorMapper);
+
+        return commits.stream().sorted(Comparator.comparing(CommitInternalDTO::getTimestamp)).toList();
+    }
+
+    /**
+     * maps every git identity once and all of them at once, most histories have far fewer identities than commits.
+     */
+    private void mapAuthors(final List<CommitInternalDTO> commits, final List<String> identityCommitIds,
+                            final Map<String, PersonIdent> authorsByCommitId, final AuthorMapper authorMapper) {
+        if (authorsByCommitId.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> authors = authorMapper.getAuthors(authorsByCommitId);
+        for (int i = 0; i < commits.size(); i++) {
+            String commitId = identityCommitIds.get(i);
+            if (authors.containsKey(commitId)) {
+                commits.get(i).setAuthor(authors.get(commitId));
+            }
+        }
+    }
+
+    private CommitInternalDTO mapCommit(final RevWalk walk, final DiffFormatter diffFormatter,
+                                        final RevCommit commit, final String author, final Date timestamp)
+        throws IOException {
+
+        // like the providers, the statistics of a merge commit are computed against its first parent
+        RevCommit parent = commit.getParentCount() == 0 ? null : walk.parseCommit(commit.getParent(0));
+
+        int additions = 0;
+        int deletions = 0;
+        for (DiffEntry entry : diffFormatter.scan(parent == null ? null : parent.getTree(), commit.getTree())) {
+            for (Edit edit : diffFormatter.toFileHeader(entry).toEditList()) {
+                additions += edit.getLengthB();
+                deletions += edit.getLengthA();
+            }
+        }
+
+        return CommitInternalDTO.builder()
+                                .id(commit.getName())
+                                .author(author)
+                                .timestamp(timestamp)
+                                .message(commit.getFullMessage())
+                                .parentIds(Arrays.stream(commit.getParents()).map(RevCommit::getName).toList())
+                                .isMergeCommit(commit.getParentCount() > 1)
+                                .additions(additions)
+                                .deletions(deletions)
+                                .build();
+    }
+
+    private File getMirrorDirectory(final String url) {
+        return new File(directory, url.replaceAll("[^A-Za-z0-9._-]", "_") + MIRROR_SUFFIX);
+    }
+}
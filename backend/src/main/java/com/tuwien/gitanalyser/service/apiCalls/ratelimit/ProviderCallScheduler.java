@@ -0,0 +1,201 @@
+package com.tuwien.gitanalyser.service.apiCalls.ratelimit;
+
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * schedules the calls to the git providers by the rate limit budget of the access token they are made with. The
+ * budget is taken from the rate limit headers of the responses. The less budget a token has left, the fewer of its
+ * calls run at the same time, once it runs low its calls are spread until the budget resets and a used up budget
+ * makes the calls wait for the reset instead of failing.
+ */
+@Service
+public class ProviderCallScheduler {
+
+    /**
+     * how often a call which was answered as rate limited is sent at most.
+     */
+    public static final int MAXIMUM_ATTEMPTS = 3;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProviderCallScheduler.class);
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final List<String> REMAINING_HEADERS = List.of("X-RateLimit-Remaining", "RateLimit-Remaining");
+    private static final List<String> LIMIT_HEADERS = List.of("X-RateLimit-Limit", "RateLimit-Limit");
+    private static final List<String> RESET_HEADERS = List.of("X-RateLimit-Reset", "RateLimit-Reset");
+    private static final List<String> RETRY_AFTER_HEADERS = List.of("Retry-After");
+
+    private final ConcurrentMap<BudgetKey, RateLimitBudget> budgets = new ConcurrentHashMap<>();
+    private final DateService dateService;
+    private final MeterRegistry meterRegistry;
+    private final int maximumConcurrentCalls;
+    private final int lowWatermark;
+    private final long maximumWaitMillis;
+    private final long defaultRetryAfterMillis;
+    private final Map<RateLimitedApi, Counter> delayedCalls = new EnumMap<>(RateLimitedApi.class);
+    private final Map<RateLimitedApi, Counter> rateLimitedCalls = new EnumMap<>(RateLimitedApi.class);
+
+    public ProviderCallScheduler(
+        final DateService dateService,
+        final MeterRegistry meterRegistry,
+        @Value("${gitanalyser.rate-limit.maximum-concurrent-calls}") final int maximumConcurrentCalls,
+        @Value("${gitanalyser.rate-limit.low-watermark}") final int lowWatermark,
+        @Value("${gitanalyser.rate-limit.maximum-wait-seconds}") final long maximumWaitSeconds,
+        @Value("${gitanalyser.rate-limit.default-retry-after-seconds}") final long defaultRetryAfterSeconds) {
+        this.dateService = dateService;
+        this.meterRegistry = meterRegistry;
+        this.maximumConcurrentCalls = maximumConcurrentCalls;
+        this.lowWatermark = lowWatermark;
+        this.maximumWaitMillis = maximumWaitSeconds * MILLIS_PER_SECOND;
+        this.defaultRetryAfterMillis = defaultRetryAfterSeconds * MILLIS_PER_SECOND;
+
+        for (RateLimitedApi api : RateLimitedApi.values()) {
+            Gauge.builder("gitanalyser.provider.rate-limit.remaining", this, x -> x.getLowestRemainingBudget(api))
+                 .description("lowest remaining rate limit budget of all access tokens")
+                 .tag("api", api.getTag())
+                 .register(meterRegistry);
+            Gauge.builder("gitanalyser.provider.calls.queued", this, x -> x.getQueuedCalls(api))
+                 .description("calls waiting for rate limit budget")
+                 .tag("api", api.getTag())
+                 .register(meterRegistry);
+            delayedCalls.put(api, Counter.builder("gitanalyser.provider.calls.delayed")
+                                         .description("calls which waited for rate limit budget")
+                                         .tag("api", api.getTag())
+                                         .register(meterRegistry));
+            rateLimitedCalls.put(api, Counter.builder("gitanalyser.provider.calls.rate-limited")
+                                             .description("calls the provider answered as rate limited")
+                                             .tag("api", api.getTag())
+                                             .register(meterRegistry));
+        }
+    }
+
+    /**
+     * waits until the budget of the access token allows another call. Every acquire has to be followed by a
+     * release once the response arrived.
+     */
+    public void acquire(final RateLimitedApi api, final String accessToken) throws InterruptedException {
+        if (getBudget(api, accessToken).acquire(maximumWaitMillis)) {
+            delayedCalls.get(api).increment();
+        }
+    }
+
+    public void release(final RateLimitedApi api, final String accessToken) {
+        getBudget(api, accessToken).release();
+    }
+
+    /**
+     * updates the budget of the access token from the headers of a response and counts the response.
+     *
+     * @param headers looks up the value of a header by its name, null if the header is missing
+     * @return whether the provider rejected the call because of its rate limit, such calls may be sent again
+     */
+    public boolean observe(final RateLimitedApi api, final String accessToken, final int statusCode,
+                           final Function<String, String> headers) {
+        RateLimitBudget budget = getBudget(api, accessToken);
+        Counter.builder("gitanalyser.provider.responses")
+               .description("responses of the git providers, every page of a listing is a response of its own")
+               .tag("api", api.getTag())
+               .tag("status", String.valueOf(statusCode))
+               .register(meterRegistry)
+               .increment();
+
+        Long remaining = parseHeader(headers, REMAINING_HEADERS);
+        if (remaining != null) {
+            Long limit = parseHeader(headers, LIMIT_HEADERS);
+            Long reset = parseHeader(headers, RESET_HEADERS);
+            budget.update(remaining.intValue(),
+                          limit == null ? null : limit.intValue(),
+                          reset == null ? null : reset * MILLIS_PER_SECOND);
+        }
+
+        Long retryAfter = parseHeader(headers, RETRY_AFTER_HEADERS);
+        boolean rateLimited = statusCode == HttpStatus.TOO_MANY_REQUESTS.value()
+                                  || statusCode == HttpStatus.FORBIDDEN.value()
+                                         && (retryAfter != null || remaining != null && remaining == 0);
+        if (rateLimited) {
+            long pauseMillis = retryAfter == null ? defaultRetryAfterMillis : retryAfter * MILLIS_PER_SECOND;
+            budget.retryAt(now() + pauseMillis);
+            rateLimitedCalls.get(api).increment();
+            LOGGER.warn("{} call was rate limited, pausing the calls of the access token for {} ms", api.getTag(),
+                        pauseMillis);
+        }
+        return rateLimited;
+    }
+
+    /**
+     * forgets the budgets of access tokens which have no calls running and whose budget was reset in the meantime.
+     */
+    @Scheduled(fixedDelayString = "${gitanalyser.rate-limit.cleanup-interval-seconds}",
+        initialDelayString = "${gitanalyser.rate-limit.cleanup-interval-seconds}",
+        timeUnit = TimeUnit.SECONDS)
+    public void forgetIdleBudgets() {
+        budgets.values().removeIf(RateLimitBudget::isIdle);
+    }
+
+    public double getLowestRemainingBudget(final RateLimitedApi api) {
+        return budgets.entrySet().stream()
+                      .filter(entry -> entry.getKey().api == api)
+                      .map(entry -> entry.getValue().getRemaining())
+                      .filter(Objects::nonNull)
+                      .mapToDouble(Integer::doubleValue)
+                      .min()
+                      .orElse(Double.NaN);
+    }
+
+    public int getQueuedCalls(final RateLimitedApi api) {
+        return budgets.entrySet().stream()
+                      .filter(entry -> entry.getKey().api == api)
+                      .mapToInt(entry -> entry.getValue().getQueued())
+                      .sum();
+    }
+
+    private RateLimitBudget getBudget(final RateLimitedApi api, final String accessToken) {
+        return budgets.computeIfAbsent(new BudgetKey(api, accessToken),
+                                       key -> new RateLimitBudget(maximumConcurrentCalls, lowWatermark, this::now));
+    }
+
+    private long now() {
+        return dateService.create().getTime();
+    }
+
+    private Long parseHeader(final Function<String, String> headers, final List<String> names) {
+        for (String name : names) {
+            String value = headers.apply(name);
+            if (value != null) {
+                try {
+                    return Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    // Retry-After may also be an http date, those fall back to the default pause
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class BudgetKey {
+        private final RateLimitedApi api;
+        private final String accessToken;
+    }
+}
@@ -0,0 +1,140 @@
+package com.tuwien.gitanalyser.service.apiCalls.ratelimit;
+
+import java.util.function.LongSupplier;
+
+/**
+ * rate limit budget of a single access token as last reported by the provider. All times are in epoch millis.
+ */
+final class RateLimitBudget {
+
+    private final int maximumConcurrentCalls;
+    private final int lowWatermark;
+    private final LongSupplier clock;
+
+    private Integer remaining;
+    private Integer limit;
+    private long resetAt;
+    private long notBefore;
+    private int running;
+    private int queued;
+
+    RateLimitBudget(final int maximumConcurrentCalls, final int lowWatermark, final LongSupplier clock) {
+        this.maximumConcurrentCalls = maximumConcurrentCalls;
+        this.lowWatermark = lowWatermark;
+        this.clock = clock;
+    }
+
+    /**
+     * waits until the budget allows another call, but at most maximumWaitMillis, and registers the call as running.
+     *
+     * @return whether the call was delayed
+     */
+    synchronized boolean acquire(final long maximumWaitMillis) throws InterruptedException {
+        long now = clock.getAsLong();
+        long deadline = now + maximumWaitMillis;
+        boolean delayed = false;
+
+        queued++;
+        try {
+            long waitMillis = getWaitMillis(now);
+            while (waitMillis > 0 && now < deadline) {
+                delayed = true;
+                wait(Math.min(waitMillis, deadline - now));
+                now = clock.getAsLong();
+                waitMillis = getWaitMillis(now);
+            }
+        } finally {
+            queued--;
+        }
+
+        running++;
+        if (remaining != null && remaining > 0) {
+            // counts the call right away, so concurrent callers do not spend the same budget before it is reported
+            remaining--;
+        }
+        notBefore = Math.max(notBefore, now + getPacingMillis(now));
+        return delayed;
+    }
+
+    synchronized void release() {
+        // a budget forgotten while a call was acquiring it is replaced by a new one, which never saw that call
+        running = Math.max(0, running - 1);
+        notifyAll();
+    }
+
+    synchronized void update(final int remainingCalls, final Integer callLimit, final Long resetTime) {
+        this.remaining = remainingCalls;
+        if (callLimit != null) {
+            this.limit = callLimit;
+        }
+        if (resetTime != null) {
+            this.resetAt = resetTime;
+        }
+        notifyAll();
+    }
+
+    /**
+     * holds back all calls until the given time.
+     */
+    synchronized void retryAt(final long time) {
+        notBefore = Math.max(notBefore, time);
+    }
+
+    /**
+     * returns the remaining budget or null if it is unknown or already reset.
+     */
+    synchronized Integer getRemaining() {
+        return isReset(clock.getAsLong()) ? null : remaining;
+    }
+
+    synchronized int getQueued() {
+        return queued;
+    }
+
+    synchronized boolean isIdle() {
+        long now = clock.getAsLong();
+        return running == 0 && queued == 0 && now >= notBefore && isReset(now);
+    }
+
+    private long getWaitMillis(final long now) {
+        if (now < notBefore) {
+            return notBefore - now;
+        }
+        if (!isReset(now) && remaining != null && remaining <= 0) {
+            return resetAt - now;
+        }
+        if (running >= getAllowedConcurrency(now)) {
+            // woken up by release
+            return Long.MAX_VALUE;
+        }
+        return 0;
+    }
+
+    /**
+     * scales the concurrency with the share of the budget which is left, runs calls one by one once it runs low.
+     */
+    private int getAllowedConcurrency(final long now) {
+        if (isReset(now) || remaining == null || limit == null || limit <= 0) {
+            return maximumConcurrentCalls;
+        }
+        if (remaining <= lowWatermark) {
+            return 1;
+        }
+        int share = (int) Math.ceil((double) maximumConcurrentCalls * remaining / limit);
+        return Math.max(1, Math.min(maximumConcurrentCalls, share));
+    }
+
+    /**
+     * spreads a low budget evenly over the time until it resets.
+     */
+    private long getPacingMillis(final long now) {
+        if (isReset(now) || remaining == null || remaining > lowWatermark) {
+            return 0;
+        }
+        return (resetAt - now) / Math.max(1, remaining);
+    }
+
+    private boolean isReset(final long now) {
+        return now >= resetAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tuwien.gitanalyser.service.apiCalls.ratelimit;
+
+/**
+ * apis of the git providers which have their own rate limit budget per access token.
+ */
+public enum RateLimitedApi {
+    GITHUB("github"),
+    GITHUB_GRAPHQL("github-graphql"),
+    GITLAB("gitlab");
+
+    private final String tag;
+
+    RateLimitedApi(final String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
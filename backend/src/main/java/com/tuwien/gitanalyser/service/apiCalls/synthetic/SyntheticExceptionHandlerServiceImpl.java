@@ -0,0 +1,73 @@
+package com.tuwien.gitanalyser.service.apiCalls.synthetic;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.service.GitExceptionHandlerService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * answers the calls of every user with the synthetic histories, no access token is needed and none is refreshed.
+ */
+@Service
+@Profile(SyntheticGitAPI.PROFILE)
+public class SyntheticExceptionHandlerServiceImpl implements GitExceptionHandlerService {
+
+    private final SyntheticGitAPI syntheticGitAPI;
+
+    public SyntheticExceptionHandlerServiceImpl(final SyntheticGitAPI syntheticGitAPI) {
+        this.syntheticGitAPI = syntheticGitAPI;
+    }
+
+    @Override
+    public List<NotSavedRepositoryInternalDTO> getAllRepositories(final Long userId) {
+        return syntheticGitAPI.getAllRepositories(accessToken(userId));
+    }
+
+    @Override
+    public List<BranchInternalDTO> getAllBranches(final Long userId, final Long platformId) {
+        return syntheticGitAPI.getAllBranches(accessToken(userId), platformId);
+    }
+
+    @Override
+    public NotSavedRepositoryInternalDTO getRepositoryById(final Long userId, final Long platformId) {
+        return syntheticGitAPI.getRepositoryById(accessToken(userId), platformId);
+    }
+
+    @Override
+    public List<CommitInternalDTO> getAllCommits(final long userId, final Long platformId, final String branch)
+        throws GitException {
+        return syntheticGitAPI.getAllCommits(accessToken(userId), platformId, branch);
+    }
+
+    @Override
+    public String getBranchHeadId(final long userId, final Long platformId, final String branch)
+        throws GitException {
+        return syntheticGitAPI.getBranchHeadId(accessToken(userId), platformId, branch);
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final long userId, final Long platformId, final String branch,
+                                                   final Date since) throws GitException {
+        return syntheticGitAPI.getCommitsSince(accessToken(userId), platformId, branch, since);
+    }
+
+    @Override
+    public boolean repositoryAccessibleByUser(final long userId, final Long platformId) {
+        return true;
+    }
+
+    @Override
+    public String getEmail(final long userId) {
+        return "synthetic-user-" + userId + "@example.com";
+    }
+
+    private String accessToken(final long userId) {
+        return String.valueOf(userId);
+    }
+}
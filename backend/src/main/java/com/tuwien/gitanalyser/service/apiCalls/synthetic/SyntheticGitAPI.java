@@ -0,0 +1,200 @@
+package com.tuwien.gitanalyser.service.apiCalls.synthetic;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.exception.SyntheticException;
+import com.tuwien.gitanalyser.service.GitAPI;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * generates deterministic commit histories instead of calling a git provider, so large repositories can be analysed
+ * without any network. Every repository id exists, its default branch main holds the configured number of commits,
+ * every further branch forks from main and adds commits of its own. A commit is derived from its repository, branch
+ * and position alone, therefore the same history is generated on every call and parts of it can be generated
+ * without the rest.
+ */
+@Service
+@Profile(SyntheticGitAPI.PROFILE)
+public class SyntheticGitAPI implements GitAPI {
+
+    public static final String PROFILE = "synthetic";
+    public static final String DEFAULT_BRANCH = "main";
+
+    private static final String BRANCH_PREFIX = "branch-";
+    private static final long FIRST_COMMIT_TIME = 1_577_836_800_000L; // 2020-01-01T00:00:00Z
+    private static final long COMMIT_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+    private static final long SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int OWNER_SEED_FACTOR = 31;
+    private static final int MAXIMUM_ADDITIONS = 200;
+    private static final int MAXIMUM_DELETIONS = 100;
+    private static final int MAXIMUM_MERGE_DISTANCE = 10;
+    private static final int HEX_RADIX = 16;
+    private static final int REPOSITORY_ID_DIGITS = 16;
+    private static final int OWNER_DIGITS = 8;
+    private static final int NUMBER_DIGITS = 16;
+
+    private final int commits;
+    private final int authors;
+    private final double mergeRatio;
+    private final int branches;
+    private final int repositories;
+
+    public SyntheticGitAPI(@Value("${gitanalyser.synthetic.commits}") final int commits,
+                           @Value("${gitanalyser.synthetic.authors}") final int authors,
+                           @Value("${gitanalyser.synthetic.merge-ratio}") final double mergeRatio,
+                           @Value("${gitanalyser.synthetic.branches}") final int branches,
+                           @Value("${gitanalyser.synthetic.repositories}") final int repositories) {
+        this.commits = commits;
+        this.authors = authors;
+        this.mergeRatio = mergeRatio;
+        this.branches = branches;
+        this.repositories = repositories;
+    }
+
+    @Override
+    public List<NotSavedRepositoryInternalDTO> getAllRepositories(final String accessToken) {
+        return LongStream.rangeClosed(1, repositories).mapToObj(this::createRepository).toList();
+    }
+
+    @Override
+    public NotSavedRepositoryInternalDTO getRepositoryById(final String accessToken, final long platformId) {
+        return createRepository(platformId);
+    }
+
+    @Override
+    public List<BranchInternalDTO> getAllBranches(final String accessToken, final Long platformId) {
+        return IntStream.range(0, branches)
+                        .mapToObj(index -> new BranchInternalDTO(index == 0 ? DEFAULT_BRANCH : BRANCH_PREFIX + index))
+                        .toList();
+    }
+
+    @Override
+    public List<CommitInternalDTO> getAllCommits(final String accessToken, final long platformId,
+                                                 final @Nullable String branchName) throws SyntheticException {
+        return generateCommits(platformId, getBranch(branchName), 0);
+    }
+
+    @Override
+    public String getBranchHeadId(final String accessToken, final long platformId,
+                                  final @Nullable String branchName) throws SyntheticException {
+        Branch branch = getBranch(branchName);
+        long head = branch.length - 1;
+        return commitId(platformId, branch.ownerOf(head), head);
+    }
+
+    @Override
+    public List<CommitInternalDTO> getCommitsSince(final String accessToken, final long platformId,
+                                                   final @Nullable String branchName, final Date since)
+        throws SyntheticException {
+        long first = (since.getTime() - FIRST_COMMIT_TIME + COMMIT_INTERVAL - 1) / COMMIT_INTERVAL;
+        return generateCommits(platformId, getBranch(branchName), Math.max(0, first));
+    }
+
+    private List<CommitInternalDTO> generateCommits(final long platformId, final Branch branch, final long first) {
+        List<CommitInternalDTO> result = new ArrayList<>((int) Math.max(0, branch.length - first));
+        for (long number = first; number < branch.length; number++) {
+            result.add(generateCommit(platformId, branch, number));
+        }
+        return result;
+    }
+
+    /**
+     * few authors write most of the commits, merge commits point back to a recent commit as their second parent.
+     */
+    private CommitInternalDTO generateCommit(final long platformId, final Branch branch, final long number) {
+        int owner = branch.ownerOf(number);
+        SplittableRandom random =
+            new SplittableRandom((platformId * OWNER_SEED_FACTOR + owner) * SEED_MULTIPLIER + number);
+
+        boolean isMergeCommit = number > 1 && random.nextDouble() < mergeRatio;
+        List<String> parentIds = new ArrayList<>(2);
+        if (number > 0) {
+            parentIds.add(commitId(platformId, branch.ownerOf(number - 1), number - 1));
+        }
+        if (isMergeCommit) {
+            long mergedNumber = number - 2 - random.nextInt((int) Math.min(MAXIMUM_MERGE_DISTANCE, number - 1));
+            parentIds.add(commitId(platformId, branch.ownerOf(mergedNumber), mergedNumber));
+        }
+
+        return CommitInternalDTO.builder()
+                                .id(commitId(platformId, owner, number))
+                                .author("Synthetic Author " + random.nextInt(random.nextInt(authors) + 1))
+                                .timestamp(new Date(FIRST_COMMIT_TIME + number * COMMIT_INTERVAL))
+                                .message("synthetic commit " + number)
+                                .parentIds(parentIds)
+                                .isMergeCommit(isMergeCommit)
+                                .additions(isMergeCommit ? 0 : random.nextInt(MAXIMUM_ADDITIONS))
+                                .deletions(isMergeCommit ? 0 : random.nextInt(MAXIMUM_DELETIONS))
+                                .build();
+    }
+
+    private Branch getBranch(final @Nullable String branchName) throws SyntheticException {
+        if (branchName == null || DEFAULT_BRANCH.equals(branchName)) {
+            return new Branch(0, commits, commits);
+        }
+        if (branchName.startsWith(BRANCH_PREFIX)) {
+            int index;
+            try {
+                index = Integer.parseInt(branchName.substring(BRANCH_PREFIX.length()));
+            } catch (NumberFormatException e) {
+                throw new SyntheticException(e);
+            }
+            if (index > 0 && index < branches) {
+                long forkPoint = (long) commits * index / branches;
+                return new Branch(index, forkPoint, forkPoint + commits / branches);
+            }
+        }
+        throw new SyntheticException(new IllegalArgumentException("branch " + branchName + " does not exist"));
+    }
+
+    private NotSavedRepositoryInternalDTO createRepository(final long platformId) {
+        return NotSavedRepositoryInternalDTO.builder()
+                                            .platformId(platformId)
+                                            .name("synthetic-repository-" + platformId)
+                                            .url("https://synthetic.invalid/repository-" + platformId + ".git")
+                                            .build();
+    }
+
+    /**
+     * builds a 40 digit hex id like a git sha, commits main and a branch share keep the id of main.
+     */
+    private static String commitId(final long platformId, final int owner, final long number) {
+        StringBuilder id = new StringBuilder(REPOSITORY_ID_DIGITS + OWNER_DIGITS + NUMBER_DIGITS);
+        appendHex(id, platformId, REPOSITORY_ID_DIGITS);
+        appendHex(id, owner, OWNER_DIGITS);
+        appendHex(id, number, NUMBER_DIGITS);
+        return id.toString();
+    }
+
+    private static void appendHex(final StringBuilder builder, final long value, final int digits) {
+        String hex = Long.toString(value, HEX_RADIX);
+        builder.append("0".repeat(Math.max(0, digits - hex.length()))).append(hex);
+    }
+
+    /**
+     * commits before the fork point belong to main, the ones after it to the branch itself.
+     */
+    @AllArgsConstructor
+    private static final class Branch {
+        private final int index;
+        private final long forkPoint;
+        private final long length;
+
+        private int ownerOf(final long number) {
+            return number < forkPoint ? 0 : index;
+        }
+    }
+}
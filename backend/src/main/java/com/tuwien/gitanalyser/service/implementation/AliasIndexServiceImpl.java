@@ -0,0 +1,124 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.AliasIndexInternalDTO;
+import com.tuwien.gitanalyser.entity.Assignment;
+import com.tuwien.gitanalyser.entity.Repository;
+import com.tuwien.gitanalyser.entity.SubAssignment;
+import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.repository.RepositoryRepository;
+import com.tuwien.gitanalyser.service.AliasIndexService;
+import com.tuwien.gitanalyser.service.UserService;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class AliasIndexServiceImpl implements AliasIndexService {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final UserService userService;
+    private final RepositoryRepository repositoryRepository;
+
+    /**
+     * both maps keep the most recently used repositories only. A forgotten version is drawn anew from the sequence,
+     * so an index built before it was forgotten is never cached under the new one.
+     */
+    private final Map<RepositoryKey, AliasIndexInternalDTO> indices;
+    private final Map<RepositoryKey, Long> versions;
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public AliasIndexServiceImpl(final UserService userService, final RepositoryRepository repositoryRepository,
+                                 @Value("${gitanalyser.alias-index.maximum-cached-repositories}")
+                                 final int maximumRepositories) {
+        this.userService = userService;
+        this.repositoryRepository = repositoryRepository;
+        this.indices = createLeastRecentlyUsedMap(maximumRepositories);
+        this.versions = createLeastRecentlyUsedMap(maximumRepositories);
+    }
+
+    @Override
+    public AliasIndexInternalDTO getAliasIndex(final long userId, final Long platformId) {
+        RepositoryKey key = new RepositoryKey(userId, platformId);
+
+        AliasIndexInternalDTO index = indices.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        long version = versions.computeIfAbsent(key, k -> versionSequence.incrementAndGet());
+        AliasIndexInternalDTO builtIndex = new AliasIndexInternalDTO(version, buildAliases(userId, platformId));
+
+        // an index built from assignments that changed in the meantime must not be cached
+        AliasIndexInternalDTO cachedIndex = indices.compute(key, (k, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return Long.valueOf(version).equals(versions.get(k)) ? builtIndex : null;
+        });
+        return cachedIndex == null ? builtIndex : cachedIndex;
+    }
+
+    @Override
+    public void invalidate(final long userId, final Long platformId) {
+        RepositoryKey key = new RepositoryKey(userId, platformId);
+        drop(key);
+
+        // readers in between may still see the uncommitted assignments, so drop the index again after the commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    drop(key);
+                }
+            });
+        }
+    }
+
+    private void drop(final RepositoryKey key) {
+        versions.put(key, versionSequence.incrementAndGet());
+        indices.remove(key);
+    }
+
+    private static <V> Map<RepositoryKey, V> createLeastRecentlyUsedMap(final int maximumSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<RepositoryKey, V> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    private Map<String, String> buildAliases(final long userId, final Long platformId) {
+        User user = userService.getUser(userId);
+        Optional<Repository> repository = repositoryRepository.findByUserAndPlatformId(user, platformId);
+
+        Map<String, String> aliases = new HashMap<>();
+        List<Assignment> assignments = repository.map(Repository::getAssignments).orElse(List.of());
+        for (Assignment assignment : assignments) {
+            for (SubAssignment subAssignment : assignment.getSubAssignments()) {
+                aliases.putIfAbsent(subAssignment.getAssignedName(), assignment.getKey());
+            }
+        }
+        return aliases;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class RepositoryKey {
+        private final long userId;
+        private final Long platformId;
+    }
+}
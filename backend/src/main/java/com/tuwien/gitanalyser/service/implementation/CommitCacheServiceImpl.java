@@ -0,0 +1,500 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CachedCommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
+import com.tuwien.gitanalyser.entity.CachedCommit;
+import com.tuwien.gitanalyser.entity.CommitHistory;
+import com.tuwien.gitanalyser.entity.CommitRollup;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.repository.CachedCommitRepository;
+import com.tuwien.gitanalyser.repository.CommitHistoryRepository;
+import com.tuwien.gitanalyser.repository.CommitRollupRepository;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.CommitCacheService;
+import com.tuwien.gitanalyser.service.CommitSource;
+import com.tuwien.gitanalyser.service.GitExceptionHandlerService;
+import com.tuwien.gitanalyser.service.RepositoryAccessCacheService;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class CommitCacheServiceImpl implements CommitCacheService {
+
+    private static final String DEFAULT_BRANCH_KEY = "";
+    private static final String PARENT_ID_SEPARATOR = ",";
+
+    private final CommitHistoryRepository commitHistoryRepository;
+    private final CachedCommitRepository cachedCommitRepository;
+    private final CommitRollupRepository commitRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DateService dateService;
+    private final RepositoryAccessCacheService repositoryAccessCacheService;
+    private final long timeToLiveInMilliseconds;
+
+    public CommitCacheServiceImpl(final CommitHistoryRepository commitHistoryRepository,
+                                  final CachedCommitRepository cachedCommitRepository,
+                                  final CommitRollupRepository commitRollupRepository,
+                                  final PlatformTransactionManager transactionManager,
+                                  final DateService dateService,
+                                  final RepositoryAccessCacheService repositoryAccessCacheService,
+                                  @Value("${gitanalyser.commit-cache.time-to-live-seconds}")
+                                  final long timeToLiveInSeconds) {
+        this.commitHistoryRepository = commitHistoryRepository;
+        this.cachedCommitRepository = cachedCommitRepository;
+        this.commitRollupRepository = commitRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dateService = dateService;
+        this.repositoryAccessCacheService = repositoryAccessCacheService;
+        this.timeToLiveInMilliseconds = TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
+    }
+
+    @Override
+    public List<CommitInternalDTO> getAllCommits(final AuthenticationProvider authenticationProvider,
+                                                 final GitExceptionHandlerService gitApi,
+                                                 final long userId, final Long platformId, final String branch)
+        throws GitException {
+
+        String branchKey = branch == null ? DEFAULT_BRANCH_KEY : branch;
+
+        Optional<CommitHistory> history =
+            commitHistoryRepository.findByAuthenticationProviderAndPlatformIdAndBranch(authenticationProvider,
+                                                                                       platformId,
+                                                                                       branchKey);
+
+        if (history.isPresent()) {
+            // the cache is shared between users, so a hit is only served after the user proved access to the repo
+            if (isFresh(history.get()) && isAccessible(gitApi, userId, platformId)) {
+                return loadCommits(history.get());
+            }
+
+            Optional<List<CommitInternalDTO>> synchronizedCommits =
+                synchronizeCommits(history.get(), gitApi, userId, platformId, branch);
+            if (synchronizedCommits.isPresent()) {
+                return synchronizedCommits.get();
+            }
+        }
+
+        List<CommitInternalDTO> commits = gitApi.getAllCommits(userId, platformId, branch);
+        storeCommits(authenticationProvider, userId, platformId, branchKey, commits);
+
+        return commits;
+    }
+
+    @Override
+    public Optional<CommitSource<CommitInternalDTO>> getCachedCommits(
+        final AuthenticationProvider authenticationProvider, final GitExceptionHandlerService gitApi,
+        final long userId, final Long platformId, final String branch) {
+
+        String branchKey = branch == null ? DEFAULT_BRANCH_KEY : branch;
+
+        Optional<CommitHistory> history =
+            commitHistoryRepository.findByAuthenticationProviderAndPlatformIdAndBranch(authenticationProvider,
+                                                                                       platformId,
+                                                                                       branchKey);
+
+        if (history.isEmpty() || !isFresh(history.get()) || !isAccessible(gitApi, userId, platformId)) {
+            return Optional.empty();
+        }
+
+        Long historyId = history.get().getId();
+        return Optional.of(consumer -> cachedCommitRepository.streamCommitsByHistory(historyId, cachedCommit ->
+            consumer.accept(mapCachedCommitToInternalDTO(cachedCommit))));
+    }
+
+    @Override
+    public List<StatsBucketInternalDTO> getRollups(final AuthenticationProvider authenticationProvider,
+                                                   final GitExceptionHandlerService gitApi,
+                                                   final long userId, final Long platformId, final String branch,
+                                                   final Granularity granularity)
+        throws GitException {
+
+        String branchKey = branch == null ? DEFAULT_BRANCH_KEY : branch;
+
+        Optional<CommitHistory> history =
+            commitHistoryRepository.findByAuthenticationProviderAndPlatformIdAndBranch(authenticationProvider,
+                                                                                       platformId,
+                                                                                       branchKey);
+
+        if (history.isPresent() && isFresh(history.get()) && isAccessible(gitApi, userId, platformId)) {
+            return loadRollups(history.get(), granularity);
+        }
+
+        // synchronising the history updates its stored rollups, the commits at hand are rolled up right away
+        // instead of reading the rollups back
+        return rollUp(getAllCommits(authenticationProvider, gitApi, userId, platformId, branch), granularity);
+    }
+
+    @Override
+    public void synchronizePushedCommits(final AuthenticationProvider authenticationProvider,
+                                         final GitExceptionHandlerService gitApi, final Long platformId,
+                                         final String branch, final String headId) throws GitException {
+
+        String branchKey = branch == null ? DEFAULT_BRANCH_KEY : branch;
+
+        Optional<CommitHistory> history =
+            commitHistoryRepository.findByAuthenticationProviderAndPlatformIdAndBranch(authenticationProvider,
+                                                                                       platformId,
+                                                                                       branchKey);
+
+        if (history.isEmpty() || history.get().getLastSyncedBy() == null
+                || headId.equals(history.get().getHeadId())) {
+            return;
+        }
+
+        long userId = history.get().getLastSyncedBy();
+        if (synchronizeCommits(history.get(), headId, gitApi, userId, platformId, branch).isEmpty()) {
+            storeCommits(authenticationProvider, userId, platformId, branchKey,
+                         gitApi.getAllCommits(userId, platformId, branch));
+        }
+    }
+
+    private boolean isAccessible(final GitExceptionHandlerService gitApi, final long userId, final Long platformId) {
+        if (repositoryAccessCacheService.isAccessible(userId, platformId)) {
+            return true;
+        }
+        boolean accessible = gitApi.repositoryAccessibleByUser(userId, platformId);
+        if (accessible) {
+            repositoryAccessCacheService.putAccessible(userId, platformId);
+        }
+        return accessible;
+    }
+
+    private boolean isFresh(final CommitHistory history) {
+        return history.getLastSynced() != null
+                   && dateService.create().getTime() - history.getLastSynced().getTime() < timeToLiveInMilliseconds;
+    }
+
+    /**
+     * appends the commits added since the last synchronisation to the stored history. Returns an empty optional
+     * if the stored history can not be continued, e.g. after a force push, and has to be loaded completely.
+     */
+    private Optional<List<CommitInternalDTO>> synchronizeCommits(final CommitHistory history,
+                                                                 final GitExceptionHandlerService gitApi,
+                                                                 final long userId, final Long platformId,
+                                                                 final String branch) throws GitException {
+        if (history.getHeadId() == null) {
+            return Optional.empty();
+        }
+
+        // loading the head fails for users without access, so no additional access check is needed here
+        String headId = gitApi.getBranchHeadId(userId, platformId, branch);
+        return synchronizeCommits(history, headId, gitApi, userId, platformId, branch);
+    }
+
+    private Optional<List<CommitInternalDTO>> synchronizeCommits(final CommitHistory history, final String headId,
+                                                                 final GitExceptionHandlerService gitApi,
+                                                                 final long userId, final Long platformId,
+                                                                 final String branch) throws GitException {
+        if (history.getHeadId() == null) {
+            return Optional.empty();
+        }
+
+        List<CommitInternalDTO> cachedCommits = loadCommits(history);
+
+        if (history.getHeadId().equals(headId)) {
+            appendCommits(history, userId, headId, cachedCommits.size(), List.of());
+            return Optional.of(cachedCommits);
+        }
+
+        if (cachedCommits.isEmpty() || cachedCommits.get(cachedCommits.size() - 1).getTimestamp() == null) {
+            return Optional.empty();
+        }
+
+        Set<String> knownIds = cachedCommits.stream().map(CommitInternalDTO::getId).collect(Collectors.toSet());
+        Date since = cachedCommits.get(cachedCommits.size() - 1).getTimestamp();
+        List<CommitInternalDTO> newCommits = gitApi.getCommitsSince(userId, platformId, branch, since)
+                                                   .stream()
+                                                   .filter(commit -> !knownIds.contains(commit.getId()))
+                                                   .toList();
+
+        if (!continuesHistory(history.getHeadId(), headId, knownIds, newCommits)) {
+            return Optional.empty();
+        }
+
+        appendCommits(history, userId, headId, cachedCommits.size(), newCommits);
+
+        List<CommitInternalDTO> result = new ArrayList<>(cachedCommits.size() + newCommits.size());
+        result.addAll(cachedCommits);
+        result.addAll(newCommits);
+        return Optional.of(result);
+    }
+
+    /**
+     * the new commits continue the stored history if they lead from the stored head to the current head
+     * without referencing any commit which is neither stored nor new.
+     */
+    private boolean continuesHistory(final String storedHeadId, final String headId, final Set<String> knownIds,
+                                     final List<CommitInternalDTO> newCommits) {
+        Set<String> newIds = newCommits.stream().map(CommitInternalDTO::getId).collect(Collectors.toSet());
+        Set<String> parentIds = collectParentIds(newCommits);
+
+        return newIds.contains(headId)
+                   && parentIds.contains(storedHeadId)
+                   && parentIds.stream().allMatch(id -> knownIds.contains(id) || newIds.contains(id));
+    }
+
+    /**
+     * the head of a branch is the only commit which is not the parent of another commit.
+     */
+    private String findHeadId(final List<CommitInternalDTO> commits) {
+        Set<String> parentIds = collectParentIds(commits);
+        List<String> candidates = commits.stream()
+                                         .map(CommitInternalDTO::getId)
+                                         .filter(id -> !parentIds.contains(id))
+                                         .toList();
+        return candidates.size() == 1 ? candidates.get(0) : null;
+    }
+
+    private Set<String> collectParentIds(final List<CommitInternalDTO> commits) {
+        Set<String> parentIds = new HashSet<>();
+        commits.stream()
+               .map(CommitInternalDTO::getParentIds)
+               .filter(Objects::nonNull)
+               .forEach(parentIds::addAll);
+        return parentIds;
+    }
+
+    private List<CommitInternalDTO> loadCommits(final CommitHistory history) {
+        return cachedCommitRepository.findCommitsByHistory(history)
+                                     .stream()
+                                     .map(this::mapCachedCommitToInternalDTO)
+                                     .toList();
+    }
+
+    private void storeCommits(final AuthenticationProvider authenticationProvider, final long userId,
+                              final Long platformId, final String branchKey, final List<CommitInternalDTO> commits) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                CommitHistory history = commitHistoryRepository
+                                            .findByAuthenticationProviderAndPlatformIdAndBranch(
+                                                authenticationProvider, platformId, branchKey)
+                                            .orElseGet(() -> CommitHistory.builder()
+                                                                          .authenticationProvider(
+                                                                              authenticationProvider)
+                                                                          .platformId(platformId)
+                                                                          .branch(branchKey)
+                                                                          .build());
+                history.setLastSynced(dateService.create());
+                history.setLastSyncedBy(userId);
+                history.setHeadId(findHeadId(commits));
+                CommitHistory savedHistory = commitHistoryRepository.save(history);
+
+                cachedCommitRepository.deleteByHistory(savedHistory);
+                cachedCommitRepository.batchInsert(mapInternalDTOsToCachedCommits(savedHistory, 0, commits));
+                commitRollupRepository.deleteByHistory(savedHistory);
+                commitRollupRepository.batchSave(createRollups(savedHistory, commits));
+            });
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException ignored) {
+            // a concurrent request stored the same history first, its result is as fresh as ours
+        }
+    }
+
+    private void appendCommits(final CommitHistory history, final long userId, final String headId,
+                               final int firstSortIndex, final List<CommitInternalDTO> newCommits) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                history.setLastSynced(dateService.create());
+                history.setLastSyncedBy(userId);
+                history.setHeadId(headId);
+                CommitHistory savedHistory = commitHistoryRepository.save(history);
+
+                cachedCommitRepository.batchInsert(mapInternalDTOsToCachedCommits(savedHistory, firstSortIndex,
+                                                                                  newCommits));
+                commitRollupRepository.batchSave(addToRollups(savedHistory, newCommits));
+            });
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException ignored) {
+            // a concurrent request synchronised the same history first, its result is as fresh as ours
+        }
+    }
+
+    private List<StatsBucketInternalDTO> loadRollups(final CommitHistory history, final Granularity granularity) {
+        List<CommitRollup> rollups =
+            commitRollupRepository.findByHistoryAndGranularityOrderByBucketStartAsc(history, granularity);
+
+        if (rollups.isEmpty() && history.getHeadId() != null) {
+            // histories stored before their rollups were maintained are rolled up once from their cached commits
+            List<CommitInternalDTO> commits = loadCommits(history);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    commitRollupRepository.deleteByHistory(history);
+                    commitRollupRepository.batchSave(createRollups(history, commits));
+                });
+            } catch (DataIntegrityViolationException | OptimisticLockingFailureException ignored) {
+                // a concurrent request rolled up the same history first
+            }
+            return rollUp(commits, granularity);
+        }
+
+        return rollups.stream().map(this::mapRollupToInternalDTO).toList();
+    }
+
+    private List<StatsBucketInternalDTO> rollUp(final List<CommitInternalDTO> commits,
+                                                final Granularity granularity) {
+        StatsBucketAggregator aggregator = new StatsBucketAggregator(Map.of());
+        for (CommitInternalDTO commit : commits) {
+            if (commit.getTimestamp() != null) {
+                aggregator.add(granularity.truncate(commit.getTimestamp()), commit.getAuthor(), 1,
+                               commit.getAdditions(), commit.getDeletions());
+            }
+        }
+        return aggregator.getBuckets();
+    }
+
+    private List<CommitRollup> createRollups(final CommitHistory history, final List<CommitInternalDTO> commits) {
+        List<CommitRollup> rollups = new ArrayList<>();
+        for (Granularity granularity : Granularity.values()) {
+            for (StatsBucketInternalDTO bucket : rollUp(commits, granularity)) {
+                rollups.add(CommitRollup.builder()
+                                        .history(history)
+                                        .granularity(granularity)
+                                        .bucketStart(bucket.getBucketStart())
+                                        .author(bucket.getCommitter())
+                                        .numberOfCommits(bucket.getNumberOfCommits())
+                                        .numberOfAdditions(bucket.getNumberOfAdditions())
+                                        .numberOfDeletions(bucket.getNumberOfDeletions())
+                                        .build());
+            }
+        }
+        return rollups;
+    }
+
+    /**
+     * adds the appended commits to the stored rollups of the history and returns the rollups which changed. Only
+     * the buckets from the first appended commit on are loaded, which are usually just the latest ones.
+     */
+    private List<CommitRollup> addToRollups(final CommitHistory history, final List<CommitInternalDTO> newCommits) {
+        if (newCommits.isEmpty() || !commitRollupRepository.existsByHistory(history)) {
+            // histories without rollups are rolled up completely on their next read
+            return List.of();
+        }
+
+        Optional<Date> firstTimestamp = newCommits.stream()
+                                                  .map(CommitInternalDTO::getTimestamp)
+                                                  .filter(Objects::nonNull)
+                                                  .min(Comparator.naturalOrder());
+        if (firstTimestamp.isEmpty()) {
+            return List.of();
+        }
+
+        Date firstBucketStart = Arrays.stream(Granularity.values())
+                                      .map(granularity -> granularity.truncate(firstTimestamp.get()))
+                                      .min(Comparator.naturalOrder())
+                                      .orElseThrow();
+
+        Map<RollupKey, CommitRollup> storedRollups = new HashMap<>();
+        for (CommitRollup rollup : commitRollupRepository.findByHistoryAndBucketStartGreaterThanEqual(
+            history, firstBucketStart)) {
+            storedRollups.put(new RollupKey(rollup.getGranularity(), rollup.getBucketStart().getTime(),
+                                            rollup.getAuthor()), rollup);
+        }
+
+        List<CommitRollup> changedRollups = new ArrayList<>();
+        for (Granularity granularity : Granularity.values()) {
+            for (StatsBucketInternalDTO bucket : rollUp(newCommits, granularity)) {
+                CommitRollup rollup = storedRollups.get(new RollupKey(granularity, bucket.getBucketStart().getTime(),
+                                                                      bucket.getCommitter()));
+                if (rollup == null) {
+                    rollup = CommitRollup.builder()
+                                         .history(history)
+                                         .granularity(granularity)
+                                         .bucketStart(bucket.getBucketStart())
+                                         .author(bucket.getCommitter())
+                                         .build();
+                }
+                rollup.setNumberOfCommits(rollup.getNumberOfCommits() + bucket.getNumberOfCommits());
+                rollup.setNumberOfAdditions(rollup.getNumberOfAdditions() + bucket.getNumberOfAdditions());
+                rollup.setNumberOfDeletions(rollup.getNumberOfDeletions() + bucket.getNumberOfDeletions());
+                changedRollups.add(rollup);
+            }
+        }
+        return changedRollups;
+    }
+
+    private StatsBucketInternalDTO mapRollupToInternalDTO(final CommitRollup rollup) {
+        return StatsBucketInternalDTO.builder()
+                                     .bucketStart(rollup.getBucketStart())
+                                     .committer(rollup.getAuthor())
+                                     .numberOfCommits(rollup.getNumberOfCommits())
+                                     .numberOfAdditions(rollup.getNumberOfAdditions())
+                                     .numberOfDeletions(rollup.getNumberOfDeletions())
+                                     .build();
+    }
+
+    private List<CachedCommit> mapInternalDTOsToCachedCommits(final CommitHistory history,
+                                                              final int firstSortIndex,
+                                                              final List<CommitInternalDTO> commits) {
+        List<CachedCommit> cachedCommits = new ArrayList<>(commits.size());
+        for (int i = 0; i < commits.size(); i++) {
+            CommitInternalDTO commit = commits.get(i);
+            cachedCommits.add(CachedCommit.builder()
+                                          .history(history)
+                                          .sortIndex(firstSortIndex + i)
+                                          .sha(commit.getId())
+                                          .message(commit.getMessage())
+                                          .author(commit.getAuthor())
+                                          .committedAt(commit.getTimestamp())
+                                          .parentIds(joinParentIds(commit.getParentIds()))
+                                          .mergeCommit(commit.isMergeCommit())
+                                          .additions(commit.getAdditions())
+                                          .deletions(commit.getDeletions())
+                                          .build());
+        }
+        return cachedCommits;
+    }
+
+    private CommitInternalDTO mapCachedCommitToInternalDTO(final CachedCommitInternalDTO cachedCommit) {
+        return CommitInternalDTO.builder()
+                                .id(cachedCommit.getSha())
+                                .message(cachedCommit.getMessage())
+                                .author(cachedCommit.getAuthor())
+                                .timestamp(cachedCommit.getCommittedAt())
+                                .parentIds(splitParentIds(cachedCommit.getParentIds()))
+                                .isMergeCommit(cachedCommit.isMergeCommit())
+                                .additions(cachedCommit.getAdditions())
+                                .deletions(cachedCommit.getDeletions())
+                                .build();
+    }
+
+    private String joinParentIds(final List<String> parentIds) {
+        return parentIds == null ? null : String.join(PARENT_ID_SEPARATOR, parentIds);
+    }
+
+    private List<String> splitParentIds(final String parentIds) {
+        if (parentIds == null) {
+            return null;
+        }
+        return parentIds.isEmpty() ? new ArrayList<>() : Arrays.asList(parentIds.split(PARENT_ID_SEPARATOR));
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class RollupKey {
+        private final Granularity granularity;
+        // dates loaded from the database are timestamps, which are never equal to a plain date
+        private final long bucketStart;
+        private final String author;
+    }
+}
@@ -0,0 +1,72 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.exception.BadRequestException;
+import com.tuwien.gitanalyser.security.jwt.FingerprintService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * position in the commit history of a branch where the next page starts. The cursor carries the lines of code of
+ * all commits before it, so a page does not have to sum up the history in front of it again. Those lines only hold
+ * for the filter and the alias index the cursor was created with, so the cursor carries a fingerprint of the filter
+ * and the version of the alias index as well.
+ */
+@Getter
+@AllArgsConstructor
+public class CommitCursor {
+
+    private static final String SEPARATOR = ":";
+    private static final String FILTER_SEPARATOR = "\0";
+    private static final int NUMBER_OF_PARTS = 5;
+    private static final int FILTER_PART = NUMBER_OF_PARTS - 2;
+    private static final int COMMIT_ID_PART = NUMBER_OF_PARTS - 1;
+
+    private final int index;
+    private final String lastCommitId;
+    private final int linesOfCodeOverall;
+    private final long aliasVersion;
+    private final String filter;
+
+    /**
+     * returns the fingerprint of the branch, the committer name and whether the commits are mapped by assignments.
+     */
+    public static String fingerprint(final String branch, final Boolean mappedByAssignments, final String name) {
+        // a missing name is kept apart from a committer called "null" by the prefix of a given name
+        String filter = branch + FILTER_SEPARATOR + mappedByAssignments + FILTER_SEPARATOR
+            + (name == null ? "" : "=" + name);
+
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        return FingerprintService.toHexString(md.digest(filter.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static CommitCursor decode(final String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, NUMBER_OF_PARTS);
+            if (parts.length != NUMBER_OF_PARTS) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            // the commit id comes last as it is the only part that is not a number or a fingerprint
+            return new CommitCursor(Integer.parseInt(parts[0]), parts[COMMIT_ID_PART], Integer.parseInt(parts[1]),
+                                    Long.parseLong(parts[2]), parts[FILTER_PART]);
+        } catch (java.lang.IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String cursor = index + SEPARATOR + linesOfCodeOverall + SEPARATOR + aliasVersion + SEPARATOR + filter
+            + SEPARATOR + lastCommitId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
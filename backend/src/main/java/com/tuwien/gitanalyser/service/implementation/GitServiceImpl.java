@@ -3,25 +3,43 @@ package com.tuwien.gitanalyser.service.implementation;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
 import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.exception.InternalServerErrorException;
 import com.tuwien.gitanalyser.exception.NoProviderFoundException;
 import com.tuwien.gitanalyser.exception.NotFoundException;
 import com.tuwien.gitanalyser.security.AuthenticationConstants;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.CommitCacheService;
+import com.tuwien.gitanalyser.service.CommitSource;
 import com.tuwien.gitanalyser.service.GitExceptionHandlerService;
 import com.tuwien.gitanalyser.service.GitService;
+import com.tuwien.gitanalyser.service.PrefetchService;
+import com.tuwien.gitanalyser.service.RepositoryAccessCacheService;
 import com.tuwien.gitanalyser.service.RepositoryService;
 import com.tuwien.gitanalyser.service.UserService;
 import com.tuwien.gitanalyser.service.apiCalls.github.GitHubExceptionHandlerServiceImpl;
 import com.tuwien.gitanalyser.service.apiCalls.gitlab.GitLabExceptionHandlerServiceImpl;
+import com.tuwien.gitanalyser.service.apiCalls.synthetic.SyntheticExceptionHandlerServiceImpl;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class GitServiceImpl implements GitService {
@@ -31,31 +49,91 @@ public class GitServiceImpl implements GitService {
     private final RepositoryService repositoryService;
     private final GitHubExceptionHandlerServiceImpl gitHubAccessTokenRefresherService;
     private final GitLabExceptionHandlerServiceImpl gitLabAccessTokenRefresherService;
+    private final GitExceptionHandlerService syntheticService;
+    private final CommitCacheService commitCacheService;
+    private final RepositoryAccessCacheService repositoryAccessCacheService;
+    private final PrefetchService prefetchService;
+    private final DateService dateService;
+    private final long prefetchedRepositoriesTimeToLiveInMilliseconds;
+
+    private final ConcurrentMap<CommitFetchKey, CompletableFuture<List<CommitInternalDTO>>> inFlightCommitFetches =
+        new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, PrefetchedRepositories> prefetchedRepositories = new ConcurrentHashMap<>();
 
     public GitServiceImpl(final UserService userService,
                           @Lazy final RepositoryService repositoryService,
                           final GitHubExceptionHandlerServiceImpl gitHubAccessTokenRefresherService,
-                          final GitLabExceptionHandlerServiceImpl gitLabAccessTokenRefresherService) {
+                          final GitLabExceptionHandlerServiceImpl gitLabAccessTokenRefresherService,
+                          final Optional<SyntheticExceptionHandlerServiceImpl> syntheticService,
+                          final CommitCacheService commitCacheService,
+                          final RepositoryAccessCacheService repositoryAccessCacheService,
+                          @Lazy final PrefetchService prefetchService,
+                          final DateService dateService,
+                          @Value("${gitanalyser.prefetch.repositories-time-to-live-seconds}")
+                          final long prefetchedRepositoriesTimeToLiveInSeconds) {
         this.userService = userService;
         this.repositoryService = repositoryService;
         this.gitHubAccessTokenRefresherService = gitHubAccessTokenRefresherService;
         this.gitLabAccessTokenRefresherService = gitLabAccessTokenRefresherService;
+        this.syntheticService = syntheticService.orElse(null);
+        this.commitCacheService = commitCacheService;
+        this.repositoryAccessCacheService = repositoryAccessCacheService;
+        this.prefetchService = prefetchService;
+        this.dateService = dateService;
+        this.prefetchedRepositoriesTimeToLiveInMilliseconds =
+            TimeUnit.SECONDS.toMillis(prefetchedRepositoriesTimeToLiveInSeconds);
     }
 
     @Override
     public List<NotSavedRepositoryInternalDTO> getAllRepositories(final Long userId)
         throws NoProviderFoundException, GitException {
 
+        // a prefetched list answers a single request only, later requests see changes on the git provider again
+        PrefetchedRepositories prefetched = prefetchedRepositories.remove(userId);
+        if (prefetched != null && dateService.create().getTime() < prefetched.expiresAt) {
+            try {
+                return awaitFetch(prefetched.repositories);
+            } catch (GitException | NoProviderFoundException | RuntimeException e) {
+                // the prefetch failed, the request tries again on its own
+            }
+        }
+
+        return fetchAllRepositories(userId);
+    }
+
+    @Override
+    public List<NotSavedRepositoryInternalDTO> prefetchAllRepositories(final Long userId)
+        throws NoProviderFoundException, GitException {
+        // registered before the fetch starts, so a request arriving meanwhile waits for it instead of fetching again
+        PrefetchedRepositories prefetched =
+            new PrefetchedRepositories(new CompletableFuture<>(),
+                                       dateService.create().getTime() + prefetchedRepositoriesTimeToLiveInMilliseconds);
+        prefetchedRepositories.put(userId, prefetched);
+
+        try {
+            List<NotSavedRepositoryInternalDTO> allRepos = fetchAllRepositories(userId);
+            prefetched.repositories.complete(allRepos);
+            return allRepos;
+        } catch (GitException | NoProviderFoundException | RuntimeException e) {
+            prefetched.repositories.completeExceptionally(e);
+            prefetchedRepositories.remove(userId, prefetched);
+            throw e;
+        }
+    }
+
+    private List<NotSavedRepositoryInternalDTO> fetchAllRepositories(final Long userId)
+        throws NoProviderFoundException, GitException {
+
         List<NotSavedRepositoryInternalDTO> allRepos;
 
         GitExceptionHandlerService gitAPI = getAPI(userId);
         allRepos = gitAPI.getAllRepositories(userId);
 
-        repositoryService.deleteAllNotAccessibleRepositoryEntities(
-            userId,
-            allRepos.stream()
-                    .map(NotSavedRepositoryInternalDTO::getPlatformId)
-                    .toList());
+        List<Long> platformIds = allRepos.stream()
+                                         .map(NotSavedRepositoryInternalDTO::getPlatformId)
+                                         .toList();
+        repositoryAccessCacheService.replaceAccessibleRepositories(userId, platformIds);
+        repositoryService.deleteAllNotAccessibleRepositoryEntities(userId, platformIds);
 
         return allRepos;
     }
@@ -84,16 +162,73 @@ public class GitServiceImpl implements GitService {
     public List<CommitInternalDTO> getAllCommits(final long userId, final Long platformId, final String branch)
         throws GitException, NoProviderFoundException {
 
+        prefetchService.markRepositoryUsed(userId, platformId);
+
+        // concurrent requests for the same history share one fetch instead of downloading it once each
+
+        CommitFetchKey key = new CommitFetchKey(userId, platformId, branch);
+        CompletableFuture<List<CommitInternalDTO>> fetch = new CompletableFuture<>();
+        CompletableFuture<List<CommitInternalDTO>> inFlightFetch = inFlightCommitFetches.putIfAbsent(key, fetch);
+        if (inFlightFetch != null) {
+            return awaitFetch(inFlightFetch);
+        }
+
+        try {
+            List<CommitInternalDTO> allCommits = Collections.unmodifiableList(fetchAllCommits(userId, platformId,
+                                                                                              branch));
+            fetch.complete(allCommits);
+            return allCommits;
+        } catch (GitException | NoProviderFoundException | RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightCommitFetches.remove(key, fetch);
+        }
+    }
+
+    @Override
+    public CommitSource<CommitInternalDTO> getAllCommitsSource(final long userId, final Long platformId,
+                                                               final String branch)
+        throws GitException, NoProviderFoundException {
+
+        GitExceptionHandlerService gitApi = getAPI(userId);
+        Optional<CommitSource<CommitInternalDTO>> cachedCommits =
+            commitCacheService.getCachedCommits(getCacheProvider(getUser(userId).getAuthenticationProvider()),
+                                                gitApi, userId, platformId, branch);
+        if (cachedCommits.isPresent()) {
+            prefetchService.markRepositoryUsed(userId, platformId);
+            return cachedCommits.get();
+        }
+
+        return getAllCommits(userId, platformId, branch)::forEach;
+    }
+
+    private List<CommitInternalDTO> fetchAllCommits(final long userId, final Long platformId, final String branch)
+        throws GitException, NoProviderFoundException {
+
         GitExceptionHandlerService gitApi = getAPI(userId);
         List<CommitInternalDTO> allCommits;
-        allCommits = gitApi.getAllCommits(userId, platformId, branch);
+        allCommits = commitCacheService.getAllCommits(getCacheProvider(getUser(userId).getAuthenticationProvider()),
+                                                      gitApi, userId, platformId, branch);
         return allCommits;
     }
 
+    @Override
+    public void synchronizePushedCommits(final AuthenticationProvider authenticationProvider, final Long platformId,
+                                         final String branch, final String headId)
+        throws GitException, NoProviderFoundException {
+        commitCacheService.synchronizePushedCommits(getCacheProvider(authenticationProvider),
+                                                    getAPI(authenticationProvider), platformId, branch, headId);
+    }
+
     @Override
     public boolean repositoryAccessibleByUser(final long userId, final Long platformId)
         throws NoProviderFoundException {
 
+        if (repositoryAccessCacheService.isAccessible(userId, platformId)) {
+            return true;
+        }
+
         boolean result;
 
         GitExceptionHandlerService gitApi = getAPI(userId);
@@ -103,37 +238,52 @@ public class GitServiceImpl implements GitService {
         } catch (Exception e) {
             result = false;
         }
+
+        if (result) {
+            repositoryAccessCacheService.putAccessible(userId, platformId);
+        }
         return result;
     }
 
     @Override
     public List<StatsInternalDTO> getStats(final long userId, final Long platformId, final String branch)
         throws NoProviderFoundException, GitException {
+        return getStats(userId, platformId, branch, Map.of());
+    }
 
-        HashMap<String, List<CommitInternalDTO>> groupedByAuthor = new HashMap<>();
-        List<StatsInternalDTO> stats = new ArrayList<>();
-
-        List<CommitInternalDTO> allCommits = getAllCommits(userId, platformId, branch);
+    @Override
+    public List<StatsInternalDTO> getStats(final long userId, final Long platformId, final String branch,
+                                           final Map<String, String> aliases)
+        throws NoProviderFoundException, GitException {
 
-        for (CommitInternalDTO commit : allCommits) {
-            groupedByAuthor.computeIfAbsent(commit.getAuthor(), k -> new ArrayList<>()).add(commit);
+        StatsAggregator aggregator = new StatsAggregator(aliases);
+        for (CommitInternalDTO commit : getAllCommits(userId, platformId, branch)) {
+            aggregator.add(commit);
         }
 
-        for (String author : groupedByAuthor.keySet()) {
-            List<CommitInternalDTO> allCommitsForAuthor = groupedByAuthor.get(author);
-            AtomicInteger numberOfCommits = new AtomicInteger();
-            AtomicInteger numberOfAdditions = new AtomicInteger();
-            AtomicInteger numberOfDeletions = new AtomicInteger();
-            allCommitsForAuthor.forEach(commit -> {
-                numberOfCommits.getAndIncrement();
-                numberOfAdditions.addAndGet(commit.getAdditions());
-                numberOfDeletions.addAndGet(commit.getDeletions());
-            });
-            stats.add(new StatsInternalDTO(author, numberOfCommits.get(), numberOfAdditions.get(),
-                                           numberOfDeletions.get()));
+        return aggregator.getStats();
+    }
+
+    @Override
+    public List<StatsBucketInternalDTO> getStatsTimeline(final long userId, final Long platformId,
+                                                         final String branch, final Granularity granularity,
+                                                         final Map<String, String> aliases)
+        throws NoProviderFoundException, GitException {
+
+        prefetchService.markRepositoryUsed(userId, platformId);
+
+        List<StatsBucketInternalDTO> rollups =
+            commitCacheService.getRollups(getCacheProvider(getUser(userId).getAuthenticationProvider()),
+                                          getAPI(userId), userId, platformId, branch, granularity);
+
+        // the rollups are stored per author, so aliases only merge buckets instead of touching any commit
+        StatsBucketAggregator aggregator = new StatsBucketAggregator(aliases);
+        for (StatsBucketInternalDTO rollup : rollups) {
+            aggregator.add(rollup.getBucketStart(), rollup.getCommitter(), rollup.getNumberOfCommits(),
+                           rollup.getNumberOfAdditions(), rollup.getNumberOfDeletions());
         }
 
-        return stats;
+        return aggregator.getBuckets();
     }
 
     @Override
@@ -142,15 +292,68 @@ public class GitServiceImpl implements GitService {
         return gitApi.getEmail(userId);
     }
 
+    private <T> T awaitFetch(final CompletableFuture<T> fetch) throws GitException, NoProviderFoundException {
+        try {
+            return fetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GitException gitException) {
+                throw gitException;
+            } else if (cause instanceof NoProviderFoundException noProviderFoundException) {
+                throw noProviderFoundException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new InternalServerErrorException();
+        }
+    }
+
     private GitExceptionHandlerService getAPI(final Long userId) throws NoProviderFoundException {
-        return switch (getUser(userId).getAuthenticationProvider().name().toLowerCase()) {
+        return getAPI(getUser(userId).getAuthenticationProvider());
+    }
+
+    /**
+     * returns the service of the git provider the user logged in with. While the synthetic profile is active, the
+     * synthetic histories replace every provider.
+     */
+    private GitExceptionHandlerService getAPI(final AuthenticationProvider authenticationProvider)
+        throws NoProviderFoundException {
+        if (syntheticService != null) {
+            return syntheticService;
+        }
+        return switch (authenticationProvider.name().toLowerCase()) {
             case AuthenticationConstants.GITHUB_REGISTRATION_ID -> gitHubAccessTokenRefresherService;
             case AuthenticationConstants.GITLAB_REGISTRATION_ID -> gitLabAccessTokenRefresherService;
-            default -> throw new NoProviderFoundException(getUser(userId).getAuthenticationProvider().name());
+            default -> throw new NoProviderFoundException(authenticationProvider.name());
         };
     }
 
+    /**
+     * returns the provider the histories of a repository are cached for. The synthetic histories are cached apart,
+     * the ids of their repositories are the ids of real repositories as well.
+     */
+    private AuthenticationProvider getCacheProvider(final AuthenticationProvider authenticationProvider) {
+        return syntheticService != null ? AuthenticationProvider.SYNTHETIC : authenticationProvider;
+    }
+
     private User getUser(final Long userId) throws NotFoundException {
         return userService.getUser(userId);
     }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class CommitFetchKey {
+        private final long userId;
+        private final Long platformId;
+        private final String branch;
+    }
+
+    @AllArgsConstructor
+    private static final class PrefetchedRepositories {
+        private final CompletableFuture<List<NotSavedRepositoryInternalDTO>> repositories;
+        private final long expiresAt;
+    }
 }
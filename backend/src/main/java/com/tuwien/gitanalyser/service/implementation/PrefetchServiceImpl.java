@@ -0,0 +1,140 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.entity.Repository;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.exception.NoProviderFoundException;
+import com.tuwien.gitanalyser.repository.RepositoryRepository;
+import com.tuwien.gitanalyser.service.GitService;
+import com.tuwien.gitanalyser.service.PrefetchService;
+import com.tuwien.gitanalyser.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * runs the warm-up on a small executor of low priority threads, so it never competes with the requests of users
+ * who are already working. Warm-ups which do not fit into its queue are dropped.
+ */
+@Service
+public class PrefetchServiceImpl implements PrefetchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchServiceImpl.class);
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final GitService gitService;
+    private final UserService userService;
+    private final RepositoryRepository repositoryRepository;
+    private final Executor prefetchExecutor;
+    private final int recentRepositories;
+
+    /**
+     * the recently used repositories of the users who used a repository most recently, least recently active users
+     * are forgotten above the configured number of users.
+     */
+    private final Map<Long, Deque<Long>> recentlyUsedRepositories;
+
+    public PrefetchServiceImpl(@Lazy final GitService gitService,
+                               final UserService userService,
+                               final RepositoryRepository repositoryRepository,
+                               @Qualifier("prefetchExecutor") final Executor prefetchExecutor,
+                               @Value("${gitanalyser.prefetch.recent-repositories}") final int recentRepositories,
+                               @Value("${gitanalyser.prefetch.recent-users}") final int recentUsers) {
+        this.gitService = gitService;
+        this.userService = userService;
+        this.repositoryRepository = repositoryRepository;
+        this.prefetchExecutor = prefetchExecutor;
+        this.recentRepositories = recentRepositories;
+        this.recentlyUsedRepositories = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Deque<Long>> eldest) {
+                return size() > recentUsers;
+            }
+        };
+    }
+
+    @Override
+    public void prefetchAfterLogin(final long userId) {
+        try {
+            prefetchExecutor.execute(() -> prefetch(userId));
+        } catch (RejectedExecutionException e) {
+            LOGGER.info("skipping prefetch for user {}, too many prefetches are waiting", userId);
+        }
+    }
+
+    @Override
+    public void markRepositoryUsed(final long userId, final Long platformId) {
+        synchronized (recentlyUsedRepositories) {
+            Deque<Long> repositories = recentlyUsedRepositories.computeIfAbsent(userId, key -> new ArrayDeque<>());
+            repositories.remove(platformId);
+            repositories.addFirst(platformId);
+            while (repositories.size() > recentRepositories) {
+                repositories.removeLast();
+            }
+        }
+    }
+
+    private void prefetch(final long userId) {
+        List<NotSavedRepositoryInternalDTO> accessibleRepositories;
+        try {
+            accessibleRepositories = gitService.prefetchAllRepositories(userId);
+        } catch (GitException | NoProviderFoundException | RuntimeException e) {
+            LOGGER.warn("prefetching the repositories of user {} failed", userId, e);
+            return;
+        }
+
+        Set<Long> accessiblePlatformIds = accessibleRepositories.stream()
+                                                                .map(NotSavedRepositoryInternalDTO::getPlatformId)
+                                                                .collect(Collectors.toSet());
+        List<Long> recentlyUsed = getRecentlyUsedRepositories(userId);
+        for (Long platformId : recentlyUsed) {
+            if (!accessiblePlatformIds.contains(platformId)) {
+                continue;
+            }
+            try {
+                gitService.getAllCommits(userId, platformId, null);
+            } catch (GitException | NoProviderFoundException | RuntimeException e) {
+                LOGGER.warn("prefetching the commits of repository {} of user {} failed", platformId, userId, e);
+            }
+        }
+
+        // loading the commits marked the repositories as used, this restores the order of the user
+        for (int i = recentlyUsed.size() - 1; i >= 0; i--) {
+            markRepositoryUsed(userId, recentlyUsed.get(i));
+        }
+    }
+
+    /**
+     * falls back to the repositories with assignments of the user if the user did not use any repository since
+     * the application started.
+     */
+    private List<Long> getRecentlyUsedRepositories(final long userId) {
+        synchronized (recentlyUsedRepositories) {
+            Deque<Long> repositories = recentlyUsedRepositories.get(userId);
+            if (repositories != null) {
+                return new ArrayList<>(repositories);
+            }
+        }
+
+        return repositoryRepository.findByUser(userService.getUser(userId))
+                                   .stream()
+                                   .map(Repository::getPlatformId)
+                                   .limit(recentRepositories)
+                                   .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.RepositoryAccessCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * only positive decisions are cached, a denied access is checked with the git provider again on every request, so
+ * access granted in the meantime is seen immediately. Revoked access is only seen once the time to live ran out.
+ * Expired decisions are dropped when they are read and on a schedule, which also forgets users without any.
+ */
+@Service
+public class RepositoryAccessCacheServiceImpl implements RepositoryAccessCacheService {
+
+    private final ConcurrentMap<Long, Map<Long, Long>> expirationsByUser = new ConcurrentHashMap<>();
+    private final DateService dateService;
+    private final long timeToLiveInMilliseconds;
+
+    public RepositoryAccessCacheServiceImpl(final DateService dateService,
+                                            @Value("${gitanalyser.repository-access-cache.time-to-live-seconds}")
+                                            final long timeToLiveInSeconds) {
+        this.dateService = dateService;
+        this.timeToLiveInMilliseconds = TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
+    }
+
+    @Override
+    public boolean isAccessible(final long userId, final Long platformId) {
+        Map<Long, Long> expirations = expirationsByUser.get(userId);
+        if (expirations == null) {
+            return false;
+        }
+        Long expiresAt = expirations.get(platformId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (dateService.create().getTime() >= expiresAt) {
+            // a decision cached concurrently in the meantime is kept
+            expirations.remove(platformId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void putAccessible(final long userId, final Long platformId) {
+        long expiresAt = dateService.create().getTime() + timeToLiveInMilliseconds;
+        expirationsByUser.compute(userId, (key, current) -> {
+            Map<Long, Long> expirations = current == null ? new ConcurrentHashMap<>() : current;
+            expirations.put(platformId, expiresAt);
+            return expirations;
+        });
+    }
+
+    @Override
+    public void replaceAccessibleRepositories(final long userId, final Collection<Long> platformIds) {
+        long expiresAt = dateService.create().getTime() + timeToLiveInMilliseconds;
+        Map<Long, Long> expirations = new ConcurrentHashMap<>();
+        for (Long platformId : platformIds) {
+            expirations.put(platformId, expiresAt);
+        }
+        expirationsByUser.put(userId, expirations);
+    }
+
+    /**
+     * drops the expired decisions and forgets the users who have none left.
+     */
+    @Scheduled(fixedDelayString = "${gitanalyser.repository-access-cache.cleanup-interval-seconds}",
+        initialDelayString = "${gitanalyser.repository-access-cache.cleanup-interval-seconds}",
+        timeUnit = TimeUnit.SECONDS)
+    public void forgetExpiredDecisions() {
+        long now = dateService.create().getTime();
+        for (Long userId : expirationsByUser.keySet()) {
+            expirationsByUser.computeIfPresent(userId, (key, expirations) -> {
+                expirations.values().removeIf(expiresAt -> now >= expiresAt);
+                return expirations.isEmpty() ? null : expirations;
+            });
+        }
+    }
+
+    int getCachedUsers() {
+        return expirationsByUser.size();
+    }
+}
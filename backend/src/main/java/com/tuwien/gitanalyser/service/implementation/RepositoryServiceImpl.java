@@ -1,21 +1,29 @@
 package com.tuwien.gitanalyser.service.implementation;
 
 import com.tuwien.gitanalyser.endpoints.dtos.assignment.CreateAssignmentDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.AliasIndexInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitPageInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitterInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.RepositorySnapshotInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import com.tuwien.gitanalyser.entity.Assignment;
 import com.tuwien.gitanalyser.entity.Repository;
 import com.tuwien.gitanalyser.entity.RepositoryFactory;
 import com.tuwien.gitanalyser.entity.SubAssignment;
 import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import com.tuwien.gitanalyser.exception.BadRequestException;
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.IllegalArgumentException;
 import com.tuwien.gitanalyser.exception.NoProviderFoundException;
 import com.tuwien.gitanalyser.exception.NotFoundException;
 import com.tuwien.gitanalyser.repository.RepositoryRepository;
+import com.tuwien.gitanalyser.service.AliasIndexService;
 import com.tuwien.gitanalyser.service.AssignmentService;
+import com.tuwien.gitanalyser.service.CommitSource;
 import com.tuwien.gitanalyser.service.GitService;
 import com.tuwien.gitanalyser.service.RepositoryService;
 import com.tuwien.gitanalyser.service.SubAssignmentService;
@@ -25,14 +33,11 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Service
 public class RepositoryServiceImpl implements RepositoryService {
@@ -43,19 +48,22 @@ public class RepositoryServiceImpl implements RepositoryService {
     private final SubAssignmentService subAssignmentService;
     private final GitService gitService;
     private final RepositoryFactory repositoryFactory;
+    private final AliasIndexService aliasIndexService;
 
     public RepositoryServiceImpl(final UserService userService,
                                  final RepositoryRepository repositoryRepository,
                                  final AssignmentService assignmentService,
                                  final SubAssignmentService subAssignmentService,
                                  final GitService gitService,
-                                 final RepositoryFactory repositoryFactory) {
+                                 final RepositoryFactory repositoryFactory,
+                                 final AliasIndexService aliasIndexService) {
         this.userService = userService;
         this.repositoryRepository = repositoryRepository;
         this.assignmentService = assignmentService;
         this.subAssignmentService = subAssignmentService;
         this.gitService = gitService;
         this.repositoryFactory = repositoryFactory;
+        this.aliasIndexService = aliasIndexService;
     }
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
@@ -90,6 +98,7 @@ public class RepositoryServiceImpl implements RepositoryService {
             subAssignmentService.addSubAssignment(assignment, dto.getAssignedName());
         }
 
+        aliasIndexService.invalidate(userId, platformId);
     }
 
     @Override
@@ -114,6 +123,7 @@ public class RepositoryServiceImpl implements RepositoryService {
         }
 
         assignmentService.deleteSubAssignmentById(repository.get(), subAssignmentId);
+        aliasIndexService.invalidate(userId, platformId);
     }
 
     @Override
@@ -126,6 +136,7 @@ public class RepositoryServiceImpl implements RepositoryService {
         for (Repository repository : repositories) {
             if (!gitRepositoryIds.contains(repository.getPlatformId())) {
                 repositoryRepository.delete(repository);
+                aliasIndexService.invalidate(userId, repository.getPlatformId());
             }
         }
     }
@@ -135,16 +146,21 @@ public class RepositoryServiceImpl implements RepositoryService {
                                            final boolean mappedByAssignments)
         throws GitException, NoProviderFoundException {
 
-        List<StatsInternalDTO> stats = gitService.getStats(userId, platformId, branch);
+        Map<String, String> aliases = mappedByAssignments
+            ? aliasIndexService.getAliasIndex(userId, platformId).getAliases()
+            : Map.of();
 
-        if (mappedByAssignments) {
-            try {
-                List<Assignment> assignments = getAssignments(userId, platformId);
-                stats = mapStatsByAssignments(stats, assignments);
-            } catch (NotFoundException ignored) {
-            }
-        }
-        return stats;
+        return gitService.getStats(userId, platformId, branch, aliases);
+    }
+
+    @Override
+    public List<StatsBucketInternalDTO> getStatsTimeline(final long userId, final Long platformId,
+                                                         final String branch, final boolean mappedByAssignments,
+                                                         final Granularity granularity)
+        throws GitException, NoProviderFoundException {
+
+        return gitService.getStatsTimeline(userId, platformId, branch, granularity,
+                                           getAliasIndex(userId, platformId, mappedByAssignments).getAliases());
     }
 
     @Override
@@ -152,36 +168,80 @@ public class RepositoryServiceImpl implements RepositoryService {
                                                         final Boolean mappedByAssignments, final String name)
         throws GitException, NoProviderFoundException {
 
-        List<CommitInternalDTO> internalCommits = gitService.getAllCommits(userId, platformId, branch);
+        List<CommitAggregatedInternalDTO> resultCommit = new ArrayList<>();
+        getCommitSource(userId, platformId, branch, mappedByAssignments, name).forEach(resultCommit::add);
+        return resultCommit;
+    }
 
-        if (mappedByAssignments) {
-            try {
-                List<Assignment> assignments = getAssignments(userId, platformId);
-                mapCommitsByAssignments(internalCommits, assignments);
-            } catch (NotFoundException ignored) {
-            }
-        }
+    @Override
+    public CommitSource<CommitAggregatedInternalDTO> getCommitSource(final long userId, final Long platformId,
+                                                                     final String branch,
+                                                                     final Boolean mappedByAssignments,
+                                                                     final String name)
+        throws GitException, NoProviderFoundException {
 
-        if (name != null) {
-            internalCommits = internalCommits.stream()
-                                             .filter(commit -> commit.getAuthor().equals(name))
-                                             .collect(Collectors.toList());
-        }
+        AliasIndexInternalDTO aliasIndex = getAliasIndex(userId, platformId, mappedByAssignments);
+        CommitSource<CommitInternalDTO> commits = gitService.getAllCommitsSource(userId, platformId, branch);
 
-        List<CommitAggregatedInternalDTO> resultCommit = new ArrayList<>();
+        return consumer -> {
+            int[] overallLineOfCode = {0};
+            commits.forEach(commit -> {
+                String author = aliasIndex.resolve(commit.getAuthor());
+                if (name != null && !name.equals(author)) {
+                    return;
+                }
+                overallLineOfCode[0] = overallLineOfCode[0] + commit.getAdditions() - commit.getDeletions();
+                consumer.accept(aggregateCommit(commit, author, overallLineOfCode[0]));
+            });
+        };
+    }
+
+    @Override
+    public CommitPageInternalDTO getCommitPage(final long userId, final Long platformId, final String branch,
+                                               final Boolean mappedByAssignments, final String name,
+                                               final String cursor, final int limit)
+        throws GitException, NoProviderFoundException {
 
+        List<CommitInternalDTO> internalCommits = gitService.getAllCommits(userId, platformId, branch);
+        AliasIndexInternalDTO aliasIndex = getAliasIndex(userId, platformId, mappedByAssignments);
+
+        String filter = CommitCursor.fingerprint(branch, mappedByAssignments, name);
+        int index = 0;
         int overallLineOfCode = 0;
-        for (CommitInternalDTO commit : internalCommits) {
+        if (cursor != null) {
+            CommitCursor commitCursor = CommitCursor.decode(cursor);
+            if (!commitCursor.getFilter().equals(filter)) {
+                throw new BadRequestException("Cursor does not match the filter");
+            }
+            index = findCursorIndex(internalCommits, commitCursor);
+            // the lines of code of a cursor only hold for the history and the aliases it was created with
+            boolean cursorHolds = index == commitCursor.getIndex()
+                && aliasIndex.getVersion() == commitCursor.getAliasVersion();
+            overallLineOfCode = cursorHolds
+                ? commitCursor.getLinesOfCodeOverall()
+                : sumLinesOfCode(internalCommits.subList(0, index), aliasIndex, name);
+        }
+
+        List<CommitAggregatedInternalDTO> page = new ArrayList<>();
+        for (; index < internalCommits.size(); index++) {
+            CommitInternalDTO commit = internalCommits.get(index);
+            String author = aliasIndex.resolve(commit.getAuthor());
+            if (name != null && !name.equals(author)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                break;
+            }
             overallLineOfCode = overallLineOfCode + commit.getAdditions() - commit.getDeletions();
-            var aggregatedCommit = new CommitAggregatedInternalDTO(commit.getId(), commit.getMessage(),
-                                                                   commit.getAuthor(), commit.getTimestamp(),
-                                                                   commit.getParentIds(), commit.isMergeCommit(),
-                                                                   commit.getAdditions(), commit.getDeletions(),
-                                                                   overallLineOfCode);
-            resultCommit.add(aggregatedCommit);
+            page.add(aggregateCommit(commit, author, overallLineOfCode));
         }
 
-        return resultCommit;
+        String nextCursor = null;
+        if (index < internalCommits.size()) {
+            nextCursor = new CommitCursor(index, internalCommits.get(index - 1).getId(), overallLineOfCode,
+                                          aliasIndex.getVersion(), filter).encode();
+        }
+        return new CommitPageInternalDTO(page, nextCursor);
     }
 
     @Override
@@ -189,18 +249,89 @@ public class RepositoryServiceImpl implements RepositoryService {
                                                    final Boolean mappedByAssignments)
         throws GitException, NoProviderFoundException {
 
-        Set<CommitterInternalDTO> result;
-
-        List<CommitAggregatedInternalDTO> internalCommits = getCommits(userId, platformId, branch,
-                                                                       mappedByAssignments, null);
+        Set<CommitterInternalDTO> result = new HashSet<>();
 
-        result = internalCommits.stream()
-                                .map(commit -> new CommitterInternalDTO(commit.getAuthor()))
-                                .collect(Collectors.toSet());
+        getCommitSource(userId, platformId, branch, mappedByAssignments, null)
+            .forEach(commit -> result.add(new CommitterInternalDTO(commit.getAuthor())));
 
         return result;
     }
 
+    @Override
+    public RepositorySnapshotInternalDTO getSnapshot(final long userId, final Long platformId, final String branch,
+                                                     final Boolean mappedByAssignments)
+        throws GitException, NoProviderFoundException {
+
+        List<CommitInternalDTO> internalCommits = gitService.getAllCommits(userId, platformId, branch);
+        AliasIndexInternalDTO aliasIndex = getAliasIndex(userId, platformId, mappedByAssignments);
+
+        List<CommitAggregatedInternalDTO> commits = new ArrayList<>(internalCommits.size());
+        StatsAggregator statsAggregator = new StatsAggregator(Map.of());
+        int overallLineOfCode = 0;
+        for (CommitInternalDTO commit : internalCommits) {
+            String author = aliasIndex.resolve(commit.getAuthor());
+            overallLineOfCode = overallLineOfCode + commit.getAdditions() - commit.getDeletions();
+            commits.add(aggregateCommit(commit, author, overallLineOfCode));
+            statsAggregator.add(author, commit.getAdditions(), commit.getDeletions());
+        }
+
+        List<StatsInternalDTO> stats = statsAggregator.getStats();
+        Set<CommitterInternalDTO> committers = new HashSet<>(stats.size());
+        for (StatsInternalDTO stat : stats) {
+            committers.add(new CommitterInternalDTO(stat.getCommitter()));
+        }
+
+        List<Assignment> assignments = findRepositoryByPlatformIdAndUser(platformId, userService.getUser(userId))
+            .map(Repository::getAssignments)
+            .orElse(List.of());
+
+        return new RepositorySnapshotInternalDTO(commits, stats, committers, assignments);
+    }
+
+    private AliasIndexInternalDTO getAliasIndex(final long userId, final Long platformId,
+                                                final Boolean mappedByAssignments) {
+        // the commits may be shared with other readers, so the alias is only applied to the aggregated copies
+        return mappedByAssignments
+            ? aliasIndexService.getAliasIndex(userId, platformId)
+            : new AliasIndexInternalDTO(0, Map.of());
+    }
+
+    private CommitAggregatedInternalDTO aggregateCommit(final CommitInternalDTO commit, final String author,
+                                                        final int overallLineOfCode) {
+        return new CommitAggregatedInternalDTO(commit.getId(), commit.getMessage(), author, commit.getTimestamp(),
+                                               commit.getParentIds(), commit.isMergeCommit(),
+                                               commit.getAdditions(), commit.getDeletions(), overallLineOfCode);
+    }
+
+    /**
+     * returns the index of the first commit after the cursor. New commits are only appended to the history, so
+     * the cursor is looked up by its commit id if the history got rewritten in front of it. The lines of code the
+     * cursor carries do not hold for a rewritten history then.
+     */
+    private int findCursorIndex(final List<CommitInternalDTO> commits, final CommitCursor cursor) {
+        int index = cursor.getIndex();
+        if (index > 0 && index <= commits.size() && commits.get(index - 1).getId().equals(cursor.getLastCommitId())) {
+            return index;
+        }
+        for (int i = 0; i < commits.size(); i++) {
+            if (commits.get(i).getId().equals(cursor.getLastCommitId())) {
+                return i + 1;
+            }
+        }
+        throw new BadRequestException("Cursor does not match the commit history");
+    }
+
+    private int sumLinesOfCode(final List<CommitInternalDTO> commits, final AliasIndexInternalDTO aliasIndex,
+                               final String name) {
+        int linesOfCode = 0;
+        for (CommitInternalDTO commit : commits) {
+            if (name == null || name.equals(aliasIndex.resolve(commit.getAuthor()))) {
+                linesOfCode = linesOfCode + commit.getAdditions() - commit.getDeletions();
+            }
+        }
+        return linesOfCode;
+    }
+
     private void overwriteSubAssignment(final CreateAssignmentDTO dto,
                                         final Repository repositoryEntity,
                                         final SubAssignment subAssignmentToRemoveSubAssignmentFrom) {
@@ -232,44 +363,6 @@ public class RepositoryServiceImpl implements RepositoryService {
 
     }
 
-    private void mapCommitsByAssignments(final Collection<CommitInternalDTO> commits,
-                                         final List<Assignment> assignments) {
-        for (CommitInternalDTO commit : commits) {
-            for (Assignment assignment : assignments) {
-
-                String key = assignment.getKey();
-
-                for (SubAssignment subAssignment : assignment.getSubAssignments()) {
-                    if (commit.getAuthor().equals(subAssignment.getAssignedName())) {
-                        commit.setAuthor(key);
-                    }
-                }
-            }
-        }
-    }
-
-    private List<StatsInternalDTO> mapStatsByAssignments(final List<StatsInternalDTO> stats,
-                                                         final List<Assignment> assignments) {
-
-        ConcurrentMap<String, StatsInternalDTO> statsMap = stats.stream().collect(
-            Collectors.toConcurrentMap(StatsInternalDTO::getCommitter, Function.identity()));
-
-        for (String committer : statsMap.keySet()) {
-            for (Assignment assignment : assignments) {
-
-                String key = assignment.getKey();
-
-                for (SubAssignment subAssignment : assignment.getSubAssignments()) {
-                    if (committer.equals(subAssignment.getAssignedName())) {
-                        mapFromAssignmentToKey(statsMap, key, subAssignment.getAssignedName());
-                    }
-                }
-            }
-        }
-
-        return new ArrayList<>(statsMap.values());
-    }
-
     private Optional<Repository> findRepositoryByPlatformIdAndUser(final Long platformId, final User user) {
         return repositoryRepository.findByUserAndPlatformId(user, platformId);
     }
@@ -282,26 +375,4 @@ public class RepositoryServiceImpl implements RepositoryService {
         repositoryRepository.save(repositoryEntity);
         return repositoryEntity;
     }
-
-    private void mapFromAssignmentToKey(final Map<String, StatsInternalDTO> statsMap, final String key,
-                                        final String assignedName) {
-        StatsInternalDTO oldStatsObject = statsMap.get(assignedName);
-        StatsInternalDTO newStatsObject;
-        if (statsMap.containsKey(key)) {
-            newStatsObject = statsMap.get(key);
-        } else {
-            newStatsObject = new StatsInternalDTO();
-            newStatsObject.setCommitter(key);
-        }
-
-        newStatsObject.setNumberOfCommits(
-            newStatsObject.getNumberOfCommits() + oldStatsObject.getNumberOfCommits());
-        newStatsObject.setNumberOfDeletions(
-            newStatsObject.getNumberOfDeletions() + oldStatsObject.getNumberOfDeletions());
-        newStatsObject.setNumberOfAdditions(
-            newStatsObject.getNumberOfAdditions() + oldStatsObject.getNumberOfAdditions());
-
-        statsMap.put(key, newStatsObject);
-        statsMap.remove(assignedName);
-    }
 }
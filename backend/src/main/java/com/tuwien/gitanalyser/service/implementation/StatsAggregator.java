@@ -0,0 +1,58 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * sums up the statistics per author in a single pass over the commits. Authors with an alias are counted for
+ * their alias, so the memory needed only depends on the number of authors.
+ */
+public class StatsAggregator {
+
+    private final Map<String, String> aliases;
+    private final Map<String, AuthorStats> statsByAuthor = new HashMap<>();
+
+    public StatsAggregator(final Map<String, String> aliases) {
+        this.aliases = aliases;
+    }
+
+    /**
+     * commits without author, e.g. of GitHub accounts without a name, are counted for a null author.
+     */
+    public void add(final CommitInternalDTO commit) {
+        String author = commit.getAuthor() == null
+                            ? null
+                            : aliases.getOrDefault(commit.getAuthor(), commit.getAuthor());
+        add(author, commit.getAdditions(), commit.getDeletions());
+    }
+
+    /**
+     * counts a commit of an author whose alias is already resolved.
+     */
+    public void add(final String author, final int additions, final int deletions) {
+        AuthorStats stats = statsByAuthor.computeIfAbsent(author, key -> new AuthorStats());
+        stats.numberOfCommits++;
+        stats.numberOfAdditions += additions;
+        stats.numberOfDeletions += deletions;
+    }
+
+    public List<StatsInternalDTO> getStats() {
+        List<StatsInternalDTO> result = new ArrayList<>(statsByAuthor.size());
+        statsByAuthor.forEach((author, stats) -> result.add(new StatsInternalDTO(author,
+                                                                                 stats.numberOfCommits,
+                                                                                 stats.numberOfAdditions,
+                                                                                 stats.numberOfDeletions)));
+        return result;
+    }
+
+    private static final class AuthorStats {
+        private int numberOfCommits;
+        private int numberOfAdditions;
+        private int numberOfDeletions;
+    }
+}
@@ -0,0 +1,60 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * sums up the statistics per time bucket and author. Authors with an alias are counted for their alias, so the
+ * memory needed only depends on the number of buckets.
+ */
+public class StatsBucketAggregator {
+
+    private final Map<String, String> aliases;
+    private final Map<BucketKey, StatsBucketInternalDTO> buckets = new HashMap<>();
+
+    public StatsBucketAggregator(final Map<String, String> aliases) {
+        this.aliases = aliases;
+    }
+
+    /**
+     * counts the commits of an author within the bucket starting at bucketStart, commits without author are
+     * counted for a null committer.
+     */
+    public void add(final Date bucketStart, final String author, final int numberOfCommits,
+                    final int numberOfAdditions, final int numberOfDeletions) {
+        String committer = author == null ? null : aliases.getOrDefault(author, author);
+        StatsBucketInternalDTO bucket =
+            buckets.computeIfAbsent(new BucketKey(bucketStart.getTime(), committer),
+                                    key -> new StatsBucketInternalDTO(bucketStart, committer, 0, 0, 0));
+        bucket.setNumberOfCommits(bucket.getNumberOfCommits() + numberOfCommits);
+        bucket.setNumberOfAdditions(bucket.getNumberOfAdditions() + numberOfAdditions);
+        bucket.setNumberOfDeletions(bucket.getNumberOfDeletions() + numberOfDeletions);
+    }
+
+    /**
+     * returns the buckets sorted by their start and committer.
+     */
+    public List<StatsBucketInternalDTO> getBuckets() {
+        List<StatsBucketInternalDTO> result = new ArrayList<>(buckets.values());
+        result.sort(Comparator.comparing(StatsBucketInternalDTO::getBucketStart)
+                              .thenComparing(StatsBucketInternalDTO::getCommitter,
+                                             Comparator.nullsFirst(Comparator.naturalOrder())));
+        return result;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class BucketKey {
+        // dates loaded from the database are timestamps, which are never equal to a plain date
+        private final long bucketStart;
+        private final String committer;
+    }
+}
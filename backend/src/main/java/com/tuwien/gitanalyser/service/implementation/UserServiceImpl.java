@@ -14,11 +14,14 @@ import com.tuwien.gitanalyser.security.jwt.FingerprintPair;
 import com.tuwien.gitanalyser.security.jwt.FingerprintService;
 import com.tuwien.gitanalyser.security.jwt.JWTTokenProvider;
 import com.tuwien.gitanalyser.security.oauth2.BasicAuth2User;
+import com.tuwien.gitanalyser.service.GitAPIFactory;
 import com.tuwien.gitanalyser.service.GitService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -32,14 +35,18 @@ public class UserServiceImpl implements UserService {
 
     private final GitService gitService;
 
+    private final List<GitAPIFactory<?>> gitAPIFactories;
+
     public UserServiceImpl(final UserRepository userRepository,
                            final FingerprintService fingerprintService,
                            @Lazy final JWTTokenProvider jwtTokenProvider,
-                           @Lazy final GitService gitService) {
+                           @Lazy final GitService gitService,
+                           final List<GitAPIFactory<?>> gitAPIFactories) {
         this.userRepository = userRepository;
         this.fingerprintService = fingerprintService;
         this.jwtTokenProvider = jwtTokenProvider;
         this.gitService = gitService;
+        this.gitAPIFactories = gitAPIFactories;
     }
 
     @Override
@@ -50,7 +57,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserFingerprintPair processOAuthPostLogin(final BasicAuth2User auth2User, final String accessToken,
-                                                     final String refreshToken) {
+                                                     final String refreshToken, final Date accessTokenExpiresAt) {
         User user;
 
         Optional<User> existUsers = userRepository.findByAuthenticationProviderAndPlatformId(
@@ -69,6 +76,7 @@ public class UserServiceImpl implements UserService {
             newUser.setPlatformId(auth2User.getPlatformId());
             newUser.setAuthenticationProvider(auth2User.getAuthenticationProvider());
             newUser.setAccessToken(accessToken);
+            newUser.setAccessTokenExpiresAt(accessTokenExpiresAt);
             newUser.setRefreshToken(refreshToken);
             newUser.setPictureUrl(auth2User.getPictureUrl());
             newUser.setFingerPrintHash(fingerprintPair.getHash());
@@ -81,7 +89,9 @@ public class UserServiceImpl implements UserService {
             }
         } else {
             user = existUsers.get();
+            evictGitClients(user.getAccessToken());
             user.setAccessToken(accessToken);
+            user.setAccessTokenExpiresAt(accessTokenExpiresAt);
             user.setRefreshToken(refreshToken);
             user.setFingerPrintHash(fingerprintPair.getHash());
             userRepository.save(user);
@@ -117,13 +127,22 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public void refreshGitAccessToken(final Long userId, final String accessToken, final String refreshToken) {
+    public void refreshGitAccessToken(final Long userId, final String accessToken, final String refreshToken,
+                                      final Date accessTokenExpiresAt) {
         User user = getUser(userId);
+        evictGitClients(user.getAccessToken());
         user.setAccessToken(accessToken);
+        user.setAccessTokenExpiresAt(accessTokenExpiresAt);
         user.setRefreshToken(refreshToken);
         userRepository.save(user);
     }
 
+    private void evictGitClients(final String replacedAccessToken) {
+        if (replacedAccessToken != null) {
+            gitAPIFactories.forEach(factory -> factory.evict(replacedAccessToken));
+        }
+    }
+
     private User getEMailForGithub(final User user) {
         User updatedUser = user;
         try {
@@ -0,0 +1,62 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.PushEventInternalDTO;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.exception.NoProviderFoundException;
+import com.tuwien.gitanalyser.service.GitService;
+import com.tuwien.gitanalyser.service.WebhookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * synchronises pushed branches on the low priority prefetch executor, so the webhook is answered right away and
+ * never competes with the requests of users. Pushes which do not fit into its queue are dropped, the next read of
+ * the branch synchronises it instead.
+ */
+@Service
+public class WebhookServiceImpl implements WebhookService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebhookServiceImpl.class);
+
+    private final GitService gitService;
+    private final Executor prefetchExecutor;
+
+    public WebhookServiceImpl(@Lazy final GitService gitService,
+                              @Qualifier("prefetchExecutor") final Executor prefetchExecutor) {
+        this.gitService = gitService;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public void pushReceived(final PushEventInternalDTO pushEvent) {
+        try {
+            prefetchExecutor.execute(() -> synchronize(pushEvent));
+        } catch (RejectedExecutionException e) {
+            LOGGER.info("skipping push to {} of repository {}, too many background tasks are waiting",
+                        pushEvent.getBranch(), pushEvent.getPlatformId());
+        }
+    }
+
+    private void synchronize(final PushEventInternalDTO pushEvent) {
+        synchronize(pushEvent, pushEvent.getBranch());
+        if (pushEvent.getBranch().equals(pushEvent.getDefaultBranch())) {
+            synchronize(pushEvent, null);
+        }
+    }
+
+    private void synchronize(final PushEventInternalDTO pushEvent, final String branch) {
+        try {
+            gitService.synchronizePushedCommits(pushEvent.getAuthenticationProvider(), pushEvent.getPlatformId(),
+                                                branch, pushEvent.getHeadId());
+        } catch (GitException | NoProviderFoundException | RuntimeException e) {
+            LOGGER.info("could not synchronise push to {} of repository {}, it is loaded on its next read",
+                        pushEvent.getBranch(), pushEvent.getPlatformId(), e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.tuwien.gitanalyser.configuration.logging;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArgumentFormatterTest {
+
+    private static final int MAXIMUM_LENGTH = 50;
+    private static final int MAXIMUM_ELEMENTS = 3;
+
+    private ArgumentFormatter sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new ArgumentFormatter(MAXIMUM_LENGTH, MAXIMUM_ELEMENTS);
+    }
+
+    @Test
+    void format_shortValue_returnsValue() {
+        // Given
+        String value = Randoms.alpha();
+
+        // When + Then
+        assertThat(sut.format(value), equalTo(value));
+        assertThat(sut.format(42L), equalTo("42"));
+    }
+
+    @Test
+    void format_longValue_cutsValue() {
+        // Given
+        String value = "a".repeat(MAXIMUM_LENGTH * 2);
+
+        // When
+        String result = sut.format(value);
+
+        // Then
+        assertThat(result, equalTo("a".repeat(MAXIMUM_LENGTH) + "..."));
+    }
+
+    @Test
+    void format_largeList_returnsSizeAndFirstElements() {
+        // Given
+        List<Integer> list = IntStream.range(0, 100_000).boxed().toList();
+
+        // When
+        String result = sut.format(list);
+
+        // Then
+        assertThat(result, equalTo("100000 elements [0, 1, 2, ...]"));
+    }
+
+    @Test
+    void format_listOfLongElements_staysWithinMaximumLength() {
+        // Given
+        List<String> list = List.of("a".repeat(MAXIMUM_LENGTH), "b".repeat(MAXIMUM_LENGTH));
+
+        // When
+        String result = sut.format(list);
+
+        // Then
+        assertThat(result.length(), lessThanOrEqualTo(MAXIMUM_LENGTH + "...]".length()));
+    }
+
+    @Test
+    void format_mapWithNestedList_doesNotExpandNestedList() {
+        // Given
+        Map<String, List<Integer>> map = Map.of("key", List.of(1, 2, 3, 4));
+
+        // When
+        String result = sut.format(map);
+
+        // Then
+        assertThat(result, equalTo("1 elements [key=4 elements]"));
+    }
+
+    @Test
+    void format_array_returnsSizeAndFirstElements() {
+        // Given
+        int[] array = {1, 2, 3, 4, 5};
+
+        // When
+        String result = sut.format(array);
+
+        // Then
+        assertThat(result, equalTo("5 elements [1, 2, 3, ...]"));
+    }
+
+    @Test
+    void format_dto_returnsClassNameOnly() {
+        // Given
+        CommitInternalDTO commit = CommitInternalDTO.builder()
+                                                    .id(Randoms.alpha())
+                                                    .message("a".repeat(MAXIMUM_LENGTH * 2))
+                                                    .build();
+
+        // When
+        String result = sut.format(List.of(commit));
+
+        // Then
+        assertThat(result, equalTo("1 elements [CommitInternalDTO]"));
+    }
+
+    @Test
+    void format_entity_returnsClassNameOnly() {
+        // Given
+        User user = new User();
+
+        // When + Then
+        assertThat(sut.format(user), equalTo("User"));
+    }
+
+    @Test
+    void format_uninitializedEntityProxy_returnsPersistentClassNameWithoutLoadingEntity() {
+        // Given
+        HibernateProxy proxy = mock(HibernateProxy.class);
+        LazyInitializer lazyInitializer = mock(LazyInitializer.class);
+        when(proxy.getHibernateLazyInitializer()).thenReturn(lazyInitializer);
+        when(lazyInitializer.getPersistentClass()).thenReturn(User.class);
+
+        // When
+        String result = sut.format(proxy);
+
+        // Then
+        assertThat(result, equalTo("User"));
+        verify(lazyInitializer, never()).getImplementation();
+    }
+
+    @Test
+    void format_enumOfApplication_returnsName() {
+        // When + Then
+        assertThat(sut.format(AuthenticationProvider.GITLAB), equalTo("GITLAB"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.tuwien.gitanalyser.configuration.metrics;
+
+import com.tuwien.gitanalyser.exception.SyntheticException;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.synthetic.SyntheticGitAPI;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import utils.Randoms;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProviderMetricsAspectTest {
+
+    private static final int COMMITS = 50;
+
+    private SyntheticGitAPI sut;
+    private SimpleMeterRegistry meterRegistry;
+    private String accessToken;
+    private long platformId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new SyntheticGitAPI(COMMITS, 3, 0.1, 2, 2));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ProviderMetricsAspect(new ProviderMetrics(meterRegistry)));
+        sut = proxyFactory.getProxy();
+        accessToken = Randoms.alpha();
+        platformId = Randoms.integer(1, 1000);
+    }
+
+    @Test
+    void getAllCommits_always_shouldRecordCallAndCommits() throws SyntheticException {
+        // When
+        sut.getAllCommits(accessToken, platformId, null);
+
+        // Then
+        assertThat(meterRegistry.get("gitanalyser.provider.calls")
+                                .tag("provider", "synthetic")
+                                .tag("operation", "getAllCommits")
+                                .tag("exception", "none")
+                                .timer()
+                                .count(), equalTo(1L));
+        assertThat(meterRegistry.get("gitanalyser.provider.commits.fetched")
+                                .tag("provider", "synthetic")
+                                .counter()
+                                .count(), equalTo((double) COMMITS));
+    }
+
+    @Test
+    void getAllBranches_always_shouldRecordCallButNoCommits() {
+        // When
+        sut.getAllBranches(accessToken, platformId);
+
+        // Then
+        assertThat(meterRegistry.get("gitanalyser.provider.calls")
+                                .tag("operation", "getAllBranches")
+                                .timer()
+                                .count(), equalTo(1L));
+        assertThat(meterRegistry.find("gitanalyser.provider.commits.fetched").counter(), equalTo(null));
+    }
+
+    @Test
+    void getAllCommits_callFails_shouldRecordCallWithException() {
+        // When
+        assertThrows(SyntheticException.class, () -> sut.getAllCommits(accessToken, platformId, Randoms.alpha()));
+
+        // Then
+        assertThat(meterRegistry.get("gitanalyser.provider.calls")
+                                .tag("operation", "getAllCommits")
+                                .tag("exception", SyntheticException.class.getSimpleName())
+                                .timer()
+                                .count(), equalTo(1L));
+    }
+}
@@ -1,16 +1,23 @@
 package com.tuwien.gitanalyser.endpoints;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tuwien.gitanalyser.endpoints.dtos.BranchDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.CommitDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.CommitterDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.NotSavedRepositoryDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.RepositorySnapshotDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.StatsBucketDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.StatsDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.StreamErrorDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.assignment.AssignmentDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.assignment.CreateAssignmentDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitPageInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitterInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.RepositorySnapshotInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import com.tuwien.gitanalyser.entity.Assignment;
 import com.tuwien.gitanalyser.entity.mapper.AssignmentMapper;
@@ -19,6 +26,7 @@ import com.tuwien.gitanalyser.entity.mapper.CommitMapper;
 import com.tuwien.gitanalyser.entity.mapper.CommitterMapper;
 import com.tuwien.gitanalyser.entity.mapper.NotSavedRepositoryMapper;
 import com.tuwien.gitanalyser.entity.mapper.StatsMapper;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
 import com.tuwien.gitanalyser.exception.BadRequestException;
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.GitHubException;
@@ -33,10 +41,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.server.ResponseStatusException;
 import utils.Randoms;
 
+import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
@@ -44,6 +57,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -52,6 +67,8 @@ import static org.mockito.Mockito.when;
 
 class RepositoryEndpointTest {
 
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     private static final NotSavedRepositoryInternalDTO NOT_SAVED_REPOSITORY_INTERNAL_DTO_1 =
         new NotSavedRepositoryInternalDTO(Randoms.getLong(), Randoms.alpha(), Randoms.alpha());
     private static final NotSavedRepositoryInternalDTO NOT_SAVED_REPOSITORY_INTERNAL_DTO_2 =
@@ -118,7 +135,8 @@ class RepositoryEndpointTest {
                                      commitMapper,
                                      committerMapper,
                                      assignmentMapper,
-                                     statsMapper);
+                                     statsMapper,
+                                     new ObjectMapper());
 
         defaultBranch = Randoms.alpha();
     }
@@ -410,7 +428,7 @@ class RepositoryEndpointTest {
         mockUserId(userId, authentication);
 
         // When
-        sut.getCommitsByRepositoryId(authentication, platformId, defaultBranch, mappedByAssignments, name);
+        sut.getCommitsByRepositoryId(authentication, platformId, defaultBranch, mappedByAssignments, name, null, null);
 
         // Then
         verify(repositoryService).getCommits(userId, platformId, defaultBranch, mappedByAssignments, name);
@@ -435,7 +453,8 @@ class RepositoryEndpointTest {
 
         // When
         List<CommitDTO> commits = sut.getCommitsByRepositoryId(authentication,
-                                                               platformId, defaultBranch, mappedByAssignments, name);
+                                                               platformId, defaultBranch, mappedByAssignments, name,
+                                                               null, null).getBody();
 
         // Then
         assertThat(commits, containsInAnyOrder(commitDTO));
@@ -460,7 +479,8 @@ class RepositoryEndpointTest {
         // When
         List<CommitDTO> branches = sut.getCommitsByRepositoryId(authentication,
                                                                 platformId, defaultBranch,
-                                                                mappedByAssignments, name);
+                                                                mappedByAssignments, name,
+                                                                null, null).getBody();
 
         // Then
         assertThat(branches, equalTo(List.of(commitDTO1, commitDTO2)));
@@ -487,7 +507,9 @@ class RepositoryEndpointTest {
                                                                                             platformId,
                                                                                             defaultBranch,
                                                                                             true,
-                                                                                            name));
+                                                                                            name,
+                                                                                            null,
+                                                                                            null));
         assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
     }
 
@@ -512,7 +534,9 @@ class RepositoryEndpointTest {
                                                                                             platformId,
                                                                                             defaultBranch,
                                                                                             false,
-                                                                                            name));
+                                                                                            name,
+                                                                                            null,
+                                                                                            null));
         assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
 
     }
@@ -540,10 +564,195 @@ class RepositoryEndpointTest {
                                                                            platformId,
                                                                            defaultBranch,
                                                                            mappedByAssignments,
-                                                                           name));
+                                                                           name,
+                                                                           null,
+                                                                           null));
         assertThat(exception.getStatus(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
     }
 
+    @Test
+    void getCommitsByRepositoryId_limitGivenAndNextPageExists_returnsPageAndNextCursorHeader()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        long userId = Randoms.getLong();
+        int limit = Randoms.integer(1, 100);
+        String cursor = Randoms.alpha();
+        String nextCursor = Randoms.alpha();
+
+        Authentication authentication = mock(Authentication.class);
+
+        mockUserId(userId, authentication);
+        when(repositoryService.getCommitPage(userId, platformId, defaultBranch, false, null, cursor, limit))
+            .thenReturn(new CommitPageInternalDTO(List.of(commit1), nextCursor));
+        prepareCommitsMapper(List.of(commit1), List.of(commitDTO1));
+
+        // When
+        ResponseEntity<List<CommitDTO>> result = sut.getCommitsByRepositoryId(authentication, platformId,
+                                                                              defaultBranch, false, null,
+                                                                              limit, cursor);
+
+        // Then
+        assertThat(result.getBody(), equalTo(List.of(commitDTO1)));
+        assertThat(result.getHeaders().getFirst(RepositoryEndpoint.NEXT_CURSOR_HEADER), equalTo(nextCursor));
+    }
+
+    @Test
+    void getCommitsByRepositoryId_lastPage_returnsNoNextCursorHeader() throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        long userId = Randoms.getLong();
+        int limit = Randoms.integer(1, 100);
+
+        Authentication authentication = mock(Authentication.class);
+
+        mockUserId(userId, authentication);
+        when(repositoryService.getCommitPage(userId, platformId, defaultBranch, false, null, null, limit))
+            .thenReturn(new CommitPageInternalDTO(List.of(commit1), null));
+        prepareCommitsMapper(List.of(commit1), List.of(commitDTO1));
+
+        // When
+        ResponseEntity<List<CommitDTO>> result = sut.getCommitsByRepositoryId(authentication, platformId,
+                                                                              defaultBranch, false, null,
+                                                                              limit, null);
+
+        // Then
+        assertThat(result.getHeaders().containsKey(RepositoryEndpoint.NEXT_CURSOR_HEADER), equalTo(false));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 1001})
+    void getCommitsByRepositoryId_limitOutOfRange_throwsBadRequestException(int limit) {
+        // Given
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(Randoms.getLong(), authentication);
+
+        // When + Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                          () -> sut.getCommitsByRepositoryId(authentication,
+                                                                                             Randoms.getLong(),
+                                                                                             defaultBranch,
+                                                                                             false,
+                                                                                             null,
+                                                                                             limit,
+                                                                                             null));
+        assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void streamCommitsByRepositoryId_givenTwoCommits_writesOneJsonLinePerCommit()
+        throws GitException, NoProviderFoundException, IOException {
+        // Given
+        long platformId = Randoms.getLong();
+        long userId = Randoms.getLong();
+        String name = Randoms.alpha();
+        CommitDTO firstCommit = CommitDTO.builder().id(Randoms.alpha()).linesOfCodeOverall(1).build();
+        CommitDTO secondCommit = CommitDTO.builder().id(Randoms.alpha()).linesOfCodeOverall(2).build();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = mock(Authentication.class);
+
+        mockUserId(userId, authentication);
+        prepareRepositoryStreamCommits(platformId, userId, defaultBranch, true, name, commit1, commit2);
+        when(commitMapper.dtoToDTO(commit1)).thenReturn(firstCommit);
+        when(commitMapper.dtoToDTO(commit2)).thenReturn(secondCommit);
+
+        // When
+        sut.streamCommitsByRepositoryId(authentication, platformId, defaultBranch, true, name, response);
+
+        // Then
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertThat(response.getContentType(), equalTo(MediaType.APPLICATION_NDJSON_VALUE));
+        assertThat(response.getContentAsString(), equalTo(objectMapper.writeValueAsString(firstCommit) + "\n"
+                                                              + objectMapper.writeValueAsString(secondCommit) + "\n"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {GitLabException.class, GitHubException.class})
+    void streamCommitsByRepositoryId_serviceThrowsGitException_throwsBadRequestExceptionBeforeOpeningResponse(
+        Class<? extends GitException> exception) throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        long userId = Randoms.getLong();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = mock(Authentication.class);
+
+        mockUserId(userId, authentication);
+        when(repositoryService.getCommitSource(userId, platformId, defaultBranch, false, null)).thenThrow(exception);
+
+        // When + Then
+        ResponseStatusException result = assertThrows(ResponseStatusException.class,
+                                                      () -> sut.streamCommitsByRepositoryId(
+                                                          authentication, platformId, defaultBranch, false, null,
+                                                          response));
+        assertThat(result.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(response.getContentType(), nullValue());
+        assertThat(response.isCommitted(), equalTo(false));
+    }
+
+    @Test
+    void streamCommitsByRepositoryId_readingFailsBeforeFirstFlush_throwsInternalServerErrorAndDropsWrittenLines()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        long userId = Randoms.getLong();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = mock(Authentication.class);
+
+        mockUserId(userId, authentication);
+        when(commitMapper.dtoToDTO(commit1)).thenReturn(CommitDTO.builder().id(Randoms.alpha()).build());
+        when(repositoryService.getCommitSource(userId, platformId, defaultBranch, false, null))
+            .thenReturn(consumer -> {
+                consumer.accept(commit1);
+                throw new IllegalStateException();
+            });
+
+        // When + Then
+        ResponseStatusException result = assertThrows(ResponseStatusException.class,
+                                                      () -> sut.streamCommitsByRepositoryId(
+                                                          authentication, platformId, defaultBranch, false, null,
+                                                          response));
+        assertThat(result.getStatus(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(response.isCommitted(), equalTo(false));
+        assertThat(response.getContentAsByteArray().length, equalTo(0));
+    }
+
+    @Test
+    void streamCommitsByRepositoryId_readingFailsAfterFirstFlush_endsStreamWithErrorLine()
+        throws GitException, NoProviderFoundException, IOException {
+        // Given
+        long platformId = Randoms.getLong();
+        long userId = Randoms.getLong();
+        CommitDTO commit = CommitDTO.builder().id(Randoms.alpha()).build();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = mock(Authentication.class);
+
+        mockUserId(userId, authentication);
+        when(commitMapper.dtoToDTO(commit1)).thenReturn(commit);
+        when(repositoryService.getCommitSource(userId, platformId, defaultBranch, false, null))
+            .thenReturn(consumer -> {
+                for (int i = 0; i < STREAM_FLUSH_INTERVAL; i++) {
+                    consumer.accept(commit1);
+                }
+                throw new IllegalStateException();
+            });
+
+        // When
+        sut.streamCommitsByRepositoryId(authentication, platformId, defaultBranch, false, null, response);
+
+        // Then
+        ObjectMapper objectMapper = new ObjectMapper();
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(response.getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(lines.length, equalTo(STREAM_FLUSH_INTERVAL + 1));
+        assertThat(objectMapper.readValue(lines[0], CommitDTO.class).getId(), equalTo(commit.getId()));
+        assertThat(objectMapper.readValue(lines[STREAM_FLUSH_INTERVAL], StreamErrorDTO.class).getError(),
+                   notNullValue());
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void getCommittersByRepositoryId_always_shouldCallService(Boolean mappedByAssignments)
@@ -977,6 +1186,161 @@ class RepositoryEndpointTest {
         assertThat(exception.getStatus(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"day", "WEEK", "Month"})
+    void getStatsTimeline_granularityGiven_shouldCallServiceWithGranularity(String granularity)
+        throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(userId, authentication);
+
+        // When
+        sut.getStatsTimeline(authentication, platformId, defaultBranch, true, granularity);
+
+        // Then
+        verify(repositoryService).getStatsTimeline(userId, platformId, defaultBranch, true,
+                                                   Granularity.valueOf(granularity.toUpperCase()));
+    }
+
+    @Test
+    void getStatsTimeline_serviceReturnsBuckets_shouldReturnMappedBuckets()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(userId, authentication);
+
+        StatsBucketInternalDTO internalDTO = new StatsBucketInternalDTO(new Date(), Randoms.alpha(), 1,
+                                                                        Randoms.integer(0, 10),
+                                                                        Randoms.integer(0, 10));
+        StatsBucketDTO dto = new StatsBucketDTO(internalDTO.getBucketStart(), internalDTO.getCommitter(),
+                                                internalDTO.getNumberOfCommits(), internalDTO.getNumberOfAdditions(),
+                                                internalDTO.getNumberOfDeletions());
+
+        when(repositoryService.getStatsTimeline(userId, platformId, defaultBranch, false, Granularity.WEEK))
+            .thenReturn(List.of(internalDTO));
+        when(statsMapper.bucketDtosToDTOs(List.of(internalDTO))).thenReturn(List.of(dto));
+
+        // When
+        List<StatsBucketDTO> result = sut.getStatsTimeline(authentication, platformId, defaultBranch, false,
+                                                           "week");
+
+        // Then
+        assertThat(result, containsInAnyOrder(equalTo(dto)));
+    }
+
+    @Test
+    void getStatsTimeline_unknownGranularity_throwsBadRequestException() {
+        // Given
+        long platformId = Randoms.getLong();
+
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(Randoms.getLong(), authentication);
+
+        // When + Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> sut.getStatsTimeline(authentication, platformId,
+                                                                                    defaultBranch, false,
+                                                                                    Randoms.alpha()));
+        assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {GitLabException.class, GitHubException.class})
+    void getStatsTimeline_serviceThrowsGitException_throwsBadRequestException(
+        Class<? extends GitException> thrownException) throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(userId, authentication);
+        when(repositoryService.getStatsTimeline(userId, platformId, defaultBranch, false, Granularity.DAY))
+            .thenThrow(thrownException);
+
+        // When + Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> sut.getStatsTimeline(authentication, platformId,
+                                                                                    defaultBranch, false, "day"));
+        assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void getSnapshot_serviceReturnsSnapshot_shouldReturnMappedSnapshot(boolean mapByAssignments)
+        throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(userId, authentication);
+
+        StatsInternalDTO statsInternalDTO = randomStatsInternalDTO();
+        StatsDTO statsDTO = statsInternalDTOToStatsDTO(statsInternalDTO);
+        Assignment assignment = mock(Assignment.class);
+        AssignmentDTO assignmentDTO = mock(AssignmentDTO.class);
+        RepositorySnapshotInternalDTO snapshot =
+            new RepositorySnapshotInternalDTO(List.of(commit1), List.of(statsInternalDTO),
+                                              Set.of(COMMITTER_INTERNAL_DTO_1), List.of(assignment));
+
+        when(repositoryService.getSnapshot(userId, platformId, defaultBranch, mapByAssignments)).thenReturn(snapshot);
+        when(commitMapper.dtosToDTOs(List.of(commit1))).thenReturn(List.of(commitDTO1));
+        mockStatsMapper(List.of(statsInternalDTO), List.of(statsDTO));
+        when(committerMapper.dtosToDTOs(Set.of(COMMITTER_INTERNAL_DTO_1))).thenReturn(List.of(COMMITTER_DTO_1));
+        when(assignmentMapper.entitiesToDTO(List.of(assignment))).thenReturn(List.of(assignmentDTO));
+
+        // When
+        RepositorySnapshotDTO result = sut.getSnapshot(authentication, platformId, defaultBranch, mapByAssignments);
+
+        // Then
+        assertThat(result, equalTo(new RepositorySnapshotDTO(List.of(commitDTO1), List.of(statsDTO),
+                                                             List.of(COMMITTER_DTO_1), List.of(assignmentDTO))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {GitLabException.class, GitHubException.class})
+    void getSnapshot_serviceThrowsGitException_throwsBadRequestException(Class<? extends GitException> thrownException)
+        throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(userId, authentication);
+        when(repositoryService.getSnapshot(userId, platformId, defaultBranch, false)).thenThrow(thrownException);
+
+        // When + Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> sut.getSnapshot(authentication, platformId,
+                                                                               defaultBranch, false));
+        assertThat(exception.getStatus(), equalTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void getSnapshot_serviceThrowsNoProviderFound_throwsInternalServerErrorException()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        Authentication authentication = mock(Authentication.class);
+        mockUserId(userId, authentication);
+        when(repositoryService.getSnapshot(userId, platformId, defaultBranch, false))
+            .thenThrow(NoProviderFoundException.class);
+
+        // When + Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                                                         () -> sut.getSnapshot(authentication, platformId,
+                                                                               defaultBranch, false));
+        assertThat(exception.getStatus(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
     private void mockStatsService(long userId, long platformId, boolean mapByAssignments, List<StatsInternalDTO> result)
         throws NoProviderFoundException, GitException {
         when(repositoryService.getStats(userId, platformId, defaultBranch, mapByAssignments)).thenReturn(result);
@@ -1110,4 +1474,12 @@ class RepositoryEndpointTest {
         doThrow(new IllegalArgumentException(exceptionMessage)).when(repositoryService)
                                                                .addAssignment(userId, platformId, createAssignmentDTO);
     }
+
+    private void prepareRepositoryStreamCommits(long platformId, long userId, String branch,
+                                                boolean mappedByAssignments, String name,
+                                                CommitAggregatedInternalDTO... commits)
+        throws GitException, NoProviderFoundException {
+        when(repositoryService.getCommitSource(userId, platformId, branch, mappedByAssignments, name))
+            .thenReturn(consumer -> List.of(commits).forEach(consumer));
+    }
 }
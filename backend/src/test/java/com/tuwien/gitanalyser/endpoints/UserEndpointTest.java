@@ -46,7 +46,7 @@ class UserEndpointTest {
     }
 
     @ParameterizedTest
-    @EnumSource(AuthenticationProvider.class)
+    @EnumSource(value = AuthenticationProvider.class, names = {"GITHUB", "GITLAB"})
     void getUser_serviceReturnsUser_callsMapper(AuthenticationProvider authenticationProvider) throws NotFoundException {
         // Given
         Authentication authentication = mock(Authentication.class);
@@ -65,7 +65,7 @@ class UserEndpointTest {
     }
 
     @ParameterizedTest
-    @EnumSource(AuthenticationProvider.class)
+    @EnumSource(value = AuthenticationProvider.class, names = {"GITHUB", "GITLAB"})
     void getUser_serviceReturnsUser_returnsValueFromMapper(AuthenticationProvider authenticationProvider) throws NotFoundException {
         // Given
         Authentication authentication = mock(Authentication.class);
@@ -0,0 +1,214 @@
+package com.tuwien.gitanalyser.endpoints;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.PushEventInternalDTO;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.exception.AuthenticationException;
+import com.tuwien.gitanalyser.exception.BadRequestException;
+import com.tuwien.gitanalyser.security.WebhookVerifier;
+import com.tuwien.gitanalyser.security.jwt.FingerprintService;
+import com.tuwien.gitanalyser.service.WebhookService;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import utils.Randoms;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.hamcrest.MockitoHamcrest.argThat;
+
+class WebhookEndpointTest {
+
+    private static final String GITHUB_PUSH_PAYLOAD = "/webhooks/github-push.json";
+    private static final String GITLAB_PUSH_PAYLOAD = "/webhooks/gitlab-push.json";
+    private static final String GITHUB_PUSH_EVENT = "push";
+    private static final String GITLAB_PUSH_EVENT = "Push Hook";
+
+    private WebhookEndpoint sut;
+    private WebhookService webhookService;
+    private String gitHubSecret;
+    private String gitLabToken;
+
+    @BeforeEach
+    void setUp() {
+        webhookService = mock(WebhookService.class);
+        gitHubSecret = Randoms.alpha();
+        gitLabToken = Randoms.alpha();
+        sut = new WebhookEndpoint(webhookService, new WebhookVerifier(gitHubSecret, gitLabToken), new ObjectMapper());
+    }
+
+    @Test
+    void receiveGitHubEvent_recordedPushWithValidSignature_shouldPassPushOn()
+        throws IOException, GeneralSecurityException {
+        // Given
+        byte[] payload = readPayload(GITHUB_PUSH_PAYLOAD);
+
+        // When
+        ResponseEntity<Void> result = sut.receiveGitHubEvent(GITHUB_PUSH_EVENT, sign(payload), payload);
+
+        // Then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.ACCEPTED));
+        verify(webhookService).pushReceived(argThat(pushEventMatcher(AuthenticationProvider.GITHUB, 186853002L,
+                                                                     "main", "main",
+                                                                     "59b20b8d5c6ff8d09518454d4dd8b7b30f095ab5")));
+    }
+
+    @Test
+    void receiveGitHubEvent_payloadChangedAfterSigning_shouldThrowAuthenticationException()
+        throws IOException, GeneralSecurityException {
+        // Given
+        byte[] payload = readPayload(GITHUB_PUSH_PAYLOAD);
+        String signature = sign(payload);
+        byte[] changedPayload = new String(payload, StandardCharsets.UTF_8).replace("186853002", "1")
+                                                                             .getBytes(StandardCharsets.UTF_8);
+
+        // When + Then
+        assertThrows(AuthenticationException.class,
+                     () -> sut.receiveGitHubEvent(GITHUB_PUSH_EVENT, signature, changedPayload));
+        verify(webhookService, never()).pushReceived(any());
+    }
+
+    @Test
+    void receiveGitHubEvent_noSignature_shouldThrowAuthenticationException() throws IOException {
+        // Given
+        byte[] payload = readPayload(GITHUB_PUSH_PAYLOAD);
+
+        // When + Then
+        assertThrows(AuthenticationException.class, () -> sut.receiveGitHubEvent(GITHUB_PUSH_EVENT, null, payload));
+        verify(webhookService, never()).pushReceived(any());
+    }
+
+    @Test
+    void receiveGitHubEvent_pingEvent_shouldIgnoreEvent() throws GeneralSecurityException {
+        // Given
+        byte[] payload = "{\"zen\":\"Keep it logically awesome.\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        ResponseEntity<Void> result = sut.receiveGitHubEvent("ping", sign(payload), payload);
+
+        // Then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.NO_CONTENT));
+        verify(webhookService, never()).pushReceived(any());
+    }
+
+    @Test
+    void receiveGitHubEvent_tagPushed_shouldIgnoreEvent() throws IOException, GeneralSecurityException {
+        // Given
+        byte[] payload = new String(readPayload(GITHUB_PUSH_PAYLOAD), StandardCharsets.UTF_8)
+                             .replace("refs/heads/main", "refs/tags/v1.0")
+                             .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        ResponseEntity<Void> result = sut.receiveGitHubEvent(GITHUB_PUSH_EVENT, sign(payload), payload);
+
+        // Then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.NO_CONTENT));
+        verify(webhookService, never()).pushReceived(any());
+    }
+
+    @Test
+    void receiveGitHubEvent_branchDeleted_shouldIgnoreEvent() throws IOException, GeneralSecurityException {
+        // Given
+        byte[] payload = new String(readPayload(GITHUB_PUSH_PAYLOAD), StandardCharsets.UTF_8)
+                             .replace("\"after\": \"59b20b8d5c6ff8d09518454d4dd8b7b30f095ab5\"",
+                                      "\"after\": \"0000000000000000000000000000000000000000\"")
+                             .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        ResponseEntity<Void> result = sut.receiveGitHubEvent(GITHUB_PUSH_EVENT, sign(payload), payload);
+
+        // Then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.NO_CONTENT));
+        verify(webhookService, never()).pushReceived(any());
+    }
+
+    @Test
+    void receiveGitHubEvent_invalidJson_shouldThrowBadRequestException() throws GeneralSecurityException {
+        // Given
+        byte[] payload = "{".getBytes(StandardCharsets.UTF_8);
+        String signature = sign(payload);
+
+        // When + Then
+        assertThrows(BadRequestException.class, () -> sut.receiveGitHubEvent(GITHUB_PUSH_EVENT, signature, payload));
+    }
+
+    @Test
+    void receiveGitLabEvent_recordedPushWithValidToken_shouldPassPushOn() throws IOException {
+        // Given
+        byte[] payload = readPayload(GITLAB_PUSH_PAYLOAD);
+
+        // When
+        ResponseEntity<Void> result = sut.receiveGitLabEvent(GITLAB_PUSH_EVENT, gitLabToken, payload);
+
+        // Then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.ACCEPTED));
+        verify(webhookService).pushReceived(argThat(pushEventMatcher(AuthenticationProvider.GITLAB, 15L,
+                                                                     "master", "master",
+                                                                     "da1560886d4f094c3e6c9ef40349f7d38b5d27d7")));
+    }
+
+    @Test
+    void receiveGitLabEvent_wrongToken_shouldThrowAuthenticationException() throws IOException {
+        // Given
+        byte[] payload = readPayload(GITLAB_PUSH_PAYLOAD);
+
+        // When + Then
+        assertThrows(AuthenticationException.class,
+                     () -> sut.receiveGitLabEvent(GITLAB_PUSH_EVENT, Randoms.alpha(), payload));
+        verify(webhookService, never()).pushReceived(any());
+    }
+
+    @Test
+    void receiveGitLabEvent_otherEvent_shouldIgnoreEvent() throws IOException {
+        // Given
+        byte[] payload = readPayload(GITLAB_PUSH_PAYLOAD);
+
+        // When
+        ResponseEntity<Void> result = sut.receiveGitLabEvent("Tag Push Hook", gitLabToken, payload);
+
+        // Then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.NO_CONTENT));
+        verify(webhookService, never()).pushReceived(any());
+    }
+
+    private byte[] readPayload(String resource) throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream(resource)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private String sign(byte[] payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(gitHubSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + FingerprintService.toHexString(mac.doFinal(payload));
+    }
+
+    private Matcher<PushEventInternalDTO> pushEventMatcher(AuthenticationProvider authenticationProvider,
+                                                           Long platformId, String branch, String defaultBranch,
+                                                           String headId) {
+        return allOf(
+            hasFeature("authenticationProvider", PushEventInternalDTO::getAuthenticationProvider,
+                       equalTo(authenticationProvider)),
+            hasFeature("platformId", PushEventInternalDTO::getPlatformId, equalTo(platformId)),
+            hasFeature("branch", PushEventInternalDTO::getBranch, equalTo(branch)),
+            hasFeature("defaultBranch", PushEventInternalDTO::getDefaultBranch, equalTo(defaultBranch)),
+            hasFeature("headId", PushEventInternalDTO::getHeadId, equalTo(headId))
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.tuwien.gitanalyser.entity.utils;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class GranularityTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "DAY, 2023-03-15T18:30:00Z, 2023-03-15T00:00:00Z",
+        "DAY, 2023-03-15T00:00:00Z, 2023-03-15T00:00:00Z",
+        "WEEK, 2023-03-15T18:30:00Z, 2023-03-13T00:00:00Z",
+        "WEEK, 2023-03-19T23:59:59Z, 2023-03-13T00:00:00Z",
+        "WEEK, 2023-03-13T00:00:00Z, 2023-03-13T00:00:00Z",
+        "WEEK, 2023-03-01T12:00:00Z, 2023-02-27T00:00:00Z",
+        "MONTH, 2023-03-15T18:30:00Z, 2023-03-01T00:00:00Z",
+        "MONTH, 2023-02-28T23:59:59Z, 2023-02-01T00:00:00Z"
+    })
+    void truncate_dateGiven_returnsStartOfBucketInUtc(Granularity granularity, String date, String bucketStart) {
+        // When
+        Date result = granularity.truncate(Date.from(Instant.parse(date)));
+
+        // Then
+        assertThat(result, equalTo(Date.from(Instant.parse(bucketStart))));
+    }
+}
@@ -6,6 +6,9 @@ import com.tuwien.gitanalyser.entity.SubAssignment;
 import com.tuwien.gitanalyser.entity.User;
 import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
 import com.tuwien.gitanalyser.repository.AssignmentRepository;
+import com.tuwien.gitanalyser.repository.CachedCommitRepository;
+import com.tuwien.gitanalyser.repository.CommitHistoryRepository;
+import com.tuwien.gitanalyser.repository.CommitRollupRepository;
 import com.tuwien.gitanalyser.repository.RepositoryRepository;
 import com.tuwien.gitanalyser.repository.SubAssignmentRepository;
 import com.tuwien.gitanalyser.repository.UserRepository;
@@ -14,11 +17,12 @@ import com.tuwien.gitanalyser.security.jwt.FingerprintService;
 import com.tuwien.gitanalyser.security.jwt.JWTTokenProvider;
 import com.tuwien.gitanalyser.service.apiCalls.factory.GitHubAPIFactory;
 import com.tuwien.gitanalyser.service.apiCalls.factory.GitLabAPIFactory;
+import com.tuwien.gitanalyser.service.apiCalls.gitlab.GitLabCommitPageLoader;
+import com.tuwien.gitanalyser.service.apiCalls.gitlab.GitLabCommitPageLoader.CommitPage;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.assertj.core.util.Strings;
-import org.gitlab4j.api.CommitsApi;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.ProjectApi;
@@ -45,11 +49,20 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// the git libraries are mocked, so commits have to be loaded through the GitHub REST api and GitLab pages one by one,
+// small batches let a few commits already span several chunks of the commit cache
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"gitanalyser.github.commit-fetch-engine=rest", "gitanalyser.gitlab.commit-fetch.threads=1",
+        "gitanalyser.commit-cache.batch-size=2"})
 @Import(BaseIntegrationTest.IntegrationTestDependencyInjection.class)
 public abstract class BaseIntegrationTest {
 
@@ -63,6 +76,8 @@ public abstract class BaseIntegrationTest {
     protected static final String COMMITTER_ENDPOINT_EXTENSION = "committer";
     protected static final String STATS_ENDPOINT_EXTENSION = "stats";
     protected static final String COMMITS_ENDPOINT_EXTENSION = "commit";
+    protected static final String SNAPSHOT_ENDPOINT_EXTENSION = "snapshot";
+    protected static final String STATS_TIMELINE_ENDPOINT_EXTENSION = "stats/timeline";
     private static final String SERVER_HOST = "http://localhost";
     protected String gitHubUserToken;
     protected String gitHubAccessToken;
@@ -78,6 +93,8 @@ public abstract class BaseIntegrationTest {
     protected GitHubAPIFactory gitHubAPIFactory;
     @Autowired
     protected GitLabAPIFactory gitLabAPIFactory;
+    @Autowired
+    protected GitLabCommitPageLoader gitLabCommitPageLoader;
     protected User gitLabUser;
     protected User gitHubUser;
     @Autowired
@@ -89,6 +106,12 @@ public abstract class BaseIntegrationTest {
     @Autowired
     protected SubAssignmentRepository subAssignmentRepository;
     @Autowired
+    protected CommitHistoryRepository commitHistoryRepository;
+    @Autowired
+    protected CachedCommitRepository cachedCommitRepository;
+    @Autowired
+    protected CommitRollupRepository commitRollupRepository;
+    @Autowired
     private JWTTokenProvider jwtTokenProvider;
     @Autowired
     private FingerprintService fingerPrintService;
@@ -127,6 +150,9 @@ public abstract class BaseIntegrationTest {
         assignmentRepository.deleteAll();
         repositoryRepository.deleteAll();
         userRepository.deleteAll();
+        cachedCommitRepository.deleteAll();
+        commitRollupRepository.deleteAll();
+        commitHistoryRepository.deleteAll();
     }
 
     private User createUser(String username, String email, String accessToken, Integer platformId,
@@ -178,12 +204,6 @@ public abstract class BaseIntegrationTest {
         return projectApi;
     }
 
-    protected CommitsApi gitLabMockCommitsApi(GitLabApi gitLabApi) {
-        CommitsApi commitsApi = mock(CommitsApi.class);
-        when(gitLabApi.getCommitsApi()).thenReturn(commitsApi);
-        return commitsApi;
-    }
-
     protected void gitHubMockBranches(GHRepository ghRepository) throws IOException {
         when(ghRepository.getBranches()).thenReturn(Map.of());
     }
@@ -211,16 +231,15 @@ public abstract class BaseIntegrationTest {
         when(projectApi.getOwnedProjects()).thenReturn(projects);
     }
 
-    protected void gitLabMockGetCommits(CommitsApi commitsApi, Long repositoryId, String branch, Commit... commits)
+    protected void gitLabMockGetCommits(GitLabApi gitLabApi, Long repositoryId, String branch, Commit... commits)
         throws GitLabApiException {
-        when(commitsApi.getCommits(repositoryId,
-                                   branch,
-                                   null,
-                                   null,
-                                   null,
-                                   false,
-                                   true,
-                                   null)).thenReturn(List.of(commits));
+        when(gitLabCommitPageLoader.loadPage(eq(gitLabApi), eq(repositoryId), eq(branch), isNull(), eq(1), anyInt()))
+            .thenReturn(new CommitPage(List.of(commits), 1, false));
+    }
+
+    protected void gitLabVerifyCommitsLoaded(GitLabApi gitLabApi, Long repositoryId, String branch)
+        throws GitLabApiException {
+        verify(gitLabCommitPageLoader).loadPage(eq(gitLabApi), eq(repositoryId), eq(branch), any(), eq(1), anyInt());
     }
 
     protected Project gitLabCreateRandomProject() {
@@ -266,6 +285,16 @@ public abstract class BaseIntegrationTest {
                           .then().extract().response();
     }
 
+    protected Response callGetRestEndpoint(String authorizationToken, String url, Map<String, String> queryParams,
+                                           String accept) {
+        return RestAssured.given().log().all()
+                          .contentType(ContentType.JSON)
+                          .accept(accept)
+                          .header(HttpHeaders.AUTHORIZATION, authorizationToken)
+                          .when().queryParams(queryParams).get(url)
+                          .then().extract().response();
+    }
+
     protected Response callDeleteRestEndpoint(String authorizationToken, String url) {
         return RestAssured.given().log().all()
                           .contentType(ContentType.JSON)
@@ -296,5 +325,10 @@ public abstract class BaseIntegrationTest {
             return mock(GitLabAPIFactory.class);
         }
 
+        @Bean
+        public GitLabCommitPageLoader gitLabCommitPageLoader() {
+            return mock(GitLabCommitPageLoader.class);
+        }
+
     }
 }
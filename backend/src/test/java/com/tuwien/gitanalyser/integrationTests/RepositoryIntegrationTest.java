@@ -1,17 +1,20 @@
 package com.tuwien.gitanalyser.integrationTests;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tuwien.gitanalyser.endpoints.dtos.CommitDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.CommitterDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.RepositorySnapshotDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.StatsBucketDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.StatsDTO;
 import com.tuwien.gitanalyser.entity.Assignment;
 import com.tuwien.gitanalyser.entity.Repository;
 import com.tuwien.gitanalyser.entity.SubAssignment;
 import io.restassured.response.Response;
-import org.gitlab4j.api.CommitsApi;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.models.Commit;
 import org.gitlab4j.api.models.CommitStats;
+import org.gitlab4j.api.models.Project;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -19,18 +22,32 @@ import org.kohsuke.github.GHCommitQueryBuilder;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.PagedIterable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import utils.Randoms;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static utils.Matchers.CommitDTOMatcher;
@@ -47,11 +64,10 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -68,6 +84,55 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         ));
     }
 
+    @Test
+    public void queryStatsTimeline_gitLabUserAndTwoCommitsOfSameCommitterInOneMonth_shouldReturnOneBucket()
+        throws GitLabApiException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String name = Randoms.alpha();
+
+        GitLabApi gitLabApi = gitLabMockFactory();
+
+        Commit commit1 = mockGitLabCommit(name);
+        Commit commit2 = mockGitLabCommit(name);
+        when(commit1.getCommittedDate()).thenReturn(Date.from(Instant.parse("2023-03-02T10:00:00Z")));
+        when(commit2.getCommittedDate()).thenReturn(Date.from(Instant.parse("2023-03-30T10:00:00Z")));
+
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
+
+        // When
+        Response response = callGetRestEndpoint(gitLabUserToken,
+                                                REPOSITORY_ENDPOINT + "/" + repositoryId + "/"
+                                                    + STATS_TIMELINE_ENDPOINT_EXTENSION,
+                                                Map.of("branch", branch, "granularity", "month"));
+
+        // Then
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK.value()));
+        assertThat(Arrays.asList(response.as(StatsBucketDTO[].class)), contains(allOf(
+            hasFeature("bucketStart", StatsBucketDTO::getBucketStart,
+                       equalTo(Date.from(Instant.parse("2023-03-01T00:00:00Z")))),
+            hasFeature("committer", StatsBucketDTO::getCommitter, equalTo(name)),
+            hasFeature("numberOfCommits", StatsBucketDTO::getNumberOfCommits, equalTo(2)),
+            hasFeature("numberOfAdditions", StatsBucketDTO::getNumberOfAdditions,
+                       equalTo(commit1.getStats().getAdditions() + commit2.getStats().getAdditions()))
+        )));
+        // one rollup for each of the day buckets, the week buckets and the month bucket
+        assertThat(commitRollupRepository.count(), equalTo(5L));
+    }
+
+    @Test
+    public void queryStatsTimeline_unknownGranularity_shouldReturnBadRequest() {
+        // When
+        Response response = callGetRestEndpoint(gitLabUserToken,
+                                                REPOSITORY_ENDPOINT + "/" + Randoms.getLong() + "/"
+                                                    + STATS_TIMELINE_ENDPOINT_EXTENSION,
+                                                Map.of("granularity", "year"));
+
+        // Then
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST.value()));
+    }
+
     @Test
     public void queryStats_gitLabUserAndTwoCommitsAvailable_shouldReturnCorrectStats() throws GitLabApiException {
         // Given
@@ -75,12 +140,11 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit();
         Commit commit2 = mockGitLabCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -106,12 +170,11 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit();
         Commit commit2 = mockGitLabCommit(commit1.getAuthorName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -136,11 +199,10 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -165,12 +227,11 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit();
         Commit commit2 = mockGitLabCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -196,12 +257,11 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit();
         Commit commit2 = mockGitLabCommit(commit1.getAuthorName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -227,13 +287,12 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String key = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         SubAssignment subAssignment = prepareAssignment(repositoryId, key);
 
         Commit commit = mockGitLabCommit(subAssignment.getAssignedName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -259,7 +318,6 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String key = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Repository repository = addRepository(gitLabUser, repositoryId);
         Assignment assignment = addAssignment(key, repository);
@@ -269,7 +327,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         Commit commit1 = mockGitLabCommit(subAssignment1.getAssignedName());
         Commit commit2 = mockGitLabCommit(subAssignment2.getAssignedName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -293,11 +351,10 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         callGetRestEndpoint(gitLabUserToken,
@@ -305,7 +362,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
                             Map.of("branch", branch));
 
         // Then
-        verify(gitLabApi).getCommitsApi();
+        gitLabVerifyCommitsLoaded(gitLabApi, repositoryId, branch);
     }
 
     @Test
@@ -315,12 +372,11 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit();
         CommitDTO commitDTO = mockCommitDTO(commit);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -344,14 +400,13 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit();
         CommitDTO commitDTO1 = mockCommitDTO(commit1);
         Commit commit2 = mockGitLabCommit();
         CommitDTO commitDTO2 = mockCommitDTO(commit2);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -371,6 +426,135 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
                                                            + commitDTO2.getAdditions() - commitDTO2.getDeletions())));
     }
 
+    @Test
+    public void streamAllCommits_gitLabUserAndTwoCommitsAvailable_shouldWriteOneLinePerCommit()
+        throws GitLabApiException, IOException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        GitLabApi gitLabApi = gitLabMockFactory();
+
+        Commit commit1 = mockGitLabCommit();
+        CommitDTO commitDTO1 = mockCommitDTO(commit1);
+        Commit commit2 = mockGitLabCommit();
+        CommitDTO commitDTO2 = mockCommitDTO(commit2);
+
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
+
+        // When
+        Response response = callGetRestEndpoint(gitLabUserToken,
+                                                REPOSITORY_ENDPOINT + "/" + repositoryId + "/"
+                                                    + COMMITS_ENDPOINT_EXTENSION,
+                                                Map.of("branch", branch),
+                                                MediaType.APPLICATION_NDJSON_VALUE);
+
+        // Then
+        assertThat(response.getContentType(), startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        String[] lines = response.asString().split("\n");
+        assertThat(lines.length, equalTo(2));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<CommitDTO> commits = new ArrayList<>();
+        for (String line : lines) {
+            commits.add(objectMapper.readValue(line, CommitDTO.class));
+        }
+        assertThat(commits,
+                   Matchers.containsInAnyOrder(commitDTOMatcher(commitDTO1,
+                                                                commitDTO1.getAdditions() - commitDTO1.getDeletions()),
+                                               commitDTOMatcher(commitDTO2,
+                                                       commitDTO1.getAdditions() - commitDTO1.getDeletions()
+                                                           + commitDTO2.getAdditions() - commitDTO2.getDeletions())));
+    }
+
+    @Test
+    public void streamAllCommits_gitLabUserAndLoadingCommitsFails_shouldReturnBadRequest()
+        throws GitLabApiException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        GitLabApi gitLabApi = gitLabMockFactory();
+        when(gitLabCommitPageLoader.loadPage(eq(gitLabApi), eq(repositoryId), eq(branch), any(), anyInt(), anyInt()))
+            .thenThrow(new GitLabApiException("not Found"));
+
+        // When
+        Response response = callGetRestEndpoint(gitLabUserToken,
+                                                REPOSITORY_ENDPOINT + "/" + repositoryId + "/"
+                                                    + COMMITS_ENDPOINT_EXTENSION,
+                                                Map.of("branch", branch),
+                                                MediaType.APPLICATION_NDJSON_VALUE);
+
+        // Then
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @Test
+    public void streamAllCommits_gitLabUserAndHistoryCachedInSeveralChunks_shouldStreamSameLinesWithoutLoadingAgain()
+        throws GitLabApiException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        GitLabApi gitLabApi = gitLabMockFactory();
+        Project project = gitLabCreateRandomProject();
+        project.setId(repositoryId);
+        gitLabMockGetProject(gitLabMockProjectApi(gitLabApi), project);
+
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, mockGitLabCommit(), mockGitLabCommit(),
+                             mockGitLabCommit());
+
+        String path = REPOSITORY_ENDPOINT + "/" + repositoryId + "/" + COMMITS_ENDPOINT_EXTENSION;
+        String loadedLines = callGetRestEndpoint(gitLabUserToken, path, Map.of("branch", branch),
+                                                 MediaType.APPLICATION_NDJSON_VALUE).asString();
+
+        // When
+        String cachedLines = callGetRestEndpoint(gitLabUserToken, path, Map.of("branch", branch),
+                                                 MediaType.APPLICATION_NDJSON_VALUE).asString();
+
+        // Then
+        assertThat(cachedLines.split("\n").length, equalTo(3));
+        assertThat(cachedLines, equalTo(loadedLines));
+        verify(gitLabCommitPageLoader, times(1)).loadPage(eq(gitLabApi), eq(repositoryId), eq(branch), any(),
+                                                          anyInt(), anyInt());
+    }
+
+    @Test
+    public void querySnapshot_gitLabUserAndTwoCommitsAvailable_shouldReturnCommitsStatsAndCommitters()
+        throws GitLabApiException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        GitLabApi gitLabApi = gitLabMockFactory();
+
+        Commit commit1 = mockGitLabCommit();
+        CommitDTO commitDTO1 = mockCommitDTO(commit1);
+        Commit commit2 = mockGitLabCommit();
+        CommitDTO commitDTO2 = mockCommitDTO(commit2);
+
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
+
+        // When
+        Response response = callGetRestEndpoint(gitLabUserToken,
+                                                REPOSITORY_ENDPOINT + "/" + repositoryId + "/"
+                                                    + SNAPSHOT_ENDPOINT_EXTENSION,
+                                                Map.of("branch", branch));
+
+        // Then
+        RepositorySnapshotDTO snapshot = response.as(RepositorySnapshotDTO.class);
+        assertThat(snapshot.getCommits(),
+                   Matchers.containsInAnyOrder(commitDTOMatcher(commitDTO1,
+                                                                commitDTO1.getAdditions() - commitDTO1.getDeletions()),
+                                               commitDTOMatcher(commitDTO2,
+                                                       commitDTO1.getAdditions() - commitDTO1.getDeletions()
+                                                           + commitDTO2.getAdditions() - commitDTO2.getDeletions())));
+        assertThat(snapshot.getStats(), hasSize(2));
+        assertThat(snapshot.getCommitters(), Matchers.containsInAnyOrder(new CommitterDTO(commitDTO1.getAuthor()),
+                                                                         new CommitterDTO(commitDTO2.getAuthor())));
+        assertThat(snapshot.getAssignments(), empty());
+    }
+
     @Test
     public void queryAllCommits_gitHubUser_shouldCallGitHubService() throws IOException {
         // Given
@@ -422,11 +606,10 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         SubAssignment subAssignment = addSubAssignment(assignment);
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit(subAssignment.getAssignedName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         callGetRestEndpoint(gitLabUserToken,
@@ -435,7 +618,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
                                    "mappedByAssignments", "true"));
 
         // Then
-        verify(gitLabApi).getCommitsApi();
+        gitLabVerifyCommitsLoaded(gitLabApi, repositoryId, branch);
     }
 
     @Test
@@ -454,9 +637,8 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         CommitDTO commitDTO = mockCommitDTO(key, commit);
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
                                                 REPOSITORY_ENDPOINT + "/" + repositoryId + "/"
@@ -487,14 +669,13 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         SubAssignment subAssignment = addSubAssignment(assignment);
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit(subAssignment.getAssignedName());
         CommitDTO commitDTO1 = mockCommitDTO(key, commit1);
         Commit commit2 = mockGitLabCommit(subAssignment.getAssignedName());
         CommitDTO commitDTO2 = mockCommitDTO(key, commit2);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -568,11 +749,10 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String committerName = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         callGetRestEndpoint(gitLabUserToken,
@@ -581,7 +761,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
                                    "committerName", committerName));
 
         // Then
-        verify(gitLabApi).getCommitsApi();
+        gitLabVerifyCommitsLoaded(gitLabApi, repositoryId, branch);
     }
 
     @Test
@@ -592,12 +772,11 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit();
         CommitDTO commitDTO = mockCommitDTO(commit);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -623,13 +802,12 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit();
         CommitDTO commitDTO1 = mockCommitDTO(commit1);
         Commit commit2 = mockGitLabCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -656,14 +834,13 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String committerName = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit(committerName);
         CommitDTO commitDTO1 = mockCommitDTO(commit1);
         Commit commit2 = mockGitLabCommit(committerName);
         CommitDTO commitDTO2 = mockCommitDTO(commit2);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -743,11 +920,10 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         SubAssignment subAssignment = addSubAssignment(assignment);
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockGitLabCommit(subAssignment.getAssignedName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         callGetRestEndpoint(gitLabUserToken,
@@ -757,7 +933,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
                                    "committerName", committerName));
 
         // Then
-        verify(gitLabApi).getCommitsApi();
+        gitLabVerifyCommitsLoaded(gitLabApi, repositoryId, branch);
     }
 
     @Test
@@ -776,9 +952,8 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         CommitDTO commitDTO = mockCommitDTO(key, commit);
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
                                                 REPOSITORY_ENDPOINT + "/" + repositoryId + "/"
@@ -809,14 +984,13 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         SubAssignment subAssignment = addSubAssignment(assignment);
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockGitLabCommit(subAssignment.getAssignedName());
         CommitDTO commitDTO1 = mockCommitDTO(key, commit1);
         Commit commit2 = mockGitLabCommit(subAssignment.getAssignedName());
         CommitDTO commitDTO2 = mockCommitDTO(key, commit2);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -896,10 +1070,9 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockCommit();
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         callGetRestEndpoint(gitLabUserToken,
@@ -907,7 +1080,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
                             Map.of("branch", branch));
 
         // Then
-        verify(gitLabApi).getCommitsApi();
+        gitLabVerifyCommitsLoaded(gitLabApi, repositoryId, branch);
     }
 
     @Test
@@ -918,12 +1091,11 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockCommit();
         CommitterDTO committerDTO = mockCommitterDTO(commit);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -945,14 +1117,13 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockCommit();
         CommitterDTO committerDTO1 = mockCommitterDTO(commit1);
         Commit commit2 = mockCommit();
         CommitterDTO committerDTO2 = mockCommitterDTO(commit2);
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -974,13 +1145,12 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit1 = mockCommit();
         CommitterDTO committerDTO = mockCommitterDTO(commit1);
         Commit commit2 = mockCommit(commit1.getAuthorName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -1042,10 +1212,9 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String branch = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         Commit commit = mockCommit();
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         callGetRestEndpoint(gitLabUserToken,
@@ -1054,7 +1223,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
                                    "mappedByAssignments", "true"));
 
         // Then
-        verify(gitLabApi).getCommitsApi();
+        gitLabVerifyCommitsLoaded(gitLabApi, repositoryId, branch);
     }
 
     @Test
@@ -1066,13 +1235,12 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String key = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         SubAssignment subAssignment = prepareAssignment(repositoryId, key);
 
         Commit commit = mockCommit(subAssignment.getAssignedName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -1097,14 +1265,13 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String key = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         SubAssignment subAssignment = prepareAssignment(repositoryId, key);
 
         Commit commit1 = mockCommit(subAssignment.getAssignedName());
         Commit commit2 = mockCommit();
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -1130,14 +1297,13 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         String key = Randoms.alpha();
 
         GitLabApi gitLabApi = gitLabMockFactory();
-        CommitsApi commitsApi = gitLabMockCommitsApi(gitLabApi);
 
         SubAssignment subAssignment = prepareAssignment(repositoryId, key);
 
         Commit commit1 = mockCommit(subAssignment.getAssignedName());
         Commit commit2 = mockCommit(subAssignment.getAssignedName());
 
-        gitLabMockGetCommits(commitsApi, repositoryId, branch, commit1, commit2);
+        gitLabMockGetCommits(gitLabApi, repositoryId, branch, commit1, commit2);
 
         // When
         Response response = callGetRestEndpoint(gitLabUserToken,
@@ -1239,6 +1405,7 @@ public class RepositoryIntegrationTest extends BaseIntegrationTest {
         GHCommitQueryBuilder commitQueryBuilder = mock(GHCommitQueryBuilder.class);
         when(ghRepository.queryCommits()).thenReturn(commitQueryBuilder);
         when(commitQueryBuilder.from(branch)).thenReturn(commitQueryBuilder);
+        when(commitQueryBuilder.pageSize(anyInt())).thenReturn(commitQueryBuilder);
         PagedIterable pagedIterable = mock(PagedIterable.class);
         when(commitQueryBuilder.list()).thenReturn(pagedIterable);
         when(pagedIterable.toList()).thenReturn(List.of());
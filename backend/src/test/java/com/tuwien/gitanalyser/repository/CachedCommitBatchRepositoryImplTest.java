@@ -0,0 +1,150 @@
+package com.tuwien.gitanalyser.repository;
+
+import com.tuwien.gitanalyser.entity.CachedCommit;
+import com.tuwien.gitanalyser.entity.CommitHistory;
+import com.tuwien.gitanalyser.entity.CommitRollup;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import utils.Randoms;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class CachedCommitBatchRepositoryImplTest {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int NUMBER_OF_COMMITS = 10_000;
+    private static final long HISTORY_ID = 1L;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Map<String, AtomicInteger> calls;
+    private CommitHistory history;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + Randoms.alpha() + ";MODE=MySQL", "sa", "",
+                                                    true);
+        calls = new ConcurrentHashMap<>();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table cached_commit (id bigint generated by default as identity primary key, "
+                             + "history_id bigint, sort_index int, sha varchar(255), message clob, "
+                             + "author varchar(255), committed_at timestamp, parent_ids varchar(255), "
+                             + "merge_commit boolean, additions int, deletions int)");
+        jdbcTemplate.execute("create table commit_rollup (id bigint generated by default as identity primary key, "
+                             + "history_id bigint, granularity varchar(255), bucket_start timestamp, "
+                             + "author varchar(255), number_of_commits int, number_of_additions int, "
+                             + "number_of_deletions int)");
+        jdbcTemplate = new JdbcTemplate(countingDataSource());
+        history = CommitHistory.builder().id(HISTORY_ID).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void batchInsert_largeHistory_shouldSendOneStatementPerBatch() {
+        // Given
+        CachedCommitBatchRepositoryImpl sut = new CachedCommitBatchRepositoryImpl(jdbcTemplate, BATCH_SIZE);
+        List<CachedCommit> commits = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_COMMITS; i++) {
+            commits.add(CachedCommit.builder()
+                                    .history(history)
+                                    .sortIndex(i)
+                                    .sha(Randoms.alpha())
+                                    .message(Randoms.alpha())
+                                    .author(Randoms.alpha())
+                                    .committedAt(new Date())
+                                    .parentIds(Randoms.alpha())
+                                    .additions(i)
+                                    .build());
+        }
+
+        // When
+        sut.batchInsert(commits);
+
+        // Then
+        assertThat(count("prepareStatement"), equalTo(1));
+        assertThat(count("executeBatch"), equalTo(NUMBER_OF_COMMITS / BATCH_SIZE));
+        assertThat(count("executeUpdate"), equalTo(0));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from cached_commit", Integer.class),
+                   equalTo(NUMBER_OF_COMMITS));
+    }
+
+    @Test
+    void batchSave_newAndStoredRollups_shouldInsertNewAndUpdateStoredRollupsInBatches() {
+        // Given
+        CommitRollupBatchRepositoryImpl sut = new CommitRollupBatchRepositoryImpl(jdbcTemplate, BATCH_SIZE);
+        sut.batchSave(List.of(createRollup(null, 1)));
+        Long storedId = jdbcTemplate.queryForObject("select id from commit_rollup", Long.class);
+        calls.clear();
+
+        // When
+        sut.batchSave(List.of(createRollup(storedId, 2), createRollup(null, 3), createRollup(null, 4)));
+
+        // Then
+        assertThat(count("executeBatch"), equalTo(2));
+        assertThat(count("executeUpdate"), equalTo(0));
+        assertThat(jdbcTemplate.queryForObject("select number_of_commits from commit_rollup where id = ?",
+                                               Integer.class, storedId), equalTo(2));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from commit_rollup", Integer.class), equalTo(3));
+    }
+
+    private CommitRollup createRollup(final Long id, final int numberOfCommits) {
+        return CommitRollup.builder()
+                           .id(id)
+                           .history(history)
+                           .granularity(Granularity.DAY)
+                           .bucketStart(new Date())
+                           .author(Randoms.alpha())
+                           .numberOfCommits(numberOfCommits)
+                           .build();
+    }
+
+    private int count(final String method) {
+        return calls.getOrDefault(method, new AtomicInteger()).get();
+    }
+
+    /**
+     * counts the statements prepared and executed through the connection of the database.
+     */
+    private SingleConnectionDataSource countingDataSource() throws SQLException {
+        Connection connection = countCalls(Connection.class, dataSource.getConnection());
+        return new SingleConnectionDataSource(connection, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T countCalls(final Class<T> type, final T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            calls.computeIfAbsent(method.getName(), key -> new AtomicInteger()).incrementAndGet();
+            try {
+                Object result = method.invoke(target, args);
+                return result instanceof PreparedStatement statement
+                    ? countCalls(PreparedStatement.class, statement)
+                    : result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -6,6 +6,7 @@ import com.tuwien.gitanalyser.security.jwt.FingerprintPair;
 import com.tuwien.gitanalyser.security.jwt.JWTTokenProvider;
 import com.tuwien.gitanalyser.security.oauth2.GitHubOAuth2User;
 import com.tuwien.gitanalyser.security.oauth2.GitLabOAuth2User;
+import com.tuwien.gitanalyser.service.PrefetchService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.apache.catalina.connector.Request;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,8 @@ import utils.Randoms;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -38,14 +41,19 @@ class CustomAuthenticationSuccessHandlerTest {
 
     private UserService userService;
     private JWTTokenProvider jwtTokenProvider;
+    private PrefetchService prefetchService;
+    private long userId;
 
     @BeforeEach
     void setUp() {
         userService = mock(UserService.class);
         authorizedClientRepository = mock(OAuth2AuthorizedClientRepository.class);
         jwtTokenProvider = mock(JWTTokenProvider.class);
+        prefetchService = mock(PrefetchService.class);
 
-        sut = new CustomAuthenticationSuccessHandler(userService, authorizedClientRepository, jwtTokenProvider);
+        sut = new CustomAuthenticationSuccessHandler(userService, authorizedClientRepository, jwtTokenProvider,
+                                                     prefetchService);
+        userId = Randoms.getLong();
 
         request = mock(Request.class);
         response = mock(HttpServletResponse.class);
@@ -105,7 +113,7 @@ class CustomAuthenticationSuccessHandlerTest {
 
         // Then
         verify(userService).processOAuthPostLogin(any(GitHubOAuth2User.class),
-                                                  eq(tokens.getAccessToken()), eq(tokens.getRefreshToken()));
+                                                  eq(tokens.getAccessToken()), eq(tokens.getRefreshToken()), any());
     }
 
     @Test
@@ -118,7 +126,38 @@ class CustomAuthenticationSuccessHandlerTest {
 
         // Then
         verify(userService).processOAuthPostLogin(any(GitLabOAuth2User.class),
-                                                  eq(tokens.getAccessToken()), eq(tokens.getRefreshToken()));
+                                                  eq(tokens.getAccessToken()), eq(tokens.getRefreshToken()), any());
+    }
+
+    @Test
+    public void onAuthenticationSuccess_accessTokenExpires_shouldPassExpiryToProcessOAuthPostLogin()
+        throws IOException {
+        // Given
+        Tokens tokens = prepareAuthorizedClientRepository(gitLabAuthentication);
+        OAuth2AuthorizedClient authorizedClient = authorizedClientRepository.loadAuthorizedClient(
+            gitLabAuthentication.getAuthorizedClientRegistrationId(), gitLabAuthentication, request);
+        Instant expiresAt = Instant.now();
+        when(authorizedClient.getAccessToken().getExpiresAt()).thenReturn(expiresAt);
+
+        // When
+        sut.onAuthenticationSuccess(request, response, gitLabAuthentication);
+
+        // Then
+        verify(userService).processOAuthPostLogin(any(GitLabOAuth2User.class),
+                                                  eq(tokens.getAccessToken()), eq(tokens.getRefreshToken()),
+                                                  eq(Date.from(expiresAt)));
+    }
+
+    @Test
+    public void onAuthenticationSuccess_always_shouldStartPrefetchForUser() throws IOException {
+        // Given
+        prepareAuthorizedClientRepository(gitLabAuthentication);
+
+        // When
+        sut.onAuthenticationSuccess(request, response, gitLabAuthentication);
+
+        // Then
+        verify(prefetchService).prefetchAfterLogin(userId);
     }
 
     private Tokens prepareAuthorizedClientRepository(OAuth2AuthenticationToken authenticationProvider) {
@@ -132,10 +171,12 @@ class CustomAuthenticationSuccessHandlerTest {
         Tokens tokens = mockTokens(auth2User);
 
         User user = mock(User.class);
+        when(user.getId()).thenReturn(userId);
         FingerprintPair fingerprintPair = mock(FingerprintPair.class);
         when(userService.processOAuthPostLogin(any(),
                                                eq(tokens.getAccessToken()),
-                                               eq(tokens.getRefreshToken())))
+                                               eq(tokens.getRefreshToken()),
+                                               any()))
             .thenReturn(new UserFingerprintPair(user, fingerprintPair));
 
         return tokens;
@@ -0,0 +1,100 @@
+package com.tuwien.gitanalyser.security;
+
+import com.tuwien.gitanalyser.security.jwt.FingerprintService;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class WebhookVerifierTest {
+
+    @Test
+    void isGitHubSignatureValid_signedWithSecret_returnsTrue() throws GeneralSecurityException {
+        // Given
+        String secret = Randoms.alpha();
+        byte[] payload = Randoms.alpha().getBytes(StandardCharsets.UTF_8);
+        WebhookVerifier sut = new WebhookVerifier(secret, "");
+
+        // When
+        boolean result = sut.isGitHubSignatureValid(payload, sign(secret, payload));
+
+        // Then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    void isGitHubSignatureValid_signedWithOtherSecret_returnsFalse() throws GeneralSecurityException {
+        // Given
+        byte[] payload = Randoms.alpha().getBytes(StandardCharsets.UTF_8);
+        WebhookVerifier sut = new WebhookVerifier(Randoms.alpha(), "");
+
+        // When
+        boolean result = sut.isGitHubSignatureValid(payload, sign(Randoms.alpha(), payload));
+
+        // Then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    void isGitHubSignatureValid_noSecretConfigured_returnsFalse() throws GeneralSecurityException {
+        // Given
+        byte[] payload = Randoms.alpha().getBytes(StandardCharsets.UTF_8);
+        WebhookVerifier sut = new WebhookVerifier("", "");
+
+        // When
+        boolean result = sut.isGitHubSignatureValid(payload, sign("", payload));
+
+        // Then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    void isGitLabTokenValid_configuredToken_returnsTrue() {
+        // Given
+        String token = Randoms.alpha();
+        WebhookVerifier sut = new WebhookVerifier("", token);
+
+        // When
+        boolean result = sut.isGitLabTokenValid(token);
+
+        // Then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    void isGitLabTokenValid_otherToken_returnsFalse() {
+        // Given
+        WebhookVerifier sut = new WebhookVerifier("", Randoms.alpha());
+
+        // When
+        boolean result = sut.isGitLabTokenValid(Randoms.alpha());
+
+        // Then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    void isGitLabTokenValid_noTokenConfigured_returnsFalse() {
+        // Given
+        WebhookVerifier sut = new WebhookVerifier("", "");
+
+        // When
+        boolean result = sut.isGitLabTokenValid("");
+
+        // Then
+        assertThat(result, is(false));
+    }
+
+    private String sign(String secret, byte[] payload) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec((secret.isEmpty() ? " " : secret).getBytes(StandardCharsets.UTF_8),
+                                   "HmacSHA256"));
+        return "sha256=" + FingerprintService.toHexString(mac.doFinal(payload));
+    }
+}
@@ -1,10 +1,7 @@
 package com.tuwien.gitanalyser.security.jwt;
 
-import com.tuwien.gitanalyser.entity.User;
 import com.tuwien.gitanalyser.exception.AuthenticationException;
-import com.tuwien.gitanalyser.exception.NotFoundException;
 import com.tuwien.gitanalyser.security.AuthenticationConstants;
-import com.tuwien.gitanalyser.service.UserService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -32,13 +29,11 @@ class JWTTokenProviderImplTest {
         AuthorityUtils.commaSeparatedStringToAuthorityList("ROLE_USER");
     JWTTokenProviderImpl sut;
     private DateService dateService;
-    private UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = mock(UserService.class);
         dateService = mock(DateService.class);
-        sut = new JWTTokenProviderImpl(userService, dateService);
+        sut = new JWTTokenProviderImpl(dateService);
     }
 
     @Test
@@ -59,75 +54,41 @@ class JWTTokenProviderImplTest {
     }
 
     @Test
-    void getAuthentication_userAvailable_shouldReturnAuthentication() throws NotFoundException {
+    void authenticate_validToken_shouldReturnAuthenticationOfTokenSubject() {
         // Given
         long userId = Randoms.getLong();
-
-        User user = new User();
-        user.setId(userId);
-
-        String accessToken = createToken(userId, new Date());
-
-        when(userService.getUser(userId)).thenReturn(user);
+        Date now = new Date();
+        String token = createToken(userId, now);
+        when(dateService.create()).thenReturn(now);
 
         // When
-        Authentication result = sut.getAuthentication(accessToken);
+        Authentication result = sut.authenticate(token);
 
         // Then
-        assertThat(result.getName(), equalTo(user.getId().toString()));
+        assertThat(result.getName(), equalTo(String.valueOf(userId)));
     }
 
     @Test
-    void getAuthentication_userNotAvailableAndThrowsNotFoundException_shouldThrowAuthenticationException() throws NotFoundException {
+    void authenticate_randomToken_shouldThrowAuthenticationException() {
         // Given
-        long userId = Randoms.getLong();
-
-        User user = new User();
-        user.setId(userId);
-
-        String accessToken = createToken(userId, new Date());
-
-        when(userService.getUser(userId)).thenThrow(new NotFoundException("random NotFoundException"));
+        when(dateService.create()).thenReturn(new Date());
 
         // When + Then
-        assertThrows(AuthenticationException.class, () -> sut.getAuthentication(accessToken));
+        assertThrows(AuthenticationException.class, () -> sut.authenticate(Randoms.alpha()));
     }
 
     @Test
-    void getAuthentication_noValidToken_shouldThrowAuthenticationException() {
+    void authenticate_cachedTokenExpiredInBetween_shouldThrowAuthenticationException() {
         // Given
-        long userId = Randoms.getLong();
-        String accessToken = Randoms.alpha();
-
-        User user = new User();
-        user.setId(userId);
+        Date now = new Date();
+        Date afterExpiration =
+            new Date(now.getTime() + AuthenticationConstants.JWT_ACCESS_TOKEN_VALIDITY_IN_MILLISECONDS);
+        String token = createToken(Randoms.getLong(), now);
+        when(dateService.create()).thenReturn(now, afterExpiration);
+        sut.authenticate(token);
 
         // When + Then
-        assertThrows(AuthenticationException.class, () -> sut.getAuthentication(accessToken));
-    }
-
-    @Test
-    void validate_randomToken_shouldThrowAuthenticationException() {
-        // Given
-        String token = Randoms.alpha();
-
-        // When
-        boolean result = sut.validateToken(token);
-        // Then
-        assertThat(result, equalTo(false));
-    }
-
-    @Test
-    void validate_correctToken_shouldReturnTrue() {
-        // Given
-        String token = createToken(Randoms.getLong(), new Date());
-
-        // When
-        boolean result = sut.validateToken(token);
-
-        // Then
-        assertThat(result, equalTo(true));
-
+        assertThrows(AuthenticationException.class, () -> sut.authenticate(token));
     }
 
     public String createToken(final Long id, final Date now) {
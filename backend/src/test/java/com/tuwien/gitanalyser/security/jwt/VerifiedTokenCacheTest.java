@@ -0,0 +1,80 @@
+package com.tuwien.gitanalyser.security.jwt;
+
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class VerifiedTokenCacheTest {
+
+    private static final long VALIDITY = 1000;
+
+    @Test
+    void findUserId_tokenCachedAndNotExpired_returnsUserId() {
+        // Given
+        VerifiedTokenCache sut = new VerifiedTokenCache(1);
+        String token = Randoms.alpha();
+        long userId = Randoms.getLong();
+        Date now = new Date();
+        sut.put(token, userId, new Date(now.getTime() + VALIDITY), now);
+
+        // When
+        Optional<Long> result = sut.findUserId(token, now);
+
+        // Then
+        assertThat(result, equalTo(Optional.of(userId)));
+    }
+
+    @Test
+    void findUserId_tokenExpired_returnsEmpty() {
+        // Given
+        VerifiedTokenCache sut = new VerifiedTokenCache(1);
+        String token = Randoms.alpha();
+        Date now = new Date();
+        Date expiration = new Date(now.getTime() + VALIDITY);
+        sut.put(token, Randoms.getLong(), expiration, now);
+
+        // When
+        Optional<Long> result = sut.findUserId(token, expiration);
+
+        // Then
+        assertThat(result, equalTo(Optional.empty()));
+    }
+
+    @Test
+    void put_cacheFull_dropsFormerTokens() {
+        // Given
+        VerifiedTokenCache sut = new VerifiedTokenCache(1);
+        String formerToken = Randoms.alpha();
+        String token = Randoms.alpha();
+        long userId = Randoms.getLong();
+        Date now = new Date();
+        Date expiration = new Date(now.getTime() + VALIDITY);
+        sut.put(formerToken, Randoms.getLong(), expiration, now);
+
+        // When
+        sut.put(token, userId, expiration, now);
+
+        // Then
+        assertThat(sut.findUserId(formerToken, now), equalTo(Optional.empty()));
+        assertThat(sut.findUserId(token, now), equalTo(Optional.of(userId)));
+    }
+
+    @Test
+    void put_tokenWithoutExpiration_isNotCached() {
+        // Given
+        VerifiedTokenCache sut = new VerifiedTokenCache(1);
+        String token = Randoms.alpha();
+        Date now = new Date();
+
+        // When
+        sut.put(token, Randoms.getLong(), null, now);
+
+        // Then
+        assertThat(sut.findUserId(token, now), equalTo(Optional.empty()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.tuwien.gitanalyser.service.apiCalls.factory;
 
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kohsuke.github.GitHub;
@@ -9,15 +10,21 @@ import java.io.IOException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
 
 class GitHubAPIFactoryTest {
 
+    private static final int MAXIMUM_CLIENTS = 2;
+    private static final String API_URL = "https://github.example.com/api/v3";
+
     GitHubAPIFactory sut;
 
     @BeforeEach
     void setUp() {
-        sut = new GitHubAPIFactory();
+        sut = new GitHubAPIFactory(MAXIMUM_CLIENTS, API_URL, mock(ProviderCallScheduler.class));
     }
 
     @Test
@@ -32,4 +39,59 @@ class GitHubAPIFactoryTest {
         assertThat(result, notNullValue());
         assertThat(result.getClass(), equalTo(GitHub.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createObject_always_shouldUseConfiguredApiUrl() throws IOException {
+        // Given
+        String accessToken = Randoms.alpha();
+
+        // When
+        GitHub result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result.getApiUrl(), equalTo(API_URL));
+    }
+
+    @Test
+    void createObject_sameAccessToken_shouldReuseObject() throws IOException {
+        // Given
+        String accessToken = Randoms.alpha();
+        GitHub firstClient = sut.createObject(accessToken);
+
+        // When
+        GitHub result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result, sameInstance(firstClient));
+    }
+
+    @Test
+    void createObject_accessTokenEvicted_shouldCreateNewObject() throws IOException {
+        // Given
+        String accessToken = Randoms.alpha();
+        GitHub firstClient = sut.createObject(accessToken);
+        sut.evict(accessToken);
+
+        // When
+        GitHub result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result, not(sameInstance(firstClient)));
+    }
+
+    @Test
+    void createObject_moreAccessTokensThanMaximum_shouldCreateNewObjectForLeastRecentlyUsedToken() throws IOException {
+        // Given
+        String accessToken = Randoms.alpha();
+        GitHub firstClient = sut.createObject(accessToken);
+        for (int i = 0; i < MAXIMUM_CLIENTS; i++) {
+            sut.createObject(Randoms.alpha());
+        }
+
+        // When
+        GitHub result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result, not(sameInstance(firstClient)));
+    }
+}
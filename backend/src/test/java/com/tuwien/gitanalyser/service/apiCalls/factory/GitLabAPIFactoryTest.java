@@ -1,21 +1,33 @@
 package com.tuwien.gitanalyser.service.apiCalls.factory;
 
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
 import org.gitlab4j.api.GitLabApi;
+import org.gitlab4j.api.GitLabApiException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.Randoms;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
 
 class GitLabAPIFactoryTest {
 
+    private static final int MAXIMUM_CLIENTS = 2;
+    private static final int MAXIMUM_CONNECTIONS = 4;
+    private static final String URL = "https://gitlab.example.com";
+    private static final String UNREACHABLE_URL = "http://127.0.0.1:1";
+
     GitLabAPIFactory sut;
 
     @BeforeEach
     void setUp() {
-        sut = new GitLabAPIFactory();
+        sut = new GitLabAPIFactory(MAXIMUM_CLIENTS, MAXIMUM_CONNECTIONS, URL, mock(ProviderCallScheduler.class));
     }
 
     @Test
@@ -31,4 +43,79 @@ class GitLabAPIFactoryTest {
         assertThat(result.getClass(), equalTo(GitLabApi.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    void createObject_always_shouldUseConfiguredUrl() {
+        // Given
+        String accessToken = Randoms.alpha();
+
+        // When
+        GitLabApi result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result.getGitLabServerUrl(), equalTo(URL));
+    }
+
+    @Test
+    void createObject_sameAccessToken_shouldReuseObject() {
+        // Given
+        String accessToken = Randoms.alpha();
+        GitLabApi firstClient = sut.createObject(accessToken);
+
+        // When
+        GitLabApi result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result, sameInstance(firstClient));
+    }
+
+    @Test
+    void createObject_accessTokenEvicted_shouldCreateNewObject() {
+        // Given
+        String accessToken = Randoms.alpha();
+        GitLabApi firstClient = sut.createObject(accessToken);
+        sut.evict(accessToken);
+
+        // When
+        GitLabApi result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result, not(sameInstance(firstClient)));
+    }
+
+    @Test
+    void evict_clientInUse_shouldKeepClientUsable() {
+        // Given
+        sut = new GitLabAPIFactory(MAXIMUM_CLIENTS, MAXIMUM_CONNECTIONS, UNREACHABLE_URL,
+                                   mock(ProviderCallScheduler.class));
+        String accessToken = Randoms.alpha();
+        GitLabApi client = sut.createObject(accessToken);
+        assertThrows(GitLabApiException.class, () -> client.getProjectApi().getProject(1L));
+
+        // When
+        sut.evict(accessToken);
+        for (int i = 0; i < MAXIMUM_CLIENTS; i++) {
+            sut.createObject(Randoms.alpha());
+        }
+
+        // Then
+        GitLabApiException exception = assertThrows(GitLabApiException.class,
+                                                    () -> client.getProjectApi().getProject(1L));
+        assertThat(exception.getCause(), not(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    void createObject_moreAccessTokensThanMaximum_shouldCreateNewObjectForLeastRecentlyUsedToken() {
+        // Given
+        String accessToken = Randoms.alpha();
+        GitLabApi firstClient = sut.createObject(accessToken);
+        for (int i = 0; i < MAXIMUM_CLIENTS; i++) {
+            sut.createObject(Randoms.alpha());
+        }
+
+        // When
+        GitLabApi result = sut.createObject(accessToken);
+
+        // Then
+        assertThat(result, not(sameInstance(firstClient)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.tuwien.gitanalyser.service.apiCalls.factory;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import utils.Randoms;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RateLimitObservingConnectionFactoryTest {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final String REMAINING = "17";
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private ProviderCallScheduler providerCallScheduler;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("RateLimit-Remaining", REMAINING);
+            exchange.sendResponseHeaders(TOO_MANY_REQUESTS, -1);
+            exchange.close();
+        });
+        server.start();
+
+        providerCallScheduler = mock(ProviderCallScheduler.class);
+        RateLimitObservingConnectionFactory sut =
+            new RateLimitObservingConnectionFactory(providerCallScheduler, RateLimitedApi.GITLAB);
+        httpClient = HttpClients.custom()
+                                .setConnectionManager(new PoolingHttpClientConnectionManager(sut))
+                                .build();
+
+        accessToken = Randoms.alpha();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void create_requestWithAccessToken_shouldReportResponseHeadersOfToken() throws IOException {
+        // Given
+        HttpGet request = new HttpGet(getUrl());
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        ArgumentCaptor<Function<String, String>> headers = ArgumentCaptor.forClass(Function.class);
+
+        // When
+        execute(request);
+
+        // Then
+        verify(providerCallScheduler).observe(eq(RateLimitedApi.GITLAB), eq(accessToken), eq(TOO_MANY_REQUESTS),
+                                              headers.capture());
+        assertThat(headers.getValue().apply("RateLimit-Remaining"), equalTo(REMAINING));
+        assertThat(headers.getValue().apply("Retry-After"), nullValue());
+    }
+
+    @Test
+    void create_requestWithoutAccessToken_shouldNotReportResponse() throws IOException {
+        // Given
+        HttpGet request = new HttpGet(getUrl());
+
+        // When
+        execute(request);
+
+        // Then
+        verify(providerCallScheduler, never()).observe(any(), anyString(), anyInt(), any());
+    }
+
+    private void execute(final HttpGet request) throws IOException {
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            EntityUtils.consume(response.getEntity());
+        }
+    }
+
+    private String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+}
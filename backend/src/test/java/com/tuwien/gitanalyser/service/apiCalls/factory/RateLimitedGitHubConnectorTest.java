@@ -0,0 +1,90 @@
+package com.tuwien.gitanalyser.service.apiCalls.factory;
+
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.mockito.InOrder;
+import utils.Randoms;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RateLimitedGitHubConnectorTest {
+
+    private static final int OK = 200;
+
+    private RateLimitedGitHubConnector sut;
+    private GitHubConnector connector;
+    private ProviderCallScheduler providerCallScheduler;
+    private GitHubConnectorRequest request;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        connector = mock(GitHubConnector.class);
+        providerCallScheduler = mock(ProviderCallScheduler.class);
+        sut = new RateLimitedGitHubConnector(connector, providerCallScheduler);
+
+        request = mock(GitHubConnectorRequest.class);
+        accessToken = Randoms.alpha();
+    }
+
+    @Test
+    void send_requestWithAccessToken_shouldScheduleRequestAndObserveResponse() throws Exception {
+        // Given
+        when(request.header("Authorization")).thenReturn("token " + accessToken);
+        GitHubConnectorResponse response = mock(GitHubConnectorResponse.class);
+        when(response.statusCode()).thenReturn(OK);
+        when(connector.send(request)).thenReturn(response);
+
+        // When
+        GitHubConnectorResponse result = sut.send(request);
+
+        // Then
+        assertThat(result, sameInstance(response));
+        InOrder inOrder = inOrder(providerCallScheduler, connector);
+        inOrder.verify(providerCallScheduler).acquire(RateLimitedApi.GITHUB, accessToken);
+        inOrder.verify(connector).send(request);
+        inOrder.verify(providerCallScheduler).observe(eq(RateLimitedApi.GITHUB), eq(accessToken), eq(OK), any());
+        inOrder.verify(providerCallScheduler).release(RateLimitedApi.GITHUB, accessToken);
+    }
+
+    @Test
+    void send_requestWithoutAccessToken_shouldSendRequestWithoutScheduling() throws IOException {
+        // Given
+
+        // When
+        sut.send(request);
+
+        // Then
+        verify(connector).send(request);
+        verifyNoInteractions(providerCallScheduler);
+    }
+
+    @Test
+    void send_connectorThrowsIOException_shouldReleaseCall() throws IOException {
+        // Given
+        when(request.header("Authorization")).thenReturn("token " + accessToken);
+        when(connector.send(request)).thenThrow(IOException.class);
+
+        // When
+        assertThrows(IOException.class, () -> sut.send(request));
+
+        // Then
+        verify(providerCallScheduler).release(RateLimitedApi.GITHUB, accessToken);
+    }
+}
@@ -1,19 +1,32 @@
 package com.tuwien.gitanalyser.service.apiCalls.github;
 
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
 import com.tuwien.gitanalyser.exception.GitHubException;
 import com.tuwien.gitanalyser.service.apiCalls.factory.GitHubAPIFactory;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.mirror.AuthorMapper;
+import com.tuwien.gitanalyser.service.apiCalls.mirror.LocalMirrorStore;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHCommitQueryBuilder;
 import org.kohsuke.github.GHMyself;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
+import org.kohsuke.github.PagedIterable;
 import utils.Randoms;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -21,7 +34,14 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class GitHubAPITest {
@@ -29,6 +49,9 @@ class GitHubAPITest {
     private static final String TEST_EXCEPTION_ERROR_MESSAGE = "testException";
     private GitHubAPI sut;
     private GitHubAPIFactory gitHubAPIFactory;
+    private GitHubGraphQLCommitFetcher graphQLCommitFetcher;
+    private LocalMirrorStore localMirrorStore;
+    private ProviderMetrics providerMetrics;
     private String accessToken;
 
     private GHRepository firstRepository;
@@ -43,7 +66,10 @@ class GitHubAPITest {
     @BeforeEach
     void setUp() {
         gitHubAPIFactory = mock(GitHubAPIFactory.class);
-        sut = new GitHubAPI(gitHubAPIFactory);
+        graphQLCommitFetcher = mock(GitHubGraphQLCommitFetcher.class);
+        localMirrorStore = mock(LocalMirrorStore.class);
+        providerMetrics = mock(ProviderMetrics.class);
+        sut = new GitHubAPI(gitHubAPIFactory, graphQLCommitFetcher, GitHubCommitFetchEngine.REST, localMirrorStore, providerMetrics);
 
         accessToken = Randoms.alpha();
 
@@ -158,6 +184,163 @@ class GitHubAPITest {
         MatcherAssert.assertThat(result, is(empty()));
     }
 
+    @Test
+    void getAllCommits_graphQLEngine_loadsCommitsThroughGraphQLFetcher() throws IOException, GitHubException {
+        // Given
+        sut = new GitHubAPI(gitHubAPIFactory, graphQLCommitFetcher, GitHubCommitFetchEngine.GRAPHQL,
+                            localMirrorStore, providerMetrics);
+        long repositoryId = Randoms.getLong();
+        String owner = Randoms.alpha();
+        String defaultBranch = Randoms.alpha();
+        List<CommitInternalDTO> commits = List.of(CommitInternalDTO.builder().id(Randoms.alpha()).build());
+
+        GitHub gitHub = mockFactory();
+        when(gitHub.getRepositoryById(repositoryId)).thenReturn(firstRepository);
+        when(firstRepository.getOwnerName()).thenReturn(owner);
+        when(firstRepository.getDefaultBranch()).thenReturn(defaultBranch);
+        when(graphQLCommitFetcher.getCommits(accessToken, owner, firstRepository.getName(), defaultBranch, null))
+            .thenReturn(commits);
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, repositoryId, null);
+
+        // Then
+        assertThat(result, is(commits));
+        verify(firstRepository, never()).queryCommits();
+    }
+
+    @Test
+    void getAllCommits_mirrorReturnsCommits_returnsCommitsOfMirror() throws IOException, GitHubException {
+        // Given
+        sut = new GitHubAPI(gitHubAPIFactory, graphQLCommitFetcher, GitHubCommitFetchEngine.GRAPHQL,
+                            localMirrorStore, providerMetrics);
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        List<CommitInternalDTO> commits = List.of(CommitInternalDTO.builder().id(Randoms.alpha()).build());
+
+        GitHub gitHub = mockFactory();
+        when(gitHub.getRepositoryById(repositoryId)).thenReturn(firstRepository);
+        when(localMirrorStore.isEnabled()).thenReturn(true);
+        when(localMirrorStore.loadCommits(eq(firstRepository.getHttpTransportUrl()), eq("x-access-token"),
+                                          eq(accessToken), eq(branch), isNull(), any(AuthorMapper.class)))
+            .thenReturn(commits);
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, repositoryId, branch);
+
+        // Then
+        assertThat(result, is(commits));
+        verify(firstRepository, never()).queryCommits();
+        verify(graphQLCommitFetcher, never()).getCommits(accessToken, firstRepository.getOwnerName(),
+                                                         firstRepository.getName(), branch, null);
+    }
+
+    @Test
+    void getAllCommits_mirrorReturnsCommits_mapsAuthorsToLinkedAccounts() throws IOException, GitHubException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String commitId = Randoms.alpha();
+        String accountName = Randoms.alpha();
+        PersonIdent gitAuthor = new PersonIdent(Randoms.alpha(), Randoms.alpha() + "@example.com");
+
+        GitHub gitHub = mockFactory();
+        when(gitHub.getRepositoryById(repositoryId)).thenReturn(firstRepository);
+        when(localMirrorStore.isEnabled()).thenReturn(true);
+        when(localMirrorStore.loadCommits(eq(firstRepository.getHttpTransportUrl()), eq("x-access-token"),
+                                          eq(accessToken), eq(branch), isNull(), any(AuthorMapper.class)))
+            .thenReturn(List.of());
+        when(graphQLCommitFetcher.getCommitAuthors(accessToken, firstRepository.getOwnerName(),
+                                                   firstRepository.getName(), Set.of(commitId)))
+            .thenReturn(Map.of(commitId, accountName));
+
+        sut.getAllCommits(accessToken, repositoryId, branch);
+        ArgumentCaptor<AuthorMapper> authorMapper = ArgumentCaptor.forClass(AuthorMapper.class);
+        verify(localMirrorStore).loadCommits(eq(firstRepository.getHttpTransportUrl()), eq("x-access-token"),
+                                             eq(accessToken), eq(branch), isNull(), authorMapper.capture());
+
+        // When
+        Map<String, String> result = authorMapper.getValue().getAuthors(Map.of(commitId, gitAuthor));
+
+        // Then
+        assertThat(result, is(Map.of(commitId, accountName)));
+        verify(firstRepository, never()).getCommit(commitId);
+    }
+
+    @Test
+    void getAllCommits_mirrorReturnsCommitsAndAccountLookupFails_keepsNamesOfGitAuthors()
+        throws IOException, GitHubException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String commitId = Randoms.alpha();
+        PersonIdent gitAuthor = new PersonIdent(Randoms.alpha(), Randoms.alpha() + "@example.com");
+
+        GitHub gitHub = mockFactory();
+        when(gitHub.getRepositoryById(repositoryId)).thenReturn(firstRepository);
+        when(localMirrorStore.isEnabled()).thenReturn(true);
+        when(localMirrorStore.loadCommits(eq(firstRepository.getHttpTransportUrl()), eq("x-access-token"),
+                                          eq(accessToken), eq(branch), isNull(), any(AuthorMapper.class)))
+            .thenReturn(List.of());
+        when(graphQLCommitFetcher.getCommitAuthors(accessToken, firstRepository.getOwnerName(),
+                                                   firstRepository.getName(), Set.of(commitId)))
+            .thenThrow(new GitHubException(new IOException()));
+
+        sut.getAllCommits(accessToken, repositoryId, branch);
+        ArgumentCaptor<AuthorMapper> authorMapper = ArgumentCaptor.forClass(AuthorMapper.class);
+        verify(localMirrorStore).loadCommits(eq(firstRepository.getHttpTransportUrl()), eq("x-access-token"),
+                                             eq(accessToken), eq(branch), isNull(), authorMapper.capture());
+
+        // When
+        Map<String, String> result = authorMapper.getValue().getAuthors(Map.of(commitId, gitAuthor));
+
+        // Then
+        assertThat(result, is(Map.of()));
+    }
+
+    @Test
+    void getAllCommits_restEngineLoadsThreePages_recordsThreeCommitPages() throws IOException, GitHubException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        GHCommit commit = mock(GHCommit.class, RETURNS_DEEP_STUBS);
+        when(commit.getCommitDate()).thenReturn(new Date());
+        mockRestCommits(repositoryId, branch, Collections.nCopies(250, commit));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, repositoryId, branch);
+
+        // Then
+        assertThat(result.size(), is(250));
+        verify(providerMetrics).recordCommitPages(ProviderMetrics.GITHUB, 3);
+    }
+
+    @Test
+    void getAllCommits_restEngineAndEmptyHistory_recordsOneCommitPage() throws IOException, GitHubException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        mockRestCommits(repositoryId, branch, List.of());
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, repositoryId, branch);
+
+        // Then
+        assertThat(result, is(empty()));
+        verify(providerMetrics).recordCommitPages(ProviderMetrics.GITHUB, 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockRestCommits(long repositoryId, String branch, List<GHCommit> commits) throws IOException {
+        GitHub gitHub = mockFactory();
+        when(gitHub.getRepositoryById(repositoryId)).thenReturn(firstRepository);
+        GHCommitQueryBuilder query = mock(GHCommitQueryBuilder.class, RETURNS_SELF);
+        PagedIterable<GHCommit> pages = mock(PagedIterable.class);
+        when(firstRepository.queryCommits()).thenReturn(query);
+        when(query.list()).thenReturn(pages);
+        when(pages.toList()).thenReturn(commits);
+    }
+
     private GitHub mockFactory() throws IOException {
         GitHub github = mock(GitHub.class);
         when(gitHubAPIFactory.createObject(accessToken)).thenReturn(github);
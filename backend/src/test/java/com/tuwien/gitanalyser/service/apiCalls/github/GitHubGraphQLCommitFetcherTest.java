@@ -0,0 +1,299 @@
+package com.tuwien.gitanalyser.service.apiCalls.github;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.exception.GitHubException;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.GitHubGraphQLStubServer;
+import utils.Randoms;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static utils.GitHubGraphQLStubServer.commitNode;
+
+class GitHubGraphQLCommitFetcherTest {
+
+    private static final int MAXIMUM_CONCURRENT_CALLS = 4;
+    private static final int LOW_WATERMARK = 1;
+    private static final int MAXIMUM_WAIT_SECONDS = 5;
+
+    private GitHubGraphQLStubServer stubServer;
+    private GitHubGraphQLCommitFetcher sut;
+    private ProviderCallScheduler providerCallScheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private String accessToken;
+    private String owner;
+    private String name;
+    private String branch;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = new GitHubGraphQLStubServer();
+        meterRegistry = new SimpleMeterRegistry();
+        providerCallScheduler = new ProviderCallScheduler(new DateService(), meterRegistry,
+                                                          MAXIMUM_CONCURRENT_CALLS, LOW_WATERMARK,
+                                                          MAXIMUM_WAIT_SECONDS, 0);
+        sut = new GitHubGraphQLCommitFetcher(stubServer.getUrl(), providerCallScheduler,
+                                             new ProviderMetrics(meterRegistry));
+
+        accessToken = Randoms.alpha();
+        owner = Randoms.alpha();
+        name = Randoms.alpha();
+        branch = Randoms.alpha();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    void getCommits_singlePage_shouldMapCommits() throws GitHubException {
+        // Given
+        String parentId = Randoms.alpha();
+        String author = Randoms.alpha();
+        JSONObject node = commitNode(Randoms.alpha(), new Date(), author, List.of(parentId), 3, 2);
+        stubServer.enqueueHistoryPage(List.of(node), null);
+
+        // When
+        List<CommitInternalDTO> result = sut.getCommits(accessToken, owner, name, branch, null);
+
+        // Then
+        assertThat(result, contains(allOf(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(node.getString("oid"))),
+            hasFeature("author", CommitInternalDTO::getAuthor, equalTo(author)),
+            hasFeature("parentIds", CommitInternalDTO::getParentIds, contains(parentId)),
+            hasFeature("isMergeCommit", CommitInternalDTO::isMergeCommit, equalTo(false)),
+            hasFeature("additions", CommitInternalDTO::getAdditions, equalTo(3)),
+            hasFeature("deletions", CommitInternalDTO::getDeletions, equalTo(2))
+        )));
+    }
+
+    @Test
+    void getCommits_multiplePages_shouldFollowCursorAndSortByTimestamp() throws GitHubException {
+        // Given
+        String cursor = Randoms.alpha();
+        JSONObject newerCommit = commitNode(Randoms.alpha(), new Date(), Randoms.alpha(), List.of(), 1, 1);
+        JSONObject olderCommit = commitNode(Randoms.alpha(), new Date(0), Randoms.alpha(), List.of(), 1, 1);
+        stubServer.enqueueHistoryPage(List.of(newerCommit), cursor);
+        stubServer.enqueueHistoryPage(List.of(olderCommit), null);
+
+        // When
+        List<CommitInternalDTO> result = sut.getCommits(accessToken, owner, name, branch, null);
+
+        // Then
+        assertThat(stubServer.getRequests(), hasSize(2));
+        assertThat(stubServer.getRequests().get(1).getJSONObject("variables").getString("cursor"),
+                   equalTo(cursor));
+        assertThat(result, contains(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(olderCommit.getString("oid"))),
+            hasFeature("id", CommitInternalDTO::getId, equalTo(newerCommit.getString("oid")))
+        ));
+    }
+
+    @Test
+    void getCommits_multiplePages_shouldRecordPagesAndResponses() throws GitHubException {
+        // Given
+        stubServer.enqueueHistoryPage(List.of(), Randoms.alpha());
+        stubServer.enqueueHistoryPage(List.of(), null);
+
+        // When
+        sut.getCommits(accessToken, owner, name, branch, null);
+
+        // Then
+        assertThat(meterRegistry.get("gitanalyser.provider.commit-pages.fetched")
+                                .tag("provider", ProviderMetrics.GITHUB)
+                                .counter()
+                                .count(), equalTo(2.0));
+        assertThat(meterRegistry.get("gitanalyser.provider.responses")
+                                .tag("api", RateLimitedApi.GITHUB_GRAPHQL.getTag())
+                                .tag("status", "200")
+                                .counter()
+                                .count(), equalTo(2.0));
+    }
+
+    @Test
+    void getCommits_always_shouldSendAccessTokenAndBranchRef() throws GitHubException {
+        // Given
+        stubServer.enqueueHistoryPage(List.of(), null);
+
+        // When
+        sut.getCommits(accessToken, owner, name, branch, null);
+
+        // Then
+        JSONObject variables = stubServer.getRequests().get(0).getJSONObject("variables");
+        assertThat(stubServer.getAuthorizationHeaders(), contains("Bearer " + accessToken));
+        assertThat(variables.getString("owner"), equalTo(owner));
+        assertThat(variables.getString("name"), equalTo(name));
+        assertThat(variables.getString("ref"), equalTo("refs/heads/" + branch));
+    }
+
+    @Test
+    void getCommits_sinceGiven_shouldSendSinceAsTimestamp() throws GitHubException {
+        // Given
+        Date since = new Date();
+        stubServer.enqueueHistoryPage(List.of(), null);
+
+        // When
+        sut.getCommits(accessToken, owner, name, branch, since);
+
+        // Then
+        assertThat(stubServer.getRequests().get(0).getJSONObject("variables").getString("since"),
+                   equalTo(since.toInstant().toString()));
+    }
+
+    @Test
+    void getCommits_responseContainsErrors_throwsGitHubException() {
+        // Given
+        stubServer.enqueueResponse("{\"errors\": [{\"message\": \"Bad credentials\"}]}");
+
+        // When + Then
+        assertThrows(GitHubException.class, () -> sut.getCommits(accessToken, owner, name, branch, null));
+    }
+
+    @Test
+    void getCommits_branchDoesNotExist_throwsGitHubException() {
+        // Given
+        stubServer.enqueueResponse("{\"data\": {\"repository\": {\"ref\": null}}}");
+
+        // When + Then
+        assertThrows(GitHubException.class, () -> sut.getCommits(accessToken, owner, name, branch, null));
+    }
+
+    @Test
+    void getCommits_rateLimitedOnce_shouldSendQueryAgain() throws GitHubException {
+        // Given
+        JSONObject node = commitNode(Randoms.alpha(), new Date(), Randoms.alpha(), List.of(), 1, 1);
+        stubServer.enqueueResponse(429, Map.of("Retry-After", "0"), "{}");
+        stubServer.enqueueHistoryPage(List.of(node), null);
+
+        // When
+        List<CommitInternalDTO> result = sut.getCommits(accessToken, owner, name, branch, null);
+
+        // Then
+        assertThat(stubServer.getRequests(), hasSize(2));
+        assertThat(result, contains(hasFeature("id", CommitInternalDTO::getId, equalTo(node.getString("oid")))));
+    }
+
+    @Test
+    void getCommits_alwaysRateLimited_throwsGitHubException() {
+        // Given
+        for (int i = 0; i < ProviderCallScheduler.MAXIMUM_ATTEMPTS; i++) {
+            stubServer.enqueueResponse(429, Map.of("Retry-After", "0"), "{}");
+        }
+
+        // When
+        assertThrows(GitHubException.class, () -> sut.getCommits(accessToken, owner, name, branch, null));
+
+        // Then
+        assertThat(stubServer.getRequests(), hasSize(ProviderCallScheduler.MAXIMUM_ATTEMPTS));
+    }
+
+    @Test
+    void getCommits_responseReportsRemainingBudget_shouldUpdateBudgetOfScheduler() throws GitHubException {
+        // Given
+        long reset = new Date().toInstant().plusSeconds(60).getEpochSecond();
+        stubServer.enqueueHistoryPage(List.of(), null, Map.of("X-RateLimit-Remaining", "42",
+                                                              "X-RateLimit-Limit", "5000",
+                                                              "X-RateLimit-Reset", String.valueOf(reset)));
+
+        // When
+        sut.getCommits(accessToken, owner, name, branch, null);
+
+        // Then
+        assertThat(providerCallScheduler.getLowestRemainingBudget(RateLimitedApi.GITHUB_GRAPHQL), equalTo(42.0));
+    }
+
+    @Test
+    void getCommitAuthors_linkedAndUnlinkedAuthors_returnsAccountOrGitAuthorNames() throws GitHubException {
+        // Given
+        String linkedCommitId = Randoms.alpha();
+        String unlinkedCommitId = Randoms.alpha();
+        String accountName = Randoms.alpha();
+        String gitAuthorName = Randoms.alpha();
+        JSONObject repository = new JSONObject()
+            .put("commit0", authorNode(Randoms.alpha(), new JSONObject().put("name", accountName)))
+            .put("commit1", authorNode(gitAuthorName, JSONObject.NULL));
+        stubServer.enqueueResponse(new JSONObject().put("data", new JSONObject().put("repository", repository))
+                                                   .toString());
+
+        // When
+        Map<String, String> result = sut.getCommitAuthors(accessToken, owner, name,
+                                                          List.of(linkedCommitId, unlinkedCommitId));
+
+        // Then
+        assertThat(result, equalTo(Map.of(linkedCommitId, accountName, unlinkedCommitId, gitAuthorName)));
+        JSONObject variables = stubServer.getRequests().get(0).getJSONObject("variables");
+        assertThat(variables.getString("commit0"), equalTo(linkedCommitId));
+        assertThat(variables.getString("commit1"), equalTo(unlinkedCommitId));
+    }
+
+    @Test
+    void getCommitAuthors_unknownCommit_omitsCommit() throws GitHubException {
+        // Given
+        String commitId = Randoms.alpha();
+        stubServer.enqueueResponse(new JSONObject()
+                                       .put("data", new JSONObject().put("repository",
+                                                                         new JSONObject().put("commit0",
+                                                                                              JSONObject.NULL)))
+                                       .put("errors", new JSONArray().put(new JSONObject().put("type", "NOT_FOUND")))
+                                       .toString());
+
+        // When
+        Map<String, String> result = sut.getCommitAuthors(accessToken, owner, name, List.of(commitId));
+
+        // Then
+        assertThat(result, equalTo(Map.of()));
+    }
+
+    @Test
+    void getCommitAuthors_moreCommitsThanBatchSize_sendsOneQueryPerBatch() throws GitHubException {
+        // Given
+        List<String> commitIds = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            commitIds.add(Randoms.alpha());
+        }
+        stubServer.enqueueResponse("{\"data\": {\"repository\": {}}}");
+        stubServer.enqueueResponse("{\"data\": {\"repository\": {}}}");
+
+        // When
+        sut.getCommitAuthors(accessToken, owner, name, commitIds);
+
+        // Then
+        assertThat(stubServer.getRequests(), hasSize(2));
+    }
+
+    @Test
+    void getCommitAuthors_responseWithoutRepository_throwsGitHubException() {
+        // Given
+        stubServer.enqueueResponse("{\"errors\": [{\"message\": \"Bad credentials\"}]}");
+
+        // When + Then
+        assertThrows(GitHubException.class, () -> sut.getCommitAuthors(accessToken, owner, name,
+                                                                       List.of(Randoms.alpha())));
+    }
+
+    private JSONObject authorNode(String authorName, Object user) {
+        return new JSONObject().put("author", new JSONObject().put("name", authorName).put("user", user))
+                               .put("committer", new JSONObject().put("user", JSONObject.NULL));
+    }
+}
@@ -1,24 +1,38 @@
 package com.tuwien.gitanalyser.service.apiCalls.gitlab;
 
 import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
 import com.tuwien.gitanalyser.exception.GitLabException;
 import com.tuwien.gitanalyser.exception.TryRefreshException;
 import com.tuwien.gitanalyser.service.apiCalls.factory.GitLabAPIFactory;
+import com.tuwien.gitanalyser.service.apiCalls.gitlab.GitLabCommitPageLoader.CommitPage;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import com.tuwien.gitanalyser.service.apiCalls.mirror.LocalMirrorStore;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.ProviderCallScheduler;
+import com.tuwien.gitanalyser.service.apiCalls.ratelimit.RateLimitedApi;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.ProjectApi;
 import org.gitlab4j.api.RepositoryApi;
 import org.gitlab4j.api.models.Branch;
+import org.gitlab4j.api.models.Commit;
+import org.gitlab4j.api.models.CommitStats;
 import org.gitlab4j.api.models.Project;
+import org.hamcrest.Matcher;
 import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import utils.Randoms;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -27,8 +41,12 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.core.Is.is;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static utils.Matchers.branchInternalDTOMatcher;
 
@@ -38,14 +56,27 @@ class GitLabAPITest {
     private static final Project SECOND_PROJECT = new Project();
     private static final Project THIRD_PROJECT = new Project();
     private static final Project FOURTH_PROJECT = new Project();
+    private static final int COMMIT_PAGE_SIZE = 100;
+    private static final int COMMIT_FETCH_THREADS = 2;
     private GitLabAPI sut;
     private GitLabAPIFactory gitLabAPIFactory;
+    private ExecutorService commitPageExecutor;
+    private ProviderCallScheduler providerCallScheduler;
+    private LocalMirrorStore localMirrorStore;
+    private ProviderMetrics providerMetrics;
+    private GitLabCommitPageLoader commitPageLoader;
     private String accessToken;
 
     @BeforeEach
     void setUp() {
         gitLabAPIFactory = mock(GitLabAPIFactory.class);
-        sut = new GitLabAPI(gitLabAPIFactory);
+        commitPageExecutor = Executors.newFixedThreadPool(COMMIT_FETCH_THREADS);
+        providerCallScheduler = mock(ProviderCallScheduler.class);
+        localMirrorStore = mock(LocalMirrorStore.class);
+        providerMetrics = mock(ProviderMetrics.class);
+        commitPageLoader = mock(GitLabCommitPageLoader.class);
+        sut = new GitLabAPI(gitLabAPIFactory, commitPageExecutor, 1, providerCallScheduler, localMirrorStore,
+                            providerMetrics, commitPageLoader);
 
         accessToken = Randoms.alpha();
 
@@ -55,6 +86,11 @@ class GitLabAPITest {
         FOURTH_PROJECT.setId(4L);
     }
 
+    @AfterEach
+    void tearDown() {
+        commitPageExecutor.shutdownNow();
+    }
+
     @Test
     void getAllRepositories_noRepositoriesAvailable_returnEmptyList()
         throws GitLabApiException, GitLabException, TryRefreshException {
@@ -313,6 +349,279 @@ class GitLabAPITest {
         assertThrows(GitLabException.class, () -> sut.getAllCommits(accessToken, Randoms.getLong(), Randoms.alpha()));
     }
 
+    @Test
+    void getBranchHeadId_branchGiven_returnsIdOfBranchCommit()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        String headId = Randoms.alpha();
+
+        GitLabApi api = mockFactory();
+        RepositoryApi repositoryApi = prepareRepositoryAPI(api);
+        prepareGetBranch(platformId, branchName, headId, repositoryApi);
+
+        // When
+        String result = sut.getBranchHeadId(accessToken, platformId, branchName);
+
+        // Then
+        assertThat(result, is(headId));
+    }
+
+    @Test
+    void getBranchHeadId_noBranchGiven_returnsIdOfDefaultBranchCommit()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        long platformId = Randoms.getLong();
+        String defaultBranch = Randoms.alpha();
+        String headId = Randoms.alpha();
+
+        Project project = new Project();
+        project.setDefaultBranch(defaultBranch);
+
+        GitLabApi api = mockFactory();
+        ProjectApi projectApi = prepareProjectApi(api);
+        when(projectApi.getProject(platformId)).thenReturn(project);
+        RepositoryApi repositoryApi = prepareRepositoryAPI(api);
+        prepareGetBranch(platformId, defaultBranch, headId, repositoryApi);
+
+        // When
+        String result = sut.getBranchHeadId(accessToken, platformId, null);
+
+        // Then
+        assertThat(result, is(headId));
+    }
+
+    @Test
+    void getBranchHeadId_gitLabLibraryThrowsGitLabAPIExceptionWith401Status_sutThrowsTryRefreshException()
+        throws GitLabApiException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+
+        GitLabApi api = mockFactory();
+        RepositoryApi repositoryApi = prepareRepositoryAPI(api);
+        when(repositoryApi.getBranch(platformId, branchName))
+            .thenThrow(new GitLabApiException("", HttpStatus.UNAUTHORIZED.value()));
+
+        // When + Then
+        assertThrows(TryRefreshException.class, () -> sut.getBranchHeadId(accessToken, platformId, branchName));
+    }
+
+    @Test
+    void getCommitsSince_dateGiven_passesDateToLibrary()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        Date since = new Date();
+
+        GitLabApi api = mockFactory();
+        mockCommitPage(api, platformId, branchName, since, 1, new CommitPage(emptyList(), 1, false));
+
+        // When
+        List<CommitInternalDTO> result = sut.getCommitsSince(accessToken, platformId, branchName, since);
+
+        // Then
+        assertThat(result, empty());
+        verify(commitPageLoader).loadPage(api, platformId, branchName, since, 1, COMMIT_PAGE_SIZE);
+    }
+
+    @Test
+    void getCommitsSince_mirrorEnabled_returnsCommitsOfMirror()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        String url = Randoms.alpha();
+        Date since = new Date();
+        List<CommitInternalDTO> mirroredCommits = List.of(CommitInternalDTO.builder().id(Randoms.alpha()).build());
+
+        Project project = new Project();
+        project.setHttpUrlToRepo(url);
+
+        GitLabApi api = mockFactory();
+        ProjectApi projectApi = prepareProjectApi(api);
+        when(projectApi.getProject(platformId)).thenReturn(project);
+        when(localMirrorStore.isEnabled()).thenReturn(true);
+        when(localMirrorStore.loadCommits(url, "oauth2", accessToken, branchName, since)).thenReturn(mirroredCommits);
+
+        // When
+        List<CommitInternalDTO> result = sut.getCommitsSince(accessToken, platformId, branchName, since);
+
+        // Then
+        assertThat(result, is(mirroredCommits));
+        verify(commitPageLoader, never()).loadPage(api, platformId, branchName, since, 1, COMMIT_PAGE_SIZE);
+    }
+
+    @Test
+    void getCommitsSince_mirrorNotUsable_loadsCommitsFromLibrary()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        Date since = new Date();
+
+        Project project = new Project();
+        project.setHttpUrlToRepo(Randoms.alpha());
+
+        GitLabApi api = mockFactory();
+        ProjectApi projectApi = prepareProjectApi(api);
+        when(projectApi.getProject(platformId)).thenReturn(project);
+        when(localMirrorStore.isEnabled()).thenReturn(true);
+        when(localMirrorStore.loadCommits(project.getHttpUrlToRepo(), "oauth2", accessToken, branchName, since))
+            .thenReturn(null);
+        mockCommitPage(api, platformId, branchName, since, 1, new CommitPage(emptyList(), 1, false));
+
+        // When
+        List<CommitInternalDTO> result = sut.getCommitsSince(accessToken, platformId, branchName, since);
+
+        // Then
+        assertThat(result, empty());
+        verify(commitPageLoader).loadPage(api, platformId, branchName, since, 1, COMMIT_PAGE_SIZE);
+    }
+
+    @Test
+    void getAllCommits_singleThreadAndMultiplePages_loadsAndRecordsEveryPageOnItsOwn()
+        throws GitLabApiException, GitLabException, TryRefreshException, InterruptedException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        List<Commit> firstPage = List.of(createCommit(new Date(1)), createCommit(new Date(2)));
+        List<Commit> secondPage = List.of(createCommit(new Date(3)));
+
+        GitLabApi api = mockFactory();
+        mockCommitPage(api, platformId, branchName, 1, new CommitPage(firstPage, 2, true));
+        mockCommitPage(api, platformId, branchName, 2, new CommitPage(secondPage, 2, false));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, branchName);
+
+        // Then
+        assertThat(result, contains(commitIds(firstPage.get(0), firstPage.get(1), secondPage.get(0))));
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 1, COMMIT_PAGE_SIZE);
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 2, COMMIT_PAGE_SIZE);
+        verify(providerCallScheduler, times(2)).acquire(RateLimitedApi.GITLAB, accessToken);
+        verify(providerMetrics, times(2)).recordCommitPages(ProviderMetrics.GITLAB, 1);
+        verify(api, never()).getCommitsApi();
+    }
+
+    @Test
+    void getAllCommits_singleThreadAndSecondPageRateLimitedOnce_sendsOnlySecondPageAgain()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        List<Commit> firstPage = List.of(createCommit(new Date(1)));
+        List<Commit> secondPage = List.of(createCommit(new Date(2)));
+
+        GitLabApi api = mockFactory();
+        mockCommitPage(api, platformId, branchName, 1, new CommitPage(firstPage, 2, true));
+        when(commitPageLoader.loadPage(api, platformId, branchName, null, 2, COMMIT_PAGE_SIZE))
+            .thenThrow(new GitLabApiException("", HttpStatus.TOO_MANY_REQUESTS.value()))
+            .thenReturn(new CommitPage(secondPage, 2, false));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, branchName);
+
+        // Then
+        assertThat(result, contains(commitIds(firstPage.get(0), secondPage.get(0))));
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 1, COMMIT_PAGE_SIZE);
+        verify(commitPageLoader, times(2)).loadPage(api, platformId, branchName, null, 2, COMMIT_PAGE_SIZE);
+    }
+
+    @Test
+    void getAllCommits_multipleThreadsAndMultiplePages_returnsCommitsOfAllPages()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        sut = createMultiThreadedSut();
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        List<Commit> firstPage = List.of(createCommit(new Date(1)), createCommit(new Date(2)));
+        List<Commit> secondPage = List.of(createCommit(new Date(3)));
+        List<Commit> thirdPage = List.of(createCommit(new Date(4)));
+
+        GitLabApi api = mockFactory();
+        mockCommitPage(api, platformId, branchName, 1, new CommitPage(firstPage, 3, true));
+        mockCommitPage(api, platformId, branchName, 2, new CommitPage(secondPage, 3, true));
+        mockCommitPage(api, platformId, branchName, 3, new CommitPage(thirdPage, 3, false));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, branchName);
+
+        // Then
+        assertThat(result, contains(commitIds(firstPage.get(0), firstPage.get(1), secondPage.get(0),
+                                              thirdPage.get(0))));
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 1, COMMIT_PAGE_SIZE);
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 2, COMMIT_PAGE_SIZE);
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 3, COMMIT_PAGE_SIZE);
+        verify(providerMetrics, times(3)).recordCommitPages(ProviderMetrics.GITLAB, 1);
+    }
+
+    @Test
+    void getAllCommits_multipleThreadsAndSinglePage_loadsFirstPageOnce()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        sut = createMultiThreadedSut();
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        List<Commit> firstPage = List.of(createCommit(new Date(1)));
+
+        GitLabApi api = mockFactory();
+        mockCommitPage(api, platformId, branchName, 1, new CommitPage(firstPage, 1, false));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, branchName);
+
+        // Then
+        assertThat(result, contains(commitIds(firstPage.get(0))));
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 1, COMMIT_PAGE_SIZE);
+        verify(api, never()).getCommitsApi();
+        verify(providerMetrics).recordCommitPages(ProviderMetrics.GITLAB, 1);
+    }
+
+    @Test
+    void getAllCommits_multipleThreadsAndUnknownPageCount_returnsCommitsOfAllPages()
+        throws GitLabApiException, GitLabException, TryRefreshException {
+        // Given
+        sut = createMultiThreadedSut();
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+        List<Commit> firstPage = List.of(createCommit(new Date(1)));
+        List<Commit> secondPage = List.of(createCommit(new Date(2)));
+
+        GitLabApi api = mockFactory();
+        mockCommitPage(api, platformId, branchName, 1,
+                       new CommitPage(firstPage, GitLabCommitPageLoader.UNKNOWN_TOTAL_PAGES, true));
+        mockCommitPage(api, platformId, branchName, 2,
+                       new CommitPage(secondPage, GitLabCommitPageLoader.UNKNOWN_TOTAL_PAGES, false));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, branchName);
+
+        // Then
+        assertThat(result, contains(commitIds(firstPage.get(0), secondPage.get(0))));
+        verify(commitPageLoader).loadPage(api, platformId, branchName, null, 1, COMMIT_PAGE_SIZE);
+        verify(providerMetrics, times(2)).recordCommitPages(ProviderMetrics.GITLAB, 1);
+    }
+
+    @Test
+    void getAllCommits_multipleThreadsAndPageFailsWith401Status_sutThrowsTryRefreshException()
+        throws GitLabApiException {
+        // Given
+        sut = createMultiThreadedSut();
+        long platformId = Randoms.getLong();
+        String branchName = Randoms.alpha();
+
+        GitLabApi api = mockFactory();
+        mockCommitPage(api, platformId, branchName, 1, new CommitPage(List.of(createCommit(new Date())), 2, true));
+        when(commitPageLoader.loadPage(api, platformId, branchName, null, 2, COMMIT_PAGE_SIZE))
+            .thenThrow(new GitLabApiException("", HttpStatus.UNAUTHORIZED.value()));
+
+        // When + Then
+        assertThrows(TryRefreshException.class, () -> sut.getAllCommits(accessToken, platformId, branchName));
+    }
+
     @Test
     void getRepositoryById_gitlabLibraryThrowsGitLabAPIException_sutThrowsGitLabException() throws GitLabApiException {
         // Given
@@ -374,6 +683,46 @@ class GitLabAPITest {
         assertThat(result, hasProperty("platformId", is(existingRepositoryId)));
     }
 
+    @Test
+    void getRepositoryById_gitLabAnswersRateLimitedOnce_sutSendsRequestAgain()
+        throws GitLabApiException, GitLabException, TryRefreshException, InterruptedException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        Project project = new Project();
+        project.setId(repositoryId);
+
+        GitLabApi api = mockFactory();
+        ProjectApi projectApi = prepareProjectApi(api);
+        when(projectApi.getProject(repositoryId))
+            .thenThrow(new GitLabApiException("", HttpStatus.TOO_MANY_REQUESTS.value()))
+            .thenReturn(project);
+
+        // When
+        NotSavedRepositoryInternalDTO result = sut.getRepositoryById(accessToken, repositoryId);
+
+        // Then
+        assertThat(result, hasProperty("platformId", is(repositoryId)));
+        verify(providerCallScheduler, times(2)).acquire(RateLimitedApi.GITLAB, accessToken);
+        verify(providerCallScheduler, times(2)).release(RateLimitedApi.GITLAB, accessToken);
+    }
+
+    @Test
+    void getRepositoryById_gitLabAlwaysAnswersRateLimited_sutThrowsGitLabException() throws GitLabApiException {
+        // Given
+        long repositoryId = Randoms.getLong();
+
+        GitLabApi api = mockFactory();
+        ProjectApi projectApi = prepareProjectApi(api);
+        when(projectApi.getProject(repositoryId))
+            .thenThrow(new GitLabApiException("", HttpStatus.TOO_MANY_REQUESTS.value()));
+
+        // When
+        assertThrows(GitLabException.class, () -> sut.getRepositoryById(accessToken, repositoryId));
+
+        // Then
+        verify(projectApi, times(ProviderCallScheduler.MAXIMUM_ATTEMPTS)).getProject(repositoryId);
+    }
+
     private void prepareProjectApi(List<Project> ownedProjects,
                                    List<Project> memberProjects) throws GitLabApiException {
         GitLabApi api = mockFactory();
@@ -432,6 +781,47 @@ class GitLabAPITest {
         return branchMock2;
     }
 
+    private GitLabAPI createMultiThreadedSut() {
+        return new GitLabAPI(gitLabAPIFactory, commitPageExecutor, COMMIT_FETCH_THREADS, providerCallScheduler,
+                             localMirrorStore, providerMetrics, commitPageLoader);
+    }
+
+    private void mockCommitPage(GitLabApi api, long platformId, String branchName, int page, CommitPage commitPage)
+        throws GitLabApiException {
+        mockCommitPage(api, platformId, branchName, null, page, commitPage);
+    }
+
+    private void mockCommitPage(GitLabApi api, long platformId, String branchName, Date since, int page,
+                                CommitPage commitPage) throws GitLabApiException {
+        when(commitPageLoader.loadPage(api, platformId, branchName, since, page, COMMIT_PAGE_SIZE))
+            .thenReturn(commitPage);
+    }
+
+    private Commit createCommit(Date committedDate) {
+        Commit commit = new Commit();
+        commit.setId(Randoms.alpha());
+        commit.setCommittedDate(committedDate);
+        commit.setParentIds(List.of(Randoms.alpha()));
+        commit.setStats(new CommitStats());
+        return commit;
+    }
+
+    private List<Matcher<? super CommitInternalDTO>> commitIds(Commit... commits) {
+        return Arrays.stream(commits)
+                     .<Matcher<? super CommitInternalDTO>>map(
+                         commit -> hasFeature("id", CommitInternalDTO::getId, is(commit.getId())))
+                     .toList();
+    }
+
+    private void prepareGetBranch(long platformId, String branchName, String headId, RepositoryApi repositoryApi)
+        throws GitLabApiException {
+        Branch branch = new Branch();
+        Commit commit = new Commit();
+        commit.setId(headId);
+        branch.setCommit(commit);
+        when(repositoryApi.getBranch(platformId, branchName)).thenReturn(branch);
+    }
+
     private void prepareGetBranches(Long platformId, RepositoryApi repositoryApi, List<Branch> branchMocks)
         throws GitLabApiException {
         when(repositoryApi.getBranches(platformId)).thenReturn(branchMocks);
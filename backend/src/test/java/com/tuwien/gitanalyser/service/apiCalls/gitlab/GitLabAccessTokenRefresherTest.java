@@ -0,0 +1,165 @@
+package com.tuwien.gitanalyser.service.apiCalls.gitlab;
+
+import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.exception.GitLabException;
+import com.tuwien.gitanalyser.exception.NotFoundException;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GitLabAccessTokenRefresherTest {
+
+    private static final long ACTIVE_USER_WINDOW_IN_SECONDS = 1800;
+    private static final long REFRESH_BEFORE_EXPIRY_IN_SECONDS = 300;
+
+    private GitLabAccessTokenRefresher sut;
+    private UserService userService;
+    private GitLabRefreshTokenCoordinator coordinator;
+    private DateService dateService;
+    private Date now;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        coordinator = mock(GitLabRefreshTokenCoordinator.class);
+        dateService = mock(DateService.class);
+        now = new Date();
+        when(dateService.create()).thenReturn(now);
+        sut = new GitLabAccessTokenRefresher(userService, coordinator, dateService, ACTIVE_USER_WINDOW_IN_SECONDS,
+                                             REFRESH_BEFORE_EXPIRY_IN_SECONDS);
+    }
+
+    @Test
+    void refreshExpiringTokens_activeUserTokenExpiresSoon_shouldRefreshToken() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = Randoms.getLong();
+        prepareUser(userId, AuthenticationProvider.GITLAB, secondsFromNow(REFRESH_BEFORE_EXPIRY_IN_SECONDS - 1));
+        when(coordinator.getGeneration(userId)).thenReturn(generation);
+        sut.markActive(userId);
+
+        // When
+        sut.refreshExpiringTokens();
+
+        // Then
+        verify(coordinator).refresh(userId, generation);
+    }
+
+    @Test
+    void refreshExpiringTokens_activeUserTokenExpiresLater_shouldNotRefreshToken() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        prepareUser(userId, AuthenticationProvider.GITLAB, secondsFromNow(REFRESH_BEFORE_EXPIRY_IN_SECONDS + 1));
+        sut.markActive(userId);
+
+        // When
+        sut.refreshExpiringTokens();
+
+        // Then
+        verify(coordinator, never()).refresh(anyLong(), anyLong());
+    }
+
+    @Test
+    void refreshExpiringTokens_expiryUnknown_shouldNotRefreshToken() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        prepareUser(userId, AuthenticationProvider.GITLAB, null);
+        sut.markActive(userId);
+
+        // When
+        sut.refreshExpiringTokens();
+
+        // Then
+        verify(coordinator, never()).refresh(anyLong(), anyLong());
+    }
+
+    @Test
+    void refreshExpiringTokens_gitHubUser_shouldNotRefreshToken() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        prepareUser(userId, AuthenticationProvider.GITHUB, now);
+        sut.markActive(userId);
+
+        // When
+        sut.refreshExpiringTokens();
+
+        // Then
+        verify(coordinator, never()).refresh(anyLong(), anyLong());
+    }
+
+    @Test
+    void refreshExpiringTokens_userNotActiveWithinWindow_shouldNotRefreshToken() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        prepareUser(userId, AuthenticationProvider.GITLAB, now);
+        sut.markActive(userId);
+        when(dateService.create()).thenReturn(secondsFromNow(ACTIVE_USER_WINDOW_IN_SECONDS + 1));
+
+        // When
+        sut.refreshExpiringTokens();
+
+        // Then
+        verify(coordinator, never()).refresh(anyLong(), anyLong());
+    }
+
+    @Test
+    void refreshExpiringTokens_userDeleted_shouldForgetUser() {
+        // Given
+        long userId = Randoms.getLong();
+        when(userService.getUser(userId)).thenThrow(NotFoundException.class);
+        sut.markActive(userId);
+
+        // When
+        sut.refreshExpiringTokens();
+        sut.refreshExpiringTokens();
+
+        // Then
+        verify(userService, times(1)).getUser(userId);
+    }
+
+    @Test
+    void refreshExpiringTokens_refreshFails_shouldContinueWithOtherUsers() throws GitLabException {
+        // Given
+        long failingUserId = Randoms.getLong();
+        long userId = failingUserId + 1;
+        prepareUser(failingUserId, AuthenticationProvider.GITLAB, now);
+        prepareUser(userId, AuthenticationProvider.GITLAB, now);
+        doThrow(GitLabException.class).when(coordinator).refresh(failingUserId, 0);
+        sut.markActive(failingUserId);
+        sut.markActive(userId);
+
+        // When
+        sut.refreshExpiringTokens();
+
+        // Then
+        verify(coordinator).refresh(userId, 0);
+    }
+
+    private void prepareUser(final long userId, final AuthenticationProvider authenticationProvider,
+                             final Date accessTokenExpiresAt) {
+        User user = new User();
+        user.setId(userId);
+        user.setAuthenticationProvider(authenticationProvider);
+        user.setRefreshToken(Randoms.alpha());
+        user.setAccessTokenExpiresAt(accessTokenExpiresAt);
+        when(userService.getUser(userId)).thenReturn(user);
+    }
+
+    private Date secondsFromNow(final long seconds) {
+        return new Date(now.getTime() + TimeUnit.SECONDS.toMillis(seconds));
+    }
+}
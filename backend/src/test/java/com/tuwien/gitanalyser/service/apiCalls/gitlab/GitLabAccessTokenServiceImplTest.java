@@ -29,13 +29,28 @@ class GitLabAccessTokenServiceImplTest {
 
     private GitLabAPI gitLabAPI;
     private UserService userService;
+    private GitLabAccessTokenRefresher gitLabAccessTokenRefresher;
     private GitLabAccessTokenServiceImpl sut;
 
     @BeforeEach
     void setUp() {
         gitLabAPI = mock(GitLabAPI.class);
         userService = mock(UserService.class);
-        sut = new GitLabAccessTokenServiceImpl(gitLabAPI, userService);
+        gitLabAccessTokenRefresher = mock(GitLabAccessTokenRefresher.class);
+        sut = new GitLabAccessTokenServiceImpl(gitLabAPI, userService, gitLabAccessTokenRefresher);
+    }
+
+    @Test
+    void getAllRepositories_always_shouldMarkUserActive() throws GitException, TryRefreshException {
+        // Given
+        long userId = Randoms.getLong();
+        prepareUser(userId);
+
+        // When
+        sut.getAllRepositories(userId);
+
+        // Then
+        verify(gitLabAccessTokenRefresher).markActive(userId);
     }
 
     @Test
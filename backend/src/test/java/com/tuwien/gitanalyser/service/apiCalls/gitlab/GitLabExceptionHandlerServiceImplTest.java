@@ -7,11 +7,15 @@ import com.tuwien.gitanalyser.exception.AuthenticationException;
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.GitLabException;
 import com.tuwien.gitanalyser.exception.TryRefreshException;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.Randoms;
 
+import java.util.Date;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
@@ -26,6 +30,8 @@ import static org.mockito.Mockito.when;
 
 class GitLabExceptionHandlerServiceImplTest {
 
+    private static final long GENERATION_TIME_TO_LIVE = 1800L;
+
     private GitLabExceptionHandlerServiceImpl sut;
     private GitLabAccessTokenServiceImpl gitLabAccessTokenService;
     private GitLabRefreshTokenService refreshTokenService;
@@ -34,7 +40,12 @@ class GitLabExceptionHandlerServiceImplTest {
     void setUp() {
         gitLabAccessTokenService = mock(GitLabAccessTokenServiceImpl.class);
         refreshTokenService = mock(GitLabRefreshTokenService.class);
-        sut = new GitLabExceptionHandlerServiceImpl(gitLabAccessTokenService, refreshTokenService);
+        ProviderMetrics providerMetrics = new ProviderMetrics(new SimpleMeterRegistry());
+        sut = new GitLabExceptionHandlerServiceImpl(gitLabAccessTokenService,
+                                                    new GitLabRefreshTokenCoordinator(refreshTokenService,
+                                                                                      providerMetrics,
+                                                                                      new DateService(),
+                                                                                      GENERATION_TIME_TO_LIVE));
     }
 
     @Test
@@ -523,6 +534,79 @@ class GitLabExceptionHandlerServiceImplTest {
         assertThrows(AuthenticationException.class, () -> sut.getAllCommits(userId, platformId, branch));
     }
 
+    @Test
+    void getBranchHeadId_serviceThrowsTryRefreshException_shouldCallServiceTwice()
+        throws GitException, TryRefreshException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String headId = Randoms.alpha();
+
+        when(gitLabAccessTokenService.getBranchHeadId(userId, platformId, branch))
+            .thenThrow(TryRefreshException.class)
+            .thenReturn(headId);
+
+        // When
+        String result = sut.getBranchHeadId(userId, platformId, branch);
+
+        // Then
+        verify(refreshTokenService).refreshGitAccessToken(userId);
+        assertThat(result, equalTo(headId));
+    }
+
+    @Test
+    void getBranchHeadId_serviceThrowsTryRefreshExceptionTwice_throwsAuthenticationException()
+        throws GitException, TryRefreshException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        when(gitLabAccessTokenService.getBranchHeadId(userId, platformId, branch))
+            .thenThrow(TryRefreshException.class);
+
+        // When + Then
+        assertThrows(AuthenticationException.class, () -> sut.getBranchHeadId(userId, platformId, branch));
+    }
+
+    @Test
+    void getCommitsSince_serviceThrowsTryRefreshException_shouldCallServiceTwice()
+        throws GitException, TryRefreshException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        Date since = new Date();
+
+        when(gitLabAccessTokenService.getCommitsSince(userId, platformId, branch, since))
+            .thenThrow(TryRefreshException.class)
+            .thenReturn(emptyList());
+
+        // When
+        sut.getCommitsSince(userId, platformId, branch, since);
+
+        // Then
+        verify(refreshTokenService).refreshGitAccessToken(userId);
+        verify(gitLabAccessTokenService, times(2)).getCommitsSince(userId, platformId, branch, since);
+    }
+
+    @Test
+    void getCommitsSince_serviceThrowsTryRefreshExceptionTwice_throwsAuthenticationException()
+        throws GitException, TryRefreshException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        Date since = new Date();
+
+        when(gitLabAccessTokenService.getCommitsSince(userId, platformId, branch, since))
+            .thenThrow(TryRefreshException.class);
+
+        // When + Then
+        assertThrows(AuthenticationException.class, () -> sut.getCommitsSince(userId, platformId, branch, since));
+    }
+
     @Test
     void repositoryAccessibleByUser_userIdGivenServiceReturnsTrue_shouldReturnTrue() {
         // Given
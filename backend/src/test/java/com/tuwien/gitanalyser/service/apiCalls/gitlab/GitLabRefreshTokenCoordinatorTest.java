@@ -0,0 +1,238 @@
+package com.tuwien.gitanalyser.service.apiCalls.gitlab;
+
+import com.tuwien.gitanalyser.exception.GitLabException;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.apiCalls.metrics.ProviderMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GitLabRefreshTokenCoordinatorTest {
+
+    private static final long GENERATION_TIME_TO_LIVE = 1800L;
+
+    private GitLabRefreshTokenCoordinator sut;
+    private GitLabRefreshTokenService refreshTokenService;
+    private SimpleMeterRegistry meterRegistry;
+    private DateService dateService;
+    private Date now;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = mock(GitLabRefreshTokenService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dateService = mock(DateService.class);
+        now = new Date();
+        when(dateService.create()).thenAnswer(invocation -> now);
+        sut = new GitLabRefreshTokenCoordinator(refreshTokenService, new ProviderMetrics(meterRegistry), dateService,
+                                                GENERATION_TIME_TO_LIVE);
+    }
+
+    @Test
+    void refresh_generationIsCurrent_shouldRefreshToken() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+
+        // When
+        sut.refresh(userId, generation);
+
+        // Then
+        verify(refreshTokenService).refreshGitAccessToken(userId);
+        assertThat(sut.getGeneration(userId), equalTo(generation + 1));
+    }
+
+    @Test
+    void refresh_tokenAlreadyRefreshedSinceGeneration_shouldNotRefreshAgain() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+        sut.refresh(userId, generation);
+
+        // When
+        sut.refresh(userId, generation);
+
+        // Then
+        verify(refreshTokenService, times(1)).refreshGitAccessToken(userId);
+    }
+
+    @Test
+    void refresh_otherUserRefreshed_shouldRefreshToken() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long otherUserId = userId + 1;
+        long generation = sut.getGeneration(userId);
+        sut.refresh(otherUserId, sut.getGeneration(otherUserId));
+
+        // When
+        sut.refresh(userId, generation);
+
+        // Then
+        verify(refreshTokenService).refreshGitAccessToken(userId);
+    }
+
+    @Test
+    void refresh_refreshFails_shouldKeepGenerationSoNextCallerRetries() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+        doThrow(GitLabException.class).doNothing().when(refreshTokenService).refreshGitAccessToken(userId);
+
+        // When
+        assertThrows(GitLabException.class, () -> sut.refresh(userId, generation));
+        sut.refresh(userId, generation);
+
+        // Then
+        verify(refreshTokenService, times(2)).refreshGitAccessToken(userId);
+    }
+
+    @Test
+    void refresh_callerArrivesWhileRefreshRuns_shouldWaitAndNotRefreshAgain() throws Exception {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            refreshStarted.countDown();
+            releaseRefresh.await();
+            return null;
+        }).when(refreshTokenService).refreshGitAccessToken(userId);
+
+        // When
+        Thread firstCaller = new Thread(() -> refreshUnchecked(userId, generation));
+        Thread secondCaller = new Thread(() -> refreshUnchecked(userId, generation));
+        firstCaller.start();
+        refreshStarted.await();
+        secondCaller.start();
+        while (secondCaller.getState() != Thread.State.BLOCKED) {
+            Thread.onSpinWait();
+        }
+        releaseRefresh.countDown();
+        firstCaller.join();
+        secondCaller.join();
+
+        // Then
+        verify(refreshTokenService, times(1)).refreshGitAccessToken(userId);
+    }
+
+    @Test
+    void refresh_tokenRefreshedAndSkipped_shouldRecordRefreshes() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+        sut.refresh(userId, generation);
+
+        // When
+        sut.refresh(userId, generation);
+
+        // Then
+        assertThat(getRefreshes(ProviderMetrics.REFRESHED), equalTo(1L));
+        assertThat(getRefreshes(ProviderMetrics.SKIPPED), equalTo(1L));
+    }
+
+    @Test
+    void refresh_refreshFails_shouldRecordFailedRefresh() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        doThrow(GitLabException.class).when(refreshTokenService).refreshGitAccessToken(userId);
+
+        // When
+        assertThrows(GitLabException.class, () -> sut.refresh(userId, sut.getGeneration(userId)));
+
+        // Then
+        assertThat(getRefreshes(ProviderMetrics.FAILED), equalTo(1L));
+    }
+
+    @Test
+    void forgetIdleGenerations_lastRefreshOlderThanTimeToLive_shouldForgetGeneration() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+        sut.refresh(userId, generation);
+        passTime(GENERATION_TIME_TO_LIVE + 1);
+
+        // When
+        sut.forgetIdleGenerations();
+
+        // Then
+        assertThat(sut.getGeneration(userId), equalTo(generation));
+    }
+
+    @Test
+    void forgetIdleGenerations_lastRefreshWithinTimeToLive_shouldKeepGeneration() throws GitLabException {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+        sut.refresh(userId, generation);
+        passTime(GENERATION_TIME_TO_LIVE - 1);
+
+        // When
+        sut.forgetIdleGenerations();
+
+        // Then
+        assertThat(sut.getGeneration(userId), equalTo(generation + 1));
+    }
+
+    @Test
+    void forgetIdleGenerations_refreshRuns_shouldKeepGeneration() throws Exception {
+        // Given
+        long userId = Randoms.getLong();
+        long generation = sut.getGeneration(userId);
+        sut.refresh(userId, generation);
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            refreshStarted.countDown();
+            releaseRefresh.await();
+            return null;
+        }).when(refreshTokenService).refreshGitAccessToken(userId);
+        Thread caller = new Thread(() -> refreshUnchecked(userId, generation + 1));
+        caller.start();
+        refreshStarted.await();
+        passTime(GENERATION_TIME_TO_LIVE + 1);
+
+        // When
+        sut.forgetIdleGenerations();
+        releaseRefresh.countDown();
+        caller.join();
+
+        // Then
+        assertThat(sut.getGeneration(userId), equalTo(generation + 2));
+    }
+
+    private void passTime(final long seconds) {
+        now = new Date(now.getTime() + TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    private long getRefreshes(final String outcome) {
+        return meterRegistry.get("gitanalyser.provider.token.refreshes")
+                            .tag("provider", ProviderMetrics.GITLAB)
+                            .tag("outcome", outcome)
+                            .timer()
+                            .count();
+    }
+
+    private void refreshUnchecked(final long userId, final long generation) {
+        try {
+            sut.refresh(userId, generation);
+        } catch (GitLabException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
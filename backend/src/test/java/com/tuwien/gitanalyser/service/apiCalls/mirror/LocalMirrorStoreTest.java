@@ -0,0 +1,306 @@
+package com.tuwien.gitanalyser.service.apiCalls.mirror;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeResult;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.Randoms;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+
+class LocalMirrorStoreTest {
+
+    private static final String USERNAME = "oauth2";
+    private static final long START_TIME = 1_600_000_000_000L;
+    private static final long COMMIT_INTERVAL = 60_000L;
+
+    @TempDir
+    private Path tempDirectory;
+
+    private LocalMirrorStore sut;
+    private Git source;
+    private String url;
+    private String accessToken;
+    private long commitTime;
+
+    @BeforeEach
+    void setUp() throws GitAPIException {
+        sut = new LocalMirrorStore(true, tempDirectory.resolve("mirrors").toString());
+
+        File sourceDirectory = tempDirectory.resolve("source").toFile();
+        source = Git.init().setDirectory(sourceDirectory).setInitialBranch("main").call();
+        url = "file://" + sourceDirectory.getAbsolutePath();
+        accessToken = Randoms.alpha();
+        commitTime = START_TIME;
+    }
+
+    @AfterEach
+    void tearDown() {
+        source.close();
+    }
+
+    @Test
+    void loadCommits_mirrorsDisabled_returnsNull() throws IOException, GitAPIException {
+        // Given
+        sut = new LocalMirrorStore(false, tempDirectory.resolve("mirrors").toString());
+        commit("a.txt", "first\n");
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, null, null);
+
+        // Then
+        assertThat(result, nullValue());
+    }
+
+    @Test
+    void loadCommits_repositoryNotMirroredYet_returnsCommitsWithParentsAndLineStatistics()
+        throws IOException, GitAPIException {
+        // Given
+        RevCommit first = commit("a.txt", "one\ntwo\nthree\n");
+        RevCommit second = commit("a.txt", "one\n2\nthree\nfour\n");
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, null, null);
+
+        // Then
+        assertThat(result, contains(
+            commitMatcher(first, List.of(), 3, 0),
+            commitMatcher(second, List.of(first.getName()), 2, 1)
+        ));
+    }
+
+    @Test
+    void loadCommits_sourceChangedAfterFirstLoad_returnsFetchedCommits() throws IOException, GitAPIException {
+        // Given
+        RevCommit first = commit("a.txt", "one\n");
+        sut.loadCommits(url, USERNAME, accessToken, null, null);
+        RevCommit second = commit("b.txt", "one\ntwo\n");
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, null, null);
+
+        // Then
+        assertThat(result, contains(
+            commitMatcher(first, List.of(), 1, 0),
+            commitMatcher(second, List.of(first.getName()), 2, 0)
+        ));
+    }
+
+    @Test
+    void loadCommits_mergeCommit_countsLinesAgainstFirstParent() throws IOException, GitAPIException {
+        // Given
+        RevCommit base = commit("a.txt", "one\n");
+        source.branchCreate().setName("feature").call();
+        RevCommit mainCommit = commit("a.txt", "one\ntwo\n");
+        source.checkout().setName("feature").call();
+        RevCommit featureCommit = commit("b.txt", "one\ntwo\nthree\n");
+        source.checkout().setName("main").call();
+        MergeResult merge = source.merge()
+                                  .include(featureCommit)
+                                  .setCommit(true)
+                                  .setMessage(Randoms.alpha())
+                                  .call();
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, null, null);
+
+        // Then
+        assertThat(result.get(result.size() - 1), allOf(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(merge.getNewHead().getName())),
+            hasFeature("parentIds", CommitInternalDTO::getParentIds,
+                       equalTo(List.of(mainCommit.getName(), featureCommit.getName()))),
+            hasFeature("isMergeCommit", CommitInternalDTO::isMergeCommit, is(true)),
+            hasFeature("additions", CommitInternalDTO::getAdditions, equalTo(3)),
+            hasFeature("deletions", CommitInternalDTO::getDeletions, equalTo(0))
+        ));
+        assertThat(result.size(), equalTo(4));
+        assertThat(result.get(0).getId(), equalTo(base.getName()));
+    }
+
+    @Test
+    void loadCommits_sinceGiven_returnsCommitsAtOrAfterSince() throws IOException, GitAPIException {
+        // Given
+        commit("a.txt", "one\n");
+        RevCommit second = commit("a.txt", "one\ntwo\n");
+        RevCommit third = commit("a.txt", "one\ntwo\nthree\n");
+
+        // When
+        List<CommitInternalDTO> result =
+            sut.loadCommits(url, USERNAME, accessToken, null, second.getCommitterIdent().getWhen());
+
+        // Then
+        assertThat(result, contains(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(second.getName())),
+            hasFeature("id", CommitInternalDTO::getId, equalTo(third.getName()))
+        ));
+    }
+
+    @Test
+    void loadCommits_branchGiven_returnsCommitsOfBranch() throws IOException, GitAPIException {
+        // Given
+        RevCommit base = commit("a.txt", "one\n");
+        source.checkout().setCreateBranch(true).setName("feature").call();
+        RevCommit featureCommit = commit("b.txt", "one\n");
+        source.checkout().setName("main").call();
+        commit("c.txt", "one\n");
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, "feature", null);
+
+        // Then
+        assertThat(result, contains(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(base.getName())),
+            hasFeature("id", CommitInternalDTO::getId, equalTo(featureCommit.getName()))
+        ));
+    }
+
+    @Test
+    void loadCommits_unknownBranch_returnsNull() throws IOException, GitAPIException {
+        // Given
+        commit("a.txt", "one\n");
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, Randoms.alpha(), null);
+
+        // Then
+        assertThat(result, nullValue());
+    }
+
+    @Test
+    void loadCommits_repositoryNotReachable_returnsNull() {
+        // Given
+        String unknownUrl = "file://" + tempDirectory.resolve(Randoms.alpha()).toAbsolutePath();
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(unknownUrl, USERNAME, accessToken, null, null);
+
+        // Then
+        assertThat(result, nullValue());
+    }
+
+    @Test
+    void loadCommits_sinceGiven_stopsWalkAtFirstOlderCommit() throws IOException, GitAPIException {
+        // Given
+        commitTime = START_TIME + 10 * COMMIT_INTERVAL;
+        commit("a.txt", "one\n");
+        commitTime = START_TIME;
+        RevCommit older = commit("a.txt", "one\ntwo\n");
+        RevCommit newer = commit("a.txt", "one\ntwo\nthree\n");
+        Date since = new Date(older.getCommitterIdent().getWhen().getTime() + COMMIT_INTERVAL / 2);
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, null, since);
+
+        // Then
+        // the first commit is dated after since by a skewed clock, but only reachable through an older commit
+        assertThat(result, contains(hasFeature("id", CommitInternalDTO::getId, equalTo(newer.getName()))));
+    }
+
+    @Test
+    void loadCommits_authorMapperGiven_mapsEveryAuthorOnce() throws IOException, GitAPIException {
+        // Given
+        PersonIdent author = new PersonIdent(Randoms.alpha(), Randoms.alpha() + "@example.com");
+        commit("a.txt", "one\n", author);
+        commit("a.txt", "one\ntwo\n", author);
+        String mappedAuthor = Randoms.alpha();
+        List<Map<String, PersonIdent>> mappedAuthors = new ArrayList<>();
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, null, null, authors -> {
+            mappedAuthors.add(authors);
+            Map<String, String> mapped = new HashMap<>();
+            authors.forEach((commitId, ident) -> mapped.put(commitId, mappedAuthor));
+            return mapped;
+        });
+
+        // Then
+        assertThat(result, everyItem(hasFeature("author", CommitInternalDTO::getAuthor, equalTo(mappedAuthor))));
+        assertThat(mappedAuthors.size(), equalTo(1));
+        assertThat(mappedAuthors.get(0).size(), equalTo(1));
+    }
+
+    @Test
+    void loadCommits_authorMapperOmitsIdentity_keepsNameOfGitAuthor() throws IOException, GitAPIException {
+        // Given
+        PersonIdent author = new PersonIdent(Randoms.alpha(), Randoms.alpha() + "@example.com");
+        commit("a.txt", "one\n", author);
+
+        // When
+        List<CommitInternalDTO> result = sut.loadCommits(url, USERNAME, accessToken, null, null,
+                                                         authors -> Map.of());
+
+        // Then
+        assertThat(result, contains(hasFeature("author", CommitInternalDTO::getAuthor, equalTo(author.getName()))));
+    }
+
+    @Test
+    void getCommits_sinceAfterLastCommit_returnsEmptyList() throws IOException, GitAPIException {
+        // Given
+        commit("a.txt", "one\n");
+        sut.synchronize(url, USERNAME, accessToken);
+
+        // When
+        List<CommitInternalDTO> result = sut.getCommits(url, null, new Date(commitTime + COMMIT_INTERVAL));
+
+        // Then
+        assertThat(result, empty());
+    }
+
+    private RevCommit commit(final String fileName, final String content) throws IOException, GitAPIException {
+        return commit(fileName, content, new PersonIdent(Randoms.alpha(), Randoms.alpha() + "@example.com"));
+    }
+
+    private RevCommit commit(final String fileName, final String content, final PersonIdent identity)
+        throws IOException, GitAPIException {
+        Files.writeString(source.getRepository().getWorkTree().toPath().resolve(fileName), content);
+        source.add().addFilepattern(fileName).call();
+
+        commitTime += COMMIT_INTERVAL;
+        PersonIdent author = new PersonIdent(identity, new Date(commitTime), TimeZone.getDefault());
+        return source.commit()
+                     .setMessage(Randoms.alpha())
+                     .setAuthor(author)
+                     .setCommitter(author)
+                     .call();
+    }
+
+    private Matcher<CommitInternalDTO> commitMatcher(final RevCommit commit, final List<String> parentIds,
+                                                     final int additions, final int deletions) {
+        return allOf(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(commit.getName())),
+            hasFeature("author", CommitInternalDTO::getAuthor, equalTo(commit.getAuthorIdent().getName())),
+            hasFeature("message", CommitInternalDTO::getMessage, equalTo(commit.getFullMessage())),
+            hasFeature("timestamp", CommitInternalDTO::getTimestamp, equalTo(commit.getCommitterIdent().getWhen())),
+            hasFeature("parentIds", CommitInternalDTO::getParentIds, equalTo(parentIds)),
+            hasFeature("isMergeCommit", CommitInternalDTO::isMergeCommit, is(false)),
+            hasFeature("additions", CommitInternalDTO::getAdditions, equalTo(additions)),
+            hasFeature("deletions", CommitInternalDTO::getDeletions, equalTo(deletions))
+        );
+    }
+}
@@ -0,0 +1,220 @@
+package com.tuwien.gitanalyser.service.apiCalls.ratelimit;
+
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class ProviderCallSchedulerTest {
+
+    private static final int MAXIMUM_CONCURRENT_CALLS = 4;
+    private static final int LOW_WATERMARK = 100;
+    private static final int MAXIMUM_WAIT_SECONDS = 30;
+    private static final int DEFAULT_RETRY_AFTER_SECONDS = 10;
+    private static final int LIMIT = 4000;
+
+    private ProviderCallScheduler sut;
+    private SimpleMeterRegistry meterRegistry;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = createScheduler(MAXIMUM_WAIT_SECONDS);
+        accessToken = Randoms.alpha();
+    }
+
+    @Test
+    void acquire_budgetUnknown_shouldNotDelayCall() throws InterruptedException {
+        // Given
+
+        // When
+        sut.acquire(RateLimitedApi.GITLAB, accessToken);
+
+        // Then
+        assertThat(getDelayedCalls(RateLimitedApi.GITLAB), equalTo(0.0));
+    }
+
+    @Test
+    void acquire_maximumConcurrentCallsRunning_shouldWaitForRelease() throws InterruptedException {
+        // Given
+        for (int i = 0; i < MAXIMUM_CONCURRENT_CALLS; i++) {
+            sut.acquire(RateLimitedApi.GITLAB, accessToken);
+        }
+
+        // When
+        Thread caller = startAcquire(accessToken);
+        awaitWaiting(caller);
+        sut.release(RateLimitedApi.GITLAB, accessToken);
+        caller.join();
+
+        // Then
+        assertThat(getDelayedCalls(RateLimitedApi.GITLAB), equalTo(1.0));
+    }
+
+    @Test
+    void acquire_maximumConcurrentCallsOfOtherTokenRunning_shouldNotDelayCall() throws InterruptedException {
+        // Given
+        for (int i = 0; i < MAXIMUM_CONCURRENT_CALLS; i++) {
+            sut.acquire(RateLimitedApi.GITLAB, Randoms.alpha() + accessToken);
+        }
+
+        // When
+        sut.acquire(RateLimitedApi.GITLAB, accessToken);
+
+        // Then
+        assertThat(getDelayedCalls(RateLimitedApi.GITLAB), equalTo(0.0));
+    }
+
+    @Test
+    void acquire_halfOfBudgetLeft_shouldRunHalfOfMaximumConcurrentCalls() throws InterruptedException {
+        // Given
+        observe(accessToken, LIMIT / 2, Instant.now().plusSeconds(60));
+        for (int i = 0; i < MAXIMUM_CONCURRENT_CALLS / 2; i++) {
+            sut.acquire(RateLimitedApi.GITLAB, accessToken);
+        }
+
+        // When
+        Thread caller = startAcquire(accessToken);
+        awaitWaiting(caller);
+
+        // Then
+        assertThat(sut.getQueuedCalls(RateLimitedApi.GITLAB), equalTo(1));
+        sut.release(RateLimitedApi.GITLAB, accessToken);
+        caller.join();
+    }
+
+    @Test
+    void acquire_budgetUsedUp_shouldWaitUntilBudgetIsReported() throws InterruptedException {
+        // Given
+        observe(accessToken, 0, Instant.now().plusSeconds(60));
+
+        // When
+        Thread caller = startAcquire(accessToken);
+        awaitWaiting(caller);
+        observe(accessToken, LIMIT, Instant.now().plusSeconds(60));
+        caller.join();
+
+        // Then
+        assertThat(getDelayedCalls(RateLimitedApi.GITLAB), equalTo(1.0));
+    }
+
+    @Test
+    void acquire_budgetUsedUpLongerThanMaximumWait_shouldSendCallAnyway() throws InterruptedException {
+        // Given
+        sut = createScheduler(0);
+        observe(accessToken, 0, Instant.now().plusSeconds(60));
+
+        // When
+        sut.acquire(RateLimitedApi.GITLAB, accessToken);
+
+        // Then
+        assertThat(sut.getQueuedCalls(RateLimitedApi.GITLAB), equalTo(0));
+    }
+
+    @Test
+    void observe_tooManyRequests_shouldReturnRateLimitedAndPauseCalls() throws InterruptedException {
+        // Given
+
+        // When
+        boolean result = sut.observe(RateLimitedApi.GITLAB, accessToken, 429, Map.of("Retry-After", "60")::get);
+
+        // Then
+        assertThat(result, is(true));
+        assertThat(meterRegistry.get("gitanalyser.provider.calls.rate-limited").tag("api", "gitlab").counter()
+                                .count(), equalTo(1.0));
+        Thread caller = startAcquire(accessToken);
+        awaitWaiting(caller);
+        caller.interrupt();
+        caller.join();
+    }
+
+    @Test
+    void observe_successfulResponse_shouldReturnNotRateLimited() {
+        // Given
+
+        // When
+        boolean result = observe(accessToken, LIMIT, Instant.now().plusSeconds(60));
+
+        // Then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    void observe_budgetsOfTwoTokens_shouldReportLowestRemainingBudget() {
+        // Given
+        observe(accessToken, LIMIT, Instant.now().plusSeconds(60));
+
+        // When
+        observe(Randoms.alpha() + accessToken, LOW_WATERMARK, Instant.now().plusSeconds(60));
+
+        // Then
+        assertThat(meterRegistry.get("gitanalyser.provider.rate-limit.remaining").tag("api", "gitlab").gauge()
+                                .value(), equalTo((double) LOW_WATERMARK));
+    }
+
+    @Test
+    void observe_budgetAlreadyReset_shouldNotReportRemainingBudget() {
+        // Given
+
+        // When
+        observe(accessToken, 0, Instant.now().minusSeconds(1));
+
+        // Then
+        assertThat(Double.isNaN(sut.getLowestRemainingBudget(RateLimitedApi.GITLAB)), is(true));
+    }
+
+    @Test
+    void forgetIdleBudgets_budgetNotResetYet_shouldKeepBudget() {
+        // Given
+        observe(accessToken, LOW_WATERMARK, Instant.now().plusSeconds(60));
+
+        // When
+        sut.forgetIdleBudgets();
+
+        // Then
+        assertThat(sut.getLowestRemainingBudget(RateLimitedApi.GITLAB), equalTo((double) LOW_WATERMARK));
+    }
+
+    private ProviderCallScheduler createScheduler(final int maximumWaitSeconds) {
+        return new ProviderCallScheduler(new DateService(), meterRegistry, MAXIMUM_CONCURRENT_CALLS, LOW_WATERMARK,
+                                         maximumWaitSeconds, DEFAULT_RETRY_AFTER_SECONDS);
+    }
+
+    private boolean observe(final String token, final int remaining, final Instant reset) {
+        return sut.observe(RateLimitedApi.GITLAB, token, 200, Map.of("RateLimit-Remaining", String.valueOf(remaining),
+                                                                     "RateLimit-Limit", String.valueOf(LIMIT),
+                                                                     "RateLimit-Reset",
+                                                                     String.valueOf(reset.getEpochSecond()))::get);
+    }
+
+    private double getDelayedCalls(final RateLimitedApi api) {
+        return meterRegistry.get("gitanalyser.provider.calls.delayed").tag("api", api.getTag()).counter().count();
+    }
+
+    private Thread startAcquire(final String token) {
+        Thread caller = new Thread(() -> {
+            try {
+                sut.acquire(RateLimitedApi.GITLAB, token);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        caller.start();
+        return caller;
+    }
+
+    private void awaitWaiting(final Thread thread) {
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+    }
+}
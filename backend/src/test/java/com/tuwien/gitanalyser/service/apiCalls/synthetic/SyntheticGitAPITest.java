@@ -0,0 +1,180 @@
+package com.tuwien.gitanalyser.service.apiCalls.synthetic;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.BranchInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.exception.SyntheticException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.in;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SyntheticGitAPITest {
+
+    private static final int COMMITS = 1000;
+    private static final int AUTHORS = 7;
+    private static final double MERGE_RATIO = 0.1;
+    private static final int BRANCHES = 4;
+    private static final int REPOSITORIES = 3;
+
+    private SyntheticGitAPI sut;
+    private String accessToken;
+    private long platformId;
+
+    @BeforeEach
+    void setUp() {
+        sut = new SyntheticGitAPI(COMMITS, AUTHORS, MERGE_RATIO, BRANCHES, REPOSITORIES);
+        accessToken = Randoms.alpha();
+        platformId = Randoms.integer(1, 1000);
+    }
+
+    @Test
+    void getAllRepositories_always_returnsConfiguredNumberOfRepositories() {
+        // When + Then
+        assertThat(sut.getAllRepositories(accessToken), hasSize(REPOSITORIES));
+    }
+
+    @Test
+    void getAllBranches_always_returnsMainAndForkedBranches() {
+        // When
+        List<BranchInternalDTO> result = sut.getAllBranches(accessToken, platformId);
+
+        // Then
+        assertThat(result.stream().map(BranchInternalDTO::getName).toList(),
+                   contains("main", "branch-1", "branch-2", "branch-3"));
+    }
+
+    @Test
+    void getAllCommits_defaultBranch_returnsConfiguredNumberOfCommitsSortedByTimestamp() throws SyntheticException {
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, null);
+
+        // Then
+        assertThat(result, hasSize(COMMITS));
+        assertThat(result.stream().sorted(Comparator.comparing(CommitInternalDTO::getTimestamp)).toList(),
+                   equalTo(result));
+        assertThat(result.stream().map(CommitInternalDTO::getId).distinct().count(), equalTo((long) COMMITS));
+    }
+
+    @Test
+    void getAllCommits_calledTwice_returnsSameHistory() throws SyntheticException {
+        // Given
+        List<CommitInternalDTO> first = sut.getAllCommits(accessToken, platformId, "main");
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, "main");
+
+        // Then
+        assertThat(result.stream().map(this::describe).toList(), equalTo(first.stream().map(this::describe).toList()));
+    }
+
+    @Test
+    void getAllCommits_otherRepository_returnsOtherHistory() throws SyntheticException {
+        // Given
+        Set<String> otherIds = sut.getAllCommits(accessToken, platformId + 1, null).stream()
+                                  .map(CommitInternalDTO::getId)
+                                  .collect(Collectors.toSet());
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, null);
+
+        // Then
+        assertThat(result.stream().map(CommitInternalDTO::getId).toList(), everyItem(not(in(otherIds))));
+    }
+
+    @Test
+    void getAllCommits_forkedBranch_sharesCommitsOfMainUntilForkPoint() throws SyntheticException {
+        // Given
+        List<CommitInternalDTO> main = sut.getAllCommits(accessToken, platformId, null);
+        int forkPoint = COMMITS * 2 / BRANCHES;
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, "branch-2");
+
+        // Then
+        assertThat(result, hasSize(forkPoint + COMMITS / BRANCHES));
+        assertThat(result.subList(0, forkPoint).stream().map(this::describe).toList(),
+                   equalTo(main.subList(0, forkPoint).stream().map(this::describe).toList()));
+        assertThat(result.get(forkPoint).getId(), not(equalTo(main.get(forkPoint).getId())));
+        assertThat(result.get(forkPoint).getParentIds().get(0), equalTo(main.get(forkPoint - 1).getId()));
+    }
+
+    @Test
+    void getAllCommits_mergeRatioGiven_mergeCommitsHaveTwoParentsOfTheHistory() throws SyntheticException {
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, null);
+
+        // Then
+        Set<String> ids = result.stream().map(CommitInternalDTO::getId).collect(Collectors.toSet());
+        List<CommitInternalDTO> mergeCommits = result.stream().filter(CommitInternalDTO::isMergeCommit).toList();
+        assertThat(mergeCommits.size(), greaterThan(0));
+        assertThat(mergeCommits.size(), lessThanOrEqualTo((int) (COMMITS * MERGE_RATIO * 2)));
+        mergeCommits.forEach(commit -> {
+            assertThat(commit.getParentIds(), hasSize(2));
+            assertThat(commit.getParentIds(), everyItem(in(ids)));
+        });
+    }
+
+    @Test
+    void getAllCommits_authorsGiven_usesAtMostConfiguredAuthors() throws SyntheticException {
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(accessToken, platformId, null);
+
+        // Then
+        assertThat(result.stream().map(CommitInternalDTO::getAuthor).distinct().count(),
+                   lessThanOrEqualTo((long) AUTHORS));
+    }
+
+    @Test
+    void getAllCommits_unknownBranch_throwsSyntheticException() {
+        // When + Then
+        assertThrows(SyntheticException.class, () -> sut.getAllCommits(accessToken, platformId, Randoms.alpha()));
+        assertThrows(SyntheticException.class, () -> sut.getAllCommits(accessToken, platformId, "branch-4"));
+    }
+
+    @Test
+    void getBranchHeadId_always_returnsIdOfLastCommit() throws SyntheticException {
+        // Given
+        List<CommitInternalDTO> commits = sut.getAllCommits(accessToken, platformId, "branch-1");
+
+        // When
+        String result = sut.getBranchHeadId(accessToken, platformId, "branch-1");
+
+        // Then
+        assertThat(result, equalTo(commits.get(commits.size() - 1).getId()));
+    }
+
+    @Test
+    void getCommitsSince_sinceGiven_returnsCommitsAtOrAfterSince() throws SyntheticException {
+        // Given
+        List<CommitInternalDTO> commits = sut.getAllCommits(accessToken, platformId, null);
+        int first = Randoms.integer(1, COMMITS - 1);
+
+        // When
+        List<CommitInternalDTO> result =
+            sut.getCommitsSince(accessToken, platformId, null, commits.get(first).getTimestamp());
+
+        // Then
+        assertThat(result.stream().map(this::describe).toList(),
+                   equalTo(commits.subList(first, COMMITS).stream().map(this::describe).toList()));
+    }
+
+    private String describe(final CommitInternalDTO commit) {
+        return commit.getId() + commit.getAuthor() + commit.getTimestamp().getTime() + commit.getParentIds()
+                   + commit.getAdditions() + commit.getDeletions();
+    }
+}
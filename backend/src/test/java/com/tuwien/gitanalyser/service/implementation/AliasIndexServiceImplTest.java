@@ -0,0 +1,170 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.AliasIndexInternalDTO;
+import com.tuwien.gitanalyser.entity.Assignment;
+import com.tuwien.gitanalyser.entity.Repository;
+import com.tuwien.gitanalyser.entity.SubAssignment;
+import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.repository.RepositoryRepository;
+import com.tuwien.gitanalyser.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AliasIndexServiceImplTest {
+
+    private static final int MAXIMUM_CACHED_REPOSITORIES = 2;
+
+    private AliasIndexServiceImpl sut;
+    private UserService userService;
+    private RepositoryRepository repositoryRepository;
+
+    private User user;
+    private long platformId;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        repositoryRepository = mock(RepositoryRepository.class);
+        sut = new AliasIndexServiceImpl(userService, repositoryRepository, MAXIMUM_CACHED_REPOSITORIES);
+
+        user = mock(User.class);
+        when(user.getId()).thenReturn(Randoms.getLong());
+        when(userService.getUser(user.getId())).thenReturn(user);
+        platformId = Randoms.getLong();
+    }
+
+    @Test
+    void getAliasIndex_repositoryDoesNotExist_returnsEmptyIndex() {
+        // Given
+        when(repositoryRepository.findByUserAndPlatformId(user, platformId)).thenReturn(Optional.empty());
+
+        // When
+        AliasIndexInternalDTO result = sut.getAliasIndex(user.getId(), platformId);
+
+        // Then
+        assertThat(result.getAliases(), equalTo(Map.of()));
+    }
+
+    @Test
+    void getAliasIndex_assignmentsExist_mapsEveryAssignedNameToItsKey() {
+        // Given
+        String key1 = Randoms.alpha();
+        String key2 = Randoms.alpha();
+        String assignedName1 = Randoms.alpha();
+        String assignedName2 = Randoms.alpha();
+        String assignedName3 = Randoms.alpha();
+        prepareRepository(createAssignment(key1, assignedName1, assignedName2),
+                          createAssignment(key2, assignedName3));
+
+        // When
+        AliasIndexInternalDTO result = sut.getAliasIndex(user.getId(), platformId);
+
+        // Then
+        assertThat(result.getAliases(), equalTo(Map.of(assignedName1, key1,
+                                                       assignedName2, key1,
+                                                       assignedName3, key2)));
+    }
+
+    @Test
+    void getAliasIndex_calledTwice_buildsIndexOnce() {
+        // Given
+        prepareRepository(createAssignment(Randoms.alpha(), Randoms.alpha()));
+
+        // When
+        AliasIndexInternalDTO first = sut.getAliasIndex(user.getId(), platformId);
+        AliasIndexInternalDTO second = sut.getAliasIndex(user.getId(), platformId);
+
+        // Then
+        assertThat(second, sameInstance(first));
+        verify(repositoryRepository, times(1)).findByUserAndPlatformId(user, platformId);
+    }
+
+    @Test
+    void getAliasIndex_invalidatedInBetween_rebuildsIndexWithNewVersion() {
+        // Given
+        prepareRepository(createAssignment(Randoms.alpha(), Randoms.alpha()));
+        AliasIndexInternalDTO first = sut.getAliasIndex(user.getId(), platformId);
+
+        // When
+        sut.invalidate(user.getId(), platformId);
+        AliasIndexInternalDTO second = sut.getAliasIndex(user.getId(), platformId);
+
+        // Then
+        assertThat(second.getVersion(), not(equalTo(first.getVersion())));
+        verify(repositoryRepository, times(2)).findByUserAndPlatformId(user, platformId);
+    }
+
+    @Test
+    void getAliasIndex_moreRepositoriesThanCached_rebuildsLeastRecentlyUsedIndex() {
+        // Given
+        prepareRepository(createAssignment(Randoms.alpha(), Randoms.alpha()));
+        AliasIndexInternalDTO first = sut.getAliasIndex(user.getId(), platformId);
+
+        // When
+        queryOtherRepository();
+        queryOtherRepository();
+        AliasIndexInternalDTO second = sut.getAliasIndex(user.getId(), platformId);
+
+        // Then
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getVersion(), not(equalTo(first.getVersion())));
+        verify(repositoryRepository, times(2)).findByUserAndPlatformId(user, platformId);
+    }
+
+    @Test
+    void getAliasIndex_moreRepositoriesThanCachedButUsedInBetween_keepsIndex() {
+        // Given
+        prepareRepository(createAssignment(Randoms.alpha(), Randoms.alpha()));
+        AliasIndexInternalDTO first = sut.getAliasIndex(user.getId(), platformId);
+
+        // When
+        queryOtherRepository();
+        sut.getAliasIndex(user.getId(), platformId);
+        queryOtherRepository();
+        AliasIndexInternalDTO second = sut.getAliasIndex(user.getId(), platformId);
+
+        // Then
+        assertThat(second, sameInstance(first));
+        verify(repositoryRepository, times(1)).findByUserAndPlatformId(user, platformId);
+    }
+
+    private void queryOtherRepository() {
+        long otherPlatformId = Randoms.getLong();
+        when(repositoryRepository.findByUserAndPlatformId(user, otherPlatformId)).thenReturn(Optional.empty());
+        sut.getAliasIndex(user.getId(), otherPlatformId);
+    }
+
+    private void prepareRepository(final Assignment... assignments) {
+        Repository repository = mock(Repository.class);
+        when(repository.getAssignments()).thenReturn(List.of(assignments));
+        when(repositoryRepository.findByUserAndPlatformId(user, platformId)).thenReturn(Optional.of(repository));
+    }
+
+    private Assignment createAssignment(final String key, final String... assignedNames) {
+        Assignment assignment = mock(Assignment.class);
+        when(assignment.getKey()).thenReturn(key);
+        List<SubAssignment> subAssignments = new ArrayList<>();
+        for (String assignedName : assignedNames) {
+            SubAssignment subAssignment = mock(SubAssignment.class);
+            when(subAssignment.getAssignedName()).thenReturn(assignedName);
+            subAssignments.add(subAssignment);
+        }
+        when(assignment.getSubAssignments()).thenReturn(subAssignments);
+        return assignment;
+    }
+}
@@ -0,0 +1,796 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CachedCommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
+import com.tuwien.gitanalyser.entity.CommitHistory;
+import com.tuwien.gitanalyser.entity.CommitRollup;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.repository.CachedCommitRepository;
+import com.tuwien.gitanalyser.repository.CommitHistoryRepository;
+import com.tuwien.gitanalyser.repository.CommitRollupRepository;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.CommitSource;
+import com.tuwien.gitanalyser.service.GitExceptionHandlerService;
+import com.tuwien.gitanalyser.service.RepositoryAccessCacheService;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import utils.Randoms;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommitCacheServiceImplTest {
+
+    private static final long TIME_TO_LIVE_IN_SECONDS = 60;
+    private static final long EXPIRED_AGE_IN_MILLISECONDS = 120000;
+
+    private CommitCacheServiceImpl sut;
+    private CommitHistoryRepository commitHistoryRepository;
+    private CachedCommitRepository cachedCommitRepository;
+    private CommitRollupRepository commitRollupRepository;
+    private DateService dateService;
+    private GitExceptionHandlerService gitApi;
+    private RepositoryAccessCacheService repositoryAccessCacheService;
+    private Date now;
+
+    @BeforeEach
+    void setUp() {
+        commitHistoryRepository = mock(CommitHistoryRepository.class);
+        cachedCommitRepository = mock(CachedCommitRepository.class);
+        commitRollupRepository = mock(CommitRollupRepository.class);
+        dateService = mock(DateService.class);
+        gitApi = mock(GitExceptionHandlerService.class);
+        repositoryAccessCacheService = mock(RepositoryAccessCacheService.class);
+
+        now = new Date();
+        when(dateService.create()).thenReturn(now);
+        when(commitHistoryRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        sut = new CommitCacheServiceImpl(commitHistoryRepository,
+                                         cachedCommitRepository,
+                                         commitRollupRepository,
+                                         mock(PlatformTransactionManager.class),
+                                         dateService,
+                                         repositoryAccessCacheService,
+                                         TIME_TO_LIVE_IN_SECONDS);
+    }
+
+    @Test
+    void getAllCommits_noHistoryCached_shouldLoadCommitsFromGitApi() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitInternalDTO commit = createCommit();
+
+        mockHistory(platformId, branch, Optional.empty());
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(commit));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId,
+                                                           platformId, branch);
+
+        // Then
+        assertThat(result, contains(commit));
+    }
+
+    @Test
+    void getAllCommits_noHistoryCached_shouldStoreLoadedCommits() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitInternalDTO commit = createCommit();
+
+        mockHistory(platformId, branch, Optional.empty());
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(commit));
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(cachedCommitRepository).batchInsert(any());
+    }
+
+    @Test
+    void getAllCommits_freshHistoryCachedAndRepositoryAccessible_shouldReturnCachedCommits() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createHistory(now);
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(true);
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId,
+                                                           platformId, branch);
+
+        // Then
+        verify(gitApi, never()).getAllCommits(userId, platformId, branch);
+        assertThat(result, contains(allOf(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(cachedCommit.getSha())),
+            hasFeature("author", CommitInternalDTO::getAuthor, equalTo(cachedCommit.getAuthor())),
+            hasFeature("parentIds", CommitInternalDTO::getParentIds, contains(cachedCommit.getParentIds())),
+            hasFeature("additions", CommitInternalDTO::getAdditions, equalTo(cachedCommit.getAdditions())),
+            hasFeature("deletions", CommitInternalDTO::getDeletions, equalTo(cachedCommit.getDeletions()))
+        )));
+    }
+
+    @Test
+    void getAllCommits_freshHistoryCachedAndAccessCached_shouldNotAskGitApiForAccess() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createHistory(now);
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(repositoryAccessCacheService.isAccessible(userId, platformId)).thenReturn(true);
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(gitApi, never()).repositoryAccessibleByUser(userId, platformId);
+        verify(gitApi, never()).getAllCommits(userId, platformId, branch);
+    }
+
+    @Test
+    void getAllCommits_freshHistoryCachedAndRepositoryAccessible_shouldRememberAccess() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        mockHistory(platformId, branch, Optional.of(createHistory(now)));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(true);
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(repositoryAccessCacheService).putAccessible(userId, platformId);
+    }
+
+    @Test
+    void getAllCommits_freshHistoryCachedAndRepositoryNotAccessible_shouldLoadCommitsFromGitApi()
+        throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        mockHistory(platformId, branch, Optional.of(createHistory(now)));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(false);
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(gitApi).getAllCommits(userId, platformId, branch);
+    }
+
+    @Test
+    void getAllCommits_expiredHistoryCached_shouldLoadCommitsFromGitApi() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        mockHistory(platformId, branch,
+                    Optional.of(createHistory(new Date(now.getTime() - EXPIRED_AGE_IN_MILLISECONDS))));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(true);
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(gitApi).getAllCommits(userId, platformId, branch);
+    }
+
+    @Test
+    void getAllCommits_noHistoryCached_shouldStoreHeadOfLoadedCommits() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitInternalDTO parent = createCommit();
+        CommitInternalDTO head = createChildCommit(parent);
+
+        mockHistory(platformId, branch, Optional.empty());
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(parent, head));
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(commitHistoryRepository).save(argThat(history -> head.getId().equals(history.getHeadId())));
+    }
+
+    @Test
+    void getAllCommits_expiredHistoryWithUnchangedHead_shouldReturnCachedCommits() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        history.setHeadId(cachedCommit.getSha());
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+        when(gitApi.getBranchHeadId(userId, platformId, branch)).thenReturn(cachedCommit.getSha());
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId,
+                                                           platformId, branch);
+
+        // Then
+        verify(gitApi, never()).getAllCommits(userId, platformId, branch);
+        verify(gitApi, never()).getCommitsSince(anyLong(), any(), any(), any());
+        assertThat(result, contains(hasFeature("id", CommitInternalDTO::getId, equalTo(cachedCommit.getSha()))));
+    }
+
+    @Test
+    void getAllCommits_expiredHistoryWithNewCommitsOnTop_shouldAppendNewCommits() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        history.setHeadId(cachedCommit.getSha());
+        CommitInternalDTO newCommit = createCommit(cachedCommit.getSha());
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+        when(gitApi.getBranchHeadId(userId, platformId, branch)).thenReturn(newCommit.getId());
+        when(gitApi.getCommitsSince(userId, platformId, branch, cachedCommit.getCommittedAt()))
+            .thenReturn(List.of(newCommit));
+
+        // When
+        List<CommitInternalDTO> result = sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId,
+                                                           platformId, branch);
+
+        // Then
+        verify(gitApi, never()).getAllCommits(userId, platformId, branch);
+        verify(cachedCommitRepository, never()).deleteByHistory(any());
+        assertThat(result, contains(hasFeature("id", CommitInternalDTO::getId, equalTo(cachedCommit.getSha())),
+                                    hasFeature("id", CommitInternalDTO::getId, equalTo(newCommit.getId()))));
+    }
+
+    @Test
+    void getAllCommits_expiredHistoryWithRewrittenCommits_shouldLoadCommitsFromGitApi() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        history.setHeadId(cachedCommit.getSha());
+        CommitInternalDTO rewrittenCommit = createCommit();
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+        when(gitApi.getBranchHeadId(userId, platformId, branch)).thenReturn(rewrittenCommit.getId());
+        when(gitApi.getCommitsSince(userId, platformId, branch, cachedCommit.getCommittedAt()))
+            .thenReturn(List.of(rewrittenCommit));
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(gitApi).getAllCommits(userId, platformId, branch);
+    }
+
+    @Test
+    void getAllCommits_defaultBranchRequested_shouldUseEmptyBranchKey() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        mockHistory(platformId, "", Optional.empty());
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITHUB, gitApi, userId, platformId, null);
+
+        // Then
+        verify(commitHistoryRepository, atLeastOnce()).findByAuthenticationProviderAndPlatformIdAndBranch(
+            AuthenticationProvider.GITHUB, platformId, "");
+    }
+
+    @Test
+    void getAllCommits_noHistoryCached_shouldStoreUserWhoLoadedCommits() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        mockHistory(platformId, branch, Optional.empty());
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(createCommit()));
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITHUB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(commitHistoryRepository).save(argThat(history -> history.getLastSyncedBy().equals(userId)));
+    }
+
+    @Test
+    void synchronizePushedCommits_noHistoryStored_shouldNotAskGitApi() throws GitException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        mockHistory(platformId, branch, Optional.empty());
+
+        // When
+        sut.synchronizePushedCommits(AuthenticationProvider.GITHUB, gitApi, platformId, branch, Randoms.alpha());
+
+        // Then
+        verify(gitApi, never()).getCommitsSince(anyLong(), any(), any(), any());
+        verify(gitApi, never()).getAllCommits(anyLong(), any(), any());
+    }
+
+    @Test
+    void synchronizePushedCommits_pushedHeadAlreadyStored_shouldNotAskGitApi() throws GitException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        history.setHeadId(Randoms.alpha());
+        history.setLastSyncedBy(Randoms.getLong());
+
+        mockHistory(platformId, branch, Optional.of(history));
+
+        // When
+        sut.synchronizePushedCommits(AuthenticationProvider.GITHUB, gitApi, platformId, branch, history.getHeadId());
+
+        // Then
+        verify(gitApi, never()).getCommitsSince(anyLong(), any(), any(), any());
+        verify(gitApi, never()).getAllCommits(anyLong(), any(), any());
+    }
+
+    @Test
+    void synchronizePushedCommits_pushContinuesHistory_shouldAppendPushedCommitsWithUserOfHistory()
+        throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        history.setHeadId(cachedCommit.getSha());
+        history.setLastSyncedBy(userId);
+        CommitInternalDTO pushedCommit = createCommit(cachedCommit.getSha());
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+        when(gitApi.getCommitsSince(userId, platformId, branch, cachedCommit.getCommittedAt()))
+            .thenReturn(List.of(pushedCommit));
+
+        // When
+        sut.synchronizePushedCommits(AuthenticationProvider.GITLAB, gitApi, platformId, branch,
+                                     pushedCommit.getId());
+
+        // Then
+        verify(gitApi, never()).getBranchHeadId(anyLong(), any(), any());
+        verify(gitApi, never()).getAllCommits(anyLong(), any(), any());
+        verify(cachedCommitRepository, never()).deleteByHistory(any());
+        verify(cachedCommitRepository).batchInsert(argThat(commits -> commits.iterator().next().getSha()
+                                                                         .equals(pushedCommit.getId())));
+        assertThat(history.getHeadId(), equalTo(pushedCommit.getId()));
+    }
+
+    @Test
+    void synchronizePushedCommits_pushRewritesHistory_shouldReloadHistory() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        history.setHeadId(cachedCommit.getSha());
+        history.setLastSyncedBy(userId);
+        CommitInternalDTO rewrittenCommit = createCommit();
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+        when(gitApi.getCommitsSince(userId, platformId, branch, cachedCommit.getCommittedAt()))
+            .thenReturn(List.of(rewrittenCommit));
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(rewrittenCommit));
+
+        // When
+        sut.synchronizePushedCommits(AuthenticationProvider.GITLAB, gitApi, platformId, branch,
+                                     rewrittenCommit.getId());
+
+        // Then
+        verify(cachedCommitRepository).deleteByHistory(history);
+        assertThat(history.getHeadId(), equalTo(rewrittenCommit.getId()));
+    }
+
+    @Test
+    void getAllCommits_noHistoryCached_shouldStoreRollupsOfEveryGranularity() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitInternalDTO commit = createCommit();
+
+        mockHistory(platformId, branch, Optional.empty());
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(commit));
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(commitRollupRepository).deleteByHistory(any());
+        verify(commitRollupRepository).batchSave(argThat(
+            rollups -> toList(rollups).stream()
+                                      .map(CommitRollup::getGranularity)
+                                      .toList()
+                                      .equals(List.of(Granularity.values()))));
+    }
+
+    @Test
+    void getAllCommits_noHistoryCachedAndCommitWithoutAuthor_shouldStoreRollupsOfNullAuthor() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitInternalDTO commit = createCommit();
+        commit.setAuthor(null);
+
+        mockHistory(platformId, branch, Optional.empty());
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(commit));
+
+        // When
+        List<CommitInternalDTO> result =
+            sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        assertThat(result, contains(commit));
+        verify(commitRollupRepository).batchSave(argThat(
+            rollups -> toList(rollups).stream().allMatch(rollup -> rollup.getAuthor() == null)));
+    }
+
+    @Test
+    void getAllCommits_expiredHistoryWithNewCommitWithoutAuthor_shouldAddItToStoredRollupOfNullAuthor()
+        throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        cachedCommit.setAuthor(null);
+        history.setHeadId(cachedCommit.getSha());
+        CommitInternalDTO newCommit = createCommit(cachedCommit.getSha());
+        newCommit.setAuthor(null);
+        CommitRollup storedRollup = CommitRollup.builder()
+                                                .history(history)
+                                                .granularity(Granularity.DAY)
+                                                .bucketStart(Granularity.DAY.truncate(newCommit.getTimestamp()))
+                                                .numberOfCommits(1)
+                                                .build();
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+        when(gitApi.getBranchHeadId(userId, platformId, branch)).thenReturn(newCommit.getId());
+        when(gitApi.getCommitsSince(userId, platformId, branch, cachedCommit.getCommittedAt()))
+            .thenReturn(List.of(newCommit));
+        when(commitRollupRepository.existsByHistory(history)).thenReturn(true);
+        when(commitRollupRepository.findByHistoryAndBucketStartGreaterThanEqual(eq(history), any()))
+            .thenReturn(List.of(storedRollup));
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(commitRollupRepository).batchSave(argThat(rollups -> toList(rollups).contains(storedRollup)));
+        assertThat(storedRollup.getNumberOfCommits(), equalTo(2));
+    }
+
+    @Test
+    void getAllCommits_expiredHistoryWithNewCommitsOnTop_shouldAddNewCommitsToStoredRollups() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createExpiredHistory();
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        history.setHeadId(cachedCommit.getSha());
+        CommitInternalDTO newCommit = createCommit(cachedCommit.getSha());
+        newCommit.setAuthor(cachedCommit.getAuthor());
+        CommitRollup storedRollup = CommitRollup.builder()
+                                                .history(history)
+                                                .granularity(Granularity.DAY)
+                                                .bucketStart(Granularity.DAY.truncate(newCommit.getTimestamp()))
+                                                .author(cachedCommit.getAuthor())
+                                                .numberOfCommits(1)
+                                                .numberOfAdditions(cachedCommit.getAdditions())
+                                                .numberOfDeletions(cachedCommit.getDeletions())
+                                                .build();
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+        when(gitApi.getBranchHeadId(userId, platformId, branch)).thenReturn(newCommit.getId());
+        when(gitApi.getCommitsSince(userId, platformId, branch, cachedCommit.getCommittedAt()))
+            .thenReturn(List.of(newCommit));
+        when(commitRollupRepository.existsByHistory(history)).thenReturn(true);
+        when(commitRollupRepository.findByHistoryAndBucketStartGreaterThanEqual(eq(history), any()))
+            .thenReturn(List.of(storedRollup));
+
+        // When
+        sut.getAllCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(commitRollupRepository, never()).deleteByHistory(any());
+        verify(commitRollupRepository).batchSave(argThat(rollups -> toList(rollups).contains(storedRollup)));
+        assertThat(storedRollup, allOf(
+            hasFeature("numberOfCommits", CommitRollup::getNumberOfCommits, equalTo(2)),
+            hasFeature("numberOfAdditions", CommitRollup::getNumberOfAdditions,
+                       equalTo(cachedCommit.getAdditions() + newCommit.getAdditions())),
+            hasFeature("numberOfDeletions", CommitRollup::getNumberOfDeletions,
+                       equalTo(cachedCommit.getDeletions() + newCommit.getDeletions()))
+        ));
+    }
+
+    @Test
+    void getRollups_freshHistoryCachedAndRepositoryAccessible_shouldReturnStoredRollups() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createHistory(now);
+        CommitRollup rollup = CommitRollup.builder()
+                                          .history(history)
+                                          .granularity(Granularity.WEEK)
+                                          .bucketStart(Granularity.WEEK.truncate(now))
+                                          .author(Randoms.alpha())
+                                          .numberOfCommits(Randoms.integer(1, 10))
+                                          .numberOfAdditions(Randoms.integer(0, 10))
+                                          .numberOfDeletions(Randoms.integer(0, 10))
+                                          .build();
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(true);
+        when(commitRollupRepository.findByHistoryAndGranularityOrderByBucketStartAsc(history, Granularity.WEEK))
+            .thenReturn(List.of(rollup));
+
+        // When
+        List<StatsBucketInternalDTO> result = sut.getRollups(AuthenticationProvider.GITLAB, gitApi, userId,
+                                                             platformId, branch, Granularity.WEEK);
+
+        // Then
+        verify(cachedCommitRepository, never()).findCommitsByHistory(any());
+        verify(gitApi, never()).getAllCommits(userId, platformId, branch);
+        assertThat(result, contains(bucketMatcher(rollup.getBucketStart(), rollup.getAuthor(),
+                                                  rollup.getNumberOfCommits(), rollup.getNumberOfAdditions(),
+                                                  rollup.getNumberOfDeletions())));
+    }
+
+    @Test
+    void getRollups_noHistoryCached_shouldRollUpLoadedCommits() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitInternalDTO monday = createCommit();
+        monday.setTimestamp(Date.from(Instant.parse("2023-03-13T10:00:00Z")));
+        CommitInternalDTO sunday = createChildCommit(monday);
+        sunday.setAuthor(monday.getAuthor());
+        sunday.setTimestamp(Date.from(Instant.parse("2023-03-19T23:00:00Z")));
+        CommitInternalDTO nextMonday = createChildCommit(sunday);
+        nextMonday.setAuthor(monday.getAuthor());
+        nextMonday.setTimestamp(Date.from(Instant.parse("2023-03-20T08:00:00Z")));
+
+        mockHistory(platformId, branch, Optional.empty());
+        when(gitApi.getAllCommits(userId, platformId, branch)).thenReturn(List.of(monday, sunday, nextMonday));
+
+        // When
+        List<StatsBucketInternalDTO> result = sut.getRollups(AuthenticationProvider.GITLAB, gitApi, userId,
+                                                             platformId, branch, Granularity.WEEK);
+
+        // Then
+        assertThat(result, contains(
+            bucketMatcher(Date.from(Instant.parse("2023-03-13T00:00:00Z")), monday.getAuthor(), 2,
+                          monday.getAdditions() + sunday.getAdditions(),
+                          monday.getDeletions() + sunday.getDeletions()),
+            bucketMatcher(Date.from(Instant.parse("2023-03-20T00:00:00Z")), monday.getAuthor(), 1,
+                          nextMonday.getAdditions(), nextMonday.getDeletions())
+        ));
+    }
+
+    @Test
+    void getRollups_freshHistoryWithoutStoredRollups_shouldRollUpCachedCommitsOnce() throws GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createHistory(now);
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        history.setHeadId(cachedCommit.getSha());
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(true);
+        when(cachedCommitRepository.findCommitsByHistory(history)).thenReturn(List.of(cachedCommit));
+
+        // When
+        List<StatsBucketInternalDTO> result = sut.getRollups(AuthenticationProvider.GITLAB, gitApi, userId,
+                                                             platformId, branch, Granularity.MONTH);
+
+        // Then
+        verify(commitRollupRepository).batchSave(argThat(rollups -> toList(rollups).size() == 3));
+        assertThat(result, contains(bucketMatcher(Granularity.MONTH.truncate(cachedCommit.getCommittedAt()),
+                                                  cachedCommit.getAuthor(), 1, cachedCommit.getAdditions(),
+                                                  cachedCommit.getDeletions())));
+    }
+
+    @Test
+    void getCachedCommits_freshHistoryCachedAndRepositoryAccessible_shouldReadCachedCommitsWhenPassedOn() {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        CommitHistory history = createHistory(now);
+        CachedCommitInternalDTO cachedCommit = createCachedCommit();
+        List<CommitInternalDTO> streamed = new ArrayList<>();
+
+        mockHistory(platformId, branch, Optional.of(history));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<CachedCommitInternalDTO> consumer = invocation.getArgument(1);
+            consumer.accept(cachedCommit);
+            return null;
+        }).when(cachedCommitRepository).streamCommitsByHistory(eq(history.getId()), any());
+
+        // When
+        Optional<CommitSource<CommitInternalDTO>> result =
+            sut.getCachedCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        verify(cachedCommitRepository, never()).streamCommitsByHistory(anyLong(), any());
+        result.orElseThrow().forEach(streamed::add);
+        verify(cachedCommitRepository, never()).findCommitsByHistory(any());
+        assertThat(streamed, contains(allOf(
+            hasFeature("id", CommitInternalDTO::getId, equalTo(cachedCommit.getSha())),
+            hasFeature("author", CommitInternalDTO::getAuthor, equalTo(cachedCommit.getAuthor())),
+            hasFeature("additions", CommitInternalDTO::getAdditions, equalTo(cachedCommit.getAdditions())),
+            hasFeature("deletions", CommitInternalDTO::getDeletions, equalTo(cachedCommit.getDeletions()))
+        )));
+    }
+
+    @Test
+    void getCachedCommits_expiredHistoryCached_shouldReturnNothing() {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        mockHistory(platformId, branch, Optional.of(createExpiredHistory()));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(true);
+
+        // When
+        Optional<CommitSource<CommitInternalDTO>> result =
+            sut.getCachedCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        assertThat(result.isPresent(), equalTo(false));
+    }
+
+    @Test
+    void getCachedCommits_freshHistoryCachedAndRepositoryNotAccessible_shouldReturnNothing() {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        mockHistory(platformId, branch, Optional.of(createHistory(now)));
+        when(gitApi.repositoryAccessibleByUser(userId, platformId)).thenReturn(false);
+
+        // When
+        Optional<CommitSource<CommitInternalDTO>> result =
+            sut.getCachedCommits(AuthenticationProvider.GITLAB, gitApi, userId, platformId, branch);
+
+        // Then
+        assertThat(result.isPresent(), equalTo(false));
+    }
+
+    private void mockHistory(long platformId, String branch, Optional<CommitHistory> history) {
+        when(commitHistoryRepository.findByAuthenticationProviderAndPlatformIdAndBranch(any(), eq(platformId),
+                                                                                        eq(branch)))
+            .thenReturn(history);
+    }
+
+    private List<CommitRollup> toList(Iterable<CommitRollup> rollups) {
+        List<CommitRollup> result = new ArrayList<>();
+        rollups.forEach(result::add);
+        return result;
+    }
+
+    private Matcher<StatsBucketInternalDTO> bucketMatcher(Date bucketStart, String committer, int numberOfCommits,
+                                                          int numberOfAdditions, int numberOfDeletions) {
+        return allOf(
+            hasFeature("bucketStart", StatsBucketInternalDTO::getBucketStart, equalTo(bucketStart)),
+            hasFeature("committer", StatsBucketInternalDTO::getCommitter, equalTo(committer)),
+            hasFeature("numberOfCommits", StatsBucketInternalDTO::getNumberOfCommits, equalTo(numberOfCommits)),
+            hasFeature("numberOfAdditions", StatsBucketInternalDTO::getNumberOfAdditions,
+                       equalTo(numberOfAdditions)),
+            hasFeature("numberOfDeletions", StatsBucketInternalDTO::getNumberOfDeletions,
+                       equalTo(numberOfDeletions))
+        );
+    }
+
+    private CommitHistory createHistory(Date lastSynced) {
+        return CommitHistory.builder()
+                            .id(Randoms.getLong())
+                            .lastSynced(lastSynced)
+                            .build();
+    }
+
+    private CommitHistory createExpiredHistory() {
+        return createHistory(new Date(now.getTime() - EXPIRED_AGE_IN_MILLISECONDS));
+    }
+
+    private CachedCommitInternalDTO createCachedCommit() {
+        return CachedCommitInternalDTO.builder()
+                                      .sha(Randoms.alpha())
+                                      .message(Randoms.alpha())
+                                      .author(Randoms.alpha())
+                                      .committedAt(new Date())
+                                      .parentIds(Randoms.alpha())
+                                      .additions(Randoms.integer(0, 10))
+                                      .deletions(Randoms.integer(0, 10))
+                                      .build();
+    }
+
+    private CommitInternalDTO createCommit() {
+        return createCommit(Randoms.alpha());
+    }
+
+    private CommitInternalDTO createChildCommit(CommitInternalDTO parent) {
+        return createCommit(parent.getId());
+    }
+
+    private CommitInternalDTO createCommit(String parentId) {
+        return CommitInternalDTO.builder()
+                                .id(Randoms.alpha())
+                                .message(Randoms.alpha())
+                                .author(Randoms.alpha())
+                                .timestamp(new Date())
+                                .parentIds(List.of(parentId))
+                                .additions(Randoms.integer(0, 10))
+                                .deletions(Randoms.integer(0, 10))
+                                .build();
+    }
+}
@@ -2,40 +2,63 @@ package com.tuwien.gitanalyser.service.implementation;
 
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import com.tuwien.gitanalyser.entity.User;
 import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.GitHubException;
 import com.tuwien.gitanalyser.exception.GitLabException;
 import com.tuwien.gitanalyser.exception.NoProviderFoundException;
 import com.tuwien.gitanalyser.exception.NotFoundException;
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import com.tuwien.gitanalyser.service.CommitCacheService;
+import com.tuwien.gitanalyser.service.CommitSource;
 import com.tuwien.gitanalyser.service.GitExceptionHandlerService;
+import com.tuwien.gitanalyser.service.PrefetchService;
+import com.tuwien.gitanalyser.service.RepositoryAccessCacheService;
 import com.tuwien.gitanalyser.service.RepositoryService;
 import com.tuwien.gitanalyser.service.UserService;
 import com.tuwien.gitanalyser.service.apiCalls.github.GitHubExceptionHandlerServiceImpl;
 import com.tuwien.gitanalyser.service.apiCalls.gitlab.GitLabExceptionHandlerServiceImpl;
+import com.tuwien.gitanalyser.service.apiCalls.synthetic.SyntheticExceptionHandlerServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import utils.Randoms;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class GitServiceImplTest {
 
+    private static final long PREFETCHED_REPOSITORIES_TIME_TO_LIVE_SECONDS = 60;
+
     GitServiceImpl sut;
     private UserService userService;
     private RepositoryService repositoryService;
@@ -43,17 +66,33 @@ class GitServiceImplTest {
     private String defaultBranch;
     private GitHubExceptionHandlerServiceImpl gitHubService;
     private GitLabExceptionHandlerServiceImpl gitLabService;
+    private CommitCacheService commitCacheService;
+    private RepositoryAccessCacheService repositoryAccessCacheService;
+    private PrefetchService prefetchService;
+    private DateService dateService;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws GitException {
         userService = mock(UserService.class);
         repositoryService = mock(RepositoryService.class);
         gitHubService = mock(GitHubExceptionHandlerServiceImpl.class);
         gitLabService = mock(GitLabExceptionHandlerServiceImpl.class);
+        commitCacheService = mock(CommitCacheService.class);
+        repositoryAccessCacheService = mock(RepositoryAccessCacheService.class);
+        prefetchService = mock(PrefetchService.class);
+        dateService = mock(DateService.class);
+        when(dateService.create()).thenReturn(new Date());
+        prepareCommitCacheServiceMiss();
 
         sut = new GitServiceImpl(userService, repositoryService,
                                  gitHubService,
-                                 gitLabService);
+                                 gitLabService,
+                                 Optional.empty(),
+                                 commitCacheService,
+                                 repositoryAccessCacheService,
+                                 prefetchService,
+                                 dateService,
+                                 PREFETCHED_REPOSITORIES_TIME_TO_LIVE_SECONDS);
         exceptionString = "testException";
         defaultBranch = Randoms.alpha();
     }
@@ -210,6 +249,153 @@ class GitServiceImplTest {
                                                                                    repository2.getPlatformId()));
     }
 
+    @Test
+    void getAllRepositories_repositoriesExist_replacesCachedAccessibleRepositories()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        NotSavedRepositoryInternalDTO repository1 =
+            NotSavedRepositoryInternalDTO.builder().platformId(Randoms.getLong()).build();
+        NotSavedRepositoryInternalDTO repository2 =
+            NotSavedRepositoryInternalDTO.builder().platformId(Randoms.getLong()).build();
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+        when(gitHubService.getAllRepositories(userId)).thenReturn(List.of(repository1, repository2));
+
+        // When
+        sut.getAllRepositories(userId);
+
+        // Then
+        verify(repositoryAccessCacheService).replaceAccessibleRepositories(userId,
+                                                                           List.of(repository1.getPlatformId(),
+                                                                                   repository2.getPlatformId()));
+    }
+
+    @Test
+    void getAllRepositories_repositoriesPrefetched_shouldReturnPrefetchedRepositories()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        List<NotSavedRepositoryInternalDTO> repositories = List.of(getRandomNotSavedRepositoryInternalDTO(1));
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+        when(gitHubService.getAllRepositories(userId)).thenReturn(repositories);
+        sut.prefetchAllRepositories(userId);
+
+        // When
+        List<NotSavedRepositoryInternalDTO> result = sut.getAllRepositories(userId);
+
+        // Then
+        assertThat(result, equalTo(repositories));
+        verify(gitHubService, times(1)).getAllRepositories(userId);
+    }
+
+    @Test
+    void getAllRepositories_prefetchedRepositoriesAlreadyReturned_shouldCallGitApiAgain()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+        sut.prefetchAllRepositories(userId);
+        sut.getAllRepositories(userId);
+
+        // When
+        sut.getAllRepositories(userId);
+
+        // Then
+        verify(gitHubService, times(2)).getAllRepositories(userId);
+    }
+
+    @Test
+    void getAllRepositories_prefetchedRepositoriesExpired_shouldCallGitApiAgain()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        Date prefetchedAt = new Date();
+        Date expiredAt = new Date(prefetchedAt.getTime() + PREFETCHED_REPOSITORIES_TIME_TO_LIVE_SECONDS * 1000);
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+        when(dateService.create()).thenReturn(prefetchedAt, expiredAt);
+        sut.prefetchAllRepositories(userId);
+
+        // When
+        sut.getAllRepositories(userId);
+
+        // Then
+        verify(gitHubService, times(2)).getAllRepositories(userId);
+    }
+
+    @Test
+    void getAllRepositories_prefetchFailed_shouldCallGitApiAgain()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        List<NotSavedRepositoryInternalDTO> repositories = List.of(getRandomNotSavedRepositoryInternalDTO(1));
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+        when(gitHubService.getAllRepositories(userId)).thenThrow(GitHubException.class).thenReturn(repositories);
+        assertThrows(GitHubException.class, () -> sut.prefetchAllRepositories(userId));
+
+        // When
+        List<NotSavedRepositoryInternalDTO> result = sut.getAllRepositories(userId);
+
+        // Then
+        assertThat(result, equalTo(repositories));
+    }
+
+    @Test
+    void repositoryAccessibleByUser_accessCached_shouldNotCallGitApi() throws NoProviderFoundException, GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+        when(repositoryAccessCacheService.isAccessible(userId, platformId)).thenReturn(true);
+
+        // When
+        boolean result = sut.repositoryAccessibleByUser(userId, platformId);
+
+        // Then
+        assertThat(result, equalTo(true));
+        verify(gitHubService, never()).getRepositoryById(userId, platformId);
+    }
+
+    @Test
+    void repositoryAccessibleByUser_accessNotCachedAndRepositoryAccessible_shouldRememberAccess()
+        throws NoProviderFoundException, GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+
+        // When
+        boolean result = sut.repositoryAccessibleByUser(userId, platformId);
+
+        // Then
+        assertThat(result, equalTo(true));
+        verify(repositoryAccessCacheService).putAccessible(userId, platformId);
+    }
+
+    @Test
+    void repositoryAccessibleByUser_accessNotCachedAndRepositoryNotAccessible_shouldNotRememberAccess()
+        throws NoProviderFoundException, GitException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+        when(gitLabService.getRepositoryById(userId, platformId)).thenThrow(GitLabException.class);
+
+        // When
+        boolean result = sut.repositoryAccessibleByUser(userId, platformId);
+
+        // Then
+        assertThat(result, equalTo(false));
+        verify(repositoryAccessCacheService, never()).putAccessible(userId, platformId);
+    }
+
     @Test
     void getAllRepositories_gitLabAuthorizationThrowsGitLabException_shouldThrowGitException()
         throws NotFoundException, GitException {
@@ -322,6 +508,47 @@ class GitServiceImplTest {
         verify(gitHubService).getAllBranches(userId, repositoryId);
     }
 
+    private SyntheticExceptionHandlerServiceImpl createSutWithSyntheticService() {
+        SyntheticExceptionHandlerServiceImpl syntheticService = mock(SyntheticExceptionHandlerServiceImpl.class);
+        sut = new GitServiceImpl(userService, repositoryService,
+                                 gitHubService,
+                                 gitLabService,
+                                 Optional.of(syntheticService),
+                                 commitCacheService,
+                                 repositoryAccessCacheService,
+                                 prefetchService,
+                                 dateService,
+                                 PREFETCHED_REPOSITORIES_TIME_TO_LIVE_SECONDS);
+        return syntheticService;
+    }
+
+    @Test
+    void getAllBranches_syntheticProfileActive_shouldCallSyntheticService()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        Long repositoryId = Randoms.getLong();
+        SyntheticExceptionHandlerServiceImpl syntheticService = mock(SyntheticExceptionHandlerServiceImpl.class);
+        sut = new GitServiceImpl(userService, repositoryService,
+                                 gitHubService,
+                                 gitLabService,
+                                 Optional.of(syntheticService),
+                                 commitCacheService,
+                                 repositoryAccessCacheService,
+                                 prefetchService,
+                                 dateService,
+                                 PREFETCHED_REPOSITORIES_TIME_TO_LIVE_SECONDS);
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+
+        // When
+        sut.getAllBranches(userId, repositoryId);
+
+        // Then
+        verify(syntheticService).getAllBranches(userId, repositoryId);
+        verify(gitHubService, never()).getAllBranches(anyLong(), any());
+    }
+
     @Test
     void getAllBranches_gitLabAuthorizationThrowsException_shouldThrowRuntimeException()
         throws NotFoundException, GitException {
@@ -366,6 +593,246 @@ class GitServiceImplTest {
         verify(gitHubService).getAllCommits(userId, repositoryId, defaultBranch);
     }
 
+    @Test
+    void getAllCommits_gitLabAuthorization_shouldLoadCommitsThroughCommitCache()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+
+        // When
+        sut.getAllCommits(userId, repositoryId, defaultBranch);
+
+        // Then
+        verify(commitCacheService).getAllCommits(AuthenticationProvider.GITLAB, gitLabService, userId, repositoryId,
+                                                 defaultBranch);
+    }
+
+    @Test
+    void getAllCommits_syntheticProfileActive_shouldNeverUseCacheOfRealProvider()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+        SyntheticExceptionHandlerServiceImpl syntheticService = createSutWithSyntheticService();
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+
+        // When
+        sut.getAllCommits(userId, repositoryId, defaultBranch);
+        sut.getStatsTimeline(userId, repositoryId, defaultBranch, Granularity.MONTH, Map.of());
+
+        // Then
+        verify(commitCacheService).getAllCommits(AuthenticationProvider.SYNTHETIC, syntheticService, userId,
+                                                 repositoryId, defaultBranch);
+        verify(commitCacheService).getRollups(AuthenticationProvider.SYNTHETIC, syntheticService, userId,
+                                              repositoryId, defaultBranch, Granularity.MONTH);
+        verify(commitCacheService, never()).getAllCommits(eq(AuthenticationProvider.GITHUB), any(), anyLong(),
+                                                          any(), any());
+        verify(commitCacheService, never()).getRollups(eq(AuthenticationProvider.GITHUB), any(), anyLong(), any(),
+                                                       any(), any());
+    }
+
+    @Test
+    void synchronizePushedCommits_syntheticProfileActive_shouldNotSynchronizeHistoryOfRealProvider()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String headId = Randoms.alpha();
+        SyntheticExceptionHandlerServiceImpl syntheticService = createSutWithSyntheticService();
+
+        // When
+        sut.synchronizePushedCommits(AuthenticationProvider.GITHUB, repositoryId, defaultBranch, headId);
+
+        // Then
+        verify(commitCacheService).synchronizePushedCommits(AuthenticationProvider.SYNTHETIC, syntheticService,
+                                                            repositoryId, defaultBranch, headId);
+    }
+
+    @Test
+    void synchronizePushedCommits_gitHubPush_shouldSynchronizeThroughCommitCacheWithGitHubService()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long repositoryId = Randoms.getLong();
+        String headId = Randoms.alpha();
+
+        // When
+        sut.synchronizePushedCommits(AuthenticationProvider.GITHUB, repositoryId, defaultBranch, headId);
+
+        // Then
+        verify(commitCacheService).synchronizePushedCommits(AuthenticationProvider.GITHUB, gitHubService,
+                                                            repositoryId, defaultBranch, headId);
+    }
+
+    @Test
+    void getStatsTimeline_rollupsOfAuthorsWithSameAlias_shouldMergeThemIntoBucketOfAlias()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String author1 = Randoms.alpha();
+        String author2 = Randoms.alpha();
+        String key = Randoms.alpha();
+        Date bucketStart = new Date();
+        StatsBucketInternalDTO rollup1 = new StatsBucketInternalDTO(bucketStart, author1, 1, 2, 3);
+        StatsBucketInternalDTO rollup2 = new StatsBucketInternalDTO(bucketStart, author2, 4, 5, 6);
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+        when(commitCacheService.getRollups(AuthenticationProvider.GITLAB, gitLabService, userId, platformId,
+                                           defaultBranch, Granularity.MONTH))
+            .thenReturn(List.of(rollup1, rollup2));
+
+        // When
+        List<StatsBucketInternalDTO> result = sut.getStatsTimeline(userId, platformId, defaultBranch,
+                                                                   Granularity.MONTH,
+                                                                   Map.of(author1, key, author2, key));
+
+        // Then
+        assertThat(result, contains(allOf(
+            hasFeature("bucketStart", StatsBucketInternalDTO::getBucketStart, equalTo(bucketStart)),
+            hasFeature("committer", StatsBucketInternalDTO::getCommitter, equalTo(key)),
+            hasFeature("numberOfCommits", StatsBucketInternalDTO::getNumberOfCommits, equalTo(5)),
+            hasFeature("numberOfAdditions", StatsBucketInternalDTO::getNumberOfAdditions, equalTo(7)),
+            hasFeature("numberOfDeletions", StatsBucketInternalDTO::getNumberOfDeletions, equalTo(9))
+        )));
+    }
+
+    @Test
+    void getAllCommits_always_shouldMarkRepositoryAsUsed()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+
+        // When
+        sut.getAllCommits(userId, repositoryId, defaultBranch);
+
+        // Then
+        verify(prefetchService).markRepositoryUsed(userId, repositoryId);
+    }
+
+    @Test
+    void getAllCommitsSource_historyCached_shouldReturnCachedCommitsOnly()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+        CommitSource<CommitInternalDTO> cachedCommits = consumer -> { };
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+        when(commitCacheService.getCachedCommits(AuthenticationProvider.GITLAB, gitLabService, userId, repositoryId,
+                                                 defaultBranch)).thenReturn(Optional.of(cachedCommits));
+
+        // When
+        CommitSource<CommitInternalDTO> result = sut.getAllCommitsSource(userId, repositoryId, defaultBranch);
+
+        // Then
+        assertThat(result, equalTo(cachedCommits));
+        verify(commitCacheService, never()).getAllCommits(any(), any(), anyLong(), any(), any());
+        verify(prefetchService).markRepositoryUsed(userId, repositoryId);
+    }
+
+    @Test
+    void getAllCommitsSource_historyNotCached_shouldPassOnLoadedCommits()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+        CommitInternalDTO commit = CommitInternalDTO.builder().id(Randoms.alpha()).build();
+        List<CommitInternalDTO> streamed = new ArrayList<>();
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+        when(commitCacheService.getCachedCommits(AuthenticationProvider.GITLAB, gitLabService, userId, repositoryId,
+                                                 defaultBranch)).thenReturn(Optional.empty());
+        when(commitCacheService.getAllCommits(AuthenticationProvider.GITLAB, gitLabService, userId, repositoryId,
+                                              defaultBranch)).thenReturn(List.of(commit));
+
+        // When
+        sut.getAllCommitsSource(userId, repositoryId, defaultBranch).forEach(streamed::add);
+
+        // Then
+        assertThat(streamed, contains(commit));
+    }
+
+    @Test
+    void getAllCommits_concurrentCallsForSameBranch_shouldShareOneFetch() throws Exception {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+        List<CommitInternalDTO> commits = List.of(CommitInternalDTO.builder().id(Randoms.alpha()).build());
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+        when(commitCacheService.getAllCommits(AuthenticationProvider.GITLAB, gitLabService, userId, repositoryId,
+                                              defaultBranch)).thenAnswer(invocation -> {
+                                                  fetchStarted.countDown();
+                                                  releaseFetch.await();
+                                                  return commits;
+                                              });
+
+        // When
+        AtomicReference<List<CommitInternalDTO>> firstResult = new AtomicReference<>();
+        AtomicReference<List<CommitInternalDTO>> secondResult = new AtomicReference<>();
+        Thread firstCaller = new Thread(() -> firstResult.set(getAllCommitsUnchecked(userId, repositoryId)));
+        Thread secondCaller = new Thread(() -> secondResult.set(getAllCommitsUnchecked(userId, repositoryId)));
+        firstCaller.start();
+        fetchStarted.await();
+        secondCaller.start();
+        while (secondCaller.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        releaseFetch.countDown();
+        firstCaller.join();
+        secondCaller.join();
+
+        // Then
+        assertThat(firstResult.get(), equalTo(commits));
+        assertThat(secondResult.get(), equalTo(commits));
+        verify(commitCacheService, times(1)).getAllCommits(AuthenticationProvider.GITLAB, gitLabService, userId,
+                                                           repositoryId, defaultBranch);
+    }
+
+    @Test
+    void getAllCommits_previousFetchFinished_shouldFetchAgain()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+
+        // When
+        sut.getAllCommits(userId, repositoryId, defaultBranch);
+        sut.getAllCommits(userId, repositoryId, defaultBranch);
+
+        // Then
+        verify(commitCacheService, times(2)).getAllCommits(AuthenticationProvider.GITLAB, gitLabService, userId,
+                                                           repositoryId, defaultBranch);
+    }
+
+    @Test
+    void getAllCommits_previousFetchFailed_shouldFetchAgain()
+        throws NotFoundException, GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long repositoryId = Randoms.getLong();
+
+        prepareUserService(userId, AuthenticationProvider.GITLAB);
+        when(commitCacheService.getAllCommits(AuthenticationProvider.GITLAB, gitLabService, userId, repositoryId,
+                                              defaultBranch)).thenThrow(GitLabException.class).thenReturn(List.of());
+
+        // When
+        assertThrows(GitLabException.class, () -> sut.getAllCommits(userId, repositoryId, defaultBranch));
+        List<CommitInternalDTO> result = sut.getAllCommits(userId, repositoryId, defaultBranch);
+
+        // Then
+        assertThat(result, empty());
+    }
+
     @Test
     void getAllCommits_gitHubAuthorizationRepoExistsAndNoCommits_shouldReturnEmptyList()
         throws NotFoundException, GitException, NoProviderFoundException {
@@ -591,6 +1058,33 @@ class GitServiceImplTest {
         );
     }
 
+    @Test
+    void getStats_commitsWithoutAuthor_shouldCountThemForNullAuthor()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        String name = Randoms.alpha();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO(null);
+        CommitInternalDTO commit2 = mockCommitInternalDTO(null);
+        CommitInternalDTO commit3 = mockCommitInternalDTO(name);
+
+        prepareUserService(userId, AuthenticationProvider.GITHUB);
+        mockGitApiGetAllCommits(gitHubService, platformId, userId, defaultBranch, commit1, commit2, commit3);
+
+        // When
+        List<StatsInternalDTO> result = sut.getStats(userId, platformId, defaultBranch);
+
+        // Then
+        assertThat(result, containsInAnyOrder(
+            allOf(hasFeature("name", StatsInternalDTO::getCommitter, nullValue()),
+                  hasFeature("numberOfCommits", StatsInternalDTO::getNumberOfCommits, equalTo(2))),
+            allOf(hasFeature("name", StatsInternalDTO::getCommitter, equalTo(name)),
+                  hasFeature("numberOfCommits", StatsInternalDTO::getNumberOfCommits, equalTo(1)))
+        ));
+    }
+
     @Test
     void getStats_gitHubAuthorizationAndNoCommitsAvailable_shouldReturnEmptyList()
         throws GitException, NoProviderFoundException {
@@ -764,6 +1258,14 @@ class GitServiceImplTest {
         assertThrows(RuntimeException.class, () -> sut.getEmail(userId));
     }
 
+    private void prepareCommitCacheServiceMiss() throws GitException {
+        when(commitCacheService.getAllCommits(any(), any(), anyLong(), any(), any()))
+            .thenAnswer(invocation -> invocation.<GitExceptionHandlerService>getArgument(1)
+                                                .getAllCommits(invocation.getArgument(2),
+                                                               invocation.getArgument(3),
+                                                               invocation.getArgument(4)));
+    }
+
     private void prepareUserService(long userId, AuthenticationProvider authenticationProvider)
         throws NotFoundException {
         User user = mock(User.class);
@@ -804,4 +1306,12 @@ class GitServiceImplTest {
         when(commit.getDeletions()).thenReturn(Randoms.integer(0, 10));
         return commit;
     }
-}
\ No newline at end of file
+
+    private List<CommitInternalDTO> getAllCommitsUnchecked(final long userId, final long repositoryId) {
+        try {
+            return sut.getAllCommits(userId, repositoryId, defaultBranch);
+        } catch (GitException | NoProviderFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
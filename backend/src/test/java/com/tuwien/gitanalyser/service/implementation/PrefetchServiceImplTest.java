@@ -0,0 +1,210 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.NotSavedRepositoryInternalDTO;
+import com.tuwien.gitanalyser.entity.Repository;
+import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.exception.GitLabException;
+import com.tuwien.gitanalyser.exception.NoProviderFoundException;
+import com.tuwien.gitanalyser.repository.RepositoryRepository;
+import com.tuwien.gitanalyser.service.GitService;
+import com.tuwien.gitanalyser.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import utils.Randoms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrefetchServiceImplTest {
+
+    private static final int RECENT_REPOSITORIES = 2;
+    private static final int RECENT_USERS = 2;
+
+    private PrefetchServiceImpl sut;
+    private GitService gitService;
+    private UserService userService;
+    private RepositoryRepository repositoryRepository;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        gitService = mock(GitService.class);
+        userService = mock(UserService.class);
+        repositoryRepository = mock(RepositoryRepository.class);
+        sut = new PrefetchServiceImpl(gitService, userService, repositoryRepository, Runnable::run,
+                                      RECENT_REPOSITORIES, RECENT_USERS);
+
+        userId = Randoms.getLong();
+    }
+
+    @Test
+    void prefetchAfterLogin_always_shouldPrefetchRepositories() throws GitException, NoProviderFoundException {
+        // Given
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService).prefetchAllRepositories(userId);
+    }
+
+    @Test
+    void prefetchAfterLogin_recentlyUsedRepositoryAccessible_shouldLoadDefaultBranchHistory()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        prepareAccessibleRepositories(platformId);
+        sut.markRepositoryUsed(userId, platformId);
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService).getAllCommits(userId, platformId, null);
+    }
+
+    @Test
+    void prefetchAfterLogin_recentlyUsedRepositoryNotAccessible_shouldNotLoadHistory()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        prepareAccessibleRepositories(platformId + 1);
+        sut.markRepositoryUsed(userId, platformId);
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService, never()).getAllCommits(anyLong(), any(), any());
+    }
+
+    @Test
+    void prefetchAfterLogin_moreRepositoriesUsedThanLimit_shouldLoadMostRecentlyUsedFirst()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long oldestPlatformId = Randoms.getLong();
+        long olderPlatformId = oldestPlatformId + 1;
+        long newestPlatformId = oldestPlatformId + 2;
+        prepareAccessibleRepositories(oldestPlatformId, olderPlatformId, newestPlatformId);
+        sut.markRepositoryUsed(userId, oldestPlatformId);
+        sut.markRepositoryUsed(userId, olderPlatformId);
+        sut.markRepositoryUsed(userId, newestPlatformId);
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        InOrder inOrder = inOrder(gitService);
+        inOrder.verify(gitService).getAllCommits(userId, newestPlatformId, null);
+        inOrder.verify(gitService).getAllCommits(userId, olderPlatformId, null);
+        verify(gitService, never()).getAllCommits(userId, oldestPlatformId, null);
+    }
+
+    @Test
+    void prefetchAfterLogin_loadingRepositoriesFails_shouldNotLoadHistories()
+        throws GitException, NoProviderFoundException {
+        // Given
+        sut.markRepositoryUsed(userId, Randoms.getLong());
+        when(gitService.prefetchAllRepositories(userId)).thenThrow(GitLabException.class);
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService, never()).getAllCommits(anyLong(), any(), any());
+    }
+
+    @Test
+    void prefetchAfterLogin_loadingOneHistoryFails_shouldLoadOtherHistories()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long failingPlatformId = Randoms.getLong();
+        long platformId = failingPlatformId + 1;
+        prepareAccessibleRepositories(failingPlatformId, platformId);
+        sut.markRepositoryUsed(userId, platformId);
+        sut.markRepositoryUsed(userId, failingPlatformId);
+        when(gitService.getAllCommits(userId, failingPlatformId, null)).thenThrow(GitLabException.class);
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService).getAllCommits(userId, platformId, null);
+    }
+
+    @Test
+    void prefetchAfterLogin_noRepositoryUsedYet_shouldLoadHistoriesOfSavedRepositories()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        prepareAccessibleRepositories(platformId);
+        User user = mock(User.class);
+        when(userService.getUser(userId)).thenReturn(user);
+        when(repositoryRepository.findByUser(user)).thenReturn(List.of(Repository.builder()
+                                                                                  .platformId(platformId)
+                                                                                  .build()));
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService).getAllCommits(userId, platformId, null);
+    }
+
+    @Test
+    void prefetchAfterLogin_moreUsersActiveThanLimit_shouldForgetRepositoriesOfLeastRecentlyActiveUser()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        prepareAccessibleRepositories(platformId);
+        User user = mock(User.class);
+        when(userService.getUser(userId)).thenReturn(user);
+        when(repositoryRepository.findByUser(user)).thenReturn(List.of());
+        sut.markRepositoryUsed(userId, platformId);
+        sut.markRepositoryUsed(userId + 1, Randoms.getLong());
+        sut.markRepositoryUsed(userId + 2, Randoms.getLong());
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService, never()).getAllCommits(anyLong(), any(), any());
+    }
+
+    @Test
+    void prefetchAfterLogin_executorRejectsPrefetch_shouldNotPrefetch() throws GitException, NoProviderFoundException {
+        // Given
+        Executor executor = mock(Executor.class);
+        doThrow(RejectedExecutionException.class).when(executor).execute(any());
+        sut = new PrefetchServiceImpl(gitService, userService, repositoryRepository, executor, RECENT_REPOSITORIES,
+                                      RECENT_USERS);
+
+        // When
+        sut.prefetchAfterLogin(userId);
+
+        // Then
+        verify(gitService, never()).prefetchAllRepositories(any());
+    }
+
+    private void prepareAccessibleRepositories(final Long... platformIds)
+        throws GitException, NoProviderFoundException {
+        List<NotSavedRepositoryInternalDTO> repositories = new ArrayList<>();
+        for (Long platformId : platformIds) {
+            repositories.add(NotSavedRepositoryInternalDTO.builder().platformId(platformId).build());
+        }
+        when(gitService.prefetchAllRepositories(userId)).thenReturn(repositories);
+    }
+}
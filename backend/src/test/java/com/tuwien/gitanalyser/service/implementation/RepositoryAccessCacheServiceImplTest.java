@@ -0,0 +1,155 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.security.jwt.DateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryAccessCacheServiceImplTest {
+
+    private static final long TIME_TO_LIVE_IN_SECONDS = 60;
+
+    private RepositoryAccessCacheServiceImpl sut;
+    private DateService dateService;
+    private Date now;
+
+    @BeforeEach
+    void setUp() {
+        dateService = mock(DateService.class);
+        now = new Date();
+        when(dateService.create()).thenReturn(now);
+        sut = new RepositoryAccessCacheServiceImpl(dateService, TIME_TO_LIVE_IN_SECONDS);
+    }
+
+    @Test
+    void isAccessible_nothingCached_returnsFalse() {
+        // When
+        boolean result = sut.isAccessible(Randoms.getLong(), Randoms.getLong());
+
+        // Then
+        assertThat(result, equalTo(false));
+    }
+
+    @Test
+    void isAccessible_accessCached_returnsTrue() {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        sut.putAccessible(userId, platformId);
+
+        // When
+        boolean result = sut.isAccessible(userId, platformId);
+
+        // Then
+        assertThat(result, equalTo(true));
+    }
+
+    @Test
+    void isAccessible_accessCachedForOtherUser_returnsFalse() {
+        // Given
+        long platformId = Randoms.getLong();
+        sut.putAccessible(Randoms.getLong(), platformId);
+
+        // When
+        boolean result = sut.isAccessible(Randoms.getLong(), platformId);
+
+        // Then
+        assertThat(result, equalTo(false));
+    }
+
+    @Test
+    void isAccessible_timeToLiveExceeded_returnsFalse() {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        sut.putAccessible(userId, platformId);
+        when(dateService.create()).thenReturn(
+            new Date(now.getTime() + TimeUnit.SECONDS.toMillis(TIME_TO_LIVE_IN_SECONDS)));
+
+        // When
+        boolean result = sut.isAccessible(userId, platformId);
+
+        // Then
+        assertThat(result, equalTo(false));
+    }
+
+    @Test
+    void replaceAccessibleRepositories_repositoryDroppedOutOfList_returnsFalseForDroppedRepository() {
+        // Given
+        long userId = Randoms.getLong();
+        long droppedPlatformId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        sut.replaceAccessibleRepositories(userId, List.of(droppedPlatformId, platformId));
+
+        // When
+        sut.replaceAccessibleRepositories(userId, List.of(platformId));
+
+        // Then
+        assertThat(sut.isAccessible(userId, droppedPlatformId), equalTo(false));
+        assertThat(sut.isAccessible(userId, platformId), equalTo(true));
+    }
+
+    @Test
+    void isAccessible_timeToLiveExceeded_dropsDecision() {
+        // Given
+        long userId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        Date cachedAt = now;
+        sut.putAccessible(userId, platformId);
+        passTimeToLive();
+        sut.isAccessible(userId, platformId);
+
+        // When
+        when(dateService.create()).thenReturn(cachedAt);
+        boolean result = sut.isAccessible(userId, platformId);
+
+        // Then
+        assertThat(result, equalTo(false));
+    }
+
+    @Test
+    void forgetExpiredDecisions_allDecisionsOfUserExpired_forgetsUser() {
+        // Given
+        sut.putAccessible(Randoms.getLong(), Randoms.getLong());
+        passTimeToLive();
+
+        // When
+        sut.forgetExpiredDecisions();
+
+        // Then
+        assertThat(sut.getCachedUsers(), equalTo(0));
+    }
+
+    @Test
+    void forgetExpiredDecisions_decisionOfUserWithinTimeToLive_keepsDecision() {
+        // Given
+        long userId = Randoms.getLong();
+        long expiredPlatformId = Randoms.getLong();
+        long platformId = Randoms.getLong();
+        sut.putAccessible(userId, expiredPlatformId);
+        passTimeToLive();
+        sut.putAccessible(userId, platformId);
+
+        // When
+        sut.forgetExpiredDecisions();
+
+        // Then
+        assertThat(sut.getCachedUsers(), equalTo(1));
+        assertThat(sut.isAccessible(userId, platformId), equalTo(true));
+        assertThat(sut.isAccessible(userId, expiredPlatformId), equalTo(false));
+    }
+
+    private void passTimeToLive() {
+        now = new Date(now.getTime() + TimeUnit.SECONDS.toMillis(TIME_TO_LIVE_IN_SECONDS));
+        when(dateService.create()).thenReturn(now);
+    }
+}
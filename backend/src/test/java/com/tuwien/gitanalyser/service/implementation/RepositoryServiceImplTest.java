@@ -1,20 +1,27 @@
 package com.tuwien.gitanalyser.service.implementation;
 
 import com.tuwien.gitanalyser.endpoints.dtos.assignment.CreateAssignmentDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.AliasIndexInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitAggregatedInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitPageInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitterInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.RepositorySnapshotInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
 import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
 import com.tuwien.gitanalyser.entity.Assignment;
 import com.tuwien.gitanalyser.entity.Repository;
 import com.tuwien.gitanalyser.entity.RepositoryFactory;
 import com.tuwien.gitanalyser.entity.SubAssignment;
 import com.tuwien.gitanalyser.entity.User;
+import com.tuwien.gitanalyser.entity.utils.Granularity;
+import com.tuwien.gitanalyser.exception.BadRequestException;
 import com.tuwien.gitanalyser.exception.GitException;
 import com.tuwien.gitanalyser.exception.IllegalArgumentException;
 import com.tuwien.gitanalyser.exception.NoProviderFoundException;
 import com.tuwien.gitanalyser.exception.NotFoundException;
 import com.tuwien.gitanalyser.repository.RepositoryRepository;
+import com.tuwien.gitanalyser.service.AliasIndexService;
 import com.tuwien.gitanalyser.service.AssignmentService;
 import com.tuwien.gitanalyser.service.GitService;
 import com.tuwien.gitanalyser.service.SubAssignmentService;
@@ -27,18 +34,27 @@ import utils.Randoms;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static utils.Matchers.commitAggreagteDTOMatcher;
@@ -54,6 +70,7 @@ class RepositoryServiceImplTest {
     private SubAssignmentService subAssignmentService;
     private RepositoryFactory repositoryFactory;
     private GitService gitService;
+    private AliasIndexService aliasIndexService;
 
     @BeforeEach
     void setUp() {
@@ -63,12 +80,15 @@ class RepositoryServiceImplTest {
         subAssignmentService = mock(SubAssignmentService.class);
         repositoryFactory = mock(RepositoryFactory.class);
         gitService = mock(GitService.class);
+        aliasIndexService = mock(AliasIndexService.class);
+        when(aliasIndexService.getAliasIndex(anyLong(), any())).thenReturn(new AliasIndexInternalDTO(0, Map.of()));
         sut = new RepositoryServiceImpl(userService,
                                         repositoryRepository,
                                         assignmentService,
                                         subAssignmentService,
                                         gitService,
-                                        repositoryFactory
+                                        repositoryFactory,
+                                        aliasIndexService
         );
     }
 
@@ -140,6 +160,40 @@ class RepositoryServiceImplTest {
         verify(subAssignmentService).addSubAssignment(assignment, createDTO.getAssignedName());
     }
 
+    @Test
+    void addAssignment_repositoryExists_shouldInvalidateAliasIndex() throws IllegalArgumentException {
+        // Given
+        User user = prepareUserService();
+        long platformId = Randoms.getLong();
+        CreateAssignmentDTO createDTO = CreateAssignmentDTOs.random();
+        Repository repository = new Repository();
+
+        mockRepositoryFindByUserAndPlatformId(user, platformId, repository);
+        prepareAssignment(repository, createDTO, new Assignment());
+
+        // When
+        sut.addAssignment(user.getId(), platformId, createDTO);
+
+        // Then
+        verify(aliasIndexService).invalidate(user.getId(), platformId);
+    }
+
+    @Test
+    void deleteAssignment_repositoryExists_shouldDeleteSubAssignmentAndInvalidateAliasIndex() {
+        // Given
+        long platformId = Randoms.getLong();
+        long subAssignmentId = Randoms.getLong();
+        User user = prepareUserService();
+        Repository repository = prepareExistingRepository(List.of(), platformId, user);
+
+        // When
+        sut.deleteAssignment(user.getId(), platformId, subAssignmentId);
+
+        // Then
+        verify(assignmentService).deleteSubAssignmentById(repository, subAssignmentId);
+        verify(aliasIndexService).invalidate(user.getId(), platformId);
+    }
+
     @Test
     void addAssignment_repositoryExistsAndKeyAndAssignedNameIsTheSame_throwIllegalArgumentException() {
         // Given
@@ -351,6 +405,7 @@ class RepositoryServiceImplTest {
 
         // Then
         verify(repositoryRepository).delete(repository);
+        verify(aliasIndexService).invalidate(user.getId(), repository.getPlatformId());
     }
 
     @Test
@@ -417,7 +472,7 @@ class RepositoryServiceImplTest {
         StatsInternalDTO stats1 = mockStatsInternalDTO();
         StatsInternalDTO stats2 = mockStatsInternalDTO();
 
-        prepareGitServiceGetStats(platformId, user, branch, List.of(stats1, stats2));
+        prepareGitServiceGetStats(platformId, user, branch, Map.of(), List.of(stats1, stats2));
 
         // When
         List<StatsInternalDTO> result = sut.getStats(user.getId(), platformId, branch, false);
@@ -426,6 +481,48 @@ class RepositoryServiceImplTest {
         assertThat(result, containsInAnyOrder(stats1, stats2));
     }
 
+    @Test
+    void getStatsTimeline_shouldBeMapped_passesAliasesOfAssignmentsToGitService()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String assignedName = Randoms.alpha();
+        String key = Randoms.alpha();
+
+        User user = prepareUserService();
+        prepareAssignments(platformId, key, user, assignedName);
+
+        StatsBucketInternalDTO bucket = new StatsBucketInternalDTO(new Date(), key, 1, 0, 0);
+        when(gitService.getStatsTimeline(user.getId(), platformId, branch, Granularity.WEEK,
+                                         Map.of(assignedName, key)))
+            .thenReturn(List.of(bucket));
+
+        // When
+        List<StatsBucketInternalDTO> result = sut.getStatsTimeline(user.getId(), platformId, branch, true,
+                                                                   Granularity.WEEK);
+
+        // Then
+        assertThat(result, contains(bucket));
+    }
+
+    @Test
+    void getStatsTimeline_shouldNotBeMapped_passesNoAliasesToGitService()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        User user = prepareUserService();
+
+        // When
+        sut.getStatsTimeline(user.getId(), platformId, branch, false, Granularity.DAY);
+
+        // Then
+        verify(gitService).getStatsTimeline(user.getId(), platformId, branch, Granularity.DAY, Map.of());
+        verify(aliasIndexService, never()).getAliasIndex(anyLong(), any());
+    }
+
     @Test
     void getStats_oneStatsObjectAndShouldBeMapped_returnsMappedStats()
         throws GitException, NoProviderFoundException {
@@ -443,7 +540,7 @@ class RepositoryServiceImplTest {
 
         StatsInternalDTO resultStats = mockStatsInternalDTO(key, stats);
 
-        prepareGitServiceGetStats(platformId, user, branch, List.of(stats));
+        prepareGitServiceGetStats(platformId, user, branch, Map.of(assignedName, key), List.of(resultStats));
 
         // When
         List<StatsInternalDTO> result = sut.getStats(user.getId(), platformId, branch, true);
@@ -471,7 +568,8 @@ class RepositoryServiceImplTest {
 
         StatsInternalDTO resultStats = mockStatsInternalDTO(key, stats1, stats2);
 
-        prepareGitServiceGetStats(platformId, user, branch, List.of(stats1, stats2));
+        prepareGitServiceGetStats(platformId, user, branch, Map.of(assignedName1, key, assignedName2, key),
+                                  List.of(resultStats));
 
         // When
         List<StatsInternalDTO> result = sut.getStats(user.getId(), platformId, branch, true);
@@ -502,7 +600,8 @@ class RepositoryServiceImplTest {
 
         StatsInternalDTO resultStats = mockStatsInternalDTO(key, stats1, stats2);
 
-        prepareGitServiceGetStats(platformId, user, branch, List.of(stats1, stats2, stats3));
+        prepareGitServiceGetStats(platformId, user, branch, Map.of(assignedName1, key, assignedName2, key),
+                                  List.of(resultStats, stats3));
 
         // When
         List<StatsInternalDTO> result = sut.getStats(user.getId(), platformId, branch, true);
@@ -539,6 +638,53 @@ class RepositoryServiceImplTest {
         assertThat(result, Matchers.containsInAnyOrder(commitAggreagteDTOMatcher(commit1), commitAggreagteDTOMatcher(commit2)));
     }
 
+    @Test
+    void getCommits_commitWithoutAuthorAndShouldNotBeMapped_returnsCommitWithoutAuthor()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        User user = prepareUserService();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO(null);
+        CommitInternalDTO commit2 = mockCommitInternalDTO();
+
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2));
+
+        // When
+        List<CommitAggregatedInternalDTO> result = sut.getCommits(user.getId(), platformId, branch, false, null);
+
+        // Then
+        assertThat(result, contains(commitAggreagteDTOMatcher(commit1), commitAggreagteDTOMatcher(commit2)));
+    }
+
+    @Test
+    void getSnapshot_commitWithoutAuthorAndShouldNotBeMapped_returnsStatsOfNullAuthor()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        User user = prepareUserService();
+
+        CommitInternalDTO commit = mockCommitInternalDTO(null);
+
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit));
+
+        // When
+        RepositorySnapshotInternalDTO result = sut.getSnapshot(user.getId(), platformId, branch, false);
+
+        // Then
+        assertThat(result.getCommits(), contains(commitAggreagteDTOMatcher(commit)));
+        assertThat(result.getStats(), contains(
+            allOf(
+                hasFeature("committer", StatsInternalDTO::getCommitter, nullValue()),
+                hasFeature("numberOfCommits", StatsInternalDTO::getNumberOfCommits, equalTo(1))
+            )
+        ));
+    }
+
     @Test
     void getCommits_oneStatsObjectAndShouldBeMapped_returnsMappedCommits()
         throws GitException, NoProviderFoundException {
@@ -630,6 +776,191 @@ class RepositoryServiceImplTest {
         ));
     }
 
+    @Test
+    void getCommitPage_moreCommitsThanLimit_returnsFirstPageAndCursor()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        User user = prepareUserService();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO();
+        CommitInternalDTO commit2 = mockCommitInternalDTO();
+        CommitInternalDTO commit3 = mockCommitInternalDTO();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2, commit3));
+
+        // When
+        CommitPageInternalDTO result = sut.getCommitPage(user.getId(), platformId, branch, false, null, null, 2);
+
+        // Then
+        assertThat(result.getCommits(), contains(commitAggreagteDTOMatcher(commit1),
+                                                 commitAggreagteDTOMatcher(commit2)));
+        assertThat(result.getNextCursor(), notNullValue());
+    }
+
+    @Test
+    void getCommitPage_cursorOfFirstPage_returnsLastPageWithLinesOfCodeOfWholeHistory()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        User user = prepareUserService();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO();
+        CommitInternalDTO commit2 = mockCommitInternalDTO();
+        CommitInternalDTO commit3 = mockCommitInternalDTO();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2, commit3));
+
+        String cursor = sut.getCommitPage(user.getId(), platformId, branch, false, null, null, 2).getNextCursor();
+
+        // When
+        CommitPageInternalDTO result = sut.getCommitPage(user.getId(), platformId, branch, false, null, cursor, 2);
+
+        // Then
+        int linesOfCodeOverall = commit1.getAdditions() - commit1.getDeletions()
+            + commit2.getAdditions() - commit2.getDeletions()
+            + commit3.getAdditions() - commit3.getDeletions();
+        assertThat(result.getCommits(), contains(
+            allOf(commitAggreagteDTOMatcher(commit3),
+                  hasFeature("linesOfCodeOverall", CommitAggregatedInternalDTO::getLinesOfCodeOverall,
+                             equalTo(linesOfCodeOverall)))));
+        assertThat(result.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void getCommitPage_historyChangedInFrontOfCursor_continuesAfterCursorCommit()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        User user = prepareUserService();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO();
+        CommitInternalDTO commit2 = mockCommitInternalDTO();
+        CommitInternalDTO commit3 = mockCommitInternalDTO();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2));
+        String cursor = sut.getCommitPage(user.getId(), platformId, branch, false, null, null, 1).getNextCursor();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit3, commit1, commit2));
+
+        // When
+        CommitPageInternalDTO result = sut.getCommitPage(user.getId(), platformId, branch, false, null, cursor, 1);
+
+        // Then
+        assertThat(result.getCommits(), contains(commitAggreagteDTOMatcher(commit2)));
+    }
+
+    @Test
+    void getCommitPage_historyChangedInFrontOfCursor_recomputesLinesOfCodeOverall()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        User user = prepareUserService();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO();
+        CommitInternalDTO commit2 = mockCommitInternalDTO();
+        CommitInternalDTO commit3 = mockCommitInternalDTO();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2));
+        String cursor = sut.getCommitPage(user.getId(), platformId, branch, false, null, null, 1).getNextCursor();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit3, commit1, commit2));
+
+        // When
+        CommitPageInternalDTO result = sut.getCommitPage(user.getId(), platformId, branch, false, null, cursor, 1);
+
+        // Then
+        int linesOfCodeOverall = commit3.getAdditions() - commit3.getDeletions()
+            + commit1.getAdditions() - commit1.getDeletions()
+            + commit2.getAdditions() - commit2.getDeletions();
+        assertThat(result.getCommits(), contains(
+            hasFeature("linesOfCodeOverall", CommitAggregatedInternalDTO::getLinesOfCodeOverall,
+                       equalTo(linesOfCodeOverall))));
+    }
+
+    @Test
+    void getCommitPage_aliasesChangedAfterCursor_recomputesLinesOfCodeOverall()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String name = Randoms.alpha();
+        User user = prepareUserService();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO();
+        CommitInternalDTO commit2 = mockCommitInternalDTO(name);
+        CommitInternalDTO commit3 = mockCommitInternalDTO(name);
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2, commit3));
+        when(aliasIndexService.getAliasIndex(user.getId(), platformId))
+            .thenReturn(new AliasIndexInternalDTO(1, Map.of()));
+        String cursor = sut.getCommitPage(user.getId(), platformId, branch, true, name, null, 1).getNextCursor();
+        when(aliasIndexService.getAliasIndex(user.getId(), platformId))
+            .thenReturn(new AliasIndexInternalDTO(2, Map.of(commit1.getAuthor(), name)));
+
+        // When
+        CommitPageInternalDTO result = sut.getCommitPage(user.getId(), platformId, branch, true, name, cursor, 1);
+
+        // Then
+        int linesOfCodeOverall = commit1.getAdditions() - commit1.getDeletions()
+            + commit2.getAdditions() - commit2.getDeletions()
+            + commit3.getAdditions() - commit3.getDeletions();
+        assertThat(result.getCommits(), contains(
+            hasFeature("linesOfCodeOverall", CommitAggregatedInternalDTO::getLinesOfCodeOverall,
+                       equalTo(linesOfCodeOverall))));
+    }
+
+    @Test
+    void getCommitPage_cursorOfOtherFilter_throwsBadRequestException() throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String name = Randoms.alpha();
+        User user = prepareUserService();
+
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(mockCommitInternalDTO(name),
+                                                                      mockCommitInternalDTO(name)));
+        String cursor = sut.getCommitPage(user.getId(), platformId, branch, false, null, null, 1).getNextCursor();
+
+        // When + Then
+        assertThrows(BadRequestException.class,
+                     () -> sut.getCommitPage(user.getId(), platformId, branch, false, name, cursor, 1));
+    }
+
+    @Test
+    void getCommitPage_committerNameGiven_onlyReturnsCommitsOfCommitter()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String name = Randoms.alpha();
+        User user = prepareUserService();
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO(name);
+        CommitInternalDTO commit2 = mockCommitInternalDTO();
+        CommitInternalDTO commit3 = mockCommitInternalDTO(name);
+        CommitInternalDTO commit4 = mockCommitInternalDTO();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2, commit3, commit4));
+
+        // When
+        CommitPageInternalDTO result = sut.getCommitPage(user.getId(), platformId, branch, false, name, null, 2);
+
+        // Then
+        assertThat(result.getCommits(), contains(commitAggreagteDTOMatcher(commit1),
+                                                 commitAggreagteDTOMatcher(commit3)));
+        assertThat(result.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void getCommitPage_invalidCursor_throwsBadRequestException() throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        User user = prepareUserService();
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(mockCommitInternalDTO()));
+
+        // When + Then
+        assertThrows(BadRequestException.class,
+                     () -> sut.getCommitPage(user.getId(), platformId, branch, false, null, Randoms.alpha(), 1));
+    }
+
     @Test
     void getCommitters_repositoryExists_shouldCallGitService()
         throws NotFoundException, GitException, NoProviderFoundException {
@@ -638,12 +969,13 @@ class RepositoryServiceImplTest {
         String branch = Randoms.alpha();
 
         User user = prepareUserService();
+        prepareGitServiceGetCommits(repositoryId, user, branch, List.of());
 
         // When
         sut.getCommitters(user.getId(), repositoryId, branch, false);
 
         // Then
-        verify(gitService).getAllCommits(user.getId(), repositoryId, branch);
+        verify(gitService).getAllCommitsSource(user.getId(), repositoryId, branch);
     }
 
     @Test
@@ -808,6 +1140,94 @@ class RepositoryServiceImplTest {
         assertThat(result, equalTo(Set.of(committerInternalDTO1)));
     }
 
+    @Test
+    void getSnapshot_twoCommitsShouldBeMappedToSameKey_returnsMappedCommitsStatsCommittersAndAssignments()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+        String assignedName1 = Randoms.alpha();
+        String assignedName2 = Randoms.alpha();
+        String key = Randoms.alpha();
+
+        User user = prepareUserService();
+
+        prepareAssignments(platformId, key, user, assignedName1, assignedName2);
+
+        CommitInternalDTO commit1 = mockCommitInternalDTO(assignedName1);
+        CommitInternalDTO commit2 = mockCommitInternalDTO(assignedName2);
+        CommitInternalDTO commit3 = mockCommitInternalDTO();
+
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(commit1, commit2, commit3));
+
+        // When
+        RepositorySnapshotInternalDTO result = sut.getSnapshot(user.getId(), platformId, branch, true);
+
+        // Then
+        assertThat(result.getCommits(), contains(
+            commitAggreagteDTOMatcher(mockCommitInternalDTO(key, commit1)),
+            commitAggreagteDTOMatcher(mockCommitInternalDTO(key, commit2)),
+            commitAggreagteDTOMatcher(commit3)
+        ));
+        assertThat(result.getStats(), containsInAnyOrder(
+            allOf(
+                hasFeature("committer", StatsInternalDTO::getCommitter, equalTo(key)),
+                hasFeature("numberOfCommits", StatsInternalDTO::getNumberOfCommits, equalTo(2)),
+                hasFeature("numberOfAdditions", StatsInternalDTO::getNumberOfAdditions,
+                           equalTo(commit1.getAdditions() + commit2.getAdditions()))
+            ),
+            allOf(
+                hasFeature("committer", StatsInternalDTO::getCommitter, equalTo(commit3.getAuthor())),
+                hasFeature("numberOfCommits", StatsInternalDTO::getNumberOfCommits, equalTo(1))
+            )
+        ));
+        assertThat(result.getCommitters(), equalTo(Set.of(new CommitterInternalDTO(key),
+                                                          new CommitterInternalDTO(commit3.getAuthor()))));
+        assertThat(result.getAssignments(), contains(
+            hasFeature("key", Assignment::getKey, equalTo(key))
+        ));
+    }
+
+    @Test
+    void getSnapshot_always_shouldLoadHistoryOnceAndNotComputeStatsSeparately()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        User user = prepareUserService();
+        mockRepositoryFindByUserAndPlatformIdEmpty(user, platformId);
+        prepareGitServiceGetCommits(platformId, user, branch, List.of(mockCommitInternalDTO()));
+
+        // When
+        sut.getSnapshot(user.getId(), platformId, branch, false);
+
+        // Then
+        verify(gitService, times(1)).getAllCommits(user.getId(), platformId, branch);
+        verify(gitService, never()).getStats(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void getSnapshot_repositoryDoesNotExist_returnsEmptyAssignments()
+        throws GitException, NoProviderFoundException {
+        // Given
+        long platformId = Randoms.getLong();
+        String branch = Randoms.alpha();
+
+        User user = prepareUserService();
+        mockRepositoryFindByUserAndPlatformIdEmpty(user, platformId);
+        prepareGitServiceGetCommits(platformId, user, branch, List.of());
+
+        // When
+        RepositorySnapshotInternalDTO result = sut.getSnapshot(user.getId(), platformId, branch, true);
+
+        // Then
+        assertThat(result.getCommits(), empty());
+        assertThat(result.getStats(), empty());
+        assertThat(result.getCommitters(), empty());
+        assertThat(result.getAssignments(), empty());
+    }
+
     private void prepareAssignments(long platformId, String key, User user, String... assignedNames) {
         Assignment assignment = createAssignment(key);
         List<SubAssignment> subAssignments = new ArrayList<>();
@@ -816,11 +1236,19 @@ class RepositoryServiceImplTest {
         }
         when(assignment.getSubAssignments()).thenReturn(subAssignments);
         prepareExistingRepository(List.of(assignment), platformId, user);
+
+        Map<String, String> aliases = new HashMap<>();
+        for (String assignedName : assignedNames) {
+            aliases.put(assignedName, key);
+        }
+        when(aliasIndexService.getAliasIndex(user.getId(), platformId))
+            .thenReturn(new AliasIndexInternalDTO(Randoms.getLong(), aliases));
     }
 
-    private void prepareGitServiceGetStats(long platformId, User user, String branch, List<StatsInternalDTO> stats)
+    private void prepareGitServiceGetStats(long platformId, User user, String branch, Map<String, String> aliases,
+                                           List<StatsInternalDTO> stats)
         throws NoProviderFoundException, GitException {
-        when(gitService.getStats(user.getId(), platformId, branch)).thenReturn(stats);
+        when(gitService.getStats(user.getId(), platformId, branch, aliases)).thenReturn(stats);
     }
 
     private void prepareAssignment(Repository repository, CreateAssignmentDTO createDTO, Assignment assignment) {
@@ -941,6 +1369,8 @@ class RepositoryServiceImplTest {
 
     private void prepareGitServiceGetCommits(long platformId, User user, String branch, List<CommitInternalDTO> commits)
         throws GitException, NoProviderFoundException {
-        when(gitService.getAllCommits(user.getId(), platformId, branch)).thenReturn(commits);
+        long userId = user.getId();
+        when(gitService.getAllCommits(userId, platformId, branch)).thenReturn(commits);
+        when(gitService.getAllCommitsSource(userId, platformId, branch)).thenReturn(commits::forEach);
     }
 }
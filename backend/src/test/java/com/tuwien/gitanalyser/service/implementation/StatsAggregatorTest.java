@@ -0,0 +1,116 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.CommitInternalDTO;
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsInternalDTO;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+
+class StatsAggregatorTest {
+
+    @Test
+    void getStats_noCommitsAdded_returnsEmptyList() {
+        // Given
+        StatsAggregator sut = new StatsAggregator(Map.of());
+
+        // When
+        var result = sut.getStats();
+
+        // Then
+        assertThat(result, empty());
+    }
+
+    @Test
+    void getStats_twoCommitsOfSameAuthor_returnsSummedStats() {
+        // Given
+        String author = Randoms.alpha();
+        CommitInternalDTO commit1 = commit(author);
+        CommitInternalDTO commit2 = commit(author);
+        StatsAggregator sut = new StatsAggregator(Map.of());
+
+        // When
+        sut.add(commit1);
+        sut.add(commit2);
+        var result = sut.getStats();
+
+        // Then
+        assertThat(result, containsInAnyOrder(
+            statsMatcher(author, 2,
+                         commit1.getAdditions() + commit2.getAdditions(),
+                         commit1.getDeletions() + commit2.getDeletions())
+        ));
+    }
+
+    @Test
+    void getStats_commitOfAuthorWithAlias_returnsStatsOfAlias() {
+        // Given
+        String author = Randoms.alpha();
+        String key = Randoms.alpha();
+        CommitInternalDTO commit = commit(author);
+        StatsAggregator sut = new StatsAggregator(Map.of(author, key));
+
+        // When
+        sut.add(commit);
+        var result = sut.getStats();
+
+        // Then
+        assertThat(result, containsInAnyOrder(
+            statsMatcher(key, 1, commit.getAdditions(), commit.getDeletions())
+        ));
+    }
+
+    @Test
+    void getStats_twoAuthorsWithSameAliasAndOneWithoutAlias_returnsMergedAndUnmappedStats() {
+        // Given
+        String author1 = Randoms.alpha();
+        String author2 = Randoms.alpha();
+        String author3 = Randoms.alpha();
+        String key = Randoms.alpha();
+        CommitInternalDTO commit1 = commit(author1);
+        CommitInternalDTO commit2 = commit(author2);
+        CommitInternalDTO commit3 = commit(author3);
+        StatsAggregator sut = new StatsAggregator(Map.of(author1, key, author2, key));
+
+        // When
+        sut.add(commit1);
+        sut.add(commit2);
+        sut.add(commit3);
+        var result = sut.getStats();
+
+        // Then
+        assertThat(result, containsInAnyOrder(
+            statsMatcher(key, 2,
+                         commit1.getAdditions() + commit2.getAdditions(),
+                         commit1.getDeletions() + commit2.getDeletions()),
+            statsMatcher(author3, 1, commit3.getAdditions(), commit3.getDeletions())
+        ));
+    }
+
+    private CommitInternalDTO commit(final String author) {
+        return CommitInternalDTO.builder()
+                                .id(Randoms.alpha())
+                                .author(author)
+                                .additions(Randoms.integer(0, 10))
+                                .deletions(Randoms.integer(0, 10))
+                                .build();
+    }
+
+    private Matcher<StatsInternalDTO> statsMatcher(final String committer, final int commits, final int additions,
+                                                   final int deletions) {
+        return allOf(
+            hasFeature("committer", StatsInternalDTO::getCommitter, equalTo(committer)),
+            hasFeature("numberOfCommits", StatsInternalDTO::getNumberOfCommits, equalTo(commits)),
+            hasFeature("numberOfAdditions", StatsInternalDTO::getNumberOfAdditions, equalTo(additions)),
+            hasFeature("numberOfDeletions", StatsInternalDTO::getNumberOfDeletions, equalTo(deletions))
+        );
+    }
+}
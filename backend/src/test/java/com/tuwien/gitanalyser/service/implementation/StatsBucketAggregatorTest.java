@@ -0,0 +1,101 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.StatsBucketInternalDTO;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hobsoft.hamcrest.compose.ComposeMatchers.hasFeature;
+
+class StatsBucketAggregatorTest {
+
+    private static final long DAY_IN_MILLISECONDS = 86_400_000L;
+
+    @Test
+    void getBuckets_nothingAdded_returnsEmptyList() {
+        // Given
+        StatsBucketAggregator sut = new StatsBucketAggregator(Map.of());
+
+        // When
+        var result = sut.getBuckets();
+
+        // Then
+        assertThat(result, empty());
+    }
+
+    @Test
+    void getBuckets_sameAuthorInSameBucketTwice_returnsSummedBucket() {
+        // Given
+        String author = Randoms.alpha();
+        Date bucketStart = new Date();
+        StatsBucketAggregator sut = new StatsBucketAggregator(Map.of());
+
+        // When
+        sut.add(bucketStart, author, 1, 2, 3);
+        // buckets read back from the database are timestamps
+        sut.add(new Timestamp(bucketStart.getTime()), author, 4, 5, 6);
+        var result = sut.getBuckets();
+
+        // Then
+        assertThat(result, contains(bucketMatcher(bucketStart, author, 5, 7, 9)));
+    }
+
+    @Test
+    void getBuckets_authorWithAlias_returnsBucketOfAlias() {
+        // Given
+        String author = Randoms.alpha();
+        String key = Randoms.alpha();
+        Date bucketStart = new Date();
+        StatsBucketAggregator sut = new StatsBucketAggregator(Map.of(author, key));
+
+        // When
+        sut.add(bucketStart, author, 1, 2, 3);
+        sut.add(bucketStart, key, 1, 1, 1);
+        var result = sut.getBuckets();
+
+        // Then
+        assertThat(result, contains(bucketMatcher(bucketStart, key, 2, 3, 4)));
+    }
+
+    @Test
+    void getBuckets_severalBuckets_returnsBucketsSortedByStartAndCommitter() {
+        // Given
+        Date earlier = new Date(DAY_IN_MILLISECONDS);
+        Date later = new Date(2 * DAY_IN_MILLISECONDS);
+        StatsBucketAggregator sut = new StatsBucketAggregator(Map.of());
+
+        // When
+        sut.add(later, "a", 1, 0, 0);
+        sut.add(earlier, "b", 1, 0, 0);
+        sut.add(earlier, "a", 1, 0, 0);
+        var result = sut.getBuckets();
+
+        // Then
+        assertThat(result, contains(bucketMatcher(earlier, "a", 1, 0, 0),
+                                    bucketMatcher(earlier, "b", 1, 0, 0),
+                                    bucketMatcher(later, "a", 1, 0, 0)));
+    }
+
+    private Matcher<StatsBucketInternalDTO> bucketMatcher(Date bucketStart, String committer, int numberOfCommits,
+                                                          int numberOfAdditions, int numberOfDeletions) {
+        return allOf(
+            hasFeature("bucketStart", (StatsBucketInternalDTO bucket) -> bucket.getBucketStart().getTime(),
+                       equalTo(bucketStart.getTime())),
+            hasFeature("committer", StatsBucketInternalDTO::getCommitter, equalTo(committer)),
+            hasFeature("numberOfCommits", StatsBucketInternalDTO::getNumberOfCommits, equalTo(numberOfCommits)),
+            hasFeature("numberOfAdditions", StatsBucketInternalDTO::getNumberOfAdditions,
+                       equalTo(numberOfAdditions)),
+            hasFeature("numberOfDeletions", StatsBucketInternalDTO::getNumberOfDeletions,
+                       equalTo(numberOfDeletions))
+        );
+    }
+}
@@ -13,6 +13,7 @@ import com.tuwien.gitanalyser.security.jwt.JWTTokenProvider;
 import com.tuwien.gitanalyser.security.oauth2.BasicAuth2User;
 import com.tuwien.gitanalyser.security.oauth2.GitHubOAuth2User;
 import com.tuwien.gitanalyser.security.oauth2.GitLabOAuth2User;
+import com.tuwien.gitanalyser.service.GitAPIFactory;
 import com.tuwien.gitanalyser.service.GitService;
 import com.tuwien.gitanalyser.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +22,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import utils.Randoms;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -40,6 +43,7 @@ class UserServiceImplTest {
     private UserRepository userRepository;
     private FingerprintService fingerprintService;
     private JWTTokenProvider jwtTokenProvider;
+    private GitAPIFactory<?> gitAPIFactory;
 
     @BeforeEach
     void setUp() {
@@ -47,7 +51,9 @@ class UserServiceImplTest {
         fingerprintService = mock(FingerprintService.class);
         jwtTokenProvider = mock(JWTTokenProvider.class);
         GitService gitService = mock(GitService.class);
-        sut = new UserServiceImpl(userRepository, fingerprintService, jwtTokenProvider, gitService);
+        gitAPIFactory = mock(GitAPIFactory.class);
+        sut = new UserServiceImpl(userRepository, fingerprintService, jwtTokenProvider, gitService,
+                                  List.of(gitAPIFactory));
     }
 
     @Test
@@ -189,7 +195,7 @@ class UserServiceImplTest {
     }
 
     @ParameterizedTest
-    @EnumSource(AuthenticationProvider.class)
+    @EnumSource(value = AuthenticationProvider.class, names = {"GITHUB", "GITLAB"})
     public void processOAuthPostLogin_nonExistingUser_createsNewUser(AuthenticationProvider authenticationProvider) {
         // Given
         int platformId = Randoms.integer();
@@ -201,14 +207,15 @@ class UserServiceImplTest {
             Optional.empty());
 
         // When
-        sut.processOAuthPostLogin(createAuth2User(authenticationProvider, platformId, username, email), null, null);
+        sut.processOAuthPostLogin(createAuth2User(authenticationProvider, platformId, username, email), null, null,
+                                  null);
 
         // Then
         verify(userRepository).save(expectedUser);
     }
 
     @ParameterizedTest
-    @EnumSource(AuthenticationProvider.class)
+    @EnumSource(value = AuthenticationProvider.class, names = {"GITHUB", "GITLAB"})
     public void processOAuthPostLogin_userExists_returnsUser(AuthenticationProvider authenticationProvider) {
         // Given
         int platformId = Randoms.integer();
@@ -221,12 +228,78 @@ class UserServiceImplTest {
 
         // When
         UserFingerprintPair userFingerprintPair = sut.processOAuthPostLogin(
-            createAuth2User(authenticationProvider, platformId, username, email), null, null);
+            createAuth2User(authenticationProvider, platformId, username, email), null, null, null);
 
         // Then
         assertThat(userFingerprintPair.getUser(), equalTo(expectedUser));
     }
 
+    @ParameterizedTest
+    @EnumSource(value = AuthenticationProvider.class, names = {"GITHUB", "GITLAB"})
+    public void processOAuthPostLogin_userExists_evictsGitClientOfReplacedAccessToken(
+        AuthenticationProvider authenticationProvider) {
+        // Given
+        int platformId = Randoms.integer();
+        User user = createUser(authenticationProvider, platformId, Randoms.alpha(), Randoms.alpha());
+        String replacedAccessToken = Randoms.alpha();
+        user.setAccessToken(replacedAccessToken);
+
+        when(userRepository.findByAuthenticationProviderAndPlatformId(authenticationProvider, platformId))
+            .thenReturn(Optional.of(user));
+
+        // When
+        sut.processOAuthPostLogin(createAuth2User(authenticationProvider, platformId, user.getUsername(),
+                                                  user.getEmail()), Randoms.alpha(), Randoms.alpha(), null);
+
+        // Then
+        verify(gitAPIFactory).evict(replacedAccessToken);
+    }
+
+    @Test
+    public void refreshGitAccessToken_userExists_storesTokensAndEvictsGitClientOfReplacedAccessToken() {
+        // Given
+        User user = createUser(AuthenticationProvider.GITLAB, Randoms.integer(), Randoms.alpha(), Randoms.alpha());
+        String replacedAccessToken = Randoms.alpha();
+        user.setAccessToken(replacedAccessToken);
+        String accessToken = Randoms.alpha();
+        String refreshToken = Randoms.alpha();
+        Date accessTokenExpiresAt = new Date();
+
+        when(userRepository.findById(EXISTING_USER_ID)).thenReturn(Optional.of(user));
+
+        // When
+        sut.refreshGitAccessToken(EXISTING_USER_ID, accessToken, refreshToken, accessTokenExpiresAt);
+
+        // Then
+        verify(gitAPIFactory).evict(replacedAccessToken);
+        assertThat(user, allOf(
+            hasFeature("accessToken", User::getAccessToken, equalTo(accessToken)),
+            hasFeature("refreshToken", User::getRefreshToken, equalTo(refreshToken)),
+            hasFeature("accessTokenExpiresAt", User::getAccessTokenExpiresAt, equalTo(accessTokenExpiresAt))
+        ));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AuthenticationProvider.class, names = {"GITHUB", "GITLAB"})
+    public void processOAuthPostLogin_userExists_storesExpiryOfAccessToken(
+        AuthenticationProvider authenticationProvider) {
+        // Given
+        int platformId = Randoms.integer();
+        User user = createUser(authenticationProvider, platformId, Randoms.alpha(), Randoms.alpha());
+        Date accessTokenExpiresAt = new Date();
+
+        when(userRepository.findByAuthenticationProviderAndPlatformId(authenticationProvider, platformId))
+            .thenReturn(Optional.of(user));
+
+        // When
+        sut.processOAuthPostLogin(createAuth2User(authenticationProvider, platformId, user.getUsername(),
+                                                  user.getEmail()), Randoms.alpha(), Randoms.alpha(),
+                                  accessTokenExpiresAt);
+
+        // Then
+        assertThat(user.getAccessTokenExpiresAt(), equalTo(accessTokenExpiresAt));
+    }
+
     private BasicAuth2User createAuth2User(AuthenticationProvider authenticationProvider, int platformId,
                                            String username, String email) {
         BasicAuth2User auth2User;
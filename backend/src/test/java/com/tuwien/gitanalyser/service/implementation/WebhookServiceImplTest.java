@@ -0,0 +1,106 @@
+package com.tuwien.gitanalyser.service.implementation;
+
+import com.tuwien.gitanalyser.endpoints.dtos.internal.PushEventInternalDTO;
+import com.tuwien.gitanalyser.entity.utils.AuthenticationProvider;
+import com.tuwien.gitanalyser.exception.GitHubException;
+import com.tuwien.gitanalyser.exception.GitException;
+import com.tuwien.gitanalyser.exception.NoProviderFoundException;
+import com.tuwien.gitanalyser.service.GitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Randoms;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class WebhookServiceImplTest {
+
+    private WebhookServiceImpl sut;
+    private GitService gitService;
+
+    @BeforeEach
+    void setUp() {
+        gitService = mock(GitService.class);
+        sut = new WebhookServiceImpl(gitService, Runnable::run);
+    }
+
+    @Test
+    void pushReceived_pushToOtherBranch_shouldSynchronizeOnlyPushedBranch()
+        throws GitException, NoProviderFoundException {
+        // Given
+        PushEventInternalDTO pushEvent = createPushEvent(Randoms.alpha(), Randoms.alpha());
+
+        // When
+        sut.pushReceived(pushEvent);
+
+        // Then
+        verify(gitService).synchronizePushedCommits(AuthenticationProvider.GITHUB, pushEvent.getPlatformId(),
+                                                    pushEvent.getBranch(), pushEvent.getHeadId());
+        verify(gitService, never()).synchronizePushedCommits(any(), any(), isNull(), any());
+    }
+
+    @Test
+    void pushReceived_pushToDefaultBranch_shouldAlsoSynchronizeHistoryOfDefaultBranch()
+        throws GitException, NoProviderFoundException {
+        // Given
+        String branch = Randoms.alpha();
+        PushEventInternalDTO pushEvent = createPushEvent(branch, branch);
+
+        // When
+        sut.pushReceived(pushEvent);
+
+        // Then
+        verify(gitService).synchronizePushedCommits(AuthenticationProvider.GITHUB, pushEvent.getPlatformId(),
+                                                    branch, pushEvent.getHeadId());
+        verify(gitService).synchronizePushedCommits(AuthenticationProvider.GITHUB, pushEvent.getPlatformId(),
+                                                    null, pushEvent.getHeadId());
+    }
+
+    @Test
+    void pushReceived_synchronizationOfBranchFails_shouldStillSynchronizeDefaultBranch()
+        throws GitException, NoProviderFoundException {
+        // Given
+        String branch = Randoms.alpha();
+        PushEventInternalDTO pushEvent = createPushEvent(branch, branch);
+        doThrow(GitHubException.class).when(gitService)
+                                      .synchronizePushedCommits(any(), any(), eq(branch), any());
+
+        // When
+        sut.pushReceived(pushEvent);
+
+        // Then
+        verify(gitService).synchronizePushedCommits(AuthenticationProvider.GITHUB, pushEvent.getPlatformId(),
+                                                    null, pushEvent.getHeadId());
+    }
+
+    @Test
+    void pushReceived_executorRejectsPush_shouldNotSynchronize() throws GitException, NoProviderFoundException {
+        // Given
+        sut = new WebhookServiceImpl(gitService, command -> {
+            throw new RejectedExecutionException();
+        });
+
+        // When
+        sut.pushReceived(createPushEvent(Randoms.alpha(), Randoms.alpha()));
+
+        // Then
+        verify(gitService, never()).synchronizePushedCommits(any(), any(), any(), any());
+    }
+
+    private PushEventInternalDTO createPushEvent(String branch, String defaultBranch) {
+        return PushEventInternalDTO.builder()
+                                   .authenticationProvider(AuthenticationProvider.GITHUB)
+                                   .platformId(Randoms.getLong())
+                                   .branch(branch)
+                                   .defaultBranch(defaultBranch)
+                                   .headId(Randoms.alpha())
+                                   .build();
+    }
+}
@@ -0,0 +1,123 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * local stand-in for the GitHub GraphQL endpoint, answers requests with queued responses in order.
+ */
+public class GitHubGraphQLStubServer implements AutoCloseable {
+
+    private static final String PATH = "/graphql";
+
+    private final HttpServer server;
+    private final Queue<StubResponse> responses = new LinkedList<>();
+    private final List<JSONObject> requests = new ArrayList<>();
+    private final List<String> authorizationHeaders = new ArrayList<>();
+
+    public GitHubGraphQLStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    public void enqueueResponse(String response) {
+        enqueueResponse(200, Map.of(), response);
+    }
+
+    public void enqueueResponse(int statusCode, Map<String, String> headers, String response) {
+        responses.add(new StubResponse(statusCode, headers, response));
+    }
+
+    public void enqueueHistoryPage(List<JSONObject> commits, String endCursor) {
+        enqueueHistoryPage(commits, endCursor, Map.of());
+    }
+
+    public void enqueueHistoryPage(List<JSONObject> commits, String endCursor, Map<String, String> headers) {
+        JSONObject pageInfo = new JSONObject();
+        pageInfo.put("hasNextPage", endCursor != null);
+        pageInfo.put("endCursor", endCursor == null ? JSONObject.NULL : endCursor);
+
+        JSONObject history = new JSONObject();
+        history.put("pageInfo", pageInfo);
+        history.put("nodes", new JSONArray(commits));
+
+        JSONObject ref = new JSONObject().put("target", new JSONObject().put("history", history));
+        enqueueResponse(200, headers, new JSONObject().put("data", new JSONObject().put(
+            "repository", new JSONObject().put("ref", ref))).toString());
+    }
+
+    public List<JSONObject> getRequests() {
+        return requests;
+    }
+
+    public List<String> getAuthorizationHeaders() {
+        return authorizationHeaders;
+    }
+
+    public static JSONObject commitNode(String id, Date committedDate, String authorName, List<String> parentIds,
+                                        int additions, int deletions) {
+        JSONArray parents = new JSONArray();
+        parentIds.forEach(parentId -> parents.put(new JSONObject().put("oid", parentId)));
+
+        return new JSONObject().put("oid", id)
+                               .put("message", Randoms.alpha())
+                               .put("committedDate", committedDate.toInstant().toString())
+                               .put("additions", additions)
+                               .put("deletions", deletions)
+                               .put("author", new JSONObject().put("name", authorName).put("user", JSONObject.NULL))
+                               .put("committer", new JSONObject().put("user", JSONObject.NULL))
+                               .put("parents", new JSONObject().put("nodes", parents));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.add(new JSONObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        authorizationHeaders.add(exchange.getRequestHeaders().getFirst("Authorization"));
+
+        StubResponse response = responses.poll();
+        if (response == null) {
+            response = new StubResponse(200, Map.of(), "{}");
+        }
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        response.headers.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+        exchange.sendResponseHeaders(response.statusCode, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static final class StubResponse {
+        private final int statusCode;
+        private final Map<String, String> headers;
+        private final String body;
+
+        private StubResponse(int statusCode, Map<String, String> headers, String body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}